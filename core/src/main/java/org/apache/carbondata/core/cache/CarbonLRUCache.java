@@ -18,6 +18,8 @@
 package org.apache.carbondata.core.cache;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,6 +35,13 @@ import org.apache.log4j.Logger;
 
 /**
  * class which manages the lru cache
+ *
+ * The entries are spread by key over segments, each an expiring map guarded by its own
+ * monitor, so lookups of different segments do not wait for each other. The operations that
+ * change the accounted size (put, remove and eviction) are serialized on {@link #lock}. Eviction
+ * picks the entries to remove from copies of the first entries of each segment, taken under the
+ * monitor of the segment, and merged in the order of expiration as a single map would iterate
+ * them. The maps are never iterated while a lookup changes them.
  */
 public final class CarbonLRUCache {
   /**
@@ -45,18 +54,35 @@ public final class CarbonLRUCache {
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(CarbonLRUCache.class.getName());
   /**
-   * Map that will contain key as table unique name and value as cache Holder
-   * object
+   * number of segments of the cache, power of 2
+   */
+  private static final int SEGMENT_COUNT = 16;
+  /**
+   * number of entries of each segment which are first looked at for eviction
+   */
+  private static final int EVICTION_SCAN_SIZE = 1;
+  /**
+   * Maps that will contain key as table unique name and value as cache Holder
+   * object, a key is kept in the segment of its hash
+   */
+  private ExpiringMap<String, Cacheable>[] segments;
+  /**
+   * lock taken by all the operations which modify the cache size, lookups do not take it
    */
-  private ExpiringMap<String, Cacheable> expiringMap;
+  private final Object lock = new Object();
   /**
    * lruCacheSize
    */
   private long lruCacheMemorySize;
   /**
-   * totalSize size of the cache
+   * totalSize size of the cache, only modified while holding {@link #lock}
    */
-  private long currentSize;
+  private volatile long currentSize;
+  /**
+   * segment whose entries are taken first for eviction when entries of several segments expire
+   * at the same time, only modified while holding {@link #lock}
+   */
+  private int evictionSegment;
 
   /**
    * @param propertyName        property name to take the size configured
@@ -96,13 +122,82 @@ public final class CarbonLRUCache {
   /**
    * initialize lru cache
    */
+  @SuppressWarnings("unchecked")
   private void initCache() {
-    // Cache entries can have individual variable expiration times and policies by adding
-    // variableExpiration to the map. ExpirationPolicy.ACCESSED means the expiration can occur based
-    // on last access time
-    expiringMap =
-        ExpiringMap.builder().expirationPolicy(ExpirationPolicy.ACCESSED).variableExpiration()
-            .build();
+    segments = new ExpiringMap[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      // Cache entries can have individual variable expiration times and policies by adding
+      // variableExpiration to the map. ExpirationPolicy.ACCESSED means the expiration can occur
+      // based on last access time
+      segments[i] =
+          ExpiringMap.builder().expirationPolicy(ExpirationPolicy.ACCESSED).variableExpiration()
+              .build();
+    }
+  }
+
+  private ExpiringMap<String, Cacheable> getSegment(String key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+  }
+
+  /**
+   * Returns the first entries of all the segments in the order they are to be evicted, which is
+   * the order of expiration, as an entry expires after its last access. At most scanSize
+   * entries of each segment are copied, the entries after the copied part of a segment are not
+   * returned as their order is not known.
+   */
+  private EvictionCandidates getEvictionCandidates(int scanSize) {
+    List<List<EvictionCandidate>> segmentCandidates = new ArrayList<>(SEGMENT_COUNT);
+    boolean[] isTruncated = new boolean[SEGMENT_COUNT];
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      ExpiringMap<String, Cacheable> segment = segments[i];
+      List<EvictionCandidate> candidates = new ArrayList<>();
+      synchronized (segment) {
+        // expiring map iterates the entries in the order of expiration
+        for (Entry<String, Cacheable> entry : segment.entrySet()) {
+          if (candidates.size() == scanSize) {
+            isTruncated[i] = true;
+            break;
+          }
+          candidates.add(new EvictionCandidate(entry.getKey(), entry.getValue(),
+              now + segment.getExpectedExpiration(entry.getKey())));
+        }
+      }
+      segmentCandidates.add(candidates);
+    }
+    // merge the segments, entries expiring in the same millisecond are taken by their position
+    // in the segment, starting from a different segment on each eviction
+    int firstSegment = evictionSegment++ & (SEGMENT_COUNT - 1);
+    int[] positions = new int[SEGMENT_COUNT];
+    List<EvictionCandidate> candidates = new ArrayList<>();
+    while (true) {
+      int nextSegment = -1;
+      for (int n = 0; n < SEGMENT_COUNT; n++) {
+        int i = (firstSegment + n) & (SEGMENT_COUNT - 1);
+        if (positions[i] == segmentCandidates.get(i).size()) {
+          if (isTruncated[i]) {
+            return new EvictionCandidates(candidates, false);
+          }
+          continue;
+        }
+        if (nextSegment == -1 || isEvictedBefore(segmentCandidates.get(i).get(positions[i]),
+            positions[i], segmentCandidates.get(nextSegment).get(positions[nextSegment]),
+            positions[nextSegment])) {
+          nextSegment = i;
+        }
+      }
+      if (nextSegment == -1) {
+        return new EvictionCandidates(candidates, true);
+      }
+      candidates.add(segmentCandidates.get(nextSegment).get(positions[nextSegment]++));
+    }
+  }
+
+  private static boolean isEvictedBefore(EvictionCandidate candidate, int position,
+      EvictionCandidate other, int otherPosition) {
+    return candidate.expiration < other.expiration
+        || (candidate.expiration == other.expiration && position < otherPosition);
   }
 
   /**
@@ -110,40 +205,48 @@ public final class CarbonLRUCache {
    * the level LRU cache
    */
   private List<String> getKeysToBeRemoved(long size) {
-    List<String> toBeDeletedKeys =
-        new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-    long removedSize = 0;
-    for (Entry<String, Cacheable> entry : expiringMap.entrySet()) {
-      String key = entry.getKey();
-      Cacheable cacheInfo = entry.getValue();
-      long memorySize = cacheInfo.getMemorySize();
-      if (canBeRemoved(cacheInfo)) {
-        removedSize = removedSize + memorySize;
-        toBeDeletedKeys.add(key);
-        // check if after removing the current file size, required
-        // size when added to current size is sufficient to load a
-        // level or not
-        if (lruCacheMemorySize >= (currentSize - memorySize + size)) {
-          toBeDeletedKeys.clear();
+    int scanSize = EVICTION_SCAN_SIZE;
+    while (true) {
+      EvictionCandidates candidates = getEvictionCandidates(scanSize);
+      List<String> toBeDeletedKeys =
+          new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+      long removedSize = 0;
+      for (EvictionCandidate candidate : candidates.candidates) {
+        String key = candidate.key;
+        Cacheable cacheInfo = candidate.cacheable;
+        long memorySize = cacheInfo.getMemorySize();
+        if (canBeRemoved(cacheInfo)) {
+          removedSize = removedSize + memorySize;
           toBeDeletedKeys.add(key);
-          removedSize = memorySize;
-          break;
-        }
-        // check if after removing the added size/removed size,
-        // required size when added to current size is sufficient to
-        // load a level or not
-        else if (lruCacheMemorySize >= (currentSize - removedSize + size)) {
-          break;
+          // check if after removing the current file size, required
+          // size when added to current size is sufficient to load a
+          // level or not
+          if (lruCacheMemorySize >= (currentSize - memorySize + size)) {
+            toBeDeletedKeys.clear();
+            toBeDeletedKeys.add(key);
+            removedSize = memorySize;
+            break;
+          }
+          // check if after removing the added size/removed size,
+          // required size when added to current size is sufficient to
+          // load a level or not
+          else if (lruCacheMemorySize >= (currentSize - removedSize + size)) {
+            break;
+          }
         }
       }
+      if ((currentSize - removedSize + size) <= lruCacheMemorySize) {
+        return toBeDeletedKeys;
+      }
+      // this case will come when iteration is complete over the keys but
+      // still size is not sufficient for level file to be loaded, then we
+      // will not delete any of the keys
+      if (candidates.isAllEntries) {
+        return new ArrayList<String>(0);
+      }
+      // the entries looked at were not enough, look at more entries of each segment
+      scanSize <<= 2;
     }
-    // this case will come when iteration is complete over the keys but
-    // still size is not sufficient for level file to be loaded, then we
-    // will not delete any of the keys
-    if ((currentSize - removedSize + size) > lruCacheMemorySize) {
-      toBeDeletedKeys.clear();
-    }
-    return toBeDeletedKeys;
   }
 
   /**
@@ -158,7 +261,7 @@ public final class CarbonLRUCache {
    * @param key
    */
   public void remove(String key) {
-    synchronized (expiringMap) {
+    synchronized (lock) {
       removeKey(key);
     }
   }
@@ -167,7 +270,7 @@ public final class CarbonLRUCache {
    * @param keys
    */
   public void removeAll(List<String> keys) {
-    synchronized (expiringMap) {
+    synchronized (lock) {
       for (String key : keys) {
         removeKey(key);
       }
@@ -180,11 +283,14 @@ public final class CarbonLRUCache {
    * @param key
    */
   private void removeKey(String key) {
-    Cacheable cacheable = expiringMap.get(key);
+    ExpiringMap<String, Cacheable> segment = getSegment(key);
+    Cacheable cacheable;
+    synchronized (segment) {
+      cacheable = segment.remove(key);
+    }
     if (null != cacheable) {
       long memorySize = cacheable.getMemorySize();
       cacheable.invalidate();
-      expiringMap.remove(key);
       currentSize = currentSize - memorySize;
       LOGGER.info("Removed entry from InMemory lru cache :: " + key);
     }
@@ -205,7 +311,7 @@ public final class CarbonLRUCache {
     }
     boolean columnKeyAddedSuccessfully = false;
     if (isLRUCacheSizeConfigured()) {
-      synchronized (expiringMap) {
+      synchronized (lock) {
         if (freeMemorySizeForAddingCache(requiredSize)) {
           currentSize = currentSize + requiredSize;
           addEntryToLRUCacheMap(columnIdentifier, cacheInfo, expiration_time);
@@ -218,7 +324,7 @@ public final class CarbonLRUCache {
         }
       }
     } else {
-      synchronized (expiringMap) {
+      synchronized (lock) {
         addEntryToLRUCacheMap(columnIdentifier, cacheInfo, expiration_time);
         currentSize = currentSize + requiredSize;
       }
@@ -235,10 +341,13 @@ public final class CarbonLRUCache {
    */
   private void addEntryToLRUCacheMap(String columnIdentifier, Cacheable cacheInfo,
       long expirationTimeSeconds) {
-    if (null == expiringMap.get(columnIdentifier) && expirationTimeSeconds != 0L) {
-      expiringMap.put(columnIdentifier, cacheInfo, ExpirationPolicy.ACCESSED, expirationTimeSeconds,
-          TimeUnit.SECONDS);
-    } else expiringMap.putIfAbsent(columnIdentifier, cacheInfo);
+    ExpiringMap<String, Cacheable> segment = getSegment(columnIdentifier);
+    synchronized (segment) {
+      if (null == segment.get(columnIdentifier) && expirationTimeSeconds != 0L) {
+        segment.put(columnIdentifier, cacheInfo, ExpirationPolicy.ACCESSED, expirationTimeSeconds,
+            TimeUnit.SECONDS);
+      } else segment.putIfAbsent(columnIdentifier, cacheInfo);
+    }
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Added entry to InMemory lru cache :: " + columnIdentifier);
     }
@@ -293,8 +402,10 @@ public final class CarbonLRUCache {
    * @return
    */
   public Cacheable get(String key) {
-    synchronized (expiringMap) {
-      return expiringMap.get(key);
+    // get of the expiring map also changes the map, as it moves the entry to the last accessed
+    ExpiringMap<String, Cacheable> segment = getSegment(key);
+    synchronized (segment) {
+      return segment.get(key);
     }
   }
 
@@ -302,16 +413,29 @@ public final class CarbonLRUCache {
    * This method will empty the level cache
    */
   public void clear() {
-    synchronized (expiringMap) {
-      for (Cacheable cacheable : expiringMap.values()) {
-        cacheable.invalidate();
+    synchronized (lock) {
+      for (ExpiringMap<String, Cacheable> segment : segments) {
+        synchronized (segment) {
+          for (Cacheable cacheable : segment.values()) {
+            cacheable.invalidate();
+          }
+          segment.clear();
+        }
       }
-      expiringMap.clear();
     }
   }
 
+  /**
+   * Returns a copy of the entries of the cache
+   */
   public Map<String, Cacheable> getCacheMap() {
-    return expiringMap;
+    Map<String, Cacheable> cacheMap = new HashMap<>();
+    for (ExpiringMap<String, Cacheable> segment : segments) {
+      synchronized (segment) {
+        cacheMap.putAll(segment);
+      }
+    }
+    return Collections.unmodifiableMap(cacheMap);
   }
 
   /**
@@ -342,4 +466,34 @@ public final class CarbonLRUCache {
   public long getCurrentSize() {
     return currentSize;
   }
+
+  private static final class EvictionCandidate {
+
+    private final String key;
+
+    private final Cacheable cacheable;
+
+    private final long expiration;
+
+    private EvictionCandidate(String key, Cacheable cacheable, long expiration) {
+      this.key = key;
+      this.cacheable = cacheable;
+      this.expiration = expiration;
+    }
+  }
+
+  private static final class EvictionCandidates {
+
+    private final List<EvictionCandidate> candidates;
+
+    /**
+     * whether the candidates are all the entries of the cache
+     */
+    private final boolean isAllEntries;
+
+    private EvictionCandidates(List<EvictionCandidate> candidates, boolean isAllEntries) {
+      this.candidates = candidates;
+      this.isAllEntries = isAllEntries;
+    }
+  }
 }
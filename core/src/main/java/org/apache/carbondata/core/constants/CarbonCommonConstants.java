@@ -792,6 +792,26 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_MERGE_SORT_PREFETCH_DEFAULT = "true";
 
+  /**
+   * Minimum number of sorted pages and sort temp files for which the final merge of local sort
+   * is split into groups merged in parallel by the sort cores. A big value disables it.
+   */
+  @CarbonProperty
+  public static final String CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD =
+      "carbon.sort.parallel.final.merge.threshold";
+
+  public static final String CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD_DEFAULT = "20";
+
+  /**
+   * Minimum number of columns for which the columns of a page are encoded in parallel by the
+   * writer cores of data load. A big value disables it.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD =
+      "carbon.load.parallel.page.encoding.threshold";
+
+  public static final String CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD_DEFAULT = "64";
+
   /**
    * Number of unmerged segments to be merged.
    */
@@ -1031,6 +1051,21 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_SORT_TEMP_COMPRESSOR_DEFAULT = "SNAPPY";
 
+  /**
+   * number of rows in a column batch of sort temp files, the rows of a batch are written
+   * column by column. 0 writes the rows one by one.
+   */
+  @CarbonProperty
+  public static final String CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE =
+      "carbon.sort.temp.columnar.batch.size";
+
+  public static final String CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_DEFAULT = "0";
+
+  /**
+   * max value for the rows in a column batch of sort temp files
+   */
+  public static final int CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_MAX = 65536;
+
   /**
    * Which storage level to persist rdd when sort_scope=global_sort
    */
@@ -1360,6 +1395,18 @@ public final class CarbonCommonConstants {
 
   public static final String ENABLE_TABLE_STATUS_BACKUP_DEFAULT = "false";
 
+  /**
+   * Number of table status files whose parsed content is cached in the process. Cached content
+   * is used as long as the last modified time and size of the file are not changed, so that
+   * table status of tables with many segments is not parsed again for every query.
+   * 0 disables the cache. It is disabled by default, as a file rewritten with the same size
+   * within the modification time granularity of the file system is not detected.
+   */
+  @CarbonProperty
+  public static final String CARBON_TABLE_STATUS_CACHE_SIZE = "carbon.tablestatus.cache.size";
+
+  public static final String CARBON_TABLE_STATUS_CACHE_SIZE_DEFAULT = "0";
+
   /**
    * property to set is IS_DRIVER_INSTANCE
    */
@@ -1594,6 +1641,38 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_QUERY_PREFETCH_ENABLE_DEFAULT = "true";
 
+  /**
+   * Maximum number of unused bytes between two projected column ranges of a blocklet up to
+   * which both ranges are fetched in a single read. Merging nearby ranges reduces the number
+   * of round trips on HDFS and object stores at the cost of reading the gap. 0 disables it.
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_READ_COALESCE_GAP_BYTES =
+      "carbon.query.read.coalesce.gap.bytes";
+
+  public static final String CARBON_QUERY_READ_COALESCE_GAP_BYTES_DEFAULT = "0";
+
+  /**
+   * Maximum number of blocklets a query scanner reads ahead of the blocklet being scanned when
+   * prefetch is enabled. The read ahead window grows up to this value while the scanner waits
+   * for IO and shrinks when the read blocklets are not consumed fast enough.
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_PREFETCH_MAX_BLOCKLETS =
+      "carbon.query.prefetch.max.blocklets";
+
+  public static final String CARBON_QUERY_PREFETCH_MAX_BLOCKLETS_DEFAULT = "4";
+
+  /**
+   * Maximum size in MB of the blocklets read ahead by a query scanner. One blocklet is always
+   * read ahead even if it is bigger than this size.
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB =
+      "carbon.query.prefetch.memory.size.inmb";
+
+  public static final String CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB_DEFAULT = "128";
+
   @CarbonProperty(dynamicConfigurable = true)
   public static final String CARBON_QUERY_STAGE_INPUT =
       "carbon.query.stage.input.enable";
@@ -2576,6 +2655,42 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_LOAD_ALL_SEGMENT_INDEXES_TO_CACHE_DEFAULT = "true";
 
+  /**
+   * Whether the min and max values of the block and blocklet indexes are also kept column wise,
+   * so that pruning evaluates a filter column for all the blocks or blocklets of an index at a
+   * time. The min and max values are copied when the index is loaded, which takes driver memory
+   * of about the size of the min and max values. The copy is counted in the size of the index in
+   * the driver LRU cache.
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED =
+      "carbon.index.columnar.minmax.enabled";
+
+  public static final String CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED_DEFAULT = "false";
+
+  /**
+   * Number of entries of the block and blocklet indexes in a zone of the min and max tree used
+   * when carbon.index.columnar.minmax.enabled is set. Each level of the tree holds the min and
+   * max values of zones of the level below it, so that a filter skips all the entries of a zone
+   * which cannot match at once.
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_MIN_MAX_ZONE_SIZE = "carbon.index.minmax.zone.size";
+
+  public static final String CARBON_INDEX_MIN_MAX_ZONE_SIZE_DEFAULT = "32";
+
+  /**
+   * Whether the block and blocklet indexes loaded to the driver cache are also saved as a
+   * snapshot next to the index file they are loaded from. When an index file is not in the
+   * cache, for example after the driver restarts, its indexes are read back from the snapshot
+   * instead of being built again from the index file and the data files, as long as the index
+   * file is not changed after the snapshot was saved.
+   */
+  @CarbonProperty
+  public static final String CARBON_INDEX_SNAPSHOT_ENABLED = "carbon.index.snapshot.enabled";
+
+  public static final String CARBON_INDEX_SNAPSHOT_ENABLED_DEFAULT = "false";
+
   /**
    * Index properties
    * Index_Provider is the name of CG or FG Index provider
@@ -137,12 +137,32 @@ public final class CarbonLoadOptionConstants {
    */
   public static final String SORT_COLUMN_BOUNDS_ROW_DELIMITER = ";";
 
+  /**
+   * number of rows taken from the beginning of the input to compute the bounds of the sort column
+   * ranges, in a global sort load which is not run by spark
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS =
+      "carbon.load.globalSort.sampleRows";
+
+  public static final String CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS_DEFAULT = "100000";
+
   @CarbonProperty
   public static final String ENABLE_CARBON_LOAD_DIRECT_WRITE_TO_STORE_PATH =
       "carbon.load.directWriteToStorePath.enabled";
 
   public static final String ENABLE_CARBON_LOAD_DIRECT_WRITE_TO_STORE_PATH_DEFAULT = "false";
 
+  /**
+   * Whether to write a blocklet to the fact data file in a separate thread, so that the pages
+   * of the next blocklet are encoded while it is written
+   */
+  @CarbonProperty
+  public static final String ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE =
+      "carbon.load.asyncBlockletWrite.enabled";
+
+  public static final String ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE_DEFAULT = "false";
+
   /**
    * If the sort memory is insufficient, spill in-memory pages to disk.
    * The total amount of pages is at most the specified percentage of total sort memory. Default
@@ -29,6 +29,11 @@ import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
  */
 public class VariableLengthDimensionColumnPage extends AbstractDimensionColumnPage {
 
+  /**
+   * whether the page is encoded with the local dictionary of the blocklet
+   */
+  private boolean isLocalDictionaryEncoded;
+
   /**
    * Constructor for this class
    * @param dataChunks           data chunk
@@ -42,6 +47,7 @@ public class VariableLengthDimensionColumnPage extends AbstractDimensionColumnPa
       int[] invertedIndexReverse, int numberOfRows, DimensionStoreType dimStoreType,
       CarbonDictionary dictionary, ColumnVectorInfo vectorInfo, int dataLength) {
     boolean isExplicitSorted = isExplicitSorted(invertedIndex);
+    this.isLocalDictionaryEncoded = dimStoreType == DimensionStoreType.LOCAL_DICT;
     long totalSize = 0;
     switch (dimStoreType) {
       case LOCAL_DICT:
@@ -104,6 +110,21 @@ public class VariableLengthDimensionColumnPage extends AbstractDimensionColumnPa
     return true;
   }
 
+  public boolean isLocalDictionaryEncoded() {
+    return isLocalDictionaryEncoded;
+  }
+
+  /**
+   * Below method will be used to get the local dictionary surrogate of the row, only for the
+   * page encoded with local dictionary
+   *
+   * @param rowId row id
+   * @return surrogate of the row
+   */
+  public int getSurrogate(int rowId) {
+    return dataChunkStore.getSurrogate(rowId);
+  }
+
   /**
    * Fill the data to vector
    *
@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.datastore.chunk.reader.dimension;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.apache.carbondata.core.datastore.FileReader;
@@ -27,6 +28,7 @@ import org.apache.carbondata.core.datastore.chunk.reader.DimensionColumnChunkRea
 import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Class which will have all the common properties and behavior among all type
@@ -54,6 +56,11 @@ public abstract class AbstractDimensionChunkReader implements DimensionColumnChu
    */
   protected List<Integer> dimensionChunksLength;
 
+  /**
+   * maximum gap in bytes between two column groups to read them in one IO
+   */
+  private long readCoalesceGapBytes;
+
   /**
    * Constructor to get minimum parameter to create
    * instance of this class
@@ -63,6 +70,7 @@ public abstract class AbstractDimensionChunkReader implements DimensionColumnChu
     this.filePath = filePath;
     dimensionChunksOffset = blockletInfo.getDimensionChunkOffsets();
     dimensionChunksLength = blockletInfo.getDimensionChunksLength();
+    readCoalesceGapBytes = CarbonProperties.getInstance().getQueryReadCoalesceGapBytes();
   }
 
   @Override
@@ -80,6 +88,8 @@ public abstract class AbstractDimensionChunkReader implements DimensionColumnChu
    * if not last column then read data of all the column present in block index
    * together then process it.
    * For last column read is separately and process
+   * If the gap between two groups is within the configured coalesce gap, both the groups
+   * are fetched in a single IO and then split
    *
    * @param fileReader      file reader to read the blocks from file
    * @param columnIndexRange column index range to be read
@@ -95,37 +105,89 @@ public abstract class AbstractDimensionChunkReader implements DimensionColumnChu
     if (columnIndexRange.length == 0) {
       return dataChunks;
     }
-    DimensionRawColumnChunk[] groupChunk = null;
-    int index = 0;
-    // iterate till block indexes -1 as block index will be in sorted order, so to avoid
-    // the last column reading in group
-    for (int i = 0; i < columnIndexRange.length - 1; i++) {
-      index = 0;
-      groupChunk =
-          readRawDimensionChunksInGroup(fileReader, columnIndexRange[i][0], columnIndexRange[i][1]);
-      for (int j = columnIndexRange[i][0]; j <= columnIndexRange[i][1]; j++) {
-        dataChunks[j] = groupChunk[index++];
-      }
-    }
+    int lastRangeIndex = columnIndexRange.length - 1;
     // check last index is present in block index, if it is present then read separately
-    if (columnIndexRange[columnIndexRange.length - 1][0] == dimensionChunksOffset.size() - 1) {
-      dataChunks[columnIndexRange[columnIndexRange.length - 1][0]] =
-          readRawDimensionChunk(fileReader, columnIndexRange[columnIndexRange.length - 1][0]);
-    }
-    // otherwise read the data in group
-    else {
-      groupChunk = readRawDimensionChunksInGroup(
-          fileReader, columnIndexRange[columnIndexRange.length - 1][0],
-          columnIndexRange[columnIndexRange.length - 1][1]);
-      index = 0;
-      for (int j = columnIndexRange[columnIndexRange.length - 1][0];
-           j <= columnIndexRange[columnIndexRange.length - 1][1]; j++) {
-        dataChunks[j] = groupChunk[index++];
+    boolean readLastColumnSeparately =
+        columnIndexRange[lastRangeIndex][0] == dimensionChunksOffset.size() - 1;
+    int groupedRangeCount = readLastColumnSeparately ? lastRangeIndex : columnIndexRange.length;
+    int rangeIndex = 0;
+    while (rangeIndex < groupedRangeCount) {
+      int startColumn = columnIndexRange[rangeIndex][0];
+      int endRangeIndex = rangeIndex;
+      while (endRangeIndex + 1 < groupedRangeCount && canCoalesce(fileReader, startColumn,
+          columnIndexRange[endRangeIndex][1], columnIndexRange[endRangeIndex + 1][0],
+          columnIndexRange[endRangeIndex + 1][1])) {
+        endRangeIndex++;
+      }
+      if (endRangeIndex == rangeIndex) {
+        fillGroupChunks(dataChunks, startColumn, readRawDimensionChunksInGroup(fileReader,
+            startColumn, columnIndexRange[rangeIndex][1]));
+      } else {
+        long spanOffset = dimensionChunksOffset.get(startColumn);
+        int spanLength = (int) (dimensionChunksOffset.get(columnIndexRange[endRangeIndex][1] + 1)
+            - spanOffset);
+        ByteBuffer buffer;
+        synchronized (fileReader) {
+          buffer = fileReader.readByteBuffer(filePath, spanOffset, spanLength);
+        }
+        for (int i = rangeIndex; i <= endRangeIndex; i++) {
+          int bufferOffset = (int) (dimensionChunksOffset.get(columnIndexRange[i][0]) - spanOffset);
+          fillGroupChunks(dataChunks, columnIndexRange[i][0],
+              createRawDimensionChunksInGroup(fileReader, buffer, bufferOffset,
+                  columnIndexRange[i][0], columnIndexRange[i][1]));
+        }
       }
+      rangeIndex = endRangeIndex + 1;
+    }
+    if (readLastColumnSeparately) {
+      dataChunks[columnIndexRange[lastRangeIndex][0]] =
+          readRawDimensionChunk(fileReader, columnIndexRange[lastRangeIndex][0]);
     }
     return dataChunks;
   }
 
+  private void fillGroupChunks(DimensionRawColumnChunk[] dataChunks, int startColumnIndex,
+      DimensionRawColumnChunk[] groupChunk) {
+    System.arraycopy(groupChunk, 0, dataChunks, startColumnIndex, groupChunk.length);
+  }
+
+  /**
+   * Whether the next column group can be fetched in the same IO as the current span
+   *
+   * @param fileReader       file reader used for the query
+   * @param spanStartColumn  first column of the span read in one IO
+   * @param spanEndColumn    last column of the span read in one IO
+   * @param nextStartColumn  first column of the next group
+   * @param nextEndColumn    last column of the next group
+   * @return true if the gap between the span and the next group is small enough
+   */
+  private boolean canCoalesce(FileReader fileReader, int spanStartColumn, int spanEndColumn,
+      int nextStartColumn, int nextEndColumn) {
+    if (readCoalesceGapBytes <= 0 || fileReader.isReadPageByPage()) {
+      return false;
+    }
+    long gap = dimensionChunksOffset.get(nextStartColumn)
+        - dimensionChunksOffset.get(spanEndColumn + 1);
+    long spanLength = dimensionChunksOffset.get(nextEndColumn + 1)
+        - dimensionChunksOffset.get(spanStartColumn);
+    return gap <= readCoalesceGapBytes && spanLength <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * Below method will be used to create the raw chunks of a dimension column group from the
+   * data which is already read as part of a bigger span
+   *
+   * @param fileReader               file reader used to read the data
+   * @param buffer                   data of the span
+   * @param bufferOffset             offset of the first column of the group in buffer
+   * @param startColumnBlockletIndex first column blocklet index of the group
+   * @param endColumnBlockletIndex   end column blocklet index of the group
+   * @return dimension raw chunk array
+   */
+  protected abstract DimensionRawColumnChunk[] createRawDimensionChunksInGroup(
+      FileReader fileReader, ByteBuffer buffer, int bufferOffset, int startColumnBlockletIndex,
+      int endColumnBlockletIndex) throws IOException;
+
   /**
    * Below method will be used to read measure chunk data in group.
    * This method will be useful to avoid multiple IO while reading the
@@ -183,11 +183,19 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
       buffer = fileReader.readByteBuffer(filePath, currentDimensionOffset,
           (int) (dimensionChunksOffset.get(endBlockletColumnIndex + 1) - currentDimensionOffset));
     }
+    return createRawDimensionChunksInGroup(fileReader, buffer, 0, startBlockletColumnIndex,
+        endBlockletColumnIndex);
+  }
+
+  @Override
+  protected DimensionRawColumnChunk[] createRawDimensionChunksInGroup(FileReader fileReader,
+      ByteBuffer buffer, int bufferOffset, int startBlockletColumnIndex,
+      int endBlockletColumnIndex) throws IOException {
     // create raw chunk for each dimension column
     DimensionRawColumnChunk[] dimensionDataChunks =
         new DimensionRawColumnChunk[endBlockletColumnIndex - startBlockletColumnIndex + 1];
     int index = 0;
-    int runningLength = 0;
+    int runningLength = bufferOffset;
     for (int i = startBlockletColumnIndex; i <= endBlockletColumnIndex; i++) {
       int currentLength = (int) (dimensionChunksOffset.get(i + 1) - dimensionChunksOffset.get(i));
       DataChunk3 dataChunk =
@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.datastore.chunk.reader.measure;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import org.apache.carbondata.core.datastore.FileReader;
@@ -27,6 +28,7 @@ import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
 import org.apache.carbondata.core.datastore.page.encoding.EncodingFactory;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Measure block reader abstract class
@@ -49,6 +51,11 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
    */
   protected List<Integer> measureColumnChunkLength;
 
+  /**
+   * maximum gap in bytes between two column groups to read them in one IO
+   */
+  private long readCoalesceGapBytes;
+
   /**
    * Constructor to get minimum parameter to create instance of this class
    *
@@ -58,6 +65,7 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
     this.filePath = filePath;
     this.measureColumnChunkOffsets = blockletInfo.getMeasureChunkOffsets();
     this.measureColumnChunkLength = blockletInfo.getMeasureChunksLength();
+    this.readCoalesceGapBytes = CarbonProperties.getInstance().getQueryReadCoalesceGapBytes();
   }
 
   /**
@@ -65,7 +73,8 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
    * Reading logic of below method is: Except last column all the column chunk
    * can be read in group if not last column then read data of all the column
    * present in block index together then process it. For last column read is
-   * separately and process
+   * separately and process. If the gap between two groups is within the configured
+   * coalesce gap, both the groups are fetched in a single IO and then split
    *
    * @param fileReader   file reader to read the blocks from file
    * @param columnIndexRange blocks range to be read, columnIndexGroup[i] is one group, inside the
@@ -82,32 +91,89 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
     if (columnIndexRange.length == 0) {
       return dataChunks;
     }
-    MeasureRawColumnChunk[] groupChunk = null;
-    int index = 0;
-    for (int i = 0; i < columnIndexRange.length - 1; i++) {
-      index = 0;
-      groupChunk = readRawMeasureChunksInGroup(
-          fileReader, columnIndexRange[i][0], columnIndexRange[i][1]);
-      for (int j = columnIndexRange[i][0]; j <= columnIndexRange[i][1]; j++) {
-        dataChunks[j] = groupChunk[index++];
+    int lastRangeIndex = columnIndexRange.length - 1;
+    boolean readLastColumnSeparately =
+        columnIndexRange[lastRangeIndex][0] == measureColumnChunkOffsets.size() - 1;
+    int groupedRangeCount = readLastColumnSeparately ? lastRangeIndex : columnIndexRange.length;
+    int rangeIndex = 0;
+    while (rangeIndex < groupedRangeCount) {
+      int startColumn = columnIndexRange[rangeIndex][0];
+      int endRangeIndex = rangeIndex;
+      while (endRangeIndex + 1 < groupedRangeCount && canCoalesce(fileReader, startColumn,
+          columnIndexRange[endRangeIndex][1], columnIndexRange[endRangeIndex + 1][0],
+          columnIndexRange[endRangeIndex + 1][1])) {
+        endRangeIndex++;
       }
-    }
-    if (columnIndexRange[columnIndexRange.length - 1][0] == measureColumnChunkOffsets.size() - 1) {
-      dataChunks[columnIndexRange[columnIndexRange.length - 1][0]] =
-          readRawMeasureChunk(fileReader, columnIndexRange[columnIndexRange.length - 1][0]);
-    } else {
-      groupChunk = readRawMeasureChunksInGroup(
-          fileReader, columnIndexRange[columnIndexRange.length - 1][0],
-          columnIndexRange[columnIndexRange.length - 1][1]);
-      index = 0;
-      for (int j = columnIndexRange[columnIndexRange.length - 1][0];
-           j <= columnIndexRange[columnIndexRange.length - 1][1]; j++) {
-        dataChunks[j] = groupChunk[index++];
+      if (endRangeIndex == rangeIndex) {
+        fillGroupChunks(dataChunks, startColumn, readRawMeasureChunksInGroup(fileReader,
+            startColumn, columnIndexRange[rangeIndex][1]));
+      } else {
+        long spanOffset = measureColumnChunkOffsets.get(startColumn);
+        int spanLength = (int) (
+            measureColumnChunkOffsets.get(columnIndexRange[endRangeIndex][1] + 1) - spanOffset);
+        ByteBuffer buffer;
+        synchronized (fileReader) {
+          buffer = fileReader.readByteBuffer(filePath, spanOffset, spanLength);
+        }
+        for (int i = rangeIndex; i <= endRangeIndex; i++) {
+          int bufferOffset =
+              (int) (measureColumnChunkOffsets.get(columnIndexRange[i][0]) - spanOffset);
+          fillGroupChunks(dataChunks, columnIndexRange[i][0],
+              createRawMeasureChunksInGroup(fileReader, buffer, bufferOffset,
+                  columnIndexRange[i][0], columnIndexRange[i][1]));
+        }
       }
+      rangeIndex = endRangeIndex + 1;
+    }
+    if (readLastColumnSeparately) {
+      dataChunks[columnIndexRange[lastRangeIndex][0]] =
+          readRawMeasureChunk(fileReader, columnIndexRange[lastRangeIndex][0]);
     }
     return dataChunks;
   }
 
+  private void fillGroupChunks(MeasureRawColumnChunk[] dataChunks, int startColumnIndex,
+      MeasureRawColumnChunk[] groupChunk) {
+    System.arraycopy(groupChunk, 0, dataChunks, startColumnIndex, groupChunk.length);
+  }
+
+  /**
+   * Whether the next column group can be fetched in the same IO as the current span
+   *
+   * @param fileReader       file reader used for the query
+   * @param spanStartColumn  first column of the span read in one IO
+   * @param spanEndColumn    last column of the span read in one IO
+   * @param nextStartColumn  first column of the next group
+   * @param nextEndColumn    last column of the next group
+   * @return true if the gap between the span and the next group is small enough
+   */
+  private boolean canCoalesce(FileReader fileReader, int spanStartColumn, int spanEndColumn,
+      int nextStartColumn, int nextEndColumn) {
+    if (readCoalesceGapBytes <= 0 || fileReader.isReadPageByPage()) {
+      return false;
+    }
+    long gap = measureColumnChunkOffsets.get(nextStartColumn)
+        - measureColumnChunkOffsets.get(spanEndColumn + 1);
+    long spanLength = measureColumnChunkOffsets.get(nextEndColumn + 1)
+        - measureColumnChunkOffsets.get(spanStartColumn);
+    return gap <= readCoalesceGapBytes && spanLength <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * Below method will be used to create the raw chunks of a measure column group from the
+   * data which is already read as part of a bigger span
+   *
+   * @param fileReader       file reader used to read the data
+   * @param buffer           data of the span
+   * @param bufferOffset     offset of the first column of the group in buffer
+   * @param startColumnIndex first column index of the group
+   * @param endColumnIndex   end column index of the group
+   * @return measure raw chunk array
+   */
+  protected abstract MeasureRawColumnChunk[] createRawMeasureChunksInGroup(FileReader fileReader,
+      ByteBuffer buffer, int bufferOffset, int startColumnIndex, int endColumnIndex)
+      throws IOException;
+
   /**
    * Below method will be used to read measure chunk data in group.
    * This method will be useful to avoid multiple IO while reading the
@@ -164,10 +164,18 @@ public class MeasureChunkReaderV3 extends AbstractMeasureChunkReader {
       buffer = fileReader.readByteBuffer(filePath, currentMeasureOffset,
           (int) (measureColumnChunkOffsets.get(endColumnIndex + 1) - currentMeasureOffset));
     }
+    return createRawMeasureChunksInGroup(fileReader, buffer, 0, startColumnIndex,
+        endColumnIndex);
+  }
+
+  @Override
+  protected MeasureRawColumnChunk[] createRawMeasureChunksInGroup(FileReader fileReader,
+      ByteBuffer buffer, int bufferOffset, int startColumnIndex, int endColumnIndex)
+      throws IOException {
     // create raw chunk for each measure column
     MeasureRawColumnChunk[] measureDataChunk =
         new MeasureRawColumnChunk[endColumnIndex - startColumnIndex + 1];
-    int runningLength = 0;
+    int runningLength = bufferOffset;
     int index = 0;
     for (int i = startColumnIndex; i <= endColumnIndex; i++) {
       int currentLength =
@@ -157,9 +157,15 @@ public class LocalDictDimensionDataChunkStore implements DimensionDataChunkStore
     return this.dimensionDataChunkStore.getInvertedReverseIndex(rowId);
   }
 
+  /**
+   * Below method will be used to get the local dictionary surrogate of the row
+   *
+   * @param rowId row id
+   * @return surrogate of the row
+   */
   @Override
   public int getSurrogate(int rowId) {
-    throw new UnsupportedOperationException("Operation not supported");
+    return dimensionDataChunkStore.getSurrogate(rowId);
   }
 
   @Override
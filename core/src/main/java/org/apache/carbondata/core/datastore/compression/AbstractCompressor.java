@@ -31,15 +31,118 @@ import org.apache.carbondata.core.util.ByteUtil;
 
 public abstract class AbstractCompressor implements Compressor {
 
+  /**
+   * biggest size of the direct buffer kept by a thread for reuse, bigger buffers are
+   * destroyed after use
+   */
+  private static final int MAX_REUSABLE_BUFFER_SIZE = 1024 * 1024;
+
+  /**
+   * direct buffer of the thread, to hold the uncompressed pages to compress
+   */
+  private static final ThreadLocal<ByteBuffer> REUSABLE_DIRECT_BUFFER = new ThreadLocal<>();
+
+  /**
+   * array of the thread, to hold the compressed bytes of a direct buffer to uncompress
+   */
+  private static final ThreadLocal<byte[]> REUSABLE_ARRAY = new ThreadLocal<>();
+
+  /**
+   * Returns an empty direct buffer of the size, the buffer of the thread is reused if the size
+   * is not bigger than MAX_REUSABLE_BUFFER_SIZE. The buffer must be given back by
+   * releaseDirectBuffer.
+   */
+  static ByteBuffer getDirectBuffer(int size) {
+    if (size > MAX_REUSABLE_BUFFER_SIZE) {
+      return ByteBuffer.allocateDirect(size);
+    }
+    ByteBuffer buffer = REUSABLE_DIRECT_BUFFER.get();
+    if (null == buffer || buffer.capacity() < size) {
+      if (null != buffer) {
+        UnsafeMemoryManager.destroyDirectByteBuffer(buffer);
+      }
+      // allocated in the power of two of the size, so that growing pages of a column are not
+      // allocated again for each page
+      buffer = ByteBuffer.allocateDirect(
+          Math.min(Integer.highestOneBit(Math.max(size, 2) - 1) << 1, MAX_REUSABLE_BUFFER_SIZE));
+      REUSABLE_DIRECT_BUFFER.set(buffer);
+    }
+    buffer.clear();
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Destroys the direct buffer got from getDirectBuffer unless it is the buffer of the thread
+   */
+  static void releaseDirectBuffer(ByteBuffer buffer) {
+    if (buffer != REUSABLE_DIRECT_BUFFER.get()) {
+      UnsafeMemoryManager.destroyDirectByteBuffer(buffer);
+    }
+  }
+
+  /**
+   * Returns the array of the thread, of at least the size
+   */
+  private static byte[] getReusableArray(int size) {
+    byte[] array = REUSABLE_ARRAY.get();
+    if (null == array || array.length < size) {
+      array = new byte[size];
+      if (size <= MAX_REUSABLE_BUFFER_SIZE) {
+        REUSABLE_ARRAY.set(array);
+      }
+    }
+    return array;
+  }
+
+  /**
+   * Compresses through compressByte(ByteBuffer), the input is copied to the direct buffer of
+   * the thread and the compressed bytes are copied to the output
+   */
+  @Override
+  public int compressByte(ByteBuffer input, ByteBuffer output) {
+    ByteBuffer unCompBuffer = getDirectBuffer(input.remaining());
+    try {
+      unCompBuffer.put(input);
+      ByteBuffer compressed = compressByte(unCompBuffer);
+      int compressedLength = compressed.remaining();
+      output.put(compressed);
+      return compressedLength;
+    } finally {
+      releaseDirectBuffer(unCompBuffer);
+    }
+  }
+
+  /**
+   * Uncompresses through unCompressByte(byte[], int, int), the input is copied to the array of
+   * the thread if it has no array and the uncompressed bytes are copied to the output
+   */
+  @Override
+  public int unCompressByte(ByteBuffer input, ByteBuffer output) {
+    int length = input.remaining();
+    byte[] uncompressed;
+    if (input.hasArray()) {
+      uncompressed =
+          unCompressByte(input.array(), input.arrayOffset() + input.position(), length);
+      input.position(input.limit());
+    } else {
+      byte[] compInput = getReusableArray(length);
+      input.get(compInput, 0, length);
+      uncompressed = unCompressByte(compInput, 0, length);
+    }
+    output.put(uncompressed);
+    return uncompressed.length;
+  }
+
   @Override
   public ByteBuffer compressShort(short[] unCompInput) {
-    ByteBuffer unCompBuffer = ByteBuffer.allocateDirect(unCompInput.length * ByteUtil.SIZEOF_SHORT);
+    ByteBuffer unCompBuffer = getDirectBuffer(unCompInput.length * ByteUtil.SIZEOF_SHORT);
     try {
       unCompBuffer.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().put(unCompInput);
       unCompBuffer.position(unCompBuffer.limit());
       return compressByte(unCompBuffer);
     } finally {
-      UnsafeMemoryManager.destroyDirectByteBuffer(unCompBuffer);
+      releaseDirectBuffer(unCompBuffer);
     }
   }
 
@@ -55,13 +158,13 @@ public abstract class AbstractCompressor implements Compressor {
 
   @Override
   public ByteBuffer compressInt(int[] unCompInput) {
-    ByteBuffer unCompBuffer = ByteBuffer.allocateDirect(unCompInput.length * ByteUtil.SIZEOF_INT);
+    ByteBuffer unCompBuffer = getDirectBuffer(unCompInput.length * ByteUtil.SIZEOF_INT);
     try {
       unCompBuffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(unCompInput);
       unCompBuffer.position(unCompBuffer.limit());
       return compressByte(unCompBuffer);
     } finally {
-      UnsafeMemoryManager.destroyDirectByteBuffer(unCompBuffer);
+      releaseDirectBuffer(unCompBuffer);
     }
   }
 
@@ -77,13 +180,13 @@ public abstract class AbstractCompressor implements Compressor {
 
   @Override
   public ByteBuffer compressLong(long[] unCompInput) {
-    ByteBuffer unCompBuffer = ByteBuffer.allocateDirect(unCompInput.length * ByteUtil.SIZEOF_LONG);
+    ByteBuffer unCompBuffer = getDirectBuffer(unCompInput.length * ByteUtil.SIZEOF_LONG);
     try {
       unCompBuffer.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().put(unCompInput);
       unCompBuffer.position(unCompBuffer.limit());
       return compressByte(unCompBuffer);
     } finally {
-      UnsafeMemoryManager.destroyDirectByteBuffer(unCompBuffer);
+      releaseDirectBuffer(unCompBuffer);
     }
   }
 
@@ -99,13 +202,13 @@ public abstract class AbstractCompressor implements Compressor {
 
   @Override
   public ByteBuffer compressFloat(float[] unCompInput) {
-    ByteBuffer unCompBuffer = ByteBuffer.allocateDirect(unCompInput.length * ByteUtil.SIZEOF_FLOAT);
+    ByteBuffer unCompBuffer = getDirectBuffer(unCompInput.length * ByteUtil.SIZEOF_FLOAT);
     try {
       unCompBuffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(unCompInput);
       unCompBuffer.position(unCompBuffer.limit());
       return compressByte(unCompBuffer);
     } finally {
-      UnsafeMemoryManager.destroyDirectByteBuffer(unCompBuffer);
+      releaseDirectBuffer(unCompBuffer);
     }
   }
 
@@ -121,14 +224,13 @@ public abstract class AbstractCompressor implements Compressor {
 
   @Override
   public ByteBuffer compressDouble(double[] unCompInput) {
-    ByteBuffer unCompBuffer =
-        ByteBuffer.allocateDirect(unCompInput.length * ByteUtil.SIZEOF_DOUBLE);
+    ByteBuffer unCompBuffer = getDirectBuffer(unCompInput.length * ByteUtil.SIZEOF_DOUBLE);
     try {
       unCompBuffer.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(unCompInput);
       unCompBuffer.position(unCompBuffer.limit());
       return compressByte(unCompBuffer);
     } finally {
-      UnsafeMemoryManager.destroyDirectByteBuffer(unCompBuffer);
+      releaseDirectBuffer(unCompBuffer);
     }
   }
 
@@ -34,6 +34,30 @@ public interface Compressor {
 
   byte[] unCompressByte(byte[] compInput, int offset, int length);
 
+  /**
+   * Compresses the bytes of the input from its position to its limit into the output from its
+   * position, without copying them when the compressor supports the kind of the buffers.
+   * The position of the input is moved to its limit and the position of the output after the
+   * compressed bytes.
+   *
+   * @param input uncompressed bytes
+   * @param output buffer for the compressed bytes, of at least maxCompressedLength remaining
+   * @return the number of compressed bytes
+   */
+  int compressByte(ByteBuffer input, ByteBuffer output);
+
+  /**
+   * Uncompresses the bytes of the input from its position to its limit into the output from
+   * its position, without copying them when the compressor supports the kind of the buffers.
+   * The position of the input is moved to its limit and the position of the output after the
+   * uncompressed bytes.
+   *
+   * @param input compressed bytes
+   * @param output buffer for the uncompressed bytes
+   * @return the number of uncompressed bytes
+   */
+  int unCompressByte(ByteBuffer input, ByteBuffer output);
+
   ByteBuffer compressShort(short[] unCompInput);
 
   short[] unCompressShort(byte[] compInput, int offset, int length);
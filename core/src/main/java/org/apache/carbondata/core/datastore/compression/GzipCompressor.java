@@ -150,7 +150,9 @@ public class GzipCompressor extends AbstractCompressor {
   public long maxCompressedLength(long inputSize) {
     // Check if input size is lower than the max possible size
     if (inputSize < Integer.MAX_VALUE) {
-      return inputSize;
+      // bound of deflate for any settings, as deflateBound of zlib, and the gzip header and
+      // trailer, as data which does not compress gets bigger
+      return inputSize + ((inputSize + 7) >> 3) + ((inputSize + 63) >> 6) + 5 + 18;
     } else {
       throw new RuntimeException("compress input oversize for gzip");
     }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+/**
+ * Codec Class for performing LZ4 Compression. LZ4 trades some compression ratio for very
+ * fast decompression, which suits tables sensitive to read latency.
+ * LZ4 block format does not keep the uncompressed length, so every compressed block is
+ * prefixed with the uncompressed length as 4 bytes int, this also lets the decompression
+ * fill a reusable buffer.
+ */
+public class Lz4Compressor extends AbstractCompressor {
+
+  /**
+   * number of bytes used to store the uncompressed length before the compressed data
+   */
+  private static final int LENGTH_HEADER_SIZE = 4;
+
+  private final LZ4Compressor compressor;
+
+  private final LZ4SafeDecompressor decompressor;
+
+  public Lz4Compressor() {
+    LZ4Factory factory = LZ4Factory.fastestInstance();
+    compressor = factory.fastCompressor();
+    decompressor = factory.safeDecompressor();
+  }
+
+  @Override
+  public String getName() {
+    return "lz4";
+  }
+
+  @Override
+  public ByteBuffer compressByte(ByteBuffer compInput) {
+    compInput.flip();
+    ByteBuffer output =
+        ByteBuffer.allocateDirect((int) maxCompressedLength(compInput.remaining()));
+    compressByte(compInput, output);
+    output.flip();
+    return output;
+  }
+
+  /**
+   * LZ4 reads and writes heap and direct buffers in place, so nothing is copied
+   */
+  @Override
+  public int compressByte(ByteBuffer input, ByteBuffer output) {
+    int inputLength = input.remaining();
+    int outputOffset = output.position();
+    putLengthHeader(output, outputOffset, inputLength);
+    int compressedLength = compressor.compress(input, input.position(), inputLength, output,
+        outputOffset + LENGTH_HEADER_SIZE, output.remaining() - LENGTH_HEADER_SIZE);
+    input.position(input.limit());
+    output.position(outputOffset + LENGTH_HEADER_SIZE + compressedLength);
+    return LENGTH_HEADER_SIZE + compressedLength;
+  }
+
+  @Override
+  public int unCompressByte(ByteBuffer input, ByteBuffer output) {
+    int inputOffset = input.position();
+    int uncompressedLength = input.duplicate().order(ByteOrder.BIG_ENDIAN).getInt(inputOffset);
+    int outputOffset = output.position();
+    int decompressedLength = decompressor.decompress(input, inputOffset + LENGTH_HEADER_SIZE,
+        input.remaining() - LENGTH_HEADER_SIZE, output, outputOffset, uncompressedLength);
+    input.position(input.limit());
+    output.position(outputOffset + decompressedLength);
+    return decompressedLength;
+  }
+
+  /**
+   * Writes the uncompressed length in big endian, as written to the arrays, whatever the
+   * order of the buffer
+   */
+  private static void putLengthHeader(ByteBuffer output, int offset, int length) {
+    output.duplicate().order(ByteOrder.BIG_ENDIAN).putInt(offset, length);
+  }
+
+  @Override
+  public ByteBuffer compressByte(byte[] unCompInput) {
+    return ByteBuffer.wrap(compressData(unCompInput, unCompInput.length));
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    return compressData(unCompInput, byteSize);
+  }
+
+  private byte[] compressData(byte[] data, int length) {
+    int maxLength = compressor.maxCompressedLength(length);
+    byte[] output = new byte[LENGTH_HEADER_SIZE + maxLength];
+    ByteBuffer.wrap(output).putInt(length);
+    int compressedLength =
+        compressor.compress(data, 0, length, output, LENGTH_HEADER_SIZE, maxLength);
+    return Arrays.copyOf(output, LENGTH_HEADER_SIZE + compressedLength);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput) {
+    return unCompressByte(compInput, 0, compInput.length);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput, int offset, int length) {
+    byte[] output = new byte[unCompressedLength(compInput, offset, length)];
+    rawUncompress(compInput, offset, length, output);
+    return output;
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) {
+    return rawUncompress(input, 0, input.length, output);
+  }
+
+  @Override
+  public long maxCompressedLength(long inputSize) {
+    return LENGTH_HEADER_SIZE + compressor.maxCompressedLength((int) inputSize);
+  }
+
+  @Override
+  public int unCompressedLength(byte[] data, int offset, int length) {
+    return ByteBuffer.wrap(data, offset, LENGTH_HEADER_SIZE).getInt();
+  }
+
+  @Override
+  public int rawUncompress(byte[] data, int offset, int length, byte[] output) {
+    int uncompressedLength = unCompressedLength(data, offset, length);
+    return decompressor.decompress(data, offset + LENGTH_HEADER_SIZE,
+        length - LENGTH_HEADER_SIZE, output, 0, uncompressedLength);
+  }
+
+  @Override
+  public boolean supportReusableBuffer() {
+    return true;
+  }
+}
@@ -74,6 +74,46 @@ public class SnappyCompressor extends AbstractCompressor {
     return output;
   }
 
+  /**
+   * Direct buffers are compressed in place, others through the copies of the super class
+   */
+  @Override
+  public int compressByte(ByteBuffer input, ByteBuffer output) {
+    if (!input.isDirect() || !output.isDirect()) {
+      return super.compressByte(input, output);
+    }
+    try {
+      int compressedLength = snappyNative.rawCompress(input, input.position(),
+          input.remaining(), output, output.position());
+      input.position(input.limit());
+      output.position(output.position() + compressedLength);
+      return compressedLength;
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Direct buffers are uncompressed in place, others through the copies of the super class
+   */
+  @Override
+  public int unCompressByte(ByteBuffer input, ByteBuffer output) {
+    if (!input.isDirect() || !output.isDirect()) {
+      return super.unCompressByte(input, output);
+    }
+    try {
+      int uncompressedLength = snappyNative.rawUncompress(input, input.position(),
+          input.remaining(), output, output.position());
+      input.position(input.limit());
+      output.position(output.position() + uncompressedLength);
+      return uncompressedLength;
+    } catch (IOException e) {
+      LOGGER.error(e.getMessage(), e);
+      throw new RuntimeException(e);
+    }
+  }
+
   @Override
   public ByteBuffer compressByte(byte[] unCompInput) {
     try {
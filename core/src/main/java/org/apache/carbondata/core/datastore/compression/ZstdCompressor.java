@@ -42,6 +42,42 @@ public class ZstdCompressor extends AbstractCompressor {
     }
   }
 
+  /**
+   * Direct buffers are compressed in place, others through the copies of the super class
+   */
+  @Override
+  public int compressByte(ByteBuffer input, ByteBuffer output) {
+    if (!input.isDirect() || !output.isDirect()) {
+      return super.compressByte(input, output);
+    }
+    long compressedLength = Zstd.compressDirectByteBuffer(output, output.position(),
+        output.remaining(), input, input.position(), input.remaining(), COMPRESS_LEVEL);
+    if (Zstd.isError(compressedLength)) {
+      throw new RuntimeException(Zstd.getErrorName(compressedLength));
+    }
+    input.position(input.limit());
+    output.position(output.position() + (int) compressedLength);
+    return (int) compressedLength;
+  }
+
+  /**
+   * Direct buffers are uncompressed in place, others through the copies of the super class
+   */
+  @Override
+  public int unCompressByte(ByteBuffer input, ByteBuffer output) {
+    if (!input.isDirect() || !output.isDirect()) {
+      return super.unCompressByte(input, output);
+    }
+    long uncompressedLength = Zstd.decompressDirectByteBuffer(output, output.position(),
+        output.remaining(), input, input.position(), input.remaining());
+    if (Zstd.isError(uncompressedLength)) {
+      throw new RuntimeException(Zstd.getErrorName(uncompressedLength));
+    }
+    input.position(input.limit());
+    output.position(output.position() + (int) uncompressedLength);
+    return (int) uncompressedLength;
+  }
+
   @Override
   public ByteBuffer compressByte(byte[] unCompInput) {
     return ByteBuffer.wrap(Zstd.compress(unCompInput, COMPRESS_LEVEL));
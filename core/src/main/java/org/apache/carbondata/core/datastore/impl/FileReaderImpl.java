@@ -153,12 +153,33 @@ public class FileReaderImpl implements FileReader {
    */
   private ByteBuffer read(FileChannel channel, int size, long offset) throws IOException {
     ByteBuffer byteBuffer = ByteBuffer.allocate(size);
-    channel.position(offset);
-    channel.read(byteBuffer);
+    readFully(channel, byteBuffer, offset);
     byteBuffer.rewind();
     return byteBuffer;
   }
 
+  /**
+   * This method will fill the byte buffer from file using positional reads, so the channel
+   * position is not modified by offset based reads and a short read from the channel does
+   * not leave the buffer partially filled
+   *
+   * @param channel    file channel
+   * @param byteBuffer buffer to fill till its limit
+   * @param offset     position
+   */
+  private void readFully(FileChannel channel, ByteBuffer byteBuffer, long offset)
+      throws IOException {
+    long position = offset;
+    while (byteBuffer.hasRemaining()) {
+      int readLength = channel.read(byteBuffer, position);
+      if (readLength < 0) {
+        // reached end of file, remaining bytes are left as zero same as a single read call
+        break;
+      }
+      position += readLength;
+    }
+  }
+
   /**
    * This method will be used to read from file based on number of bytes to be read and position
    *
@@ -206,12 +227,8 @@ public class FileReaderImpl implements FileReader {
   @Override
   public ByteBuffer readByteBuffer(String filePath, long offset, int length)
       throws IOException {
-    ByteBuffer byteBuffer = ByteBuffer.allocate(length);
     FileChannel fileChannel = updateCache(filePath);
-    fileChannel.position(offset);
-    fileChannel.read(byteBuffer);
-    byteBuffer.rewind();
-    return byteBuffer;
+    return read(fileChannel, length, offset);
   }
 
   @Override
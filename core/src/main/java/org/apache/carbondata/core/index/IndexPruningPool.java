@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.index;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Fork join pool shared by the multi-thread pruning of all the queries in the driver.
+ *
+ * The pool is created on first use with carbon.max.driver.threads.for.block.pruning threads,
+ * which are kept for the lifetime of the driver instead of starting new threads for each query.
+ */
+final class IndexPruningPool {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(IndexPruningPool.class.getName());
+
+  private static volatile ForkJoinPool pool;
+
+  private IndexPruningPool() {
+  }
+
+  static ForkJoinPool get() {
+    if (pool == null) {
+      synchronized (IndexPruningPool.class) {
+        if (pool == null) {
+          pool = new ForkJoinPool(CarbonProperties.getNumOfThreadsForPruning(),
+              forkJoinPool -> {
+                ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("CarbonIndexPruningPool-" + thread.getPoolIndex());
+                return thread;
+              }, (thread, e) -> LOGGER.error("Error in thread " + thread.getName(), e), false);
+        }
+      }
+    }
+    return pool;
+  }
+}
@@ -1,51 +0,0 @@
-/*
- * Licensed to the Apache Software Foundation (ASF) under one or more
- * contributor license agreements.  See the NOTICE file distributed with
- * this work for additional information regarding copyright ownership.
- * The ASF licenses this file to You under the Apache License, Version 2.0
- * (the "License"); you may not use this file except in compliance with
- * the License.  You may obtain a copy of the License at
- *
- *    http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package org.apache.carbondata.core.index;
-
-import java.io.Serializable;
-
-/**
- * Wrapper that have a group of selected index for segment.
- * this have information about from which index need to process.
- */
-public class SegmentIndexGroup implements Serializable {
-
-  private Segment segment;
-
-  private int fromIndex;
-
-  private int toIndex;
-
-  public SegmentIndexGroup(Segment segment, int fromIndex, int toIndex) {
-    this.segment = segment;
-    this.fromIndex = fromIndex;
-    this.toIndex = toIndex;
-  }
-
-  public Segment getSegment() {
-    return segment;
-  }
-
-  public int getFromIndex() {
-    return fromIndex;
-  }
-
-  public int getToIndex() {
-    return toIndex;
-  }
-}
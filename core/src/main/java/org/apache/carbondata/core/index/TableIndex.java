@@ -23,14 +23,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -52,11 +50,14 @@ import org.apache.carbondata.core.indexstore.blockletindex.BlockIndex;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.IndexSchema;
+import org.apache.carbondata.core.profiler.ExplainCollector;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.executer.FilterExecutor;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonSessionInfo;
+import org.apache.carbondata.core.util.ThreadLocalSessionInfo;
 import org.apache.carbondata.events.Event;
 import org.apache.carbondata.events.OperationContext;
 import org.apache.carbondata.events.OperationEventListener;
@@ -90,6 +91,12 @@ public final class TableIndex extends OperationEventListener {
   private static final Logger LOG =
       LogServiceFactory.getLogService(TableIndex.class.getName());
 
+  /**
+   * number of tasks a thread of the multi-thread pruning gets on average, more tasks than
+   * threads let the threads which finish early steal the work of the others
+   */
+  private static final int TASKS_PER_THREAD = 4;
+
   /**
    * It is called to initialize and load the required table index metadata.
    */
@@ -207,12 +214,14 @@ public final class TableIndex extends OperationEventListener {
       Set<Path> partitionLocations, List<ExtendedBlocklet> blocklets,
       Map<Segment, List<Index>> indexes) throws IOException {
     Set<String> missingSISegments = filter.getMissingSISegments();
+    List<Long> taskTimes = new ArrayList<>(segments.size());
     for (Segment segment : segments) {
       List<Index> segmentIndices = indexes.get(segment);
       if (segment == null ||
           segmentIndices == null || segmentIndices.isEmpty()) {
         continue;
       }
+      long startTime = System.nanoTime();
       boolean isExternalOrMissingSISegment = segment.isExternalSegment() ||
           (missingSISegments != null && missingSISegments.contains(segment.getSegmentNo()));
       List<Blocklet> pruneBlocklets = new ArrayList<>();
@@ -270,6 +279,10 @@ public final class TableIndex extends OperationEventListener {
       blocklets.addAll(
           addSegmentId(blockletDetailsFetcher.getExtendedBlocklets(pruneBlocklets, segment),
               segment));
+      taskTimes.add(System.nanoTime() - startTime);
+    }
+    if (ExplainCollector.enabled()) {
+      ExplainCollector.addPruningTaskTimes(taskTimes);
     }
     return blocklets;
   }
@@ -279,189 +292,216 @@ public final class TableIndex extends OperationEventListener {
       final Map<Segment, List<Index>> indexes, int totalFiles) {
     /*
      *********************************************************************************
-     * Below is the example of how this part of code works.
-     * consider a scenario of having 5 segments, 10 indexes in each segment,
-     * and each index has one record. So total 50 records.
-     *
-     * indexes in each segment looks like below.
-     * s0 [0-9], s1 [0-9], s2 [0-9], s3[0-9], s4[0-9]
-     *
-     * If number of threads are 4. so filesPerEachThread = 50/4 = 12 files per each thread.
-     *
-     * SegmentIndexGroup look like below: [SegmentId, fromIndex, toIndex]
-     * In each segment only those indexes are processed between fromIndex and toIndex.
-     *
-     * Final result will be: (4 list created as numOfThreadsForPruning is 4)
-     * Thread1 list: s0 [0-9], s1 [0-1]  : 12 files
-     * Thread2 list: s1 [2-9], s2 [0-3]  : 12 files
-     * Thread3 list: s2 [4-9], s3 [0-5]  : 12 files
-     * Thread4 list: s3 [6-9], s4 [0-9]  : 14 files
-     * so each thread will process almost equal number of records.
+     * Each segment is pruned by a task in the shared fork join pool of pruning.
+     * A task having more than entriesPerTask entries splits its indexes in two halves,
+     * forks the first half and prunes the second half, and so on till the halves are
+     * small enough. Idle threads steal the forked halves, so the threads prune about the
+     * same number of entries even when the segments are of very different sizes.
      *
+     * consider a scenario of 4 threads and 2 segments, s0 with 40 indexes and s1 with
+     * 10 indexes, and each index has one record. So entriesPerTask = 50 / (4 * 4) = 3.
+     * Task s0 [0-39] forks s0 [0-19] and prunes s0 [20-39], which forks s0 [20-29] and
+     * so on, till tasks of 2 or 3 indexes. The threads which have finished s1 steal the
+     * forked tasks of s0.
      *********************************************************************************
      */
-
-    int numOfThreadsForPruning = CarbonProperties.getNumOfThreadsForPruning();
-    int filesPerEachThread = totalFiles / numOfThreadsForPruning;
-    int prev;
-    int filesCount = 0;
-    int processedFileCount = 0;
-    List<List<SegmentIndexGroup>> indexListForEachThread =
-        new ArrayList<>(numOfThreadsForPruning);
-    List<SegmentIndexGroup> segmentIndexGroupList = new ArrayList<>();
-    Set<String> missingSISegments = filter.getMissingSISegments();
+    ForkJoinPool pool = IndexPruningPool.get();
+    int entriesPerTask = Math.max(1, totalFiles / (pool.getParallelism() * TASKS_PER_THREAD));
+    LOG.info("Number of threads selected for multi-thread block pruning is "
+        + pool.getParallelism() + ". total files: " + totalFiles + ". total segments: "
+        + segments.size());
+    String threadName = Thread.currentThread().getName();
+    CarbonSessionInfo sessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+    Queue<Long> taskTimes = new ConcurrentLinkedQueue<>();
+    List<ForkJoinTask<List<ExtendedBlocklet>>> tasks = new ArrayList<>(segments.size());
     for (Segment segment : segments) {
-      List<Index> eachSegmentIndexList = indexes.get(segment);
-      prev = 0;
-      for (int i = 0; i < eachSegmentIndexList.size(); i++) {
-        Index index = eachSegmentIndexList.get(i);
-        filesCount += index.getNumberOfEntries();
-        if (filesCount >= filesPerEachThread) {
-          if (indexListForEachThread.size() != numOfThreadsForPruning - 1) {
-            // not the last segmentList
-            segmentIndexGroupList.add(new SegmentIndexGroup(segment, prev, i));
-            // save the last value to process in next thread
-            prev = i + 1;
-            indexListForEachThread.add(segmentIndexGroupList);
-            segmentIndexGroupList = new ArrayList<>();
-            processedFileCount += filesCount;
-            filesCount = 0;
-          } else {
-            // add remaining in the end
-            processedFileCount += filesCount;
-            filesCount = 0;
-          }
-        }
+      List<Index> segmentIndexes = indexes.get(segment);
+      if (segmentIndexes == null || segmentIndexes.isEmpty()) {
+        continue;
+      }
+      tasks.add(pool.submit(new IndexPruneTask(filter, null, segment, segmentIndexes, 0,
+          segmentIndexes.size(), entriesPerTask, threadName, sessionInfo, taskTimes)));
+    }
+    try {
+      for (ForkJoinTask<List<ExtendedBlocklet>> task : tasks) {
+        blocklets.addAll(task.join());
       }
-      if (prev == 0 || prev != eachSegmentIndexList.size()) {
-        // if prev == 0. Add a segment's all indexes
-        // eachSegmentIndexList.size() != prev, adding the last remaining indexes of this segment
-        segmentIndexGroupList
-            .add(new SegmentIndexGroup(segment, prev, eachSegmentIndexList.size() - 1));
+    } catch (RuntimeException e) {
+      // stop the pruning of the other segments, the query fails anyway
+      for (ForkJoinTask<List<ExtendedBlocklet>> task : tasks) {
+        task.cancel(false);
       }
+      throw e;
     }
-    // adding the last segmentList data
-    indexListForEachThread.add(segmentIndexGroupList);
-    processedFileCount += filesCount;
-    if (processedFileCount != totalFiles) {
-      // this should not happen
-      throw new RuntimeException(" not all the files processed ");
+    if (ExplainCollector.enabled()) {
+      ExplainCollector.addPruningTaskTimes(taskTimes);
     }
-    if (indexListForEachThread.size() < numOfThreadsForPruning) {
-      // If the total indexes fitted in lesser number of threads than numOfThreadsForPruning.
-      // Launch only that many threads where indexes are fitted while grouping.
-      LOG.info("indexes is distributed in " + indexListForEachThread.size() + " threads");
-      numOfThreadsForPruning = indexListForEachThread.size();
+    return blocklets;
+  }
+
+  /**
+   * Prunes the indexes of a segment with the filter executor built for the segment, the
+   * pruner is shared by all the tasks of the segment. The executors of range filters write
+   * flags like isRangeFullyCoverBlock while checking the min and max values, those flags are
+   * only read while scanning the data, so the concurrent writes do not change the result of
+   * the pruning.
+   */
+  private final class SegmentPruner {
+
+    private final IndexFilter filter;
+
+    private final Segment segment;
+
+    private final SegmentProperties segmentProperties;
+
+    private final boolean isExternalOrMissingSISegment;
+
+    // false if the filter expression needs to be resolved on the segment by the indexes
+    private final boolean isResolvedOnSegment;
+
+    private final FilterExecutor filterExecutor;
+
+    SegmentPruner(IndexFilter filter, Segment segment, Index index) {
+      this.filter = filter;
+      this.segment = segment;
+      Set<String> missingSISegments = filter.getMissingSISegments();
+      segmentProperties = segmentPropertiesFetcher.getSegmentPropertiesFromIndex(index);
+      isExternalOrMissingSISegment = segment.getSegmentPath() != null ||
+          (missingSISegments != null && missingSISegments.contains(segment.getSegmentNo()));
+      isResolvedOnSegment = filter.isResolvedOnSegment(segmentProperties);
+      IndexFilter segmentFilter = isResolvedOnSegment ? filter :
+          new IndexFilter(segmentProperties, table, filter.getNewCopyOfExpression());
+      filterExecutor = FilterUtil.getFilterExecutorTree(!isExternalOrMissingSISegment ?
+              segmentFilter.getResolver() : segmentFilter.getExternalSegmentResolver(),
+          segmentProperties, null, table.getMinMaxCacheColumns(segmentProperties), false);
     }
-    LOG.info(
-        "Number of threads selected for multi-thread block pruning is " + numOfThreadsForPruning
-            + ". total files: " + totalFiles + ". total segments: " + segments.size());
-    List<Future<Void>> results = new ArrayList<>(numOfThreadsForPruning);
-    final Map<Segment, List<ExtendedBlocklet>> prunedBlockletMap =
-        new ConcurrentHashMap<>(segments.size());
-    final ExecutorService executorService = Executors.newFixedThreadPool(numOfThreadsForPruning);
-    final String threadName = Thread.currentThread().getName();
-    for (int i = 0; i < numOfThreadsForPruning; i++) {
-      final List<SegmentIndexGroup> segmentIndexGroups = indexListForEachThread.get(i);
-      results.add(executorService.submit(new Callable<Void>() {
-        @Override
-        public Void call() throws IOException {
-          Thread.currentThread().setName(threadName);
-          for (SegmentIndexGroup segmentIndexGroup : segmentIndexGroups) {
-            List<ExtendedBlocklet> pruneBlocklets = new ArrayList<>();
-            List<Index> indexList = indexes.get(segmentIndexGroup.getSegment());
-            SegmentProperties segmentProperties =
-                segmentPropertiesFetcher.getSegmentPropertiesFromIndex(indexList.get(0));
-            Segment segment = segmentIndexGroup.getSegment();
-            boolean isExternalOrMissingSISegment = segment.getSegmentPath() != null ||
-                (missingSISegments != null && missingSISegments.contains(segment.getSegmentNo()));
-            if (filter.isResolvedOnSegment(segmentProperties)) {
-              FilterExecutor filterExecutor;
-              if (!isExternalOrMissingSISegment) {
-                filterExecutor = FilterUtil
-                    .getFilterExecutorTree(filter.getResolver(), segmentProperties, null,
-                        table.getMinMaxCacheColumns(segmentProperties), false);
-              } else {
-                filterExecutor = FilterUtil
-                    .getFilterExecutorTree(filter.getExternalSegmentResolver(), segmentProperties,
-                        null, table.getMinMaxCacheColumns(segmentProperties), false);
-              }
-              for (int i = segmentIndexGroup.getFromIndex();
-                   i <= segmentIndexGroup.getToIndex(); i++) {
-                List<Blocklet> dmPruneBlocklets;
-                if (!isExternalOrMissingSISegment) {
-                  dmPruneBlocklets = indexList.get(i)
-                      .prune(filter.getResolver(), segmentProperties, filterExecutor, table);
-                } else {
-                  dmPruneBlocklets = indexList.get(i)
-                      .prune(filter.getExternalSegmentResolver(), segmentProperties, filterExecutor,
-                          table);
-                }
-                pruneBlocklets.addAll(addSegmentId(
-                    blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
-                    segment));
-              }
-            } else {
-              Expression filterExpression = filter.getNewCopyOfExpression();
-              FilterExecutor filterExecutor;
-              if (!isExternalOrMissingSISegment) {
-                filterExecutor = FilterUtil.getFilterExecutorTree(
-                    new IndexFilter(segmentProperties, table, filterExpression).getResolver(),
-                    segmentProperties, null, table.getMinMaxCacheColumns(segmentProperties), false);
-              } else {
-                filterExecutor = FilterUtil.getFilterExecutorTree(
-                    new IndexFilter(segmentProperties, table, filterExpression)
-                        .getExternalSegmentResolver(), segmentProperties, null,
-                    table.getMinMaxCacheColumns(segmentProperties), false);
-              }
-              for (int i = segmentIndexGroup.getFromIndex();
-                   i <= segmentIndexGroup.getToIndex(); i++) {
-                List<Blocklet> dmPruneBlocklets;
-                if (!isExternalOrMissingSISegment) {
-                  dmPruneBlocklets = indexList.get(i)
-                      .prune(filterExpression, segmentProperties, table, filterExecutor);
-                } else {
-                  dmPruneBlocklets = indexList.get(i)
-                      .prune(filter.getExternalSegmentFilter(), segmentProperties, table,
-                          filterExecutor);
-                }
-                pruneBlocklets.addAll(addSegmentId(
-                    blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
-                    segment));
-              }
-            }
-            synchronized (prunedBlockletMap) {
-              List<ExtendedBlocklet> pruneBlockletsExisting =
-                  prunedBlockletMap.get(segmentIndexGroup.getSegment());
-              if (pruneBlockletsExisting != null) {
-                pruneBlockletsExisting.addAll(pruneBlocklets);
-              } else {
-                prunedBlockletMap.put(segmentIndexGroup.getSegment(), pruneBlocklets);
-              }
-            }
+
+    /**
+     * Prunes the indexes from fromIndex (inclusive) to toIndex (exclusive)
+     */
+    List<ExtendedBlocklet> prune(List<Index> indexList, int fromIndex, int toIndex)
+        throws IOException {
+      List<ExtendedBlocklet> pruneBlocklets = new ArrayList<>();
+      // the indexes resolve the expression on the segment, which changes the expression, so
+      // each task gets its own copy as the tasks of the segment prune concurrently
+      Expression expression = null;
+      if (!isResolvedOnSegment) {
+        expression = filter.getNewCopyOfExpression();
+        if (isExternalOrMissingSISegment) {
+          expression = new IndexFilter(segmentProperties, table, expression)
+              .getExternalSegmentFilter();
+        }
+      }
+      for (int i = fromIndex; i < toIndex; i++) {
+        List<Blocklet> dmPruneBlocklets;
+        if (isResolvedOnSegment) {
+          if (!isExternalOrMissingSISegment) {
+            dmPruneBlocklets = indexList.get(i)
+                .prune(filter.getResolver(), segmentProperties, filterExecutor, table);
+          } else {
+            dmPruneBlocklets = indexList.get(i)
+                .prune(filter.getExternalSegmentResolver(), segmentProperties, filterExecutor,
+                    table);
           }
-          return null;
+        } else {
+          dmPruneBlocklets = indexList.get(i)
+              .prune(expression, segmentProperties, table, filterExecutor);
         }
-      }));
+        pruneBlocklets.addAll(addSegmentId(
+            blockletDetailsFetcher.getExtendedBlocklets(dmPruneBlocklets, segment),
+            segment));
+      }
+      return pruneBlocklets;
     }
-    executorService.shutdown();
-    try {
-      executorService.awaitTermination(2, TimeUnit.HOURS);
-    } catch (InterruptedException e) {
-      LOG.error("Error in pruning index in multi-thread: " + e.getMessage());
+  }
+
+  /**
+   * Task of the multi-thread pruning, prunes the indexes of a segment from fromIndex
+   * (inclusive) to toIndex (exclusive), splitting them in subtasks when they have more than
+   * entriesPerTask entries
+   */
+  private final class IndexPruneTask extends RecursiveTask<List<ExtendedBlocklet>> {
+
+    private final IndexFilter filter;
+
+    // pruner of the segment, null for the task of the whole segment which creates it
+    private SegmentPruner pruner;
+
+    private final Segment segment;
+
+    private final List<Index> indexList;
+
+    private final int fromIndex;
+
+    private final int toIndex;
+
+    private final int entriesPerTask;
+
+    // name of the query thread, set to the pool thread while pruning for the explain command
+    private final String threadName;
+
+    // session of the query, the pool threads are shared by the queries of all the sessions
+    private final CarbonSessionInfo sessionInfo;
+
+    private final Queue<Long> taskTimes;
+
+    IndexPruneTask(IndexFilter filter, SegmentPruner pruner, Segment segment,
+        List<Index> indexList, int fromIndex, int toIndex, int entriesPerTask, String threadName,
+        CarbonSessionInfo sessionInfo, Queue<Long> taskTimes) {
+      this.filter = filter;
+      this.pruner = pruner;
+      this.segment = segment;
+      this.indexList = indexList;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.entriesPerTask = entriesPerTask;
+      this.threadName = threadName;
+      this.sessionInfo = sessionInfo;
+      this.taskTimes = taskTimes;
     }
-    // check for error
-    for (Future<Void> result : results) {
+
+    @Override
+    protected List<ExtendedBlocklet> compute() {
+      Thread thread = Thread.currentThread();
+      String poolThreadName = thread.getName();
+      CarbonSessionInfo poolSessionInfo = ThreadLocalSessionInfo.getCarbonSessionInfo();
+      thread.setName(threadName);
+      ThreadLocalSessionInfo.setCarbonSessionInfo(sessionInfo);
       try {
-        result.get();
-      } catch (InterruptedException | ExecutionException e) {
+        if (pruner == null) {
+          pruner = new SegmentPruner(filter, segment, indexList.get(0));
+        }
+        if (toIndex - fromIndex > 1) {
+          int entries = 0;
+          for (int i = fromIndex; i < toIndex && entries <= entriesPerTask; i++) {
+            entries += indexList.get(i).getNumberOfEntries();
+          }
+          if (entries > entriesPerTask) {
+            int middle = (fromIndex + toIndex) >>> 1;
+            IndexPruneTask first = new IndexPruneTask(filter, pruner, segment, indexList,
+                fromIndex, middle, entriesPerTask, threadName, sessionInfo, taskTimes);
+            first.fork();
+            List<ExtendedBlocklet> second = new IndexPruneTask(filter, pruner, segment,
+                indexList, middle, toIndex, entriesPerTask, threadName, sessionInfo, taskTimes)
+                .compute();
+            List<ExtendedBlocklet> blocklets = first.join();
+            blocklets.addAll(second);
+            return blocklets;
+          }
+        }
+        long startTime = System.nanoTime();
+        try {
+          return pruner.prune(indexList, fromIndex, toIndex);
+        } finally {
+          taskTimes.add(System.nanoTime() - startTime);
+        }
+      } catch (IOException e) {
         throw new RuntimeException(e);
+      } finally {
+        ThreadLocalSessionInfo.setCarbonSessionInfo(poolSessionInfo);
+        thread.setName(poolThreadName);
       }
     }
-    for (Map.Entry<Segment, List<ExtendedBlocklet>> entry : prunedBlockletMap.entrySet()) {
-      blocklets.addAll(entry.getValue());
-    }
-    return blocklets;
   }
 
   private List<ExtendedBlocklet> addSegmentId(List<ExtendedBlocklet> pruneBlocklets,
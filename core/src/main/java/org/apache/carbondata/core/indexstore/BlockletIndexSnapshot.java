@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockIndex;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockletIndexFactory;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.util.BlockletIndexUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Snapshot of the block or blocklet indexes loaded from an index file or a merge index file,
+ * saved next to the file.
+ *
+ * The snapshot holds its version, the size and modified time of the index file, the cache level
+ * of the indexes, and the indexes written by {@link BlockIndex#writeSnapshot}. It is used only
+ * when all of them match and the data files of the indexes are unchanged, otherwise the indexes
+ * are loaded from the index file again.
+ */
+public class BlockletIndexSnapshot {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(BlockletIndexSnapshot.class.getName());
+
+  public static final String SNAPSHOT_FILE_EXT = ".indexsnapshot";
+
+  private static final int VERSION = 1;
+
+  private final CarbonTable carbonTable;
+
+  private final String segmentId;
+
+  private final CarbonFile indexFile;
+
+  private final String snapshotPath;
+
+  public BlockletIndexSnapshot(TableBlockIndexUniqueIdentifierWrapper identifierWrapper) {
+    TableBlockIndexUniqueIdentifier identifier =
+        identifierWrapper.getTableBlockIndexUniqueIdentifier();
+    String indexFileName = identifier.getMergeIndexFileName() != null ?
+        identifier.getMergeIndexFileName() : identifier.getIndexFileName();
+    String indexFilePath =
+        identifier.getIndexFilePath() + CarbonCommonConstants.FILE_SEPARATOR + indexFileName;
+    this.carbonTable = identifierWrapper.getCarbonTable();
+    this.segmentId = identifier.getSegmentId();
+    this.indexFile = FileFactory.getCarbonFile(indexFilePath, identifierWrapper.getConfiguration());
+    this.snapshotPath = indexFilePath + SNAPSHOT_FILE_EXT;
+  }
+
+  /**
+   * Whether the indexes of the identifier are to be read from and saved to snapshots. The
+   * snapshot holds the rows of the unsafe memory DM store, so only the indexes which are added
+   * to unsafe memory and to the cache are saved.
+   */
+  public static boolean isEnabled(TableBlockIndexUniqueIdentifierWrapper identifierWrapper) {
+    return identifierWrapper.isAddToUnsafe() && !identifierWrapper.isSerializeDmStore()
+        && identifierWrapper.isAddTableBlockToUnsafeAndLRUCache() && Boolean.parseBoolean(
+        CarbonProperties.getInstance().getProperty(
+            CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED,
+            CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED_DEFAULT));
+  }
+
+  /**
+   * Reads the indexes from the snapshot
+   *
+   * @param carbonDataFileBlockMetaInfoMapping size and locations of the data files of the
+   *                                           segment, as listed for loading the index file
+   * @return the indexes, or null if there is no snapshot which can be used
+   */
+  public List<BlockIndex> read(Map<String, BlockMetaInfo> carbonDataFileBlockMetaInfoMapping) {
+    List<BlockIndex> indexes = new ArrayList<>();
+    DataInputStream in = null;
+    try {
+      if (!FileFactory.isFileExist(snapshotPath)) {
+        return null;
+      }
+      in = FileFactory.getDataInputStream(snapshotPath);
+      if (in.readInt() != VERSION || in.readLong() != indexFile.getSize()
+          || in.readLong() != indexFile.getLastModifiedTime()
+          || in.readBoolean() != BlockletIndexUtil.isCacheLevelBlock(carbonTable)) {
+        LOGGER.info("Index snapshot " + snapshotPath + " is outdated");
+        return null;
+      }
+      int indexCount = in.readInt();
+      for (int i = 0; i < indexCount; i++) {
+        BlockIndex blockIndex = (BlockIndex) BlockletIndexFactory.createIndex(carbonTable);
+        indexes.add(blockIndex);
+        if (!blockIndex.readSnapshot(in, carbonTable, segmentId)) {
+          LOGGER.info("Index snapshot " + snapshotPath + " is outdated");
+          clear(indexes);
+          return null;
+        }
+      }
+      if (!isDataFilesUnchanged(indexes, carbonDataFileBlockMetaInfoMapping)) {
+        LOGGER.info("Data files of index snapshot " + snapshotPath + " are changed");
+        clear(indexes);
+        return null;
+      }
+      return indexes;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to read index snapshot " + snapshotPath, e);
+      clear(indexes);
+      return null;
+    } finally {
+      CarbonUtil.closeStreams(in);
+    }
+  }
+
+  /**
+   * Checks the data files of the indexes as {@link BlockletIndexUtil#getBlockMetaInfoMap} does
+   * when loading the index file, which leaves out the deleted data files and takes the size and
+   * locations from the listed data files. The size of the data files on S3 and the local file
+   * system is taken from the index file, but a deleted local data file is checked as well.
+   */
+  private static boolean isDataFilesUnchanged(List<BlockIndex> indexes,
+      Map<String, BlockMetaInfo> carbonDataFileBlockMetaInfoMapping) throws IOException {
+    for (BlockIndex blockIndex : indexes) {
+      for (Map.Entry<String, BlockMetaInfo> entry : blockIndex.getBlockMetaInfoMap().entrySet()) {
+        String dataFilePath = entry.getKey();
+        switch (FileFactory.getFileType(dataFilePath)) {
+          case S3:
+            break;
+          case LOCAL:
+            if (!FileFactory.isFileExist(dataFilePath)) {
+              return false;
+            }
+            break;
+          default:
+            BlockMetaInfo blockMetaInfo = carbonDataFileBlockMetaInfoMapping
+                .get(FileFactory.getFormattedPath(dataFilePath));
+            if (blockMetaInfo == null || blockMetaInfo.getSize() != entry.getValue().getSize()
+                || !StringUtils.join(blockMetaInfo.getLocationInfo(), ',')
+                .equals(StringUtils.join(entry.getValue().getLocationInfo(), ','))) {
+              return false;
+            }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Saves the indexes loaded from the index file to the snapshot, a failure to save is only
+   * logged as the indexes are loaded from the index file again
+   */
+  public void write(List<BlockIndex> indexes) {
+    // each writer has its own temp file, as the same index file can be loaded by more than one
+    // driver or executor at the same time
+    String tempPath = snapshotPath + CarbonCommonConstants.UNDERSCORE + UUID.randomUUID()
+        + CarbonCommonConstants.TEMPWRITEFILEEXTENSION;
+    DataOutputStream out = null;
+    try {
+      long indexFileSize = indexFile.getSize();
+      long indexFileModifiedTime = indexFile.getLastModifiedTime();
+      out = FileFactory.getDataOutputStream(tempPath);
+      out.writeInt(VERSION);
+      out.writeLong(indexFileSize);
+      out.writeLong(indexFileModifiedTime);
+      out.writeBoolean(BlockletIndexUtil.isCacheLevelBlock(carbonTable));
+      out.writeInt(indexes.size());
+      for (BlockIndex blockIndex : indexes) {
+        blockIndex.writeSnapshot(out);
+      }
+      out.close();
+      out = null;
+      if (!FileFactory.getCarbonFile(tempPath).renameForce(snapshotPath)) {
+        throw new IOException("Failed to rename " + tempPath + " to " + snapshotPath);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Failed to write index snapshot " + snapshotPath, e);
+      CarbonUtil.closeStreams(out);
+      FileFactory.getCarbonFile(tempPath).delete();
+    }
+  }
+
+  /**
+   * Deletes the snapshot of an index or merge index file, to be called wherever the index file
+   * is deleted without its segment or partition folder
+   *
+   * @param indexFilePath path of the index or merge index file
+   */
+  public static void delete(String indexFilePath) {
+    CarbonFile snapshot = FileFactory.getCarbonFile(indexFilePath + SNAPSHOT_FILE_EXT);
+    if (snapshot.exists() && !snapshot.delete()) {
+      LOGGER.warn("Failed to delete index snapshot " + snapshot.getAbsolutePath());
+    }
+  }
+
+  private static void clear(List<BlockIndex> indexes) {
+    for (BlockIndex blockIndex : indexes) {
+      blockIndex.clear();
+    }
+  }
+}
@@ -95,6 +95,20 @@ public class BlockletIndexStore
                   identifierWrapper.getConfiguration());
           segInfoCache.put(segmentFilePath, carbonDataFileBlockMetaInfoMapping);
         }
+        BlockletIndexSnapshot snapshot = null;
+        if (BlockletIndexSnapshot.isEnabled(identifierWrapper)) {
+          snapshot = new BlockletIndexSnapshot(identifierWrapper);
+          List<BlockIndex> snapshotIndexes = snapshot.read(carbonDataFileBlockMetaInfoMapping);
+          if (snapshotIndexes != null) {
+            blockletIndexWrapper =
+                new BlockletIndexWrapper(identifier.getSegmentId(), snapshotIndexes);
+            long expirationTime =
+                CarbonUtil.getExpiration_time(identifierWrapper.getCarbonTable());
+            lruCache.put(lruCacheKey, blockletIndexWrapper, blockletIndexWrapper.getMemorySize(),
+                expirationTime);
+            return blockletIndexWrapper;
+          }
+        }
         // if the identifier is not a merge file we can directly load the indexes
         if (identifier.getMergeIndexFileName() == null) {
           List<DataFileFooter> indexInfos = new ArrayList<>();
@@ -136,6 +150,9 @@ public class BlockletIndexStore
           blockletIndexWrapper =
               new BlockletIndexWrapper(identifier.getSegmentId(), indexes);
         }
+        if (snapshot != null) {
+          snapshot.write(indexes);
+        }
         if (identifierWrapper.isAddTableBlockToUnsafeAndLRUCache()) {
           long expiration_time = CarbonUtil.getExpiration_time(identifierWrapper.getCarbonTable());
           lruCache.put(identifier.getUniqueTableSegmentIdentifier(), blockletIndexWrapper,
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.util.List;
+
+import org.apache.carbondata.core.indexstore.row.IndexRow;
+import org.apache.carbondata.core.indexstore.schema.CarbonRowSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Min and max values of the index rows @{@link IndexRow} of a store, kept column wise.
+ *
+ * The min values of a column for all the rows are stored one after another in a single byte
+ * array, with the offset of the value of each row, and likewise the max values. Filters compare
+ * a column of all the rows in a loop over these arrays instead of reading each index row.
+ */
+public class ColumnarMinMaxStore {
+
+  private final int rowCount;
+
+  private final byte[][] minValues;
+
+  private final int[][] minOffsets;
+
+  private final byte[][] maxValues;
+
+  private final int[][] maxOffsets;
+
+  private final boolean[][] minMaxFlags;
+
+  /**
+   * @param store store of the index rows
+   * @param schema schema of the index rows
+   * @param minIndex ordinal of the min values in the index row
+   * @param maxIndex ordinal of the max values in the index row
+   * @param minMaxFlagIndex ordinal of the flags of the min and max values in the index row
+   */
+  public ColumnarMinMaxStore(AbstractMemoryDMStore store, CarbonRowSchema[] schema,
+      int minIndex, int maxIndex, int minMaxFlagIndex) {
+    this.rowCount = store.getRowCount();
+    int columnCount = rowCount == 0 ? 0 : store.getIndexRow(schema, 0).getRow(minIndex)
+        .getColumnCount();
+    this.minValues = new byte[columnCount][];
+    this.minOffsets = new int[columnCount][rowCount + 1];
+    this.maxValues = new byte[columnCount][];
+    this.maxOffsets = new int[columnCount][rowCount + 1];
+    this.minMaxFlags = new boolean[columnCount][rowCount];
+    // first pass takes the lengths of the values, second pass copies them
+    for (int i = 0; i < rowCount; i++) {
+      IndexRow row = store.getIndexRow(schema, i);
+      IndexRow minRow = row.getRow(minIndex);
+      IndexRow maxRow = row.getRow(maxIndex);
+      IndexRow flagRow = row.getRow(minMaxFlagIndex);
+      for (int column = 0; column < columnCount; column++) {
+        minOffsets[column][i + 1] = minOffsets[column][i] + minRow.getLengthInBytes(column);
+        maxOffsets[column][i + 1] = maxOffsets[column][i] + maxRow.getLengthInBytes(column);
+        minMaxFlags[column][i] = flagRow.getBoolean(column);
+      }
+    }
+    for (int column = 0; column < columnCount; column++) {
+      minValues[column] = new byte[minOffsets[column][rowCount]];
+      maxValues[column] = new byte[maxOffsets[column][rowCount]];
+    }
+    for (int i = 0; i < rowCount; i++) {
+      IndexRow row = store.getIndexRow(schema, i);
+      IndexRow minRow = row.getRow(minIndex);
+      IndexRow maxRow = row.getRow(maxIndex);
+      for (int column = 0; column < columnCount; column++) {
+        byte[] min = minRow.getByteArray(column);
+        System.arraycopy(min, 0, minValues[column], minOffsets[column][i], min.length);
+        byte[] max = maxRow.getByteArray(column);
+        System.arraycopy(max, 0, maxValues[column], maxOffsets[column][i], max.length);
+      }
+    }
+  }
+
+  /**
+   * Creates the summary of a store, each row of which holds the min and max values of zoneSize
+   * consecutive rows of the store. The min and max values of a row are set only when they are
+   * set for all the rows of its zone.
+   *
+   * @param store store to summarize
+   * @param zoneSize number of rows of the store in a row of the summary
+   * @param columns columns of the min and max values, to compare the values
+   */
+  public ColumnarMinMaxStore(ColumnarMinMaxStore store, int zoneSize, List<ColumnSchema> columns) {
+    this.rowCount = (store.rowCount + zoneSize - 1) / zoneSize;
+    int columnCount = store.minValues.length;
+    this.minValues = new byte[columnCount][];
+    this.minOffsets = new int[columnCount][rowCount + 1];
+    this.maxValues = new byte[columnCount][];
+    this.maxOffsets = new int[columnCount][rowCount + 1];
+    this.minMaxFlags = new boolean[columnCount][rowCount];
+    int[] minRows = new int[rowCount];
+    int[] maxRows = new int[rowCount];
+    for (int column = 0; column < columnCount; column++) {
+      for (int zone = 0; zone < rowCount; zone++) {
+        int start = zone * zoneSize;
+        int end = Math.min(start + zoneSize, store.rowCount);
+        boolean isMinMaxSet = true;
+        minRows[zone] = start;
+        maxRows[zone] = start;
+        for (int i = start; i < end && isMinMaxSet; i++) {
+          isMinMaxSet = store.minMaxFlags[column][i];
+          if (isMinMaxSet && i > start) {
+            if (compare(store.minValues, store.minOffsets, column, i, minRows[zone],
+                columns.get(column)) < 0) {
+              minRows[zone] = i;
+            }
+            if (compare(store.maxValues, store.maxOffsets, column, i, maxRows[zone],
+                columns.get(column)) > 0) {
+              maxRows[zone] = i;
+            }
+          }
+        }
+        minMaxFlags[column][zone] = isMinMaxSet;
+      }
+      minValues[column] = copyValues(store.minValues[column], store.minOffsets[column],
+          minRows, minOffsets[column]);
+      maxValues[column] = copyValues(store.maxValues[column], store.maxOffsets[column],
+          maxRows, maxOffsets[column]);
+    }
+  }
+
+  private static int compare(byte[][] values, int[][] offsets, int column, int row1, int row2,
+      ColumnSchema columnSchema) {
+    if (columnSchema.isDimensionColumn()) {
+      int offset1 = offsets[column][row1];
+      int offset2 = offsets[column][row2];
+      return ByteUtil.UnsafeComparer.INSTANCE.compareTo(
+          values[column], offset1, offsets[column][row1 + 1] - offset1,
+          values[column], offset2, offsets[column][row2 + 1] - offset2);
+    }
+    return CarbonUtil.compareMeasureData(getValue(values, offsets, column, row1),
+        getValue(values, offsets, column, row2), columnSchema.getDataType());
+  }
+
+  /**
+   * Copies the values of the rows to a new array and fills the offsets of the values in it
+   */
+  private static byte[] copyValues(byte[] values, int[] offsets, int[] rows, int[] newOffsets) {
+    for (int i = 0; i < rows.length; i++) {
+      newOffsets[i + 1] = newOffsets[i] + offsets[rows[i] + 1] - offsets[rows[i]];
+    }
+    byte[] newValues = new byte[newOffsets[rows.length]];
+    for (int i = 0; i < rows.length; i++) {
+      System.arraycopy(values, offsets[rows[i]], newValues, newOffsets[i],
+          newOffsets[i + 1] - newOffsets[i]);
+    }
+    return newValues;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return minValues.length;
+  }
+
+  /**
+   * Compares the value with the min value of the column in the row
+   */
+  public int compareWithMin(byte[] value, int column, int row) {
+    int offset = minOffsets[column][row];
+    return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, 0, value.length,
+        minValues[column], offset, minOffsets[column][row + 1] - offset);
+  }
+
+  /**
+   * Compares the value with the max value of the column in the row
+   */
+  public int compareWithMax(byte[] value, int column, int row) {
+    int offset = maxOffsets[column][row];
+    return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, 0, value.length,
+        maxValues[column], offset, maxOffsets[column][row + 1] - offset);
+  }
+
+  public boolean isMinMaxSet(int column, int row) {
+    return minMaxFlags[column][row];
+  }
+
+  public byte[][] getMinValues(int row) {
+    return getValues(minValues, minOffsets, row);
+  }
+
+  public byte[][] getMaxValues(int row) {
+    return getValues(maxValues, maxOffsets, row);
+  }
+
+  public boolean[] getMinMaxFlag(int row) {
+    boolean[] minMaxFlag = new boolean[minMaxFlags.length];
+    for (int column = 0; column < minMaxFlag.length; column++) {
+      minMaxFlag[column] = minMaxFlags[column][row];
+    }
+    return minMaxFlag;
+  }
+
+  private static byte[][] getValues(byte[][] values, int[][] offsets, int row) {
+    byte[][] rowValues = new byte[values.length][];
+    for (int column = 0; column < values.length; column++) {
+      rowValues[column] = getValue(values, offsets, column, row);
+    }
+    return rowValues;
+  }
+
+  private static byte[] getValue(byte[][] values, int[][] offsets, int column, int row) {
+    int offset = offsets[column][row];
+    byte[] value = new byte[offsets[column][row + 1] - offset];
+    System.arraycopy(values[column], offset, value, 0, value.length);
+    return value;
+  }
+
+  /**
+   * Returns the memory used by the store in bytes
+   */
+  public long getMemoryUsed() {
+    long size = 0;
+    for (int column = 0; column < minValues.length; column++) {
+      size += minValues[column].length + maxValues[column].length;
+      size += (2L * (rowCount + 1)) * 4 + rowCount;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecutor;
+
+/**
+ * Tree of the min and max values of the entries of an index, in levels of zones.
+ *
+ * The first level holds the min and max values of the entries, each of the next levels holds
+ * the min and max values of zones of zoneSize consecutive rows of the level below it, till a
+ * level of a single zone. A filter is verified from the top level down, and only the rows of
+ * the zones which may match the filter are verified at the level below. As the entries of sorted
+ * data follow the sort order, zones of the sort columns seldom overlap and pruning takes about
+ * zoneSize * log(entries) comparisons instead of one for each entry.
+ */
+public class MinMaxZoneTree {
+
+  private final int zoneSize;
+
+  private final List<ColumnarMinMaxStore> levels = new ArrayList<>();
+
+  /**
+   * @param entries min and max values of the entries
+   * @param zoneSize number of rows of a level in a row of the level above it
+   * @param columns columns of the min and max values, to compare the values
+   */
+  public MinMaxZoneTree(ColumnarMinMaxStore entries, int zoneSize, List<ColumnSchema> columns) {
+    this.zoneSize = zoneSize;
+    levels.add(entries);
+    ColumnarMinMaxStore level = entries;
+    // entries are verified one by one when the values cannot be compared
+    while (level.getRowCount() > 1 && columns.size() == entries.getColumnCount()) {
+      level = new ColumnarMinMaxStore(level, zoneSize, columns);
+      levels.add(level);
+    }
+  }
+
+  /**
+   * Returns the entries which may match the filter
+   *
+   * @param filterExecutor executor of the filter
+   * @param uniqueBlockPaths unique block path of an entry, used by the implicit column filter
+   */
+  public BitSet prune(FilterExecutor filterExecutor, IntFunction<String> uniqueBlockPaths) {
+    int top = levels.size() - 1;
+    BitSet rows = new BitSet();
+    rows.set(0, levels.get(top).getRowCount());
+    for (int level = top; level > 0; level--) {
+      // zones have no block path, the implicit column is verified on the entries only
+      filterExecutor.isScanRequired(levels.get(level), null, rows);
+      int childCount = levels.get(level - 1).getRowCount();
+      BitSet children = new BitSet(childCount);
+      for (int zone = rows.nextSetBit(0); zone >= 0; zone = rows.nextSetBit(zone + 1)) {
+        children.set(zone * zoneSize, Math.min((zone + 1) * zoneSize, childCount));
+      }
+      rows = children;
+    }
+    if (!rows.isEmpty()) {
+      filterExecutor.isScanRequired(levels.get(0), uniqueBlockPaths, rows);
+    }
+    return rows;
+  }
+
+  public ColumnarMinMaxStore getEntries() {
+    return levels.get(0);
+  }
+
+  public int getLevelCount() {
+    return levels.size();
+  }
+
+  /**
+   * Returns the memory used by all the levels in bytes
+   */
+  public long getMemoryUsed() {
+    long size = 0;
+    for (ColumnarMinMaxStore level : levels) {
+      size += level.getMemoryUsed();
+    }
+    return size;
+  }
+}
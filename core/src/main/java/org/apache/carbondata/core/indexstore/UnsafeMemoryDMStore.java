@@ -17,6 +17,10 @@
 
 package org.apache.carbondata.core.indexstore;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.indexstore.row.IndexRow;
 import org.apache.carbondata.core.indexstore.row.UnsafeIndexRow;
@@ -281,6 +285,42 @@ public class UnsafeMemoryDMStore extends AbstractMemoryDMStore {
     return rowCount;
   }
 
+  /**
+   * Writes the rows of the store, after the writing of the store is finished
+   */
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      out.writeInt(pointers[i]);
+    }
+    byte[] rows = new byte[runningLength];
+    getUnsafe().copyMemory(memoryBlock.getBaseObject(), memoryBlock.getBaseOffset(), rows,
+        BYTE_ARRAY_OFFSET, runningLength);
+    out.writeInt(runningLength);
+    out.write(rows);
+  }
+
+  /**
+   * Reads the rows written by {@link #write(DataOutput)} to the store, in place of its rows
+   */
+  public void readFields(DataInput in) throws IOException {
+    rowCount = in.readInt();
+    pointers = new int[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      pointers[i] = in.readInt();
+    }
+    runningLength = in.readInt();
+    byte[] rows = new byte[runningLength];
+    in.readFully(rows);
+    MemoryBlock newMemoryBlock =
+        UnsafeMemoryManager.allocateMemoryWithRetry(MemoryType.ONHEAP, taskId, runningLength);
+    getUnsafe().copyMemory(rows, BYTE_ARRAY_OFFSET, newMemoryBlock.getBaseObject(),
+        newMemoryBlock.getBaseOffset(), runningLength);
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, memoryBlock);
+    memoryBlock = newMemoryBlock;
+    allocatedSize = runningLength;
+  }
+
   public void serializeMemoryBlock() {
     this.data = new byte[runningLength];
     CarbonUnsafe.getUnsafe().copyMemory(memoryBlock.getBaseObject(),
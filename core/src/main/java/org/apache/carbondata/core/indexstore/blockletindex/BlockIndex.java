@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.indexstore.blockletindex;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
@@ -27,6 +29,7 @@ import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntFunction;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -41,7 +44,9 @@ import org.apache.carbondata.core.index.dev.cgindex.CoarseGrainIndex;
 import org.apache.carbondata.core.indexstore.AbstractMemoryDMStore;
 import org.apache.carbondata.core.indexstore.BlockMetaInfo;
 import org.apache.carbondata.core.indexstore.Blocklet;
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.indexstore.ExtendedBlocklet;
+import org.apache.carbondata.core.indexstore.MinMaxZoneTree;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.SafeMemoryDMStore;
 import org.apache.carbondata.core.indexstore.UnsafeMemoryDMStore;
@@ -63,6 +68,7 @@ import org.apache.carbondata.core.scan.filter.executer.ImplicitColumnFilterExecu
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.util.BlockletIndexUtil;
 import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataFileFooterConverter;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
@@ -110,6 +116,11 @@ public class BlockIndex extends CoarseGrainIndex
    * flag to be used for partition table
    */
   protected boolean isPartitionTable;
+  /**
+   * min and max values of the entries kept column wise, created when the index is loaded if
+   * carbon.index.columnar.minmax.enabled is true
+   */
+  private transient MinMaxZoneTree minMaxZoneTree;
 
   @Override
   public void init(IndexModel indexModel) throws IOException {
@@ -161,6 +172,8 @@ public class BlockIndex extends CoarseGrainIndex
       finishWriting(taskSummarySchema, filePath, fileName, segmentId, summaryRow);
       if (((BlockletIndexModel) indexModel).isSerializeDmStore()) {
         serializeDmStore();
+      } else {
+        createMinMaxZoneTree();
       }
     }
     if (LOGGER.isDebugEnabled()) {
@@ -668,6 +681,30 @@ public class BlockIndex extends CoarseGrainIndex
     return blockletToRowCountMap;
   }
 
+  /**
+   * Returns the size and locations of the data files of this index, by the data file path
+   */
+  public Map<String, BlockMetaInfo> getBlockMetaInfoMap() {
+    Map<String, BlockMetaInfo> blockMetaInfoMap = new HashMap<>();
+    if (memoryDMStore.getRowCount() == 0) {
+      return blockMetaInfoMap;
+    }
+    CarbonRowSchema[] schema = getFileFooterEntrySchema();
+    String filePath = getFilePath();
+    int numEntries = memoryDMStore.getRowCount();
+    for (int i = 0; i < numEntries; i++) {
+      IndexRow indexRow = memoryDMStore.getIndexRow(schema, i);
+      String fileName = getFileNameWithFilePath(indexRow, filePath);
+      if (!blockMetaInfoMap.containsKey(fileName)) {
+        String locations = new String(indexRow.getByteArray(LOCATIONS),
+            CarbonCommonConstants.DEFAULT_CHARSET_CLASS);
+        blockMetaInfoMap.put(fileName, new BlockMetaInfo(StringUtils.split(locations, ','),
+            indexRow.getLong(BLOCK_LENGTH)));
+      }
+    }
+    return blockMetaInfoMap;
+  }
+
   private List<Blocklet> prune(FilterResolverIntf filterExp, FilterExecutor filterExecutor,
       SegmentProperties segmentProperties) {
     if (memoryDMStore.getRowCount() == 0) {
@@ -700,6 +737,26 @@ public class BlockIndex extends CoarseGrainIndex
                 .getFilterExecutorTree(filterExp, getSegmentProperties(),
                         null, getMinMaxCacheColumns(), false);
       }
+      if (minMaxZoneTree != null) {
+        // min and max of the entries are verified column wise, from the zones of the tree down
+        IntFunction<String> uniqueBlockPaths = null;
+        if (filterExecutor instanceof ImplicitColumnFilterExecutor) {
+          uniqueBlockPaths = index -> {
+            IndexRow row = memoryDMStore.getIndexRow(schema, index);
+            return getUniqueBlockPath(getFileNameWithFilePath(row, filePath), getBlockletId(row));
+          };
+        }
+        BitSet entries = minMaxZoneTree.prune(filterExecutor, uniqueBlockPaths);
+        for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+          IndexRow row = memoryDMStore.getIndexRow(schema, i);
+          blocklets.add(createBlocklet(row, getFileNameWithFilePath(row, filePath),
+              getBlockletId(row), useMinMaxForPruning));
+          if (ExplainCollector.enabled()) {
+            hitBlocklets += getBlockletNumOfEntry(i);
+          }
+        }
+        entryIndex = numEntries;
+      }
       // min and max for executor pruning
       while (entryIndex < numEntries) {
         IndexRow row = memoryDMStore.getIndexRow(schema, entryIndex);
@@ -727,6 +784,39 @@ public class BlockIndex extends CoarseGrainIndex
     return blocklets;
   }
 
+  /**
+   * Copies the min and max values of the entries column wise when it is enabled. It is done
+   * when the index is loaded, so that the copy is counted in {@link #getMemorySize()} when the
+   * index is added to the LRU cache.
+   */
+  private void createMinMaxZoneTree() {
+    if (memoryDMStore == null || memoryDMStore.getRowCount() == 0 || !Boolean.parseBoolean(
+        CarbonProperties.getInstance().getProperty(
+            CarbonCommonConstants.CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED,
+            CarbonCommonConstants.CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED_DEFAULT))) {
+      return;
+    }
+    ColumnarMinMaxStore entries = new ColumnarMinMaxStore(memoryDMStore,
+        getFileFooterEntrySchema(), MIN_VALUES_INDEX, MAX_VALUES_INDEX, BLOCK_MIN_MAX_FLAG);
+    minMaxZoneTree = new MinMaxZoneTree(entries,
+        CarbonProperties.getInstance().getIndexMinMaxZoneSize(), getMinMaxColumns());
+  }
+
+  /**
+   * Returns the columns of the min and max values of the entries
+   */
+  private List<ColumnSchema> getMinMaxColumns() {
+    List<CarbonColumn> minMaxCacheColumns = getMinMaxCacheColumns();
+    if (null == minMaxCacheColumns) {
+      return getColumnSchema();
+    }
+    List<ColumnSchema> columns = new ArrayList<>(minMaxCacheColumns.size());
+    for (CarbonColumn column : minMaxCacheColumns) {
+      columns.add(column.getColumnSchema());
+    }
+    return columns;
+  }
+
   protected boolean useMinMaxForExecutorPruning(FilterResolverIntf filterResolverIntf) {
     return false;
   }
@@ -804,23 +894,7 @@ public class BlockIndex extends CoarseGrainIndex
       byte[][] minValue, boolean[] minMaxFlag, String filePath, int blockletId) {
     BitSet bitSet = null;
     if (filterExecutor instanceof ImplicitColumnFilterExecutor) {
-      String uniqueBlockPath;
-      CarbonTable carbonTable = segmentPropertiesWrapper.getCarbonTable();
-      if (carbonTable.isHivePartitionTable()) {
-        // While data loading to SI created on Partition table, on partition directory, '/' will be
-        // replaced with '#', to support multi level partitioning. For example, BlockId will be
-        // look like `part1=1#part2=2/xxxxxxxxx`. During query also, blockId should be
-        // replaced by '#' in place of '/', to match and prune data on SI table.
-        uniqueBlockPath = CarbonUtil
-            .getBlockId(carbonTable.getAbsoluteTableIdentifier(), filePath, "", true, false, true);
-      } else {
-        uniqueBlockPath = filePath.substring(filePath.lastIndexOf("/Part") + 1);
-      }
-      // this case will come in case of old store where index file does not contain the
-      // blocklet information
-      if (blockletId != -1) {
-        uniqueBlockPath = uniqueBlockPath + CarbonCommonConstants.FILE_SEPARATOR + blockletId;
-      }
+      String uniqueBlockPath = getUniqueBlockPath(filePath, blockletId);
       bitSet = ((ImplicitColumnFilterExecutor) filterExecutor)
           .isFilterValuesPresentInBlockOrBlocklet(maxValue, minValue, uniqueBlockPath, minMaxFlag);
     } else {
@@ -829,6 +903,30 @@ public class BlockIndex extends CoarseGrainIndex
     return !bitSet.isEmpty();
   }
 
+  /**
+   * Returns the path of the block or blocklet used by the implicit column filter
+   */
+  private String getUniqueBlockPath(String filePath, int blockletId) {
+    String uniqueBlockPath;
+    CarbonTable carbonTable = segmentPropertiesWrapper.getCarbonTable();
+    if (carbonTable.isHivePartitionTable()) {
+      // While data loading to SI created on Partition table, on partition directory, '/' will be
+      // replaced with '#', to support multi level partitioning. For example, BlockId will be
+      // look like `part1=1#part2=2/xxxxxxxxx`. During query also, blockId should be
+      // replaced by '#' in place of '/', to match and prune data on SI table.
+      uniqueBlockPath = CarbonUtil
+          .getBlockId(carbonTable.getAbsoluteTableIdentifier(), filePath, "", true, false, true);
+    } else {
+      uniqueBlockPath = filePath.substring(filePath.lastIndexOf("/Part") + 1);
+    }
+    // this case will come in case of old store where index file does not contain the
+    // blocklet information
+    if (blockletId != -1) {
+      uniqueBlockPath = uniqueBlockPath + CarbonCommonConstants.FILE_SEPARATOR + blockletId;
+    }
+    return uniqueBlockPath;
+  }
+
   public ExtendedBlocklet getDetailedBlocklet(String blockletId) {
     int absoluteBlockletId = Integer.parseInt(blockletId);
     return createBlockletFromRelativeBlockletId(absoluteBlockletId);
@@ -941,6 +1039,7 @@ public class BlockIndex extends CoarseGrainIndex
 
   @Override
   public void clear() {
+    minMaxZoneTree = null;
     if (memoryDMStore != null) {
       memoryDMStore.freeMemory();
     }
@@ -958,6 +1057,9 @@ public class BlockIndex extends CoarseGrainIndex
     if (null != taskSummaryDMStore) {
       memoryUsed += taskSummaryDMStore.getMemoryUsed();
     }
+    if (null != minMaxZoneTree) {
+      memoryUsed += minMaxZoneTree.getMemoryUsed();
+    }
     return memoryUsed;
   }
 
@@ -991,6 +1093,86 @@ public class BlockIndex extends CoarseGrainIndex
     return segmentPropertiesWrapper.getTaskSummarySchemaForBlock(true, isFilePathStored);
   }
 
+  /**
+   * Writes the index to a snapshot, the rows of the index must be in unsafe memory DM store
+   */
+  public void writeSnapshot(DataOutput out) throws IOException {
+    out.writeBoolean(memoryDMStore != null);
+    if (memoryDMStore == null) {
+      // index of an empty index file
+      return;
+    }
+    List<ColumnSchema> columnsInTable = getColumnSchema();
+    out.writeInt(columnsInTable.size());
+    for (ColumnSchema columnSchema : columnsInTable) {
+      columnSchema.write(out);
+    }
+    writeMinMaxCacheColumns(out, getMinMaxCacheColumns());
+    out.writeBoolean(isFilePathStored);
+    out.writeBoolean(isPartitionTable);
+    ((UnsafeMemoryDMStore) memoryDMStore).write(out);
+    ((UnsafeMemoryDMStore) taskSummaryDMStore).write(out);
+  }
+
+  /**
+   * Reads the index from a snapshot written by {@link #writeSnapshot(DataOutput)}, in place of
+   * {@link #init(IndexModel)}
+   *
+   * @return false if the snapshot cannot be used, as the min and max columns to cache of the
+   * table are changed after the snapshot was written
+   */
+  public boolean readSnapshot(DataInput in, CarbonTable carbonTable, String segmentId)
+      throws IOException {
+    if (!in.readBoolean()) {
+      return true;
+    }
+    int columnCount = in.readInt();
+    List<ColumnSchema> columnsInTable = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      ColumnSchema columnSchema = new ColumnSchema();
+      columnSchema.readFields(in);
+      columnsInTable.add(columnSchema);
+    }
+    segmentPropertiesWrapper = SegmentPropertiesAndSchemaHolder.getInstance()
+        .addSegmentProperties(carbonTable, columnsInTable, segmentId);
+    // rows of the index hold the min and max of the columns to cache
+    List<CarbonColumn> minMaxCacheColumns = getMinMaxCacheColumns();
+    int cacheColumnCount = in.readInt();
+    boolean isSameCacheColumns = null == minMaxCacheColumns ? cacheColumnCount == -1 :
+        cacheColumnCount == minMaxCacheColumns.size();
+    for (int i = 0; i < cacheColumnCount; i++) {
+      String columnId = in.readUTF();
+      isSameCacheColumns =
+          isSameCacheColumns && minMaxCacheColumns.get(i).getColumnId().equals(columnId);
+    }
+    if (!isSameCacheColumns) {
+      return false;
+    }
+    isFilePathStored = in.readBoolean();
+    isPartitionTable = in.readBoolean();
+    UnsafeMemoryDMStore unsafeMemoryDMStore = new UnsafeMemoryDMStore();
+    memoryDMStore = unsafeMemoryDMStore;
+    unsafeMemoryDMStore.readFields(in);
+    UnsafeMemoryDMStore unsafeSummaryDMStore = new UnsafeMemoryDMStore();
+    taskSummaryDMStore = unsafeSummaryDMStore;
+    unsafeSummaryDMStore.readFields(in);
+    createMinMaxZoneTree();
+    return true;
+  }
+
+  private static void writeMinMaxCacheColumns(DataOutput out,
+      List<CarbonColumn> minMaxCacheColumns) throws IOException {
+    if (null == minMaxCacheColumns) {
+      // min and max of all the columns are cached
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(minMaxCacheColumns.size());
+    for (CarbonColumn column : minMaxCacheColumns) {
+      out.writeUTF(column.getColumnId());
+    }
+  }
+
   /**
    * This method will convert safe to unsafe memory DM store
    *
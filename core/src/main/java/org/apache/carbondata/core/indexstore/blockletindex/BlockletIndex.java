@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.indexstore.blockletindex;
 
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -38,6 +39,7 @@ import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
 import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.util.BlockletIndexUtil;
@@ -57,6 +59,22 @@ public class BlockletIndex extends BlockIndex implements Serializable {
     super.init(indexModel);
   }
 
+  @Override
+  public void writeSnapshot(DataOutput out) throws IOException {
+    super.writeSnapshot(out);
+    out.writeInt(blockNum);
+  }
+
+  @Override
+  public boolean readSnapshot(DataInput in, CarbonTable carbonTable, String segmentId)
+      throws IOException {
+    if (!super.readSnapshot(in, carbonTable, segmentId)) {
+      return false;
+    }
+    blockNum = in.readInt();
+    return true;
+  }
+
   /**
    * Method to check the cache level and load metadata based on that information
    *
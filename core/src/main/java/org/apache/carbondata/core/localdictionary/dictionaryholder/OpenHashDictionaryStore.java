@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.localdictionary.dictionaryholder;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Dictionary holder which keeps the dictionary values in an open addressing hash table of
+ * primitive ints, probed by the hash of the key bytes.
+ * Compared to {@link MapBasedDictionaryStore} it does not create a wrapper object per lookup
+ * and does not take a global lock while adding a new key, slots are claimed with CAS.
+ * Table starts small and is doubled when half full, up to the size needed for the dictionary
+ * threshold. While the table is copied, the copied slots are marked as moved, so that threads
+ * adding a key wait for the new table instead of adding it to the old one.
+ */
+public class OpenHashDictionaryStore implements DictionaryStore {
+
+  /**
+   * slot value when no key is present in the slot
+   */
+  private static final int EMPTY = 0;
+
+  /**
+   * slot value when a thread has claimed the slot and is assigning the dictionary value
+   */
+  private static final int RESERVED = -1;
+
+  /**
+   * slot value of the old table when the slot is copied to the new table
+   */
+  private static final int MOVED = -2;
+
+  private static final int INITIAL_TABLE_SIZE = 64;
+
+  /**
+   * slot to dictionary value, dictionary value starts from 1. Table size is always power of 2
+   */
+  private volatile AtomicIntegerArray table;
+
+  /**
+   * table size for the dictionary threshold, keeping load factor below 0.5 so that probe
+   * sequences stay short
+   */
+  private final int maxTableSize;
+
+  /**
+   * dictionary key for each dictionary value, position is value - 1
+   * keys are published to other threads by the volatile write of the value in table
+   */
+  private final byte[][] referenceDictionaryArray;
+
+  /**
+   * use to assign dictionary value to new key
+   */
+  private final AtomicLong lastAssignValue = new AtomicLong();
+
+  /**
+   * current data size
+   */
+  private final AtomicLong currentSize = new AtomicLong();
+
+  /**
+   * dictionary threshold to check if threshold is reached
+   */
+  private final int dictionaryThreshold;
+
+  /**
+   * dictionary threshold size in bytes
+   */
+  private final long dictionarySizeThresholdInBytes;
+
+  /**
+   * for checking threshold is reached or not
+   */
+  private volatile boolean isThresholdReached;
+
+  public OpenHashDictionaryStore(int dictionaryThreshold) {
+    this.dictionaryThreshold = dictionaryThreshold;
+    this.dictionarySizeThresholdInBytes = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_LOCAL_DICTIONARY_SIZE_THRESHOLD_IN_MB)) << 20;
+    this.maxTableSize = Integer.highestOneBit(Math.max(dictionaryThreshold, 1)) << 2;
+    this.table = new AtomicIntegerArray(Math.min(INITIAL_TABLE_SIZE, maxTableSize));
+    this.referenceDictionaryArray = new byte[dictionaryThreshold][];
+  }
+
+  /**
+   * Below method will be used to add dictionary value to dictionary holder
+   * if it is already present in the holder then it will return exiting dictionary value.
+   *
+   * @param data dictionary key
+   * @return dictionary value
+   */
+  @Override
+  public int putIfAbsent(byte[] data) throws DictionaryThresholdReachedException {
+    // check if threshold has already reached
+    checkIfThresholdReached();
+    int hash = hash(data);
+    AtomicIntegerArray table = this.table;
+    int mask = table.length() - 1;
+    int slot = hash & mask;
+    while (true) {
+      int value = table.get(slot);
+      if (value == EMPTY) {
+        if (table.compareAndSet(slot, EMPTY, RESERVED)) {
+          int newValue = assignValue(table, slot, data);
+          if (newValue << 1 > table.length()) {
+            resize(table);
+          }
+          return newValue;
+        }
+        // other thread claimed the slot, read it again
+        continue;
+      }
+      if (value == RESERVED || (value == MOVED && this.table == table)) {
+        // other thread is adding a key in this slot, it can be the same key, or is copying the
+        // table, so wait for it
+        checkIfThresholdReached();
+        Thread.yield();
+        continue;
+      }
+      if (value == MOVED) {
+        // table is copied, search the key again in the new table
+        table = this.table;
+        mask = table.length() - 1;
+        slot = hash & mask;
+        continue;
+      }
+      if (Arrays.equals(referenceDictionaryArray[value - 1], data)) {
+        return value;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Copies the keys of the table to a table of double size. The slots of the old table are
+   * marked as moved once copied, the new table is published after all of them are copied.
+   */
+  private void resize(AtomicIntegerArray oldTable) {
+    synchronized (this) {
+      if (this.table != oldTable || oldTable.length() >= maxTableSize) {
+        return;
+      }
+      AtomicIntegerArray newTable = new AtomicIntegerArray(oldTable.length() << 1);
+      int mask = newTable.length() - 1;
+      for (int i = 0; i < oldTable.length(); i++) {
+        int value;
+        while ((value = oldTable.get(i)) == RESERVED || (value == EMPTY && !oldTable
+            .compareAndSet(i, EMPTY, MOVED))) {
+          if (isThresholdReached) {
+            // slot is left reserved when the threshold is reached, store cannot be used anymore
+            return;
+          }
+          Thread.yield();
+        }
+        if (value == EMPTY) {
+          continue;
+        }
+        int slot = hash(referenceDictionaryArray[value - 1]) & mask;
+        while (newTable.get(slot) != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        newTable.set(slot, value);
+        oldTable.set(i, MOVED);
+      }
+      this.table = newTable;
+    }
+  }
+
+  private int assignValue(AtomicIntegerArray table, int slot, byte[] data)
+      throws DictionaryThresholdReachedException {
+    long value = lastAssignValue.incrementAndGet();
+    long size = currentSize.addAndGet(data.length);
+    // if new value is greater than threshold
+    if (value > dictionaryThreshold || size > dictionarySizeThresholdInBytes) {
+      // set the threshold boolean to true, slot is left reserved as store cannot be used anymore
+      isThresholdReached = true;
+      // throw exception
+      checkIfThresholdReached();
+    }
+    // add to reference array
+    // position is -1 as dictionary value starts from 1
+    referenceDictionaryArray[(int) value - 1] = data;
+    table.set(slot, (int) value);
+    return (int) value;
+  }
+
+  /**
+   * Hash of the key bytes, mixed so that consecutive slots are not used by similar keys
+   */
+  private static int hash(byte[] data) {
+    int hash = Arrays.hashCode(data);
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private void checkIfThresholdReached() throws DictionaryThresholdReachedException {
+    if (isThresholdReached) {
+      if (currentSize.get() > dictionarySizeThresholdInBytes) {
+        throw new DictionaryThresholdReachedException(
+            "Unable to generate dictionary. Dictionary Size crossed bytes: "
+                + dictionarySizeThresholdInBytes);
+      } else {
+        throw new DictionaryThresholdReachedException(
+            "Unable to generate dictionary value. Dictionary threshold reached");
+      }
+    }
+  }
+
+  /**
+   * Below method to get the current size of dictionary
+   *
+   * @return
+   */
+  @Override
+  public boolean isThresholdReached() {
+    return isThresholdReached;
+  }
+
+  /**
+   * Below method will be used to get the dictionary key based on value
+   *
+   * @param value dictionary value
+   *              Caller will take of passing proper value
+   * @return dictionary key based on value
+   */
+  @Override
+  public byte[] getDictionaryKeyBasedOnValue(int value) {
+    // reference array index will be -1 of the value as dictionary value starts from 1
+    return referenceDictionaryArray[value - 1];
+  }
+}
@@ -21,7 +21,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.localdictionary.dictionaryholder.DictionaryStore;
-import org.apache.carbondata.core.localdictionary.dictionaryholder.MapBasedDictionaryStore;
+import org.apache.carbondata.core.localdictionary.dictionaryholder.OpenHashDictionaryStore;
 import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
 
 /**
@@ -42,7 +42,7 @@ public class ColumnLocalDictionaryGenerator implements LocalDictionaryGenerator
   public ColumnLocalDictionaryGenerator(int threshold, int lvLength) {
     // adding 1 to threshold for null value
     int newThreshold = threshold + 1;
-    this.dictionaryHolder = new MapBasedDictionaryStore(newThreshold);
+    this.dictionaryHolder = new OpenHashDictionaryStore(newThreshold);
     this.lvLength = lvLength;
     ByteBuffer byteBuffer = ByteBuffer.allocate(
         lvLength + CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY.length);
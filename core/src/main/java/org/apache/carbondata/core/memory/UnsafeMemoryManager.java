@@ -20,11 +20,12 @@ package org.apache.carbondata.core.memory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -35,6 +36,15 @@ import org.apache.log4j.Logger;
 
 /**
  * Manages memory for instance.
+ *
+ * The manager does not take any global lock: the used memory is reserved and released with
+ * CAS on a shared counter and the blocks of each task are tracked in concurrent sets, so tasks
+ * allocating at the same time only contend on the counter.
+ *
+ * Off-heap blocks are allocated with the capacity of their size class, and a freed block is
+ * kept in the free list of its class to be reused by the next allocation of the class, from
+ * any task. Blocks kept in the free lists stay reserved in the working memory and are freed
+ * when an allocation does not fit in the memory left.
  */
 public class UnsafeMemoryManager {
 
@@ -92,14 +102,43 @@ public class UnsafeMemoryManager {
       memoryType = MemoryType.ONHEAP;
     }
     INSTANCE = new UnsafeMemoryManager(takenSize, memoryType);
-    taskIdToOffHeapMemoryBlockMap = new HashMap<>();
+    taskIdToOffHeapMemoryBlockMap = new ConcurrentHashMap<>();
   }
 
   public static final UnsafeMemoryManager INSTANCE;
 
+  /**
+   * smallest size class of the off-heap blocks
+   */
+  private static final long MIN_SIZE_CLASS = 64;
+
   private long totalMemory;
 
-  private long memoryUsed;
+  /**
+   * memory of the blocks allocated from the working memory, including the free blocks kept
+   * for reuse
+   */
+  private final AtomicLong memoryReserved = new AtomicLong();
+
+  /**
+   * memory of the free blocks kept for reuse
+   */
+  private final AtomicLong memoryCached = new AtomicLong();
+
+  /**
+   * size requested for the blocks in use, the rest of their capacity is lost to size classes
+   */
+  private final AtomicLong requestedMemory = new AtomicLong();
+
+  private final AtomicLong allocationCount = new AtomicLong();
+
+  private final AtomicLong reuseCount = new AtomicLong();
+
+  /**
+   * free off-heap blocks by their size class
+   */
+  private final Map<Long, ConcurrentLinkedDeque<MemoryBlock>> freeBlocksBySizeClass =
+      new ConcurrentHashMap<>();
 
   private MemoryType memoryType;
 
@@ -110,22 +149,27 @@ public class UnsafeMemoryManager {
         + memoryType);
   }
 
-  private synchronized MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
+  private MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
       long memoryRequested) {
-    MemoryBlock memoryBlock;
-    if (memoryUsed + memoryRequested <= totalMemory && memoryType == MemoryType.OFFHEAP) {
-      memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
-      memoryUsed += memoryBlock.size();
-      Set<MemoryBlock> listOfMemoryBlock = taskIdToOffHeapMemoryBlockMap.get(taskId);
-      if (null == listOfMemoryBlock) {
-        listOfMemoryBlock = new HashSet<>();
-        taskIdToOffHeapMemoryBlockMap.put(taskId, listOfMemoryBlock);
-      }
-      listOfMemoryBlock.add(memoryBlock);
+    MemoryBlock memoryBlock = null;
+    if (memoryType == MemoryType.OFFHEAP) {
+      memoryBlock = allocateOffHeap(memoryRequested);
+    }
+    if (memoryBlock != null) {
+      // added under the lock of the task's entry, so that the block is not added to the set
+      // which freeMemoryAll has just removed and freed
+      final MemoryBlock allocatedBlock = memoryBlock;
+      taskIdToOffHeapMemoryBlockMap.compute(taskId, (id, listOfMemoryBlock) -> {
+        Set<MemoryBlock> blocks =
+            null == listOfMemoryBlock ? ConcurrentHashMap.newKeySet() : listOfMemoryBlock;
+        blocks.add(allocatedBlock);
+        return blocks;
+      });
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(String.format("Creating off-heap working Memory block (%s) with size %d."
                 + " Total memory used %d Bytes, left %d Bytes.",
-            memoryBlock.toString(), memoryBlock.size(), memoryUsed, totalMemory - memoryUsed));
+            memoryBlock.toString(), memoryBlock.size(), getMemoryUsed(),
+            totalMemory - getMemoryUsed()));
       }
     } else {
       // not adding on heap memory block to map as JVM will take care of freeing the memory
@@ -138,23 +182,152 @@ public class UnsafeMemoryManager {
     return memoryBlock;
   }
 
-  public synchronized void freeMemory(String taskId, MemoryBlock memoryBlock) {
-    if (taskIdToOffHeapMemoryBlockMap.containsKey(taskId)) {
-      taskIdToOffHeapMemoryBlockMap.get(taskId).remove(memoryBlock);
+  /**
+   * Returns the capacity of the blocks allocated for the requested size. Sizes are rounded up
+   * to a quarter of the power of two below them, so at most a fifth of a block is unused.
+   */
+  static long getSizeClass(long size) {
+    if (size <= MIN_SIZE_CLASS) {
+      return MIN_SIZE_CLASS;
+    }
+    long step = Long.highestOneBit(size - 1) >> 2;
+    return (size + step - 1) / step * step;
+  }
+
+  /**
+   * Allocates an off-heap block of the requested size, reusing a free block of its size class
+   * if there is one
+   *
+   * @return the block, or null if the working memory has not enough memory left
+   */
+  private MemoryBlock allocateOffHeap(long memoryRequested) {
+    long sizeClass = getSizeClass(memoryRequested);
+    MemoryBlock memoryBlock = null;
+    ConcurrentLinkedDeque<MemoryBlock> freeBlocks = freeBlocksBySizeClass.get(sizeClass);
+    MemoryBlock freeBlock = null == freeBlocks ? null : freeBlocks.poll();
+    if (null != freeBlock) {
+      memoryCached.addAndGet(-sizeClass);
+      reuseCount.incrementAndGet();
+      // initializing memory with zero, as done for new blocks
+      CarbonUnsafe.getUnsafe().setMemory(null, freeBlock.getBaseOffset(), memoryRequested,
+          (byte) 0);
+      memoryBlock =
+          new MemoryBlock(null, freeBlock.getBaseOffset(), memoryRequested, MemoryType.OFFHEAP);
+    } else if (reserveMemory(sizeClass) || (evictFreeBlocks(sizeClass) && reserveMemory(
+        sizeClass))) {
+      MemoryBlock newBlock;
+      try {
+        newBlock = MemoryAllocator.UNSAFE.allocate(sizeClass);
+      } catch (OutOfMemoryError e) {
+        releaseMemory(sizeClass);
+        throw e;
+      }
+      memoryBlock =
+          new MemoryBlock(null, newBlock.getBaseOffset(), memoryRequested, MemoryType.OFFHEAP);
+    }
+    if (null != memoryBlock) {
+      allocationCount.incrementAndGet();
+      requestedMemory.addAndGet(memoryRequested);
+    }
+    return memoryBlock;
+  }
+
+  /**
+   * Frees the blocks kept for reuse until the requested size is given back to the working
+   * memory or no free block is left
+   *
+   * @return true if any block is freed
+   */
+  private boolean evictFreeBlocks(long size) {
+    long evicted = 0;
+    for (ConcurrentLinkedDeque<MemoryBlock> freeBlocks : freeBlocksBySizeClass.values()) {
+      MemoryBlock freeBlock;
+      while (evicted < size && null != (freeBlock = freeBlocks.poll())) {
+        memoryCached.addAndGet(-freeBlock.size());
+        MemoryAllocator.UNSAFE.free(freeBlock);
+        releaseMemory(freeBlock.size());
+        evicted += freeBlock.size();
+      }
+      if (evicted >= size) {
+        break;
+      }
+    }
+    return evicted > 0;
+  }
+
+  /**
+   * Reserves the requested size from the working memory if it fits in the configured limit
+   *
+   * @return true if the memory is reserved, false if not enough memory is left
+   */
+  private boolean reserveMemory(long memoryRequested) {
+    while (true) {
+      long reserved = memoryReserved.get();
+      if (reserved + memoryRequested > totalMemory) {
+        return false;
+      }
+      if (memoryReserved.compareAndSet(reserved, reserved + memoryRequested)) {
+        return true;
+      }
     }
-    if (!memoryBlock.isFreedStatus()) {
-      getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
-      memoryUsed -= memoryBlock.size();
-      memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
-      if (LOGGER.isDebugEnabled() && memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
+  }
+
+  /**
+   * Gives back the size to the working memory, reserved memory never goes below zero
+   */
+  private void releaseMemory(long size) {
+    while (true) {
+      long reserved = memoryReserved.get();
+      long newReserved = reserved - size < 0 ? 0 : reserved - size;
+      if (memoryReserved.compareAndSet(reserved, newReserved)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Frees the block if not already freed. Block can be freed by the task itself and by
+   * task completion at the same time, so the status check and free are done under the
+   * block's own monitor. An off-heap block is not freed but kept in the free list of its
+   * size class, and its memory stays reserved.
+   *
+   * @return true if this call freed the block
+   */
+  private boolean freeBlock(MemoryBlock memoryBlock) {
+    synchronized (memoryBlock) {
+      if (memoryBlock.isFreedStatus()) {
+        return false;
+      }
+      if (memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
+        long sizeClass = getSizeClass(memoryBlock.size());
+        memoryBlock.setFreedStatus(true);
+        requestedMemory.addAndGet(-memoryBlock.size());
+        memoryCached.addAndGet(sizeClass);
+        freeBlocksBySizeClass.computeIfAbsent(sizeClass, size -> new ConcurrentLinkedDeque<>())
+            .push(new MemoryBlock(null, memoryBlock.getBaseOffset(), sizeClass,
+                MemoryType.OFFHEAP));
+      } else {
+        getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
+      }
+      return true;
+    }
+  }
+
+  public void freeMemory(String taskId, MemoryBlock memoryBlock) {
+    Set<MemoryBlock> memoryBlockSet = taskIdToOffHeapMemoryBlockMap.get(taskId);
+    if (null != memoryBlockSet) {
+      memoryBlockSet.remove(memoryBlock);
+    }
+    if (freeBlock(memoryBlock) && memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
+      if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(String.format("Freeing off-heap working memory block (%s) with size: %d, "
                 + "current available memory is: %d", memoryBlock.toString(), memoryBlock.size(),
-            totalMemory - memoryUsed));
+            totalMemory - getMemoryUsed()));
       }
     }
   }
 
-  public synchronized void freeMemoryAll(String taskId) {
+  public void freeMemoryAll(String taskId) {
     Set<MemoryBlock> memoryBlockSet;
     memoryBlockSet = taskIdToOffHeapMemoryBlockMap.remove(taskId);
     long occupiedMemory = 0;
@@ -163,28 +336,58 @@ public class UnsafeMemoryManager {
       MemoryBlock memoryBlock = null;
       while (iterator.hasNext()) {
         memoryBlock = iterator.next();
-        if (!memoryBlock.isFreedStatus()) {
+        if (freeBlock(memoryBlock)) {
           occupiedMemory += memoryBlock.size();
-          getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
         }
       }
     }
-    memoryUsed -= occupiedMemory;
-    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(String.format(
           "Freeing off-heap working memory of size %d. Current available memory is %d",
-          occupiedMemory, totalMemory - memoryUsed));
+          occupiedMemory, totalMemory - getMemoryUsed()));
     }
     LOGGER.info(String.format(
-        "Total off-heap working memory used after task %s is %d. Current running tasks are %s",
-        taskId, memoryUsed, StringUtils.join(taskIdToOffHeapMemoryBlockMap.keySet(), ", ")));
+        "Total off-heap working memory used after task %s is %d, kept for reuse %d, reuse rate"
+            + " %.2f, fragmentation %.2f. Current running tasks are %s",
+        taskId, getMemoryUsed(), memoryCached.get(), getReuseRate(), getFragmentation(),
+        StringUtils.join(taskIdToOffHeapMemoryBlockMap.keySet(), ", ")));
   }
 
   public long getUsableMemory() {
     return totalMemory;
   }
 
+  /**
+   * Returns the off-heap memory of the blocks in use, with the capacity of their size class
+   */
+  public long getMemoryUsed() {
+    return Math.max(memoryReserved.get() - memoryCached.get(), 0);
+  }
+
+  /**
+   * Returns the off-heap memory of the free blocks kept for reuse
+   */
+  public long getMemoryCached() {
+    return memoryCached.get();
+  }
+
+  /**
+   * Returns the fraction of the off-heap allocations served by a free block
+   */
+  public double getReuseRate() {
+    long allocations = allocationCount.get();
+    return allocations == 0 ? 0 : (double) reuseCount.get() / allocations;
+  }
+
+  /**
+   * Returns the fraction of the off-heap memory of the blocks in use which is not requested,
+   * lost by rounding the sizes up to their size class
+   */
+  public double getFragmentation() {
+    long used = getMemoryUsed();
+    return used == 0 ? 0 : Math.max(used - requestedMemory.get(), 0) / (double) used;
+  }
+
   /**
    * It tries to allocate memory of `size` bytes, keep retry until it allocates successfully.
    */
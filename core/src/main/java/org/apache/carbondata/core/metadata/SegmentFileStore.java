@@ -50,6 +50,7 @@ import org.apache.carbondata.core.fileoperations.FileWriteOperation;
 import org.apache.carbondata.core.index.IndexStoreManager;
 import org.apache.carbondata.core.index.Segment;
 import org.apache.carbondata.core.index.TableIndex;
+import org.apache.carbondata.core.indexstore.BlockletIndexSnapshot;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.blockletindex.SegmentIndexFileStore;
 import org.apache.carbondata.core.locks.CarbonLockUtil;
@@ -751,6 +752,7 @@ public class SegmentFileStore {
         for (CarbonFile indexFile : listFiles) {
           if (mergedAndInvalidIndexFiles.contains(indexFile.getAbsolutePath())) {
             indexFile.delete();
+            BlockletIndexSnapshot.delete(indexFile.getAbsolutePath());
           }
         }
         CarbonFile[] carbonIndexFiles = listFiles;
@@ -1146,6 +1148,7 @@ public class SegmentFileStore {
         if (toBeDeletedIndexFiles.size() > 0) {
           for (String dataFile : toBeDeletedIndexFiles) {
             FileFactory.deleteFile(dataFile);
+            BlockletIndexSnapshot.delete(dataFile);
           }
           for (String dataFile : toBeDeletedDataFiles) {
             FileFactory.deleteFile(dataFile);
@@ -1216,6 +1219,7 @@ public class SegmentFileStore {
     List<String> deletedFiles = new ArrayList<>();
     for (String indexFilePath : indexOrMergeFiles) {
       FileFactory.deleteFile(indexFilePath);
+      BlockletIndexSnapshot.delete(indexFilePath);
       deletedFiles.add(indexFilePath);
     }
     for (Map.Entry<String, List<String>> entry : indexFilesMap.entrySet()) {
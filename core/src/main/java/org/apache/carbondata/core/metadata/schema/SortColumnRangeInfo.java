@@ -23,7 +23,7 @@ import java.util.Arrays;
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 
 /**
- * column ranges specified by sort column bounds
+ * column ranges specified by sort column bounds, or sampled from the input
  */
 @InterfaceAudience.Internal
 public class SortColumnRangeInfo implements ColumnRangeInfo, Serializable {
@@ -32,7 +32,7 @@ public class SortColumnRangeInfo implements ColumnRangeInfo, Serializable {
   private int[] sortColumnIndex;
   // is the sort column no dictionary encoded
   private boolean[] isSortColumnNoDict;
-  // each literal sort column bounds specified by user
+  // each literal sort column bounds specified by user, null if the bounds are sampled
   private String[] userSpecifiedRanges;
   // separator for the field values in each bound
   private String separator;
@@ -48,6 +48,16 @@ public class SortColumnRangeInfo implements ColumnRangeInfo, Serializable {
     this.numOfRanges = userSpecifiedRanges.length + 1;
   }
 
+  /**
+   * Creates the range info whose bounds are not specified by user but sampled from the input
+   */
+  public SortColumnRangeInfo(int[] sortColumnIndex, boolean[] isSortColumnNoDict,
+      int numOfRanges) {
+    this.sortColumnIndex = sortColumnIndex;
+    this.isSortColumnNoDict = isSortColumnNoDict;
+    this.numOfRanges = numOfRanges;
+  }
+
   public int[] getSortColumnIndex() {
     return sortColumnIndex;
   }
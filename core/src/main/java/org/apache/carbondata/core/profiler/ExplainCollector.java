@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.profiler;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -141,6 +142,16 @@ public class ExplainCollector {
     }
   }
 
+  /**
+   * Adds the time taken by the tasks of the default index pruning, in nanoseconds
+   */
+  public static void addPruningTaskTimes(Collection<Long> taskTimes) {
+    if (enabled()) {
+      TablePruningInfo scan = getCurrentTablePruningInfo();
+      scan.addPruningTaskTimes(taskTimes);
+    }
+  }
+
   /**
    * Return the current TablePruningInfo (It is the last one in the map, since it is in
    * single thread)
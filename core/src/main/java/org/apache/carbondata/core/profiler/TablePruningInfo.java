@@ -17,6 +17,11 @@
 
 package org.apache.carbondata.core.profiler;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.carbondata.common.annotations.InterfaceAudience;
 import org.apache.carbondata.core.index.dev.expr.IndexWrapperSimpleInfo;
 
@@ -34,6 +39,9 @@ public class TablePruningInfo {
   private int numBlocksAfterDefaultPruning;
   private int numBlockletsAfterDefaultPruning = 0;
 
+  // time taken by each task of the default index pruning, in nanoseconds
+  private List<Long> pruningTaskTimes = new ArrayList<>();
+
   private IndexWrapperSimpleInfo cgIndex;
   private int numBlocksAfterCGPruning;
   private int numBlockletsAfterCGPruning;
@@ -71,6 +79,10 @@ public class TablePruningInfo {
     this.numBlockletsAfterDefaultPruning += numBlocklets;
   }
 
+  synchronized void addPruningTaskTimes(Collection<Long> taskTimes) {
+    this.pruningTaskTimes.addAll(taskTimes);
+  }
+
   void setNumBlockletsAfterCGPruning(IndexWrapperSimpleInfo indexWrapperSimpleInfo,
       int numBlocklets, int numBlocks) {
     this.cgIndex = indexWrapperSimpleInfo;
@@ -99,6 +111,17 @@ public class TablePruningInfo {
           .append(" - pruned by Main Index").append("\n")
           .append("    - skipped: ").append(skipBlocks).append(" blocks, ")
           .append(skipBlocklets).append(" blocklets").append("\n");
+      if (!pruningTaskTimes.isEmpty()) {
+        List<Long> taskTimes = new ArrayList<>(pruningTaskTimes);
+        Collections.sort(taskTimes);
+        builder
+            .append("    - pruning tasks: ").append(taskTimes.size())
+            .append(", latency p50: ").append(getPercentileInMillis(taskTimes, 50))
+            .append(" ms, p90: ").append(getPercentileInMillis(taskTimes, 90))
+            .append(" ms, p99: ").append(getPercentileInMillis(taskTimes, 99))
+            .append(" ms, max: ").append(getPercentileInMillis(taskTimes, 100))
+            .append(" ms").append("\n");
+      }
       if (cgIndex != null) {
         skipBlocks = numBlocksAfterDefaultPruning - numBlocksAfterCGPruning;
         skipBlocklets = numBlockletsAfterDefaultPruning - numBlockletsAfterCGPruning;
@@ -129,4 +152,13 @@ public class TablePruningInfo {
       return "";
     }
   }
+
+  /**
+   * Returns the nearest rank percentile of the sorted times, in milliseconds
+   */
+  private static String getPercentileInMillis(List<Long> sortedTimes, int percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sortedTimes.size());
+    long time = sortedTimes.get(Math.max(rank, 1) - 1);
+    return String.format("%.3f", time / 1000000.0);
+  }
 }
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.core.scan.filter;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +35,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionColumnPage;
 import org.apache.carbondata.core.keygenerator.KeyGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
@@ -1080,54 +1083,6 @@ public final class FilterUtil {
     LOGGER.info("Implicit expression added to the filter expression");
   }
 
-  /**
-   * Below method will be called from include and exclude filter to convert filter values
-   * based on dictionary when local dictionary is present in blocklet.
-   * @param dictionary
-   * Dictionary
-   * @param actualFilterValues
-   * actual filter values
-   * @return encoded filter values
-   */
-  public static byte[][] getEncodedFilterValues(CarbonDictionary dictionary,
-      byte[][] actualFilterValues) {
-    if (null == dictionary) {
-      return actualFilterValues;
-    }
-    KeyGenerator keyGenerator = KeyGeneratorFactory
-        .getKeyGenerator(new int[] { CarbonCommonConstants.LOCAL_DICTIONARY_MAX });
-    int[] dummy = new int[1];
-    List<byte[]> encodedFilters = new ArrayList<>();
-    for (byte[] actualFilter : actualFilterValues) {
-      for (int i = 1; i < dictionary.getDictionarySize(); i++) {
-        if (dictionary.getDictionaryValue(i) == null) {
-          continue;
-        }
-        if (ByteUtil.UnsafeComparer.INSTANCE
-            .compareTo(actualFilter, dictionary.getDictionaryValue(i)) == 0) {
-          dummy[0] = i;
-          encodedFilters.add(keyGenerator.generateKey(dummy));
-          break;
-        }
-      }
-    }
-    return getSortedEncodedFilters(encodedFilters);
-  }
-
-  /**
-   * Below method will be used to sort the filter values a filter are applied using incremental
-   * binary search
-   * @param encodedFilters
-   * encoded filter values
-   * @return sorted encoded filter values
-   */
-  private static byte[][] getSortedEncodedFilters(List<byte[]> encodedFilters) {
-    java.util.Comparator<byte[]> filterNoDictValueComparator =
-        ByteUtil.UnsafeComparer.INSTANCE::compareTo;
-    encodedFilters.sort(filterNoDictValueComparator);
-    return encodedFilters.toArray(new byte[encodedFilters.size()][]);
-  }
-
   /**
    * Below method will be used to get all the include filter values in case of range filters when
    * blocklet is encoded with local dictionary
@@ -1167,45 +1122,141 @@ public final class FilterUtil {
   }
 
   /**
-   * Below method will used to get encoded filter values for range filter values
-   * when local dictionary is present in blocklet for columns
-   * If number of include filter is more than 60% of total dictionary size it will
-   * convert include to exclude
-   * @param includeDictValues
-   * include filter values
-   * @param carbonDictionary
-   * dictionary
-   * @param useExclude
-   * to check if using exclude will be more optimized
+   * Below method will be used to get the local dictionary filter of the filter values, that is
+   * the surrogates of the dictionary values which are present in the filter values
+   * @param dictionary
+   * local dictionary of the blocklet
+   * @param actualFilterValues
+   * actual filter values
+   * @return surrogates of the matching dictionary values
+   */
+  public static BitSet getLocalDictionaryFilter(CarbonDictionary dictionary,
+      byte[][] actualFilterValues) {
+    Set<ByteBuffer> filterValues = new HashSet<>(actualFilterValues.length);
+    for (byte[] actualFilter : actualFilterValues) {
+      filterValues.add(ByteBuffer.wrap(actualFilter));
+    }
+    BitSet surrogates = new BitSet(dictionary.getDictionarySize());
+    for (int i = 1; i < dictionary.getDictionarySize(); i++) {
+      byte[] dictionaryValue = dictionary.getDictionaryValue(i);
+      if (null != dictionaryValue && filterValues.contains(ByteBuffer.wrap(dictionaryValue))) {
+        surrogates.set(i);
+      }
+    }
+    return surrogates;
+  }
+
+  /**
+   * Below method will be used to get the local dictionary filter of an exclude filter, that is
+   * the surrogates of all the dictionary values except the excluded ones
+   * @param dictionary
+   * local dictionary of the blocklet
+   * @param excludedSurrogates
+   * surrogates of the excluded dictionary values
+   * @return surrogates of the rows to select
+   */
+  public static BitSet getLocalDictionaryExcludeFilter(CarbonDictionary dictionary,
+      BitSet excludedSurrogates) {
+    BitSet surrogates = new BitSet(dictionary.getDictionarySize());
+    surrogates.set(0, dictionary.getDictionarySize());
+    surrogates.andNot(excludedSurrogates);
+    return surrogates;
+  }
+
+  /**
+   * Below method will be used to get the encoded filter values of the surrogates, in the sorted
+   * order of the encoded values
+   * @param surrogates
+   * surrogates of the local dictionary
    * @return encoded filter values
    */
-  private static byte[][] getEncodedFilterValuesForRange(BitSet includeDictValues,
-      CarbonDictionary carbonDictionary, boolean useExclude) {
+  public static byte[][] getEncodedFilterValues(BitSet surrogates) {
     KeyGenerator keyGenerator = KeyGeneratorFactory
         .getKeyGenerator(new int[] { CarbonCommonConstants.LOCAL_DICTIONARY_MAX });
-    List<byte[]> encodedFilterValues = new ArrayList<>();
+    byte[][] encodedFilterValues = new byte[surrogates.cardinality()][];
     int[] dummy = new int[1];
-    if (!useExclude) {
-      for (int i = includeDictValues.nextSetBit(0);
-           i >= 0; i = includeDictValues.nextSetBit(i + 1)) {
-        dummy[0] = i;
-        encodedFilterValues.add(keyGenerator.generateKey(dummy));
+    int index = 0;
+    for (int i = surrogates.nextSetBit(0); i >= 0; i = surrogates.nextSetBit(i + 1)) {
+      dummy[0] = i;
+      encodedFilterValues[index++] = keyGenerator.generateKey(dummy);
+    }
+    return encodedFilterValues;
+  }
+
+  /**
+   * Below method will be used to check whether the filter can be applied on the page using the
+   * local dictionary filter
+   * @param dimensionColumnPage
+   * dimension column page
+   * @return true if the page is encoded with local dictionary
+   */
+  public static boolean isLocalDictionaryEncoded(DimensionColumnPage dimensionColumnPage) {
+    return dimensionColumnPage instanceof VariableLengthDimensionColumnPage
+        && ((VariableLengthDimensionColumnPage) dimensionColumnPage).isLocalDictionaryEncoded();
+  }
+
+  /**
+   * Below method will be used to apply the local dictionary filter on a page encoded with local
+   * dictionary, a row is selected when its surrogate is present in the local dictionary filter.
+   * The filter values are not compared with the rows, only the surrogate of each row is checked.
+   * @param dimensionColumnPage
+   * page encoded with local dictionary
+   * @param numberOfRows
+   * number of rows in the page
+   * @param localDictionaryFilter
+   * surrogates of the rows to select
+   * @param rowsToCheck
+   * rows selected by the previous filter, null to check all the rows of the page
+   * @return filtered indexes bitset
+   */
+  public static BitSet applyLocalDictionaryFilter(DimensionColumnPage dimensionColumnPage,
+      int numberOfRows, BitSet localDictionaryFilter, BitSet rowsToCheck) {
+    BitSet bitSet = new BitSet(numberOfRows);
+    if (localDictionaryFilter.isEmpty()) {
+      return bitSet;
+    }
+    VariableLengthDimensionColumnPage page =
+        (VariableLengthDimensionColumnPage) dimensionColumnPage;
+    if (null != rowsToCheck) {
+      for (int i = rowsToCheck.nextSetBit(0); i >= 0; i = rowsToCheck.nextSetBit(i + 1)) {
+        if (localDictionaryFilter.get(page.getSurrogate(i))) {
+          bitSet.set(i);
+        }
       }
-      return encodedFilterValues.toArray(new byte[encodedFilterValues.size()][]);
     } else {
-      for (int i = 1; i < carbonDictionary.getDictionarySize(); i++) {
-        if (!includeDictValues.get(i) && null != carbonDictionary.getDictionaryValue(i)) {
-          dummy[0] = i;
-          encodedFilterValues.add(keyGenerator.generateKey(dummy));
+      for (int i = 0; i < numberOfRows; i++) {
+        if (localDictionaryFilter.get(page.getSurrogate(i))) {
+          bitSet.set(i);
         }
       }
     }
-    return getSortedEncodedFilters(encodedFilterValues);
+    return bitSet;
+  }
+
+  /**
+   * Below method will be used to get the rows selected by the previous filter in the page, when
+   * the filter can be applied on them only
+   * @param useBitsetPipeLine
+   * whether the bitset of the previous filter can be used
+   * @param prvBitSetGroup
+   * bitset group of the previous filter
+   * @param pageNumber
+   * page number
+   * @return rows selected by the previous filter, null to check all the rows of the page
+   */
+  public static BitSet getPreviousFilteredRows(boolean useBitsetPipeLine,
+      BitSetGroup prvBitSetGroup, int pageNumber) {
+    if (!useBitsetPipeLine || null == prvBitSetGroup) {
+      return null;
+    }
+    return prvBitSetGroup.getBitSet(pageNumber);
   }
 
   /**
    * Below method will be used to get filter executor instance for range filters
    * when local dictionary is present for in blocklet
+   * If number of include filter is more than 60% of total dictionary size it will
+   * convert include to exclude
    * @param rawColumnChunk
    * raw column chunk
    * @param exp
@@ -1216,24 +1267,30 @@ public final class FilterUtil {
    */
   public static FilterExecutor getFilterExecutorForRangeFilters(
       DimensionRawColumnChunk rawColumnChunk, Expression exp, boolean isNaturalSorted) {
+    CarbonDictionary dictionary = rawColumnChunk.getLocalDictionary();
     BitSet includeDictionaryValues;
     try {
-      includeDictionaryValues =
-          FilterUtil.getIncludeDictFilterValuesForRange(exp, rawColumnChunk.getLocalDictionary());
+      includeDictionaryValues = FilterUtil.getIncludeDictFilterValuesForRange(exp, dictionary);
     } catch (FilterUnsupportedException e) {
       throw new RuntimeException(e);
     }
     boolean isExclude = includeDictionaryValues.cardinality() > 1 && FilterUtil
-        .isExcludeFilterNeedsToApply(rawColumnChunk.getLocalDictionary().getDictionaryActualSize(),
+        .isExcludeFilterNeedsToApply(dictionary.getDictionaryActualSize(),
             includeDictionaryValues.cardinality());
-    byte[][] encodedFilterValues = FilterUtil
-        .getEncodedFilterValuesForRange(includeDictionaryValues,
-            rawColumnChunk.getLocalDictionary(), isExclude);
     FilterExecutor filterExecutor;
     if (!isExclude) {
-      filterExecutor = new IncludeFilterExecutorImpl(encodedFilterValues, isNaturalSorted);
+      filterExecutor = new IncludeFilterExecutorImpl(getEncodedFilterValues(
+          includeDictionaryValues), includeDictionaryValues, isNaturalSorted);
     } else {
-      filterExecutor = new ExcludeFilterExecutorImpl(encodedFilterValues, isNaturalSorted);
+      BitSet excludeDictionaryValues = new BitSet(dictionary.getDictionarySize());
+      for (int i = 1; i < dictionary.getDictionarySize(); i++) {
+        if (!includeDictionaryValues.get(i) && null != dictionary.getDictionaryValue(i)) {
+          excludeDictionaryValues.set(i);
+        }
+      }
+      filterExecutor = new ExcludeFilterExecutorImpl(getEncodedFilterValues(
+          excludeDictionaryValues), getLocalDictionaryExcludeFilter(dictionary,
+          excludeDictionaryValues), isNaturalSorted);
     }
     return filterExecutor;
   }
@@ -19,7 +19,9 @@ package org.apache.carbondata.core.scan.filter.executer;
 
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
@@ -88,6 +90,16 @@ public class AndFilterExecutorImpl implements FilterExecutor, ImplicitColumnFilt
     return leftFilters;
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    // right filter verifies only the entries selected by left filter
+    leftExecutor.isScanRequired(minMaxStore, uniqueBlockPaths, entries);
+    if (!entries.isEmpty()) {
+      rightExecutor.isScanRequired(minMaxStore, uniqueBlockPaths, entries);
+    }
+  }
+
   @Override
   public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) throws IOException {
     leftExecutor.readColumnChunks(rawBlockletColumnChunks);
@@ -33,6 +33,7 @@ import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
 import org.apache.carbondata.core.util.BitSetGroup;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
@@ -57,6 +58,12 @@ public class ExcludeFilterExecutorImpl implements FilterExecutor {
 
   private byte[][] filterValues;
 
+  /**
+   * surrogates of the local dictionary values which are not excluded, null when the blocklet is
+   * not encoded with local dictionary
+   */
+  private BitSet localDictionaryFilter;
+
   private FilterBitSetUpdater filterBitSetUpdater;
 
   public ExcludeFilterExecutorImpl(byte[][] filterValues, boolean isNaturalSorted) {
@@ -66,6 +73,12 @@ public class ExcludeFilterExecutorImpl implements FilterExecutor {
         BitSetUpdaterFactory.INSTANCE.getBitSetUpdater(FilterExecutorType.EXCLUDE);
   }
 
+  public ExcludeFilterExecutorImpl(byte[][] filterValues, BitSet localDictionaryFilter,
+      boolean isNaturalSorted) {
+    this(filterValues, isNaturalSorted);
+    this.localDictionaryFilter = localDictionaryFilter;
+  }
+
   public ExcludeFilterExecutorImpl(DimColumnResolvedFilterInfo dimColEvaluatorInfo,
       MeasureColumnResolvedFilterInfo msrColumnEvaluatorInfo, SegmentProperties segmentProperties,
       boolean isMeasure) {
@@ -109,12 +122,24 @@ public class ExcludeFilterExecutorImpl implements FilterExecutor {
       }
       DimensionRawColumnChunk dimensionRawColumnChunk =
           rawBlockletColumnChunks.getDimensionRawColumnChunks()[chunkIndex];
+      BitSetGroup bitSetGroup = new BitSetGroup(dimensionRawColumnChunk.getPagesCount());
+      filterValues = dimColumnExecutorInfo.filterKeysForExclude;
+      localDictionaryFilter = null;
+      CarbonDictionary localDictionary = dimensionRawColumnChunk.getLocalDictionary();
+      if (null != localDictionary) {
+        // filter is resolved once on the dictionary, then each row checks its surrogate
+        BitSet excludedSurrogates =
+            FilterUtil.getLocalDictionaryFilter(localDictionary, filterValues);
+        filterValues = FilterUtil.getEncodedFilterValues(excludedSurrogates);
+        localDictionaryFilter =
+            FilterUtil.getLocalDictionaryExcludeFilter(localDictionary, excludedSurrogates);
+        if (localDictionaryFilter.isEmpty()) {
+          // no row of the blocklet can match, pages are not decoded
+          return bitSetGroup;
+        }
+      }
       DimensionColumnPage[] dimensionColumnPages =
           dimensionRawColumnChunk.decodeAllColumnPages();
-      filterValues = FilterUtil
-          .getEncodedFilterValues(dimensionRawColumnChunk.getLocalDictionary(),
-              dimColumnExecutorInfo.filterKeysForExclude);
-      BitSetGroup bitSetGroup = new BitSetGroup(dimensionRawColumnChunk.getPagesCount());
       for (int i = 0; i < dimensionColumnPages.length; i++) {
         BitSet bitSet = getFilteredIndexes(dimensionColumnPages[i],
             dimensionRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
@@ -275,6 +300,11 @@ public class ExcludeFilterExecutorImpl implements FilterExecutor {
    */
   protected BitSet getFilteredIndexes(DimensionColumnPage dimensionColumnPage,
       int numberOfRows, boolean useBitsetPipeLine, BitSetGroup prvBitSetGroup, int pageNumber) {
+    if (null != localDictionaryFilter && FilterUtil.isLocalDictionaryEncoded(dimensionColumnPage)) {
+      return FilterUtil.applyLocalDictionaryFilter(dimensionColumnPage, numberOfRows,
+          localDictionaryFilter,
+          FilterUtil.getPreviousFilteredRows(useBitsetPipeLine, prvBitSetGroup, pageNumber));
+    }
     // check whether applying filtered based on previous bitset will be optimal
     if (filterValues.length > 0 && CarbonUtil
         .usePreviousFilterBitsetGroup(useBitsetPipeLine, prvBitSetGroup, pageNumber,
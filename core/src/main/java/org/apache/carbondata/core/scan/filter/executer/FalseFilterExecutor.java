@@ -18,7 +18,9 @@
 package org.apache.carbondata.core.scan.filter.executer;
 
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -53,6 +55,12 @@ public class FalseFilterExecutor implements FilterExecutor {
     return new BitSet();
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    entries.clear();
+  }
+
   @Override
   public void readColumnChunks(RawBlockletColumnChunks blockChunkHolder) {
     // Do Nothing
@@ -19,7 +19,9 @@ package org.apache.carbondata.core.scan.filter.executer;
 
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
@@ -60,6 +62,43 @@ public interface FilterExecutor {
    */
   BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue, boolean[] isMinMaxSet);
 
+  /**
+   * API will verify which of the blocks or blocklets can be shortlisted based on their max and
+   * min keys, the keys of all the entries are evaluated column wise.
+   *
+   * @param minMaxStore max and min keys of the entries
+   * @param uniqueBlockPaths unique block path of an entry, used by the implicit column filter,
+   *                         null if the entries are not to be checked with the implicit column
+   * @param entries entries to verify, the entries which need not be scanned are cleared
+   */
+  default void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    boolean isImplicitFilter = this instanceof ImplicitColumnFilterExecutor;
+    if (isImplicitFilter && uniqueBlockPaths == null) {
+      // without the block path, implicit column filter decides only on min and max
+      for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+        if (!((ImplicitColumnFilterExecutor) this).isFilterValuesPresentInAbstractIndex(
+            minMaxStore.getMaxValues(i), minMaxStore.getMinValues(i),
+            minMaxStore.getMinMaxFlag(i))) {
+          entries.clear(i);
+        }
+      }
+      return;
+    }
+    for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+      byte[][] maxValue = minMaxStore.getMaxValues(i);
+      byte[][] minValue = minMaxStore.getMinValues(i);
+      boolean[] minMaxFlag = minMaxStore.getMinMaxFlag(i);
+      BitSet bitSet = isImplicitFilter ?
+          ((ImplicitColumnFilterExecutor) this).isFilterValuesPresentInBlockOrBlocklet(maxValue,
+              minValue, uniqueBlockPaths.apply(i), minMaxFlag) :
+          isScanRequired(maxValue, minValue, minMaxFlag);
+      if (bitSet.isEmpty()) {
+        entries.clear(i);
+      }
+    }
+  }
+
   /**
    * It just reads necessary block for filter executor, it does not uncompress the data.
    *
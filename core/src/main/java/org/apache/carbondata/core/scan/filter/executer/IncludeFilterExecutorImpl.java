@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
@@ -26,6 +27,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.scan.filter.FilterExecutorUtil;
@@ -35,6 +37,7 @@ import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
 import org.apache.carbondata.core.util.BitSetGroup;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
@@ -59,6 +62,12 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
 
   private byte[][] filterValues;
 
+  /**
+   * surrogates of the local dictionary values which match the filter, null when the blocklet is
+   * not encoded with local dictionary
+   */
+  private BitSet localDictionaryFilter;
+
   private FilterBitSetUpdater filterBitSetUpdater;
 
   public IncludeFilterExecutorImpl(byte[][] filterValues, boolean isNaturalSorted) {
@@ -68,6 +77,12 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
         BitSetUpdaterFactory.INSTANCE.getBitSetUpdater(FilterExecutorType.INCLUDE);
   }
 
+  public IncludeFilterExecutorImpl(byte[][] filterValues, BitSet localDictionaryFilter,
+      boolean isNaturalSorted) {
+    this(filterValues, isNaturalSorted);
+    this.localDictionaryFilter = localDictionaryFilter;
+  }
+
   public IncludeFilterExecutorImpl(DimColumnResolvedFilterInfo dimColumnEvaluatorInfo,
       MeasureColumnResolvedFilterInfo msrColumnEvaluatorInfo, SegmentProperties segmentProperties,
       boolean isMeasure) {
@@ -114,17 +129,26 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
           rawBlockletColumnChunks.getDimensionRawColumnChunks()[chunkIndex];
       BitSetGroup bitSetGroup = new BitSetGroup(dimensionRawColumnChunk.getPagesCount());
       filterValues = dimColumnExecutorInfo.getFilterKeys();
+      localDictionaryFilter = null;
       boolean isDecoded = false;
       for (int i = 0; i < dimensionRawColumnChunk.getPagesCount(); i++) {
         if (dimensionRawColumnChunk.getMaxValues() != null) {
           if (isScanRequired(dimensionRawColumnChunk, i)) {
-            DimensionColumnPage dimensionColumnPage = dimensionRawColumnChunk.decodeColumnPage(i);
             if (!isDecoded) {
-              filterValues =  FilterUtil
-                  .getEncodedFilterValues(dimensionRawColumnChunk.getLocalDictionary(),
-                      dimColumnExecutorInfo.getFilterKeys());
+              CarbonDictionary localDictionary = dimensionRawColumnChunk.getLocalDictionary();
+              if (null != localDictionary) {
+                // filter is resolved once on the dictionary, then each row checks its surrogate
+                localDictionaryFilter = FilterUtil.getLocalDictionaryFilter(localDictionary,
+                    dimColumnExecutorInfo.getFilterKeys());
+                if (localDictionaryFilter.isEmpty()) {
+                  // no row of the blocklet can match, pages are not decoded
+                  return bitSetGroup;
+                }
+                filterValues = FilterUtil.getEncodedFilterValues(localDictionaryFilter);
+              }
               isDecoded = true;
             }
+            DimensionColumnPage dimensionColumnPage = dimensionRawColumnChunk.decodeColumnPage(i);
             BitSet bitSet = getFilteredIndexes(dimensionColumnPage,
                 dimensionRawColumnChunk.getRowCount()[i], useBitsetPipeLine,
                 rawBlockletColumnChunks.getBitSetGroup(), i);
@@ -358,6 +382,11 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
    */
   protected BitSet getFilteredIndexes(DimensionColumnPage dimensionColumnPage,
       int numberOfRows, boolean useBitsetPipeLine, BitSetGroup prvBitSetGroup, int pageNumber) {
+    if (null != localDictionaryFilter && FilterUtil.isLocalDictionaryEncoded(dimensionColumnPage)) {
+      return FilterUtil.applyLocalDictionaryFilter(dimensionColumnPage, numberOfRows,
+          localDictionaryFilter,
+          FilterUtil.getPreviousFilteredRows(useBitsetPipeLine, prvBitSetGroup, pageNumber));
+    }
     // check whether previous indexes can be optimal to apply filter on dimension column
     if (filterValues.length > 0 && CarbonUtil
         .usePreviousFilterBitsetGroup(useBitsetPipeLine, prvBitSetGroup, pageNumber,
@@ -521,6 +550,37 @@ public class IncludeFilterExecutorImpl implements FilterExecutor {
     return bitSet;
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    DataType dataType = isDimensionPresentInCurrentBlock ?
+        dimColumnEvaluatorInfo.getDimension().getDataType() : null;
+    if (dataType == null
+        || (DataTypeUtil.isPrimitiveColumn(dataType) && dataType != DataTypes.DATE)) {
+      FilterExecutor.super.isScanRequired(minMaxStore, uniqueBlockPaths, entries);
+      return;
+    }
+    // min and max of the dimension are compared as bytes, same as for a single entry
+    byte[][] filterValues = dimColumnExecutorInfo.getFilterKeys();
+    int chunkIndex = dimColumnEvaluatorInfo.getColumnIndexInMinMaxByteArray();
+    for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+      if (!minMaxStore.isMinMaxSet(chunkIndex, i)) {
+        continue;
+      }
+      boolean isScanRequired = false;
+      for (byte[] filterValue : filterValues) {
+        if (minMaxStore.compareWithMax(filterValue, chunkIndex, i) <= 0
+            && minMaxStore.compareWithMin(filterValue, chunkIndex, i) >= 0) {
+          isScanRequired = true;
+          break;
+        }
+      }
+      if (!isScanRequired) {
+        entries.clear(i);
+      }
+    }
+  }
+
   private boolean isScanRequired(byte[] blkMaxVal, byte[] blkMinVal, byte[][] filterValues,
       boolean isMinMaxSet) {
     if (!isMinMaxSet) {
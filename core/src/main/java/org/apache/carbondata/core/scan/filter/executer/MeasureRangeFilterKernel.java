@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.BitSet;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+/**
+ * Range filter on a measure page of primitive type, used by the row level range filter
+ * executors instead of comparing the measure objects of each row.
+ *
+ * Range is converted to inclusive bounds on long, double values are mapped to long keys
+ * having the order of Double.compare. Each row is then checked with one unsigned comparison
+ * of its offset from the lower bound, without branch, and the result is collected in long
+ * words which are converted to BitSet once per page. Null rows are removed at the end.
+ */
+final class MeasureRangeFilterKernel {
+
+  private MeasureRangeFilterKernel() {
+  }
+
+  /**
+   * Returns true if the range filter on a measure of this data type can be applied by the kernel
+   */
+  static boolean isSupported(DataType dataType) {
+    return dataType == DataTypes.SHORT || dataType == DataTypes.INT
+        || dataType == DataTypes.LONG || dataType == DataTypes.FLOAT
+        || dataType == DataTypes.DOUBLE;
+  }
+
+  /**
+   * Returns the not null rows of the page whose value is in the given range
+   *
+   * @param lowerValue lower bound of the range, null if there is no lower bound
+   * @param upperValue upper bound of the range, null if there is no upper bound
+   */
+  static BitSet applyRange(ColumnPage columnPage, int numberOfRows, DataType dataType,
+      Object lowerValue, boolean lowerInclusive, Object upperValue, boolean upperInclusive) {
+    boolean isFloating = dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE;
+    long lower = Long.MIN_VALUE;
+    long upper = Long.MAX_VALUE;
+    if (lowerValue != null) {
+      lower = toKey(lowerValue, isFloating);
+      if (!lowerInclusive) {
+        if (lower == Long.MAX_VALUE) {
+          return new BitSet(numberOfRows);
+        }
+        lower++;
+      }
+    }
+    if (upperValue != null) {
+      upper = toKey(upperValue, isFloating);
+      if (!upperInclusive) {
+        if (upper == Long.MIN_VALUE) {
+          return new BitSet(numberOfRows);
+        }
+        upper--;
+      }
+    }
+    if (lower > upper) {
+      return new BitSet(numberOfRows);
+    }
+    long[] words = new long[(numberOfRows + 63) >>> 6];
+    // value is in range if (value - lower) <= (upper - lower) as unsigned long, adding
+    // Long.MIN_VALUE to both sides turns it into a signed comparison
+    long range = upper - lower + Long.MIN_VALUE;
+    if (dataType == DataTypes.SHORT) {
+      for (int i = 0; i < numberOfRows; i++) {
+        long offset = (short) columnPage.getLong(i) - lower + Long.MIN_VALUE;
+        words[i >>> 6] |= (offset <= range ? 1L : 0L) << i;
+      }
+    } else if (dataType == DataTypes.INT) {
+      for (int i = 0; i < numberOfRows; i++) {
+        long offset = (int) columnPage.getLong(i) - lower + Long.MIN_VALUE;
+        words[i >>> 6] |= (offset <= range ? 1L : 0L) << i;
+      }
+    } else if (dataType == DataTypes.LONG) {
+      for (int i = 0; i < numberOfRows; i++) {
+        long offset = columnPage.getLong(i) - lower + Long.MIN_VALUE;
+        words[i >>> 6] |= (offset <= range ? 1L : 0L) << i;
+      }
+    } else if (dataType == DataTypes.FLOAT) {
+      for (int i = 0; i < numberOfRows; i++) {
+        long offset = toKey(columnPage.getFloat(i)) - lower + Long.MIN_VALUE;
+        words[i >>> 6] |= (offset <= range ? 1L : 0L) << i;
+      }
+    } else if (dataType == DataTypes.DOUBLE) {
+      for (int i = 0; i < numberOfRows; i++) {
+        long offset = toKey(columnPage.getDouble(i)) - lower + Long.MIN_VALUE;
+        words[i >>> 6] |= (offset <= range ? 1L : 0L) << i;
+      }
+    } else {
+      throw new UnsupportedOperationException("Unsupported data type: " + dataType.getName());
+    }
+    BitSet bitSet = BitSet.valueOf(words);
+    bitSet.andNot(columnPage.getNullBits());
+    return bitSet;
+  }
+
+  private static long toKey(Object value, boolean isFloating) {
+    if (isFloating) {
+      return toKey(((Number) value).doubleValue());
+    }
+    return ((Number) value).longValue();
+  }
+
+  /**
+   * Maps the double to a long whose signed order is same as the order of Double.compare,
+   * float is widened to double which keeps the order of Float.compare
+   */
+  private static long toKey(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+}
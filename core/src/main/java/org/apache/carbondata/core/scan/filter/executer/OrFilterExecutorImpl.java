@@ -19,7 +19,9 @@ package org.apache.carbondata.core.scan.filter.executer;
 
 import java.io.IOException;
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
@@ -70,6 +72,19 @@ public class OrFilterExecutorImpl implements FilterExecutor {
     return leftFilters;
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    // right filter verifies only the entries not selected by left filter
+    BitSet rightEntries = (BitSet) entries.clone();
+    leftExecutor.isScanRequired(minMaxStore, null, entries);
+    rightEntries.andNot(entries);
+    if (!rightEntries.isEmpty()) {
+      rightExecutor.isScanRequired(minMaxStore, null, rightEntries);
+      entries.or(rightEntries);
+    }
+  }
+
   @Override
   public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) throws IOException {
     leftExecutor.readColumnChunks(rawBlockletColumnChunks);
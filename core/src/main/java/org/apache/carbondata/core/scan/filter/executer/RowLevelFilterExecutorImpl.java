@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntPredicate;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -36,6 +37,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.store.ColumnPageWrapper;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
 import org.apache.carbondata.core.keygenerator.directdictionary.timestamp.DateDirectDictionaryGenerator;
@@ -565,6 +567,46 @@ public class RowLevelFilterExecutorImpl implements FilterExecutor {
     return RestructureUtil.validateAndGetDefaultValue(dimension);
   }
 
+  /**
+   * Clears the entries where none of the filter values is in range of the min or max of the
+   * filter dimension, when the min and max of the dimension are compared as bytes
+   *
+   * @param compareWithMax whether the filter values are compared with max or with min
+   * @param isInRange decides from the result of comparing a filter value with the min or max
+   *                  whether the value is in range
+   * @return false if the min and max of the filter column are not compared as bytes, the entries
+   * are not verified then
+   */
+  boolean isScanRequiredOnBytes(ColumnarMinMaxStore minMaxStore, BitSet entries,
+      byte[][] filterValues, boolean compareWithMax, IntPredicate isInRange) {
+    if (isMeasurePresentInCurrentBlock[0] || !isDimensionPresentInCurrentBlock[0]) {
+      return false;
+    }
+    DataType dataType = dimColEvaluatorInfoList.get(0).getDimension().getDataType();
+    if (DataTypeUtil.isPrimitiveColumn(dataType) && dataType != DataTypes.DATE) {
+      return false;
+    }
+    int chunkIndex = dimensionChunkIndex[0];
+    for (int i = entries.nextSetBit(0); i >= 0; i = entries.nextSetBit(i + 1)) {
+      if (!minMaxStore.isMinMaxSet(chunkIndex, i)) {
+        continue;
+      }
+      boolean isScanRequired = false;
+      for (byte[] filterValue : filterValues) {
+        int compare = compareWithMax ? minMaxStore.compareWithMax(filterValue, chunkIndex, i) :
+            minMaxStore.compareWithMin(filterValue, chunkIndex, i);
+        if (isInRange.test(compare)) {
+          isScanRequired = true;
+          break;
+        }
+      }
+      if (!isScanRequired) {
+        entries.clear(i);
+      }
+    }
+    return true;
+  }
+
   @Override
   public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue,
       boolean[] isMinMaxSet) {
@@ -20,6 +20,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.IntFunction;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
@@ -27,6 +28,7 @@ import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -152,6 +154,15 @@ public class RowLevelRangeGreaterThanFilterExecutorImpl extends RowLevelFilterEx
     return bitSet;
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    if (!isScanRequiredOnBytes(minMaxStore, entries, filterRangeValues, true,
+        maxCompare -> maxCompare < 0)) {
+      super.isScanRequired(minMaxStore, uniqueBlockPaths, entries);
+    }
+  }
+
   @Override
   public BitSet prunePages(RawBlockletColumnChunks rawBlockletColumnChunks)
       throws IOException {
@@ -424,6 +435,11 @@ public class RowLevelRangeGreaterThanFilterExecutorImpl extends RowLevelFilterEx
         }
         continue;
       }
+      if (MeasureRangeFilterKernel.isSupported(msrType)) {
+        bitSet.or(MeasureRangeFilterKernel.applyRange(columnPage, numberOfRows, msrType,
+            filterValue, false, null, false));
+        continue;
+      }
       for (int startIndex = 0; startIndex < numberOfRows; startIndex++) {
         if (!nullBitSet.get(startIndex)) {
           Object msrValue = DataTypeUtil.getMeasureObjectBasedOnDataType(columnPage, startIndex,
@@ -18,7 +18,9 @@
 package org.apache.carbondata.core.scan.filter.executer;
 
 import java.util.BitSet;
+import java.util.function.IntFunction;
 
+import org.apache.carbondata.core.indexstore.ColumnarMinMaxStore;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -70,6 +72,12 @@ public class TrueFilterExecutor implements FilterExecutor {
     return bitSet;
   }
 
+  @Override
+  public void isScanRequired(ColumnarMinMaxStore minMaxStore,
+      IntFunction<String> uniqueBlockPaths, BitSet entries) {
+    // all the entries are to be scanned
+  }
+
   /**
    * It just reads necessary block for filter executor, it does not uncompress the data.
    *
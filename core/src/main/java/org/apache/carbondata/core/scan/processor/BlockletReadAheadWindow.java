@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how many blocklets are read ahead of the blocklet being scanned.
+ * Window starts with one blocklet and grows by one each time the scan had to wait for a read,
+ * that is when IO is slower than scanning. When the next blocklet was already read for more
+ * consecutive scans than the window size, scanning is slower than IO and the window shrinks
+ * by one. Bytes of the blocklets which are read but not yet scanned are limited by the memory
+ * size, but one blocklet is always allowed to be read ahead.
+ */
+class BlockletReadAheadWindow {
+
+  private final int maxBlocklets;
+
+  private final long maxBytes;
+
+  /**
+   * bytes of the blocklets which are read and not yet scanned, updated by the reading threads
+   */
+  private final AtomicLong bufferedBytes = new AtomicLong();
+
+  /**
+   * current number of blocklets to read ahead, updated only by the scanning thread
+   */
+  private volatile int window = 1;
+
+  private int readyInARow;
+
+  BlockletReadAheadWindow(int maxBlocklets, long maxBytes) {
+    this.maxBlocklets = Math.max(1, maxBlocklets);
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns true if one more blocklet can be read ahead
+   *
+   * @param pendingReads number of blocklets which are being read or read and not yet scanned
+   */
+  boolean canReadAhead(int pendingReads) {
+    if (pendingReads == 0) {
+      return true;
+    }
+    return pendingReads < window && bufferedBytes.get() < maxBytes;
+  }
+
+  /**
+   * Called when the read of a blocklet of the given size is completed
+   */
+  void onRead(long bytes) {
+    bufferedBytes.addAndGet(bytes);
+  }
+
+  /**
+   * Called when a read blocklet is taken for scanning and adapts the window
+   *
+   * @param bytes size of the blocklet
+   * @param waited true if the scan had to wait for the read to complete
+   */
+  void onScan(long bytes, boolean waited) {
+    bufferedBytes.addAndGet(-bytes);
+    if (waited) {
+      readyInARow = 0;
+      if (window < maxBlocklets) {
+        window++;
+      }
+    } else if (++readyInARow > window) {
+      readyInARow = 0;
+      if (window > 1) {
+        window--;
+      }
+    }
+  }
+
+  int getWindow() {
+    return window;
+  }
+
+  long getBufferedBytes() {
+    return bufferedBytes.get();
+  }
+}
@@ -18,17 +18,21 @@
 package org.apache.carbondata.core.scan.processor;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.chunk.AbstractRawColumnChunk;
 import org.apache.carbondata.core.scan.collector.ResultCollectorFactory;
 import org.apache.carbondata.core.scan.collector.ScannedResultCollector;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
@@ -37,7 +41,10 @@ import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.scan.scanner.BlockletScanner;
 import org.apache.carbondata.core.scan.scanner.impl.BlockletFilterScanner;
 import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.TaskMetricsMap;
 
 /**
@@ -71,7 +78,18 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
 
   private Future<BlockletScannedResult> future;
 
-  private Future<RawBlockletColumnChunks> futureIo;
+  /**
+   * blocklets which are being read or read and not yet scanned, in the scan order.
+   * It is accessed only by the scan task, one scan task runs at a time.
+   */
+  private Deque<Future<RawBlockletColumnChunks>> readAheadQueue;
+
+  private BlockletReadAheadWindow readAheadWindow;
+
+  /**
+   * lock to read one blocklet at a time as the file reader is shared by the reads
+   */
+  private final Object readLock = new Object();
 
   private BlockletScannedResult scannedResult;
 
@@ -81,7 +99,12 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
 
   private AtomicBoolean nextBlock;
 
-  private AtomicBoolean nextRead;
+  /**
+   * size of readAheadQueue, visible to the thread checking hasNext
+   */
+  private AtomicInteger pendingReads;
+
+  private QueryStatisticsModel queryStatisticsModel;
 
   public DataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileReader fileReader,
       int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService) {
@@ -100,7 +123,15 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     this.batchSize = batchSize;
     this.executorService = executorService;
     this.nextBlock = new AtomicBoolean(false);
-    this.nextRead = new AtomicBoolean(false);
+    this.pendingReads = new AtomicInteger(0);
+    this.queryStatisticsModel = queryStatisticsModel;
+    if (blockExecutionInfo.isPrefetchBlocklet()) {
+      CarbonProperties properties = CarbonProperties.getInstance();
+      this.readAheadQueue = new ArrayDeque<>();
+      this.readAheadWindow = new BlockletReadAheadWindow(
+          properties.getQueryPrefetchMaxBlocklets(),
+          properties.getQueryPrefetchMemorySizeInBytes());
+    }
   }
 
   @Override
@@ -127,7 +158,7 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
       if (null != scannedResult) {
         scannedResult.freeMemory();
       }
-      return blockletIterator.hasNext() || nextBlock.get() || nextRead.get();
+      return blockletIterator.hasNext() || nextBlock.get() || pendingReads.get() > 0;
     }
   }
 
@@ -147,7 +178,6 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
           scannedResult = processNextBlocklet();
         }
         nextBlock.set(false);
-        nextRead.set(false);
         return false;
       }
     } catch (Exception ex) {
@@ -158,13 +188,13 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
   private BlockletScannedResult processNextBlocklet() throws Exception {
     BlockletScannedResult result = null;
     if (blockExecutionInfo.isPrefetchBlocklet()) {
-      if (blockletIterator.hasNext() || nextBlock.get() || nextRead.get()) {
+      if (blockletIterator.hasNext() || nextBlock.get() || pendingReads.get() > 0) {
         if (future == null) {
           future = scanNextBlockletAsync();
         }
         result = future.get();
         nextBlock.set(false);
-        if (blockletIterator.hasNext() || nextRead.get()) {
+        if (blockletIterator.hasNext() || pendingReads.get() > 0) {
           nextBlock.set(true);
           future = scanNextBlockletAsync();
         }
@@ -206,35 +236,54 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     return executorService.submit(new Callable<BlockletScannedResult>() {
       @Override
       public BlockletScannedResult call() throws Exception {
-        if (futureIo == null) {
-          futureIo = readNextBlockletAsync();
+        readAhead();
+        Future<RawBlockletColumnChunks> read = readAheadQueue.poll();
+        if (read == null) {
+          return null;
         }
-        RawBlockletColumnChunks rawBlockletColumnChunks = futureIo.get();
-        futureIo = null;
-        nextRead.set(false);
-        if (rawBlockletColumnChunks != null) {
-          if (blockletIterator.hasNext()) {
-            nextRead.set(true);
-            futureIo = readNextBlockletAsync();
-          }
-          return blockletScanner.scanBlocklet(rawBlockletColumnChunks);
+        boolean waited = !read.isDone();
+        long startTime = System.currentTimeMillis();
+        RawBlockletColumnChunks rawBlockletColumnChunks;
+        try {
+          rawBlockletColumnChunks = read.get();
+        } finally {
+          pendingReads.decrementAndGet();
         }
-        return null;
+        readAheadWindow.onScan(getSize(rawBlockletColumnChunks), waited);
+        updateReadAheadStatistics(waited, System.currentTimeMillis() - startTime);
+        // issue the next reads before scanning, so that IO overlaps the scan of this blocklet
+        readAhead();
+        return blockletScanner.scanBlocklet(rawBlockletColumnChunks);
       }
     });
   }
 
-  private Future<RawBlockletColumnChunks> readNextBlockletAsync() {
+  /**
+   * Submit reads of the next valid blocklets until the read ahead window is full
+   */
+  private void readAhead() {
+    while (blockletIterator.hasNext() && readAheadWindow.canReadAhead(readAheadQueue.size())) {
+      RawBlockletColumnChunks rawBlockletColumnChunks = getNextBlockletColumnChunks();
+      if (rawBlockletColumnChunks == null) {
+        break;
+      }
+      pendingReads.incrementAndGet();
+      readAheadQueue.add(readBlockletAsync(rawBlockletColumnChunks));
+    }
+  }
+
+  private Future<RawBlockletColumnChunks> readBlockletAsync(
+      final RawBlockletColumnChunks rawBlockletColumnChunks) {
     return executorService.submit(new Callable<RawBlockletColumnChunks>() {
       @Override
       public RawBlockletColumnChunks call() throws Exception {
         try {
           TaskMetricsMap.getInstance().registerThreadCallback();
-          if (blockletIterator.hasNext()) {
-            return readNextBlockletColumnChunks();
-          } else {
-            return null;
+          synchronized (readLock) {
+            blockletScanner.readBlocklet(rawBlockletColumnChunks);
           }
+          readAheadWindow.onRead(getSize(rawBlockletColumnChunks));
+          return rawBlockletColumnChunks;
         } finally {
           // update read bytes metrics for this thread
           TaskMetricsMap.getInstance().updateReadBytes(Thread.currentThread().getId());
@@ -243,6 +292,39 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     });
   }
 
+  private static long getSize(RawBlockletColumnChunks rawBlockletColumnChunks) {
+    long size = 0;
+    for (AbstractRawColumnChunk chunk : rawBlockletColumnChunks.getDimensionRawColumnChunks()) {
+      if (chunk != null) {
+        size += chunk.getLength();
+      }
+    }
+    for (AbstractRawColumnChunk chunk : rawBlockletColumnChunks.getMeasureRawColumnChunks()) {
+      if (chunk != null) {
+        size += chunk.getLength();
+      }
+    }
+    return size;
+  }
+
+  private void updateReadAheadStatistics(boolean waited, long waitTime) {
+    if (waited) {
+      QueryStatistic waitTimeStatistic = queryStatisticsModel.getStatisticsTypeAndObjMap()
+          .get(QueryStatisticsConstants.READ_AHEAD_WAIT_TIME);
+      if (waitTimeStatistic != null) {
+        waitTimeStatistic.addCountStatistic(QueryStatisticsConstants.READ_AHEAD_WAIT_TIME,
+            waitTimeStatistic.getCount() + waitTime);
+      }
+    } else {
+      QueryStatistic readAheadBlocklets = queryStatisticsModel.getStatisticsTypeAndObjMap()
+          .get(QueryStatisticsConstants.READ_AHEAD_BLOCKLET_NUM);
+      if (readAheadBlocklets != null) {
+        readAheadBlocklets.addCountStatistic(QueryStatisticsConstants.READ_AHEAD_BLOCKLET_NUM,
+            readAheadBlocklets.getCount() + 1);
+      }
+    }
+  }
+
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
     columnarBatch.setCarbonDataFileWrittenVersion(
         this.blockExecutionInfo.getDataBlock().getDataRefNode().getTableBlockInfo()
@@ -272,5 +354,16 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
         throw new RuntimeException(e);
       }
     }
+    // wait for the blocklets which are still being read, file reader is closed after this
+    if (null != readAheadQueue) {
+      try {
+        while (!readAheadQueue.isEmpty()) {
+          readAheadQueue.poll().get();
+          pendingReads.decrementAndGet();
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 }
\ No newline at end of file
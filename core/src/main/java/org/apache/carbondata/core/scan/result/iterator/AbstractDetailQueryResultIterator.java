@@ -296,6 +296,15 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     queryStatisticsModel.getStatisticsTypeAndObjMap()
         .put(QueryStatisticsConstants.RESULT_PREP_TIME, resultPreparationTime);
     queryStatisticsModel.getRecorder().recordStatistics(resultPreparationTime);
+    // blocklets read ahead and time waited for blocklet read
+    QueryStatistic readAheadBlocklets = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_AHEAD_BLOCKLET_NUM, readAheadBlocklets);
+    queryStatisticsModel.getRecorder().recordStatistics(readAheadBlocklets);
+    QueryStatistic readWaitTime = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.READ_AHEAD_WAIT_TIME, readWaitTime);
+    queryStatisticsModel.getRecorder().recordStatistics(readWaitTime);
   }
 
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
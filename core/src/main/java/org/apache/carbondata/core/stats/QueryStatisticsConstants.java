@@ -82,6 +82,16 @@ public interface QueryStatisticsConstants {
    */
   String RESULT_PREP_TIME = "result preparation time";
 
+  /**
+   * number of blocklets which were already read ahead when the scan needed them
+   */
+  String READ_AHEAD_BLOCKLET_NUM = "The num of blocklet read ahead";
+
+  /**
+   * time the scan waited for the read of the next blocklet to complete
+   */
+  String READ_AHEAD_WAIT_TIME = "Time taken to wait for blocklet read";
+
   // clear no-use statistics timeout
   long CLEAR_STATISTICS_TIMEOUT = 60 * 1000 * 1000000L;
 
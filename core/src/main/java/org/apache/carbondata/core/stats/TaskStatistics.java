@@ -50,7 +50,9 @@ public class TaskStatistics implements Serializable {
       new Column("key_column_filling_time", QueryStatisticsConstants.KEY_COLUMN_FILLING_TIME),
       new Column("measure_filling_time", QueryStatisticsConstants.MEASURE_FILLING_TIME),
       new Column("page_uncompress_time", QueryStatisticsConstants.PAGE_UNCOMPRESS_TIME),
-      new Column("result_preparation_time", QueryStatisticsConstants.RESULT_PREP_TIME)
+      new Column("result_preparation_time", QueryStatisticsConstants.RESULT_PREP_TIME),
+      new Column("read_ahead_blocklets", QueryStatisticsConstants.READ_AHEAD_BLOCKLET_NUM),
+      new Column("read_wait_time", QueryStatisticsConstants.READ_AHEAD_WAIT_TIME)
   };
 
   private static final int numOfColumns = columns.length;
@@ -51,7 +51,7 @@ import org.apache.log4j.Logger;
  | "loadStartTime":"1513336827593","visibility":"true","fileFormat":"COLUMNAR_V3"}]          |
  |-------------------------------------------------------------------------------------------|
  */
-public class LoadMetadataDetails implements Serializable {
+public class LoadMetadataDetails implements Serializable, Cloneable {
 
   private static final long serialVersionUID = 1106104914918491724L;
 
@@ -495,6 +495,18 @@ public class LoadMetadataDetails implements Serializable {
     }
   }
 
+  /**
+   * Returns a copy of this load metadata, all the fields are immutable so the copy can be
+   * modified without changing this object
+   */
+  LoadMetadataDetails copy() {
+    try {
+      return (LoadMetadataDetails) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public long getLastModifiedTime() {
     if (!StringUtils.isEmpty(updateDeltaEndTimestamp)) {
       return convertTimeStampToLong(updateDeltaEndTimestamp);
@@ -60,8 +60,11 @@ import org.apache.carbondata.core.util.path.CarbonTablePath;
 import static org.apache.carbondata.core.constants.CarbonCommonConstants.DEFAULT_CHARSET;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
 import org.apache.log4j.Logger;
 
 /**
@@ -320,10 +323,28 @@ public class SegmentStatusManager {
    * @throws IOException if IO errors
    */
   public static String readFileAsString(String tableStatusPath) throws IOException {
-    DataInputStream dataInputStream = null;
-    BufferedReader buffReader = null;
-    InputStreamReader inStream = null;
+    BufferedReader buffReader = openForRead(tableStatusPath);
+    if (buffReader == null) {
+      return null;
+    }
+    try {
+      return buffReader.readLine();
+    } catch (EOFException ex) {
+      throw ex;
+    } catch (IOException e) {
+      LOG.error("Failed to read table status file", e);
+      throw e;
+    } finally {
+      closeStreams(buffReader);
+    }
+  }
 
+  /**
+   * Open the table status file for read
+   *
+   * @return reader of the file, null if file does not exist
+   */
+  private static BufferedReader openForRead(String tableStatusPath) throws IOException {
     AtomicFileOperations fileOperation =
         AtomicFileOperationFactory.getAtomicFileOperations(tableStatusPath);
 
@@ -338,22 +359,18 @@ public class SegmentStatusManager {
     }
 
     try {
-      dataInputStream = fileOperation.openForRead();
-      inStream = new InputStreamReader(dataInputStream, Charset.forName(DEFAULT_CHARSET));
-      buffReader = new BufferedReader(inStream);
-      return buffReader.readLine();
-    } catch (EOFException ex) {
-      throw ex;
+      DataInputStream dataInputStream = fileOperation.openForRead();
+      return new BufferedReader(
+          new InputStreamReader(dataInputStream, Charset.forName(DEFAULT_CHARSET)));
     } catch (IOException e) {
       LOG.error("Failed to read table status file", e);
       throw e;
-    } finally {
-      closeStreams(buffReader, inStream, dataInputStream);
     }
   }
 
   /**
-   * Read table status file and decoded to segment meta arrays
+   * Read table status file and decoded to segment meta arrays. If the file is not modified
+   * after it was read last time, the cached content is returned.
    *
    * @param tableStatusPath table status file path
    * @return segment metadata
@@ -361,6 +378,48 @@ public class SegmentStatusManager {
    */
   public static LoadMetadataDetails[] readTableStatusFile(String tableStatusPath)
       throws IOException {
+    int cacheSize = CarbonProperties.getTableStatusCacheSize();
+    if (cacheSize == 0) {
+      return parseTableStatusFile(tableStatusPath);
+    }
+    TableStatusCache cache = TableStatusCache.getInstance();
+    // get the modification time before reading, if the file is changed in between the content
+    // is cached with the old time and it is parsed again in next read
+    FileStatus fileStatus = getFileStatus(tableStatusPath);
+    if (fileStatus == null) {
+      cache.invalidate(tableStatusPath);
+      return parseTableStatusFile(tableStatusPath);
+    }
+    return cache.get(tableStatusPath, fileStatus.getModificationTime(), fileStatus.getLen(),
+        cacheSize, () -> parseTableStatusFile(tableStatusPath));
+  }
+
+  /**
+   * Get the last modified time and size of the table status file, a file of a hadoop file
+   * system is checked by a single file status call instead of one call for each attribute
+   *
+   * @return status of the file, null if the file does not exist
+   */
+  private static FileStatus getFileStatus(String tableStatusPath) throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(tableStatusPath);
+    if (fileType == FileFactory.FileType.LOCAL || fileType == FileFactory.FileType.CUSTOM) {
+      CarbonFile file = FileFactory.getCarbonFile(tableStatusPath);
+      if (!file.exists()) {
+        return null;
+      }
+      return new FileStatus(file.getSize(), false, 0, 0, file.getLastModifiedTime(),
+          new Path(tableStatusPath));
+    }
+    Path path = FileFactory.getPath(tableStatusPath);
+    try {
+      return FileFactory.getFileSystem(path).getFileStatus(path);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static LoadMetadataDetails[] parseTableStatusFile(String tableStatusPath)
+      throws IOException {
     int retry = READ_TABLE_STATUS_RETRY_COUNT;
 
     // When storing table status file in object store, reading of table status file may
@@ -369,20 +428,27 @@ public class SegmentStatusManager {
     // so here we retry multiple times before
     // throwing IOException or JsonSyntaxException
     while (retry > 0) {
+      BufferedReader buffReader = null;
       try {
-        String content = readFileAsString(tableStatusPath);
-        if (content == null) {
+        buffReader = openForRead(tableStatusPath);
+        if (buffReader == null) {
           return new LoadMetadataDetails[0];
         }
-        return new Gson().fromJson(content, LoadMetadataDetails[].class);
-      } catch (JsonSyntaxException | IOException ex) {
+        // parse from the stream, the content can be large for tables with many segments
+        LoadMetadataDetails[] details =
+            new Gson().fromJson(buffReader, LoadMetadataDetails[].class);
+        return details == null ? new LoadMetadataDetails[0] : details;
+      } catch (JsonParseException | IOException ex) {
         retry--;
         if (retry == 0) {
           // we have retried several times, throw this exception to make the execution failed
           LOG.error("Failed to read table status file:" + tableStatusPath);
-          if (ex.getMessage().contains("Table Status Version file")) {
+          if (ex.getMessage() != null && ex.getMessage().contains("Table Status Version file")) {
             throw new RuntimeException(ex.getMessage(), ex);
           }
+          if (ex instanceof JsonIOException) {
+            throw new IOException(ex.getMessage(), ex);
+          }
           throw ex;
         }
         try {
@@ -392,6 +458,8 @@ public class SegmentStatusManager {
         } catch (InterruptedException e) {
           // ignored
         }
+      } finally {
+        closeStreams(buffReader);
       }
     }
     return null;
@@ -703,6 +771,7 @@ public class SegmentStatusManager {
     // If process crashed during following write, table status file need to be
     // manually recovered.
     writeStringIntoFile(FileFactory.getUpdatedFilePath(tableStatusPath), content);
+    TableStatusCache.getInstance().invalidate(tableStatusPath);
   }
 
   // a dummy func for mocking in testcase, which simulates IOException
@@ -732,6 +801,7 @@ public class SegmentStatusManager {
     } finally {
       CarbonUtil.closeStreams(brWriter);
       fileWrite.close();
+      TableStatusCache.getInstance().invalidate(filePath);
     }
   }
 
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide cache of the parsed table status files, least recently used file is removed
+ * when the number of files exceeds carbon.tablestatus.cache.size.
+ *
+ * An entry is valid only for the last modified time and size of the file when it was parsed,
+ * so a file changed by another process is parsed again. Writes from this process also
+ * invalidate the entry. Cached details are never given out, callers get a copy. Readers
+ * which miss the same file at the same time wait for one of them to parse it.
+ */
+final class TableStatusCache {
+
+  private static final TableStatusCache INSTANCE = new TableStatusCache();
+
+  /**
+   * table status file path to its parsed content, in access order. Guarded by this.
+   */
+  private final LinkedHashMap<String, Snapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * table status file path to the lock held while the file is parsed
+   */
+  private final ConcurrentHashMap<String, Object> parseLocks = new ConcurrentHashMap<>();
+
+  private TableStatusCache() {
+  }
+
+  static TableStatusCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a copy of the details of the file with the given last modified time and size. The
+   * file is parsed by the parser if it is not cached or it is modified after it was cached.
+   */
+  LoadMetadataDetails[] get(String tableStatusPath, long lastModifiedTime, long size,
+      int cacheSize, TableStatusParser parser) throws IOException {
+    LoadMetadataDetails[] details = getCached(tableStatusPath, lastModifiedTime, size);
+    if (details != null) {
+      return details;
+    }
+    Object parseLock = parseLocks.computeIfAbsent(tableStatusPath, path -> new Object());
+    try {
+      synchronized (parseLock) {
+        // the file may be parsed by another reader while this one was waiting
+        details = getCached(tableStatusPath, lastModifiedTime, size);
+        if (details == null) {
+          details = parser.parse();
+          put(tableStatusPath, lastModifiedTime, size, cacheSize, details);
+        }
+        return details;
+      }
+    } finally {
+      parseLocks.remove(tableStatusPath, parseLock);
+    }
+  }
+
+  private LoadMetadataDetails[] getCached(String tableStatusPath, long lastModifiedTime,
+      long size) {
+    Snapshot snapshot;
+    synchronized (this) {
+      snapshot = snapshots.get(tableStatusPath);
+    }
+    if (snapshot == null || snapshot.lastModifiedTime != lastModifiedTime
+        || snapshot.size != size) {
+      return null;
+    }
+    return copyOf(snapshot.details);
+  }
+
+  /**
+   * Caches a copy of the details parsed from the file with the given last modified time and size
+   */
+  private void put(String tableStatusPath, long lastModifiedTime, long size, int cacheSize,
+      LoadMetadataDetails[] details) {
+    Snapshot snapshot = new Snapshot(lastModifiedTime, size, copyOf(details));
+    synchronized (this) {
+      snapshots.put(tableStatusPath, snapshot);
+      Iterator<Map.Entry<String, Snapshot>> iterator = snapshots.entrySet().iterator();
+      while (snapshots.size() > cacheSize && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  synchronized void invalidate(String tableStatusPath) {
+    snapshots.remove(tableStatusPath);
+  }
+
+  synchronized void clear() {
+    snapshots.clear();
+  }
+
+  private static LoadMetadataDetails[] copyOf(LoadMetadataDetails[] details) {
+    LoadMetadataDetails[] copy = new LoadMetadataDetails[details.length];
+    for (int i = 0; i < details.length; i++) {
+      copy[i] = details[i].copy();
+    }
+    return copy;
+  }
+
+  /**
+   * Parses the table status file on a cache miss
+   */
+  interface TableStatusParser {
+    LoadMetadataDetails[] parse() throws IOException;
+  }
+
+  private static class Snapshot {
+
+    private final long lastModifiedTime;
+
+    private final long size;
+
+    private final LoadMetadataDetails[] details;
+
+    Snapshot(long lastModifiedTime, long size, LoadMetadataDetails[] details) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+      this.details = details;
+    }
+  }
+}
@@ -1209,6 +1209,25 @@ public final class CarbonProperties {
     return batchSize;
   }
 
+  /**
+   * Returns the number of entries in a zone of the min and max tree of the block indexes
+   */
+  public int getIndexMinMaxZoneSize() {
+    int zoneSize;
+    try {
+      zoneSize = Integer.parseInt(getProperty(CarbonCommonConstants.CARBON_INDEX_MIN_MAX_ZONE_SIZE,
+          CarbonCommonConstants.CARBON_INDEX_MIN_MAX_ZONE_SIZE_DEFAULT));
+    } catch (NumberFormatException exc) {
+      zoneSize = Integer.parseInt(CarbonCommonConstants.CARBON_INDEX_MIN_MAX_ZONE_SIZE_DEFAULT);
+    }
+    if (zoneSize < 2) {
+      LOGGER.warn("The value " + zoneSize + " of " + CarbonCommonConstants
+          .CARBON_INDEX_MIN_MAX_ZONE_SIZE + " is less than 2, taking the default value");
+      zoneSize = Integer.parseInt(CarbonCommonConstants.CARBON_INDEX_MIN_MAX_ZONE_SIZE_DEFAULT);
+    }
+    return zoneSize;
+  }
+
   public static int getQueryBatchSize() {
     int batchSize;
     String batchSizeString =
@@ -1258,6 +1277,75 @@ public final class CarbonProperties {
         CarbonCommonConstants.ENABLE_TABLE_STATUS_BACKUP_DEFAULT).equalsIgnoreCase("true");
   }
 
+  /**
+   * Get the number of table status files whose parsed content is cached
+   */
+  public static int getTableStatusCacheSize() {
+    int cacheSize;
+    try {
+      cacheSize = Integer.parseInt(getInstance().getProperty(
+          CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE,
+          CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE_DEFAULT));
+    } catch (NumberFormatException exc) {
+      cacheSize = -1;
+    }
+    if (cacheSize < 0) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE_DEFAULT);
+      cacheSize = Integer.parseInt(CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE_DEFAULT);
+    }
+    return cacheSize;
+  }
+
+  /**
+   * Returns the minimum number of sources for which the final merge of sort step is parallel
+   */
+  public static int getSortParallelFinalMergeThreshold() {
+    int threshold;
+    try {
+      threshold = Integer.parseInt(getInstance().getProperty(
+          CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD,
+          CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD_DEFAULT));
+    } catch (NumberFormatException exc) {
+      threshold = 0;
+    }
+    if (threshold < 2) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD_DEFAULT);
+      threshold = Integer.parseInt(
+          CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD_DEFAULT);
+    }
+    return threshold;
+  }
+
+  /**
+   * Returns the minimum number of columns for which the columns of a page are encoded in
+   * parallel during data load
+   */
+  public static int getLoadParallelPageEncodingThreshold() {
+    int threshold;
+    try {
+      threshold = Integer.parseInt(getInstance().getProperty(
+          CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD,
+          CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD_DEFAULT));
+    } catch (NumberFormatException exc) {
+      threshold = 0;
+    }
+    if (threshold < 2) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD_DEFAULT);
+      threshold = Integer.parseInt(
+          CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD_DEFAULT);
+    }
+    return threshold;
+  }
+
   public static boolean isTableStatusMultiVersionEnabled() {
     return getInstance().getProperty(CarbonCommonConstants.CARBON_ENABLE_MULTI_VERSION_TABLE_STATUS,
             CarbonCommonConstants.CARBON_ENABLE_MULTI_VERSION_TABLE_STATUS_DEFAULT)
@@ -1424,6 +1512,53 @@ public final class CarbonProperties {
     }
   }
 
+  /**
+   * Returns the number of rows in a column batch of sort temp files, 0 if the rows of sort
+   * temp files are written one by one
+   */
+  public static int getSortTempColumnarBatchSize() {
+    int batchSize;
+    try {
+      batchSize = Integer.parseInt(getInstance().getProperty(
+          CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE,
+          CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_DEFAULT));
+    } catch (NumberFormatException exc) {
+      batchSize = -1;
+    }
+    if (batchSize < 0
+        || batchSize > CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_MAX) {
+      LOGGER.warn("The value of '" + CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_DEFAULT);
+      batchSize = Integer.parseInt(
+          CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_DEFAULT);
+    }
+    return batchSize;
+  }
+
+  /**
+   * Returns the number of rows sampled to compute the bounds of the sort column ranges in a
+   * global sort load which is not run by spark
+   */
+  public int getGlobalSortSampleRows() {
+    int sampleRows;
+    try {
+      sampleRows = Integer.parseInt(getProperty(
+          CarbonLoadOptionConstants.CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS,
+          CarbonLoadOptionConstants.CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS_DEFAULT));
+    } catch (NumberFormatException exc) {
+      sampleRows = 0;
+    }
+    if (sampleRows <= 0) {
+      LOGGER.warn("The value of '" + CarbonLoadOptionConstants.CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS
+          + "' is invalid. Using the default value "
+          + CarbonLoadOptionConstants.CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS_DEFAULT);
+      sampleRows = Integer.parseInt(
+          CarbonLoadOptionConstants.CARBON_LOAD_GLOBAL_SORT_SAMPLE_ROWS_DEFAULT);
+    }
+    return sampleRows;
+  }
+
   /**
    * whether optimization for skewed data is enabled
    * @return true, if enabled; false for not enabled.
@@ -1642,6 +1777,71 @@ public final class CarbonProperties {
     return Boolean.parseBoolean(pushFilters);
   }
 
+  /**
+   * Get the maximum gap in bytes between two column ranges which are read together in query
+   */
+  public long getQueryReadCoalesceGapBytes() {
+    long gapBytes;
+    try {
+      gapBytes = Long.parseLong(getProperty(
+          CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES,
+          CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES_DEFAULT);
+      gapBytes = Long.parseLong(CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES_DEFAULT);
+    }
+    return gapBytes < 0 ? 0 : gapBytes;
+  }
+
+  /**
+   * Get the maximum number of blocklets which are read ahead by a query scanner
+   */
+  public int getQueryPrefetchMaxBlocklets() {
+    int maxBlocklets;
+    try {
+      maxBlocklets = Integer.parseInt(getProperty(
+          CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_BLOCKLETS,
+          CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_BLOCKLETS_DEFAULT));
+    } catch (NumberFormatException exc) {
+      maxBlocklets = -1;
+    }
+    if (maxBlocklets < 1) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_BLOCKLETS
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_BLOCKLETS_DEFAULT);
+      maxBlocklets =
+          Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_PREFETCH_MAX_BLOCKLETS_DEFAULT);
+    }
+    return maxBlocklets;
+  }
+
+  /**
+   * Get the maximum size in bytes of the blocklets which are read ahead by a query scanner
+   */
+  public long getQueryPrefetchMemorySizeInBytes() {
+    long sizeInMB;
+    try {
+      sizeInMB = Long.parseLong(getProperty(
+          CarbonCommonConstants.CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB,
+          CarbonCommonConstants.CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException exc) {
+      sizeInMB = -1;
+    }
+    if (sizeInMB < 0) {
+      LOGGER.warn(
+          "The value of '" + CarbonCommonConstants.CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB
+          + "' is invalid. Using the default value "
+          + CarbonCommonConstants.CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB_DEFAULT);
+      sizeInMB =
+          Long.parseLong(CarbonCommonConstants.CARBON_QUERY_PREFETCH_MEMORY_SIZE_IN_MB_DEFAULT);
+    }
+    return sizeInMB << 20;
+  }
+
   public boolean isRangeCompactionAllowed() {
     String isRangeCompact = getProperty(CarbonCommonConstants.CARBON_ENABLE_RANGE_COMPACTION,
         CarbonCommonConstants.CARBON_ENABLE_RANGE_COMPACTION_DEFAULT);
@@ -41,6 +41,11 @@ public class DataLoadMetrics implements Serializable {
 
   private long numOutputRows = 0L;
 
+  // bytes of the sorted rows spilled from memory to sort temp files
+  private long spillBytes = 0L;
+
+  private int spillFileCount;
+
   public synchronized int getFileCount() {
     return fileCount;
   }
@@ -69,6 +74,14 @@ public class DataLoadMetrics implements Serializable {
     return numOutputRows;
   }
 
+  public synchronized long getSpillBytes() {
+    return spillBytes;
+  }
+
+  public synchronized int getSpillFileCount() {
+    return spillFileCount;
+  }
+
   public synchronized void incrementCount() {
     // can call in multiple threads in single task
     fileCount++;
@@ -95,4 +108,9 @@ public class DataLoadMetrics implements Serializable {
   public synchronized void addOutputRows(long numOutputRows) {
     this.numOutputRows += numOutputRows;
   }
+
+  public synchronized void addSpilledFile(long spillBytes) {
+    this.spillBytes += spillBytes;
+    spillFileCount++;
+  }
 }
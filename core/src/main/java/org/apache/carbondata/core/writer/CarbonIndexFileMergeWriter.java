@@ -33,6 +33,7 @@ import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.fileoperations.FileWriteOperation;
 import org.apache.carbondata.core.index.Segment;
+import org.apache.carbondata.core.indexstore.BlockletIndexSnapshot;
 import org.apache.carbondata.core.indexstore.PartitionSpec;
 import org.apache.carbondata.core.indexstore.blockletindex.SegmentIndexFileStore;
 import org.apache.carbondata.core.metadata.CarbonMetadata;
@@ -218,6 +219,7 @@ public class CarbonIndexFileMergeWriter {
       if (!isOldStoreIndexFilesPresent && indexFiles != null) {
         for (CarbonFile indexFile : indexFiles) {
           indexFile.delete();
+          BlockletIndexSnapshot.delete(indexFile.getAbsolutePath());
         }
       }
     }
@@ -332,6 +334,7 @@ public class CarbonIndexFileMergeWriter {
     if (!isOldStoreIndexFilesPresent) {
       for (CarbonFile file : indexFiles) {
         file.delete();
+        BlockletIndexSnapshot.delete(file.getAbsolutePath());
       }
     }
     return uuid;
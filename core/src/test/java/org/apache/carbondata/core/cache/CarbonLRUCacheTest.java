@@ -17,12 +17,21 @@
 
 package org.apache.carbondata.core.cache;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import mockit.Mock;
 import mockit.MockUp;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -68,6 +77,107 @@ public class CarbonLRUCacheTest {
     assertFalse(carbonLRUCacheForConfig.put("Column2", cacheable, 107374182400L, 5));//100GB
   }
 
+  @Test public void testConcurrentPutGetAndRemove() throws Exception {
+    final CarbonLRUCache cache = new CarbonLRUCache("prop3", "10");
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        final String key = "Column" + i;
+        futures.add(executorService.submit(new Callable<Void>() {
+          @Override public Void call() {
+            for (int j = 0; j < 1000; j++) {
+              cache.put(key, cacheable, 10L, 0);
+              cache.get(key);
+              cache.remove(key);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertEquals(0, cache.getCacheMap().size());
+  }
+
+  private static Cacheable newCacheable(final long memorySize) {
+    return new Cacheable() {
+      @Override public int getAccessCount() {
+        return 0;
+      }
+
+      @Override public long getMemorySize() {
+        return memorySize;
+      }
+
+      @Override public void invalidate() {
+      }
+    };
+  }
+
+  @Test public void testConcurrentGetWhileEvicting() throws Exception {
+    // 1MB cache of 1KB entries, the threads add 4 times as many entries as it can hold
+    final CarbonLRUCache cache = new CarbonLRUCache("prop4", "1");
+    final int threadCount = 8;
+    final int keysPerThread = 512;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < threadCount; i++) {
+        final int thread = i;
+        futures.add(executorService.submit(new Callable<Void>() {
+          @Override public Void call() {
+            Random random = new Random(thread);
+            for (int j = 0; j < 5000; j++) {
+              // look up keys of all the threads, but add only the keys of this thread
+              cache.get("Column" + random.nextInt(threadCount) + "_" + random
+                  .nextInt(keysPerThread));
+              String key = "Column" + thread + "_" + random.nextInt(keysPerThread);
+              if (cache.get(key) == null) {
+                cache.put(key, newCacheable(1024), 1024, 0);
+              }
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertTrue(cache.getCurrentSize() <= 1024 * 1024);
+    assertEquals(cache.getCacheMap().size() * 1024L, cache.getCurrentSize());
+  }
+
+  @Test public void testLeastRecentlyAccessedEntriesAreEvicted() {
+    CarbonLRUCache cache = new CarbonLRUCache("prop5", "1");
+    for (int i = 0; i < 1024; i++) {
+      assertTrue(cache.put("Column" + i, newCacheable(1024), 1024, 0));
+    }
+    for (int i = 0; i < 512; i++) {
+      cache.get("Column" + i);
+    }
+    for (int i = 1024; i < 1536; i++) {
+      assertTrue(cache.put("Column" + i, newCacheable(1024), 1024, 0));
+    }
+    assertEquals(1024 * 1024, cache.getCurrentSize());
+    // the order of last access is kept per segment, so the entries are evicted in about the
+    // order of last access of the whole cache
+    int accessedEntries = 0;
+    for (int i = 0; i < 512; i++) {
+      if (cache.get("Column" + i) != null) {
+        accessedEntries++;
+      }
+    }
+    assertTrue("accessed entries in cache: " + accessedEntries, accessedEntries > 384);
+  }
+
   @AfterClass public static void cleanUp() {
     carbonLRUCache.clear();
     assertNull(carbonLRUCache.get("Column1"));
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.chunk.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.chunk.AbstractRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.reader.dimension.v3.DimensionChunkReaderV3;
+import org.apache.carbondata.core.datastore.chunk.reader.measure.v3.MeasureChunkReaderV3;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+import org.apache.carbondata.format.ChunkCompressionMeta;
+import org.apache.carbondata.format.CompressionCodec;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.DataChunk3;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for reading nearby column groups of a blocklet in one IO
+ */
+public class CoalescedChunkReadTest {
+
+  private static final String FILE_PATH = "test.carbondata";
+
+  /**
+   * length of the data written after the chunk header of each column, column 1 is the gap
+   * between the groups {0} and {2, 3} read in the tests
+   */
+  private static final int[] COLUMN_DATA_LENGTH = { 10, 100, 20, 30, 40 };
+
+  private static final int[][] COLUMN_INDEX_RANGE = { { 0, 0 }, { 2, 3 } };
+
+  private BlockletInfo blockletInfo;
+
+  private RecordingFileReader fileReader;
+
+  private int gapLength;
+
+  @Before
+  public void setUp() {
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    List<Long> offsets = new ArrayList<>();
+    List<Integer> headerLengths = new ArrayList<>();
+    for (int i = 0; i < COLUMN_DATA_LENGTH.length; i++) {
+      byte[] header = CarbonUtil.getByteArray(createDataChunk(i));
+      offsets.add((long) file.size());
+      headerLengths.add(header.length);
+      file.write(header, 0, header.length);
+      file.write(new byte[COLUMN_DATA_LENGTH[i]], 0, COLUMN_DATA_LENGTH[i]);
+    }
+    gapLength = (int) (offsets.get(2) - offsets.get(1));
+    blockletInfo = new BlockletInfo();
+    blockletInfo.setDimensionChunkOffsets(offsets);
+    blockletInfo.setDimensionChunksLength(headerLengths);
+    blockletInfo.setMeasureChunkOffsets(offsets);
+    blockletInfo.setMeasureChunksLength(headerLengths);
+    fileReader = new RecordingFileReader(file.toByteArray());
+  }
+
+  @After
+  public void tearDown() {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES,
+        CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES_DEFAULT);
+  }
+
+  @Test
+  public void testReadCoalesceGapBytes() {
+    assertEquals(0L, CarbonProperties.getInstance().getQueryReadCoalesceGapBytes());
+    setGapBytes("1024");
+    assertEquals(1024L, CarbonProperties.getInstance().getQueryReadCoalesceGapBytes());
+    setGapBytes("-1");
+    assertEquals(0L, CarbonProperties.getInstance().getQueryReadCoalesceGapBytes());
+    setGapBytes("abc");
+    assertEquals(0L, CarbonProperties.getInstance().getQueryReadCoalesceGapBytes());
+  }
+
+  @Test
+  public void testGroupsAreReadSeparatelyByDefault() throws IOException {
+    DimensionRawColumnChunk[] chunks = new DimensionChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawDimensionChunks(fileReader, COLUMN_INDEX_RANGE);
+    assertEquals(2, fileReader.reads.size());
+    assertNotSame(chunks[0].getRawData(), chunks[2].getRawData());
+    assertChunk(chunks[2], 2, 0);
+    assertChunk(chunks[3], 3, lengthOf(2));
+  }
+
+  @Test
+  public void testDimensionGroupsAreCoalescedWhenGapIsAtThreshold() throws IOException {
+    setGapBytes(String.valueOf(gapLength));
+    DimensionRawColumnChunk[] chunks = new DimensionChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawDimensionChunks(fileReader, COLUMN_INDEX_RANGE);
+    assertCoalesced(chunks);
+  }
+
+  @Test
+  public void testMeasureGroupsAreCoalescedWhenGapIsAtThreshold() throws IOException {
+    setGapBytes(String.valueOf(gapLength));
+    MeasureRawColumnChunk[] chunks = new MeasureChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawMeasureChunks(fileReader, COLUMN_INDEX_RANGE);
+    assertCoalesced(chunks);
+  }
+
+  @Test
+  public void testGroupsAreNotCoalescedWhenGapIsAboveThreshold() throws IOException {
+    setGapBytes(String.valueOf(gapLength - 1));
+    new DimensionChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawDimensionChunks(fileReader, COLUMN_INDEX_RANGE);
+    new MeasureChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawMeasureChunks(fileReader, COLUMN_INDEX_RANGE);
+    assertEquals(4, fileReader.reads.size());
+  }
+
+  @Test
+  public void testGroupsAreNotCoalescedWhenReadingPageByPage() throws IOException {
+    setGapBytes(String.valueOf(gapLength));
+    fileReader.setReadPageByPage(true);
+    new DimensionChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawDimensionChunks(fileReader, COLUMN_INDEX_RANGE);
+    new MeasureChunkReaderV3(blockletInfo, FILE_PATH)
+        .readRawMeasureChunks(fileReader, COLUMN_INDEX_RANGE);
+    assertEquals(4, fileReader.reads.size());
+  }
+
+  private void assertCoalesced(AbstractRawColumnChunk[] chunks) {
+    assertEquals(1, fileReader.reads.size());
+    long[] read = fileReader.reads.get(0);
+    assertEquals(blockletInfo.getDimensionChunkOffsets().get(0).longValue(), read[0]);
+    assertEquals(blockletInfo.getDimensionChunkOffsets().get(4) - read[0], read[1]);
+    assertSame(chunks[0].getRawData(), chunks[2].getRawData());
+    assertSame(chunks[0].getRawData(), chunks[3].getRawData());
+    assertChunk(chunks[0], 0, 0);
+    assertChunk(chunks[2], 2, lengthOf(0) + lengthOf(1));
+    assertChunk(chunks[3], 3, lengthOf(0) + lengthOf(1) + lengthOf(2));
+    assertEquals(null, chunks[1]);
+    assertEquals(null, chunks[4]);
+  }
+
+  private void assertChunk(AbstractRawColumnChunk chunk, int columnIndex, long offset) {
+    assertEquals(columnIndex, chunk.getColumnIndex());
+    assertEquals(offset, chunk.getOffSet());
+    assertEquals(lengthOf(columnIndex), chunk.getLength());
+    // the min value of the chunk header is the column index it was written for
+    assertEquals(columnIndex, chunk.getMinValues()[0][0]);
+  }
+
+  private int lengthOf(int columnIndex) {
+    List<Long> offsets = blockletInfo.getDimensionChunkOffsets();
+    return (int) (offsets.get(columnIndex + 1) - offsets.get(columnIndex));
+  }
+
+  private static void setGapBytes(String value) {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_QUERY_READ_COALESCE_GAP_BYTES, value);
+  }
+
+  private static DataChunk3 createDataChunk(int columnIndex) {
+    BlockletMinMaxIndex minMax = new BlockletMinMaxIndex(
+        Collections.singletonList(ByteBuffer.wrap(new byte[] { (byte) columnIndex })),
+        Collections.singletonList(ByteBuffer.wrap(new byte[] { (byte) columnIndex })));
+    DataChunk2 page = new DataChunk2(new ChunkCompressionMeta(CompressionCodec.SNAPPY, 0, 0),
+        false, COLUMN_DATA_LENGTH[columnIndex]);
+    page.setMin_max(minMax);
+    page.setNumberOfRowsInpage(1);
+    DataChunk3 dataChunk = new DataChunk3(Collections.singletonList(page));
+    dataChunk.setPage_offset(Collections.singletonList(0));
+    dataChunk.setPage_length(Collections.singletonList(COLUMN_DATA_LENGTH[columnIndex]));
+    return dataChunk;
+  }
+
+  /**
+   * File reader over an in memory file which records the offset and length of each read
+   */
+  private static class RecordingFileReader implements FileReader {
+
+    private final byte[] file;
+
+    private final List<long[]> reads = new ArrayList<>();
+
+    private boolean readPageByPage;
+
+    RecordingFileReader(byte[] file) {
+      this.file = file;
+    }
+
+    @Override
+    public ByteBuffer readByteBuffer(String filePath, long offset, int length) {
+      reads.add(new long[] { offset, length });
+      return ByteBuffer.wrap(Arrays.copyOfRange(file, (int) offset, (int) offset + length));
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, long offset, int length) {
+      return readByteBuffer(filePath, offset, length).array();
+    }
+
+    @Override
+    public byte[] readByteArray(String filePath, int length) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int readInt(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long readLong(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int readInt(String filePath) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long readDouble(String filePath, long offset) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void finish() {
+    }
+
+    @Override
+    public void setReadPageByPage(boolean isReadPageByPage) {
+      this.readPageByPage = isReadPageByPage;
+    }
+
+    @Override
+    public boolean isReadPageByPage() {
+      return readPageByPage;
+    }
+  }
+}
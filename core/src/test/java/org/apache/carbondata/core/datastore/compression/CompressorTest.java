@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressorTest {
+
+  private static final String[] COMPRESSORS = new String[] { "snappy", "zstd", "gzip", "lz4" };
+
+  private static byte[] createData(int size) {
+    Random random = new Random(size);
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      // few distinct values, so that the data compresses
+      data[i] = (byte) random.nextInt(8);
+    }
+    return data;
+  }
+
+  private static ByteBuffer allocate(int size, boolean direct) {
+    return direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+  }
+
+  /**
+   * Compresses and uncompresses the data through the buffers at a position in the middle of
+   * them, and checks the positions after each call
+   */
+  private static void testByteBufferRoundTrip(Compressor compressor, byte[] data,
+      boolean direct) {
+    int offset = 3;
+    ByteBuffer input = allocate(offset + data.length, direct);
+    input.position(offset);
+    input.put(data);
+    input.position(offset);
+    int maxLength = (int) compressor.maxCompressedLength(data.length);
+    ByteBuffer compressed = allocate(offset + maxLength, direct);
+    compressed.position(offset);
+    int compressedLength = compressor.compressByte(input, compressed);
+    Assert.assertEquals(input.limit(), input.position());
+    Assert.assertEquals(offset + compressedLength, compressed.position());
+    compressed.limit(compressed.position());
+    compressed.position(offset);
+
+    // compressed bytes are the same as compressed from the array
+    byte[] compressedBytes = new byte[compressedLength];
+    compressed.duplicate().get(compressedBytes);
+    Assert.assertArrayEquals(data, compressor.unCompressByte(compressedBytes));
+
+    ByteBuffer output = allocate(offset + data.length, direct);
+    output.position(offset);
+    int uncompressedLength = compressor.unCompressByte(compressed, output);
+    Assert.assertEquals(data.length, uncompressedLength);
+    Assert.assertEquals(compressed.limit(), compressed.position());
+    Assert.assertEquals(offset + data.length, output.position());
+    byte[] result = new byte[data.length];
+    output.position(offset);
+    output.get(result);
+    Assert.assertArrayEquals(data, result);
+  }
+
+  @Test
+  public void testByteBufferCompression() {
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      for (int size : new int[] { 1, 1000, 64 * 1024 }) {
+        byte[] data = createData(size);
+        testByteBufferRoundTrip(compressor, data, true);
+        testByteBufferRoundTrip(compressor, data, false);
+      }
+    }
+  }
+
+  @Test
+  public void testByteBufferCompressionOfMixedBuffers() {
+    byte[] data = createData(5000);
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      ByteBuffer input = ByteBuffer.wrap(data);
+      ByteBuffer compressed =
+          ByteBuffer.allocateDirect((int) compressor.maxCompressedLength(data.length));
+      compressor.compressByte(input, compressed);
+      compressed.flip();
+      ByteBuffer output = ByteBuffer.allocate(data.length);
+      Assert.assertEquals(data.length, compressor.unCompressByte(compressed, output));
+      Assert.assertArrayEquals(data, output.array());
+    }
+  }
+
+  @Test
+  public void testCompressionOfPrimitivePages() {
+    for (String name : COMPRESSORS) {
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(name);
+      // pages of growing and shrinking sizes go through the direct buffer of the thread, and
+      // the biggest one through a buffer of its own
+      for (int size : new int[] { 10, 32000, 100, 200000 }) {
+        long[] longs = new long[size];
+        int[] ints = new int[size];
+        for (int i = 0; i < size; i++) {
+          longs[i] = i * 31L;
+          ints[i] = i % 7;
+        }
+        byte[] compressedLongs = toArray(compressor.compressLong(longs));
+        Assert.assertArrayEquals(longs,
+            compressor.unCompressLong(compressedLongs, 0, compressedLongs.length));
+        byte[] compressedInts = toArray(compressor.compressInt(ints));
+        Assert.assertArrayEquals(ints,
+            compressor.unCompressInt(compressedInts, 0, compressedInts.length));
+      }
+    }
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] array = new byte[buffer.remaining()];
+    buffer.get(array);
+    return array;
+  }
+
+  @Test
+  public void testDirectBufferOfThreadIsReused() {
+    ByteBuffer buffer = AbstractCompressor.getDirectBuffer(1000);
+    Assert.assertEquals(0, buffer.position());
+    Assert.assertEquals(1000, buffer.limit());
+    AbstractCompressor.releaseDirectBuffer(buffer);
+    ByteBuffer reused = AbstractCompressor.getDirectBuffer(900);
+    Assert.assertSame(buffer, reused);
+    Assert.assertEquals(900, reused.limit());
+    AbstractCompressor.releaseDirectBuffer(reused);
+    ByteBuffer big = AbstractCompressor.getDirectBuffer(2 * 1024 * 1024);
+    Assert.assertNotSame(buffer, big);
+    AbstractCompressor.releaseDirectBuffer(big);
+  }
+}
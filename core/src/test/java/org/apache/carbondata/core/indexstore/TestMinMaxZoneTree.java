@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.indexstore;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.indexstore.row.IndexRow;
+import org.apache.carbondata.core.indexstore.row.IndexRowImpl;
+import org.apache.carbondata.core.indexstore.schema.CarbonRowSchema;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecutor;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMinMaxZoneTree {
+
+  private static final int ENTRIES = 100;
+
+  private static final CarbonRowSchema[] SCHEMA = new CarbonRowSchema[] {
+      new CarbonRowSchema.StructCarbonRowSchema(DataTypes.createDefaultStructType(),
+          new CarbonRowSchema[] {
+              new CarbonRowSchema.VariableCarbonRowSchema(DataTypes.BYTE_ARRAY),
+              new CarbonRowSchema.VariableCarbonRowSchema(DataTypes.BYTE_ARRAY) }),
+      new CarbonRowSchema.StructCarbonRowSchema(DataTypes.createDefaultStructType(),
+          new CarbonRowSchema[] {
+              new CarbonRowSchema.VariableCarbonRowSchema(DataTypes.BYTE_ARRAY),
+              new CarbonRowSchema.VariableCarbonRowSchema(DataTypes.BYTE_ARRAY) }),
+      new CarbonRowSchema.StructCarbonRowSchema(DataTypes.createDefaultStructType(),
+          new CarbonRowSchema[] {
+              new CarbonRowSchema.FixedCarbonRowSchema(DataTypes.BOOLEAN),
+              new CarbonRowSchema.FixedCarbonRowSchema(DataTypes.BOOLEAN) }) };
+
+  private static byte[] dimension(int value) {
+    return ByteUtil.toBytes(String.format("v%04d", value));
+  }
+
+  private static byte[] measure(long value) {
+    return ByteBuffer.allocate(8).putLong(value).array();
+  }
+
+  private static IndexRow row(CarbonRowSchema schema, byte[]... values) {
+    CarbonRowSchema[] childSchemas =
+        ((CarbonRowSchema.StructCarbonRowSchema) schema).getChildSchemas();
+    IndexRow row = new IndexRowImpl(childSchemas);
+    for (int i = 0; i < values.length; i++) {
+      row.setByteArray(values[i], i);
+    }
+    return row;
+  }
+
+  /**
+   * Entry i holds the dimension values from i * 10 to i * 10 + 9 and the measure values from
+   * -i * 10 - 9 to -i * 10, min and max are not set for the entries in unsetEntries
+   */
+  private static ColumnarMinMaxStore createEntries(BitSet unsetEntries) {
+    SafeMemoryDMStore store = new SafeMemoryDMStore();
+    for (int i = 0; i < ENTRIES; i++) {
+      IndexRow row = new IndexRowImpl(SCHEMA);
+      row.setRow(row(SCHEMA[0], dimension(i * 10), measure(-i * 10 - 9)), 0);
+      row.setRow(row(SCHEMA[1], dimension(i * 10 + 9), measure(-i * 10)), 1);
+      CarbonRowSchema[] flagSchemas =
+          ((CarbonRowSchema.StructCarbonRowSchema) SCHEMA[2]).getChildSchemas();
+      IndexRow flagRow = new IndexRowImpl(flagSchemas);
+      flagRow.setBoolean(!unsetEntries.get(i), 0);
+      flagRow.setBoolean(true, 1);
+      row.setRow(flagRow, 2);
+      store.addIndexRow(SCHEMA, row);
+    }
+    return new ColumnarMinMaxStore(store, SCHEMA, 0, 1, 2);
+  }
+
+  private static List<ColumnSchema> getColumns() {
+    ColumnSchema dimension = new ColumnSchema();
+    dimension.setDimensionColumn(true);
+    dimension.setDataType(DataTypes.STRING);
+    ColumnSchema measure = new ColumnSchema();
+    measure.setDimensionColumn(false);
+    measure.setDataType(DataTypes.LONG);
+    List<ColumnSchema> columns = new ArrayList<>();
+    columns.add(dimension);
+    columns.add(measure);
+    return columns;
+  }
+
+  /**
+   * Selects the entries whose dimension values overlap the range from low to high
+   */
+  private static class DimensionRangeFilterExecutor implements FilterExecutor {
+
+    private final byte[] low;
+
+    private final byte[] high;
+
+    private int verifiedRows;
+
+    DimensionRangeFilterExecutor(int low, int high) {
+      this.low = dimension(low);
+      this.high = dimension(high);
+    }
+
+    @Override
+    public BitSetGroup applyFilter(RawBlockletColumnChunks rawBlockletColumnChunks,
+        boolean useBitsetPipeLine) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BitSet prunePages(RawBlockletColumnChunks rawBlockletColumnChunks) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean applyFilter(RowIntf value, int dimOrdinalMax) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue,
+        boolean[] isMinMaxSet) {
+      verifiedRows++;
+      BitSet bitSet = new BitSet(1);
+      if (!isMinMaxSet[0] || (ByteUtil.compare(blockMinValue[0], high) <= 0
+          && ByteUtil.compare(blockMaxValue[0], low) >= 0)) {
+        bitSet.set(0);
+      }
+      return bitSet;
+    }
+
+    @Override
+    public void readColumnChunks(RawBlockletColumnChunks rawBlockletColumnChunks) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Test public void testZonesHoldMinAndMaxOfTheirEntries() {
+    ColumnarMinMaxStore zones = new ColumnarMinMaxStore(createEntries(new BitSet()), 8,
+        getColumns());
+    Assert.assertEquals(13, zones.getRowCount());
+    Assert.assertArrayEquals(dimension(80), zones.getMinValues(1)[0]);
+    Assert.assertArrayEquals(dimension(159), zones.getMaxValues(1)[0]);
+    Assert.assertArrayEquals(measure(-159), zones.getMinValues(1)[1]);
+    Assert.assertArrayEquals(measure(-80), zones.getMaxValues(1)[1]);
+    // last zone has the remaining 4 entries
+    Assert.assertArrayEquals(dimension(960), zones.getMinValues(12)[0]);
+    Assert.assertArrayEquals(dimension(999), zones.getMaxValues(12)[0]);
+  }
+
+  @Test public void testZoneMinMaxIsNotSetWhenNotSetForAnEntry() {
+    BitSet unsetEntries = new BitSet();
+    unsetEntries.set(21);
+    ColumnarMinMaxStore zones = new ColumnarMinMaxStore(createEntries(unsetEntries), 8,
+        getColumns());
+    Assert.assertTrue(zones.isMinMaxSet(0, 1));
+    Assert.assertFalse(zones.isMinMaxSet(0, 2));
+    Assert.assertTrue(zones.isMinMaxSet(1, 2));
+  }
+
+  @Test public void testPruneSelectsSameEntriesAsEachEntry() {
+    BitSet unsetEntries = new BitSet();
+    unsetEntries.set(77);
+    MinMaxZoneTree tree = new MinMaxZoneTree(createEntries(unsetEntries), 4, getColumns());
+    // 100, 25, 7, 2 and 1 rows
+    Assert.assertEquals(5, tree.getLevelCount());
+    int[][] ranges = new int[][] { { 0, 0 }, { 125, 134 }, { 500, 649 }, { 995, 2000 },
+        { -10, -1 } };
+    for (int[] range : ranges) {
+      DimensionRangeFilterExecutor executor = new DimensionRangeFilterExecutor(range[0], range[1]);
+      BitSet expected = new BitSet();
+      for (int i = 0; i < ENTRIES; i++) {
+        if (unsetEntries.get(i) || (i * 10 + 9 >= range[0] && i * 10 <= range[1])) {
+          expected.set(i);
+        }
+      }
+      Assert.assertEquals(expected, tree.prune(executor, null));
+    }
+  }
+
+  @Test public void testPruneSkipsZonesWhichCannotMatch() {
+    MinMaxZoneTree tree = new MinMaxZoneTree(createEntries(new BitSet()), 4, getColumns());
+    DimensionRangeFilterExecutor executor = new DimensionRangeFilterExecutor(425, 425);
+    BitSet entries = tree.prune(executor, null);
+    Assert.assertEquals(1, entries.cardinality());
+    Assert.assertTrue(entries.get(42));
+    // 1 + 2 + 4 + 4 + 4 rows are verified, instead of the 100 entries
+    Assert.assertEquals(15, executor.verifiedRows);
+  }
+
+  @Test public void testMemoryUsedCountsAllLevels() {
+    MinMaxZoneTree tree = new MinMaxZoneTree(createEntries(new BitSet()), 4, getColumns());
+    // each row takes 5 + 5 bytes of dimension and 8 + 8 bytes of measure min and max, 2 * 2
+    // offsets of 4 bytes and 2 flags, and each column has 2 more offsets of 4 bytes
+    Assert.assertEquals(44 * 100 + 16, tree.getEntries().getMemoryUsed());
+    // 100, 25, 7, 2 and 1 rows
+    Assert.assertEquals(44 * (100 + 25 + 7 + 2 + 1) + 16 * 5, tree.getMemoryUsed());
+  }
+}
@@ -17,8 +17,17 @@
 
 package org.apache.carbondata.core.localdictionary;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.apache.carbondata.core.localdictionary.dictionaryholder.DictionaryStore;
 import org.apache.carbondata.core.localdictionary.dictionaryholder.MapBasedDictionaryStore;
+import org.apache.carbondata.core.localdictionary.dictionaryholder.OpenHashDictionaryStore;
 import org.apache.carbondata.core.localdictionary.exception.DictionaryThresholdReachedException;
 
 import org.junit.Assert;
@@ -55,4 +64,76 @@ public class TestDictionaryStore {
     Assert.assertTrue(isException);
     Assert.assertTrue(dictionaryStore.isThresholdReached());
   }
+
+  @Test
+  public void testOpenHashDictionaryStoreWithinThreshold()
+      throws DictionaryThresholdReachedException {
+    DictionaryStore dictionaryStore = new OpenHashDictionaryStore(10);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(i + 1, dictionaryStore.putIfAbsent((i + "").getBytes()));
+    }
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(i + 1, dictionaryStore.putIfAbsent((i + "").getBytes()));
+      Assert.assertArrayEquals((i + "").getBytes(),
+          dictionaryStore.getDictionaryKeyBasedOnValue(i + 1));
+    }
+    Assert.assertFalse(dictionaryStore.isThresholdReached());
+  }
+
+  @Test
+  public void testOpenHashDictionaryStoreWithMoreThanThreshold() {
+    DictionaryStore dictionaryStore = new OpenHashDictionaryStore(10);
+    boolean isException = false;
+    for (int i = 0; i < 15; i++) {
+      try {
+        dictionaryStore.putIfAbsent((i + "").getBytes());
+      } catch (DictionaryThresholdReachedException e) {
+        isException = true;
+        break;
+      }
+    }
+    Assert.assertTrue(isException);
+    Assert.assertTrue(dictionaryStore.isThresholdReached());
+  }
+
+  @Test
+  public void testOpenHashDictionaryStoreWithConcurrentPut() throws Exception {
+    int keyCount = 5000;
+    int threadCount = 8;
+    DictionaryStore dictionaryStore = new OpenHashDictionaryStore(keyCount);
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<int[]>> results = new ArrayList<>();
+      for (int t = 0; t < threadCount; t++) {
+        // each thread adds all the keys in its own order, so that the table is grown while
+        // other threads add and look up keys
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < keyCount; i++) {
+          keys.add(i);
+        }
+        Collections.shuffle(keys, new Random(t));
+        results.add(executor.submit(() -> {
+          int[] values = new int[keyCount];
+          for (int key : keys) {
+            values[key] = dictionaryStore.putIfAbsent((key + "").getBytes());
+          }
+          return values;
+        }));
+      }
+      int[] values = results.get(0).get();
+      for (Future<int[]> result : results) {
+        Assert.assertArrayEquals(values, result.get());
+      }
+      boolean[] isAssigned = new boolean[keyCount + 1];
+      for (int key = 0; key < keyCount; key++) {
+        Assert.assertFalse(isAssigned[values[key]]);
+        isAssigned[values[key]] = true;
+        Assert.assertArrayEquals((key + "").getBytes(),
+            dictionaryStore.getDictionaryKeyBasedOnValue(values[key]));
+      }
+      Assert.assertFalse(dictionaryStore.isThresholdReached());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeMemoryManagerTest {
+
+  private static final String TASK_ID = "UnsafeMemoryManagerTest";
+
+  @Test
+  public void testSizeClass() {
+    Assert.assertEquals(64, UnsafeMemoryManager.getSizeClass(0));
+    Assert.assertEquals(64, UnsafeMemoryManager.getSizeClass(64));
+    Assert.assertEquals(80, UnsafeMemoryManager.getSizeClass(65));
+    Assert.assertEquals(112, UnsafeMemoryManager.getSizeClass(100));
+    Assert.assertEquals(128, UnsafeMemoryManager.getSizeClass(128));
+    Assert.assertEquals(160, UnsafeMemoryManager.getSizeClass(129));
+    Assert.assertEquals(64L << 20, UnsafeMemoryManager.getSizeClass(64L << 20));
+    Assert.assertEquals(80L << 20, UnsafeMemoryManager.getSizeClass((64L << 20) + 1));
+  }
+
+  @Test
+  public void testFreeBlockIsReused() {
+    UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    long memoryUsed = manager.getMemoryUsed();
+    MemoryBlock block =
+        UnsafeMemoryManager.allocateMemoryWithRetry(MemoryType.OFFHEAP, TASK_ID, 300001);
+    Assert.assertEquals(MemoryType.OFFHEAP, block.getMemoryType());
+    Assert.assertEquals(300001, block.size());
+    Assert.assertEquals(memoryUsed + UnsafeMemoryManager.getSizeClass(300001),
+        manager.getMemoryUsed());
+    CarbonUnsafe.getUnsafe().putLong(block.getBaseOffset(), 7L);
+    manager.freeMemory(TASK_ID, block);
+    Assert.assertTrue(block.isFreedStatus());
+    Assert.assertEquals(memoryUsed, manager.getMemoryUsed());
+    long memoryCached = manager.getMemoryCached();
+
+    // block of the same size class takes the freed memory, initialized with zero
+    MemoryBlock reused =
+        UnsafeMemoryManager.allocateMemoryWithRetry(MemoryType.OFFHEAP, TASK_ID, 300000);
+    Assert.assertEquals(block.getBaseOffset(), reused.getBaseOffset());
+    Assert.assertEquals(300000, reused.size());
+    Assert.assertEquals(0L, CarbonUnsafe.getUnsafe().getLong(reused.getBaseOffset()));
+    Assert.assertEquals(memoryCached - UnsafeMemoryManager.getSizeClass(300001),
+        manager.getMemoryCached());
+    Assert.assertTrue(manager.getReuseRate() > 0);
+    Assert.assertTrue(manager.getFragmentation() >= 0 && manager.getFragmentation() < 1);
+
+    // freeing the old block again does not free the reused memory
+    manager.freeMemory(TASK_ID, block);
+    Assert.assertFalse(reused.isFreedStatus());
+    manager.freeMemoryAll(TASK_ID);
+    Assert.assertTrue(reused.isFreedStatus());
+    Assert.assertEquals(memoryUsed, manager.getMemoryUsed());
+  }
+
+  @Test
+  public void testOnHeapBlockIsNotReused() {
+    UnsafeMemoryManager manager = UnsafeMemoryManager.INSTANCE;
+    long memoryCached = manager.getMemoryCached();
+    MemoryBlock block =
+        UnsafeMemoryManager.allocateMemoryWithRetry(MemoryType.ONHEAP, TASK_ID, 1000);
+    Assert.assertEquals(MemoryType.ONHEAP, block.getMemoryType());
+    manager.freeMemory(TASK_ID, block);
+    Assert.assertTrue(block.isFreedStatus());
+    Assert.assertEquals(memoryCached, manager.getMemoryCached());
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.EncodingFactory;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.comparator.Comparator;
+import org.apache.carbondata.core.util.comparator.SerializableComparator;
+import org.apache.carbondata.format.DataChunk2;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MeasureRangeFilterKernelTest {
+
+  private static final int ROWS = 1000;
+
+  /**
+   * Returns the page after encoding and decoding, as it is given to the filter executor
+   */
+  private static ColumnPage newPage(DataType dataType, Object[] values) throws IOException {
+    TableSpec.ColumnSpec columnSpec =
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.PLAIN_VALUE);
+    ColumnPage page = ColumnPage.newPage(
+        new ColumnPageEncoderMeta(columnSpec, dataType, "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    EncodingFactory encodingFactory = DefaultEncodingFactory.getInstance();
+    EncodedColumnPage encodedPage = encodingFactory.createEncoder(columnSpec, page).encode(page);
+    ByteBuffer buffer = encodedPage.getEncodedData();
+    byte[] encodedData = new byte[buffer.remaining()];
+    buffer.get(encodedData);
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    ColumnPage decodedPage = encodingFactory
+        .createDecoder(pageMetadata.getEncoders(), pageMetadata.getEncoder_meta(), "snappy")
+        .decode(encodedData, 0, encodedData.length);
+    decodedPage.setNullBits(page.getNullBits());
+    page.freeMemory();
+    return decodedPage;
+  }
+
+  private static BitSet filterByComparator(DataType dataType, Object[] values, Object lower,
+      boolean lowerInclusive, Object upper, boolean upperInclusive) {
+    SerializableComparator comparator = Comparator.getComparatorByDataTypeForMeasure(dataType);
+    BitSet bitSet = new BitSet();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        continue;
+      }
+      boolean match = true;
+      if (lower != null) {
+        int compare = comparator.compare(values[i], lower);
+        match = lowerInclusive ? compare >= 0 : compare > 0;
+      }
+      if (upper != null) {
+        int compare = comparator.compare(values[i], upper);
+        match &= upperInclusive ? compare <= 0 : compare < 0;
+      }
+      if (match) {
+        bitSet.set(i);
+      }
+    }
+    return bitSet;
+  }
+
+  private static void assertSameAsComparator(DataType dataType, Object[] values,
+      Object[] filterValues) throws IOException {
+    ColumnPage page = newPage(dataType, values);
+    try {
+      for (Object filterValue : filterValues) {
+        for (int i = 0; i < 4; i++) {
+          boolean inclusive = (i & 1) == 0;
+          Object lower = i < 2 ? filterValue : null;
+          Object upper = i < 2 ? null : filterValue;
+          BitSet expected =
+              filterByComparator(dataType, values, lower, inclusive, upper, inclusive);
+          BitSet actual = MeasureRangeFilterKernel
+              .applyRange(page, values.length, dataType, lower, inclusive, upper, inclusive);
+          assertEquals("filter " + filterValue + " case " + i, expected, actual);
+        }
+      }
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  @Test public void testLongRangeWithNulls() throws IOException {
+    Random random = new Random(1);
+    Object[] values = new Object[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextInt(10) == 0 ? null : (long) random.nextInt(200) - 100;
+    }
+    values[0] = Long.MIN_VALUE;
+    values[1] = Long.MAX_VALUE;
+    assertSameAsComparator(DataTypes.LONG, values,
+        new Object[] { -100L, 0L, 50L, 99L, Long.MIN_VALUE, Long.MAX_VALUE });
+  }
+
+  @Test public void testIntRange() throws IOException {
+    Random random = new Random(2);
+    Object[] values = new Object[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextInt();
+    }
+    assertSameAsComparator(DataTypes.INT, values,
+        new Object[] { 0, Integer.MIN_VALUE, Integer.MAX_VALUE, random.nextInt() });
+  }
+
+  @Test public void testDoubleRangeWithSignedZero() throws IOException {
+    Random random = new Random(3);
+    Object[] values = new Object[ROWS];
+    for (int i = 0; i < ROWS; i++) {
+      values[i] = random.nextInt(10) == 0 ? null : random.nextGaussian();
+    }
+    values[0] = -0.0d;
+    values[1] = 0.0d;
+    assertSameAsComparator(DataTypes.DOUBLE, values,
+        new Object[] { 0.0d, -0.0d, 0.5d, -1.5d, Double.NaN, Double.NEGATIVE_INFINITY });
+  }
+
+  @Test public void testEmptyRange() throws IOException {
+    Object[] values = new Object[] { 1L, 2L, 3L };
+    ColumnPage page = newPage(DataTypes.LONG, values);
+    try {
+      assertTrue(MeasureRangeFilterKernel
+          .applyRange(page, 3, DataTypes.LONG, 3L, false, 1L, false).isEmpty());
+      assertTrue(MeasureRangeFilterKernel
+          .applyRange(page, 3, DataTypes.LONG, Long.MAX_VALUE, false, null, false).isEmpty());
+      assertEquals(3, MeasureRangeFilterKernel
+          .applyRange(page, 3, DataTypes.LONG, 1L, true, 3L, true).cardinality());
+    } finally {
+      page.freeMemory();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.processor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockletReadAheadWindowTest {
+
+  @Test public void testWindowGrowsWhenScanWaitsForRead() {
+    BlockletReadAheadWindow window = new BlockletReadAheadWindow(3, Long.MAX_VALUE);
+    assertEquals(1, window.getWindow());
+    assertTrue(window.canReadAhead(0));
+    assertFalse(window.canReadAhead(1));
+    for (int i = 0; i < 5; i++) {
+      window.onScan(0, true);
+    }
+    assertEquals(3, window.getWindow());
+    assertTrue(window.canReadAhead(2));
+    assertFalse(window.canReadAhead(3));
+  }
+
+  @Test public void testWindowShrinksWhenReadsAreAhead() {
+    BlockletReadAheadWindow window = new BlockletReadAheadWindow(4, Long.MAX_VALUE);
+    window.onScan(0, true);
+    window.onScan(0, true);
+    assertEquals(3, window.getWindow());
+    for (int i = 0; i < 4; i++) {
+      window.onScan(0, false);
+    }
+    assertEquals(2, window.getWindow());
+    for (int i = 0; i < 100; i++) {
+      window.onScan(0, false);
+    }
+    assertEquals(1, window.getWindow());
+  }
+
+  @Test public void testReadAheadIsLimitedByMemory() {
+    BlockletReadAheadWindow window = new BlockletReadAheadWindow(4, 100);
+    window.onScan(0, true);
+    window.onScan(0, true);
+    window.onRead(60);
+    assertTrue(window.canReadAhead(1));
+    window.onRead(60);
+    assertFalse(window.canReadAhead(2));
+    // one blocklet is always allowed even if it is bigger than the memory size
+    assertTrue(window.canReadAhead(0));
+    window.onScan(60, false);
+    assertEquals(60, window.getBufferedBytes());
+    assertTrue(window.canReadAhead(1));
+  }
+}
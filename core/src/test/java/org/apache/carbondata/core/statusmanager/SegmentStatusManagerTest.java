@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class SegmentStatusManagerTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private String tableStatusPath;
+
+  @Before public void setUp() {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE, "50");
+    TableStatusCache.getInstance().clear();
+    tableStatusPath =
+        new File(folder.getRoot(), CarbonTablePath.TABLE_STATUS_FILE).getAbsolutePath();
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().removeProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE);
+    TableStatusCache.getInstance().clear();
+  }
+
+  private static LoadMetadataDetails[] newDetails(int segments) {
+    LoadMetadataDetails[] details = new LoadMetadataDetails[segments];
+    for (int i = 0; i < segments; i++) {
+      details[i] = new LoadMetadataDetails();
+      details[i].setLoadName(String.valueOf(i));
+      details[i].setSegmentStatus(SegmentStatus.SUCCESS);
+    }
+    return details;
+  }
+
+  @Test public void testReadTableStatusFromCache() throws IOException {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, newDetails(3));
+    LoadMetadataDetails[] first = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    LoadMetadataDetails[] second = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    assertEquals(3, second.length);
+    assertNotSame(first[0], second[0]);
+    // change in the returned details should not change the cached details
+    first[0].setSegmentStatus(SegmentStatus.MARKED_FOR_DELETE);
+    LoadMetadataDetails[] third = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    assertEquals(SegmentStatus.SUCCESS, third[0].getSegmentStatus());
+  }
+
+  @Test public void testReadTableStatusAfterWrite() throws IOException {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, newDetails(3));
+    assertEquals(3, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, newDetails(4));
+    assertEquals(4, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+  }
+
+  @Test public void testReadTableStatusModifiedByOtherProcess() throws IOException {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, newDetails(3));
+    assertEquals(3, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+    // written without SegmentStatusManager, so the cache is not invalidated
+    File file = new File(tableStatusPath);
+    long lastModified = file.lastModified();
+    Files.write(file.toPath(),
+        "[{\"loadName\":\"0\",\"loadStatus\":\"Success\"}]".getBytes(StandardCharsets.UTF_8));
+    file.setLastModified(lastModified + 1000);
+    LoadMetadataDetails[] details = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    assertEquals(1, details.length);
+    assertEquals(SegmentStatus.SUCCESS, details[0].getSegmentStatus());
+  }
+
+  @Test public void testReadTableStatusWithCacheDisabled() throws IOException {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE, "0");
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath, newDetails(2));
+    assertEquals(2, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+  }
+
+  @Test public void testCacheIsDisabledByDefault() {
+    CarbonProperties.getInstance().removeProperty(
+        CarbonCommonConstants.CARBON_TABLE_STATUS_CACHE_SIZE);
+    assertEquals(0, CarbonProperties.getTableStatusCacheSize());
+  }
+
+  @Test public void testConcurrentReadersParseOnce() throws Exception {
+    AtomicInteger parseCount = new AtomicInteger();
+    TableStatusCache.TableStatusParser parser = () -> {
+      parseCount.incrementAndGet();
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      return newDetails(3);
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<LoadMetadataDetails[]>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(
+            () -> TableStatusCache.getInstance().get(tableStatusPath, 1L, 10L, 50, parser)));
+      }
+      for (Future<LoadMetadataDetails[]> result : results) {
+        assertEquals(3, result.get().length);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, parseCount.get());
+    // a new version of the file is parsed again
+    TableStatusCache.getInstance().get(tableStatusPath, 2L, 10L, 50, parser);
+    assertEquals(2, parseCount.get());
+  }
+
+  @Test public void testReadMissingTableStatus() throws IOException {
+    assertEquals(0, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+  }
+}
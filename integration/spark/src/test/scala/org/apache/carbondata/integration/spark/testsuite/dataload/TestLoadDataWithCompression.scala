@@ -176,7 +176,7 @@ class TestLoadDataWithCompression extends QueryTest with BeforeAndAfterEach with
   private val tableName = "load_test_with_compressor"
   private var executorService: ExecutorService = _
   private val csvDataDir = s"$integrationPath/spark/target/csv_load_compression"
-  private val compressors = Array("snappy", "zstd", "gzip")
+  private val compressors = Array("snappy", "zstd", "gzip", "lz4")
 
   override protected def beforeAll(): Unit = {
     executorService = Executors.newFixedThreadPool(3)
@@ -623,7 +623,7 @@ class TestLoadDataWithCompression extends QueryTest with BeforeAndAfterEach with
   }
 
   test("test data loading with different compresser on MT and SI table with global sort") {
-    var index = 2;
+    var index = compressors.length - 1
     for (comp <- compressors) {
       CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_OFFHEAP_SORT, "true")
       CarbonProperties.getInstance().addProperty(CarbonCommonConstants.COMPRESSOR, comp)
@@ -123,13 +123,14 @@ public final class DataLoadProcessBuilder {
     AbstractDataLoadProcessorStep inputProcessorStep =
         new InputProcessorStepWithNoConverterImpl(configuration, inputIterators, withoutReArrange);
     if (sortScope.equals(SortScopeOptions.SortScope.LOCAL_SORT) ||
-            configuration.getBucketingInfo() != null) {
+            configuration.getBucketingInfo() != null ||
+            configuration.getSortColumnRangeInfo() != null) {
       AbstractDataLoadProcessorStep sortProcessorStep =
           new SortProcessorStepImpl(configuration, inputProcessorStep);
       //  Writes the sorted data in carbondata format.
       return new DataWriterProcessorStepImpl(configuration, sortProcessorStep);
     } else {
-      // In all other cases like global sort and no sort uses this step
+      // In all other cases like no sort uses this step
       return new CarbonRowDataWriterProcessorStepImpl(configuration, inputProcessorStep);
     }
   }
@@ -147,7 +148,8 @@ public final class DataLoadProcessBuilder {
     // data types and configurations.
     AbstractDataLoadProcessorStep converterProcessorStep =
         new DataConverterProcessorStepImpl(configuration, inputProcessorStep);
-    if (sortScope.equals(SortScopeOptions.SortScope.LOCAL_SORT)) {
+    if (sortScope.equals(SortScopeOptions.SortScope.LOCAL_SORT)
+        || configuration.getSortColumnRangeInfo() != null) {
       AbstractDataLoadProcessorStep sortProcessorStep =
           new SortProcessorStepImpl(configuration, converterProcessorStep);
       //  Writes the sorted data in carbondata format.
@@ -417,9 +419,11 @@ public final class DataLoadProcessBuilder {
       CarbonDataLoadConfiguration configuration) {
     List<String> sortCols = carbonTable.getSortColumns();
     SortScopeOptions.SortScope sortScope = SortScopeOptions.getSortScope(loadModel.getSortScope());
-    if (!SortScopeOptions.SortScope.LOCAL_SORT.equals(sortScope)
-        || sortCols.size() == 0
-        || StringUtils.isBlank(loadModel.getSortColumnsBoundsStr())) {
+    boolean isSampledBounds = SortScopeOptions.SortScope.GLOBAL_SORT.equals(sortScope)
+        && loadModel.isSampleSortColumnBounds();
+    if (sortCols.size() == 0 || (!isSampledBounds && (
+        !SortScopeOptions.SortScope.LOCAL_SORT.equals(sortScope)
+        || StringUtils.isBlank(loadModel.getSortColumnsBoundsStr())))) {
       if (!StringUtils.isBlank(loadModel.getSortColumnsBoundsStr())) {
         LOGGER.warn("sort column bounds will be ignored");
       }
@@ -452,6 +456,17 @@ public final class DataLoadProcessBuilder {
       }
     }
 
+    if (isSampledBounds) {
+      int numOfRanges =
+          CarbonDataProcessorUtil.getGlobalSortPartitions(loadModel.getGlobalSortPartitions());
+      if (numOfRanges <= 0) {
+        numOfRanges = CarbonProperties.getInstance().getNumberOfLoadingCores();
+      }
+      configuration.setSortColumnRangeInfo(
+          new SortColumnRangeInfo(sortColIndex, isSortColNoDict, numOfRanges));
+      return;
+    }
+
     String[] sortColumnBounds = StringUtils.splitPreserveAllTokens(
         loadModel.getSortColumnsBoundsStr(),
         CarbonLoadOptionConstants.SORT_COLUMN_BOUNDS_ROW_DELIMITER, -1);
@@ -19,6 +19,7 @@ package org.apache.carbondata.processing.loading.converter;
 
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 /**
  * convert the row
@@ -29,6 +30,12 @@ public interface RowConverter {
 
   CarbonRow convert(CarbonRow row) throws CarbonDataLoadingException;
 
+  /**
+   * Converts all rows of the batch column by column, the rows which are not to be loaded are
+   * removed from the batch. The batch is rewound after conversion.
+   */
+  CarbonRowBatch convertBatch(CarbonRowBatch rowBatch) throws CarbonDataLoadingException;
+
   RowConverter createCopyForNewThread();
 
   FieldConverter[] getFieldConverters();
@@ -20,6 +20,7 @@ package org.apache.carbondata.processing.loading.converter.impl;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
+import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.processing.loading.DataField;
@@ -46,12 +47,39 @@ public class MeasureFieldConverterImpl implements FieldConverter {
 
   private DataField dataField;
 
+  // below are taken from the data field once, as they are needed for every value
+
+  private String columnName;
+
+  private DataType dataType;
+
+  private boolean isDimension;
+
+  private String dateFormat;
+
+  private int scale;
+
+  private int precision;
+
+  private boolean isUseActualData;
+
   public MeasureFieldConverterImpl(DataField dataField, String nullFormat, int index,
       boolean isEmptyBadRecord) {
     this.nullFormat = nullFormat;
     this.index = index;
     this.isEmptyBadRecord = isEmptyBadRecord;
     this.dataField = dataField;
+    this.columnName = dataField.getColumn().getColName();
+    this.dataType = dataField.getColumn().getDataType();
+    this.isDimension = dataField.getColumn().isDimension();
+    if (dataType == DataTypes.DATE) {
+      this.dateFormat = dataField.getDateFormat();
+    } else if (dataType == DataTypes.TIMESTAMP) {
+      this.dateFormat = dataField.getTimestampFormat();
+    }
+    this.scale = dataField.getColumn().getColumnSchema().getScale();
+    this.precision = dataField.getColumn().getColumnSchema().getPrecision();
+    this.isUseActualData = dataField.isUseActualData();
   }
 
   @Override
@@ -68,25 +96,14 @@ public class MeasureFieldConverterImpl implements FieldConverter {
     Object output;
     boolean isNull = CarbonCommonConstants.MEMBER_DEFAULT_VAL.equals(literalValue);
     if (literalValue == null || isNull) {
-      String message = logHolder.getColumnMessageMap().get(dataField.getColumn().getColName());
-      if (null == message) {
-        message = CarbonDataProcessorUtil.prepareFailureReason(dataField.getColumn().getColName(),
-            dataField.getColumn().getDataType());
-        logHolder.getColumnMessageMap().put(dataField.getColumn().getColName(), message);
-      }
-      if (dataField.getColumn().isDimension()) {
+      String message = getFailureReason(logHolder);
+      if (isDimension) {
         logHolder.setReason(message);
       }
       return null;
     } else if (literalValue.length() == 0) {
       if (isEmptyBadRecord) {
-        String message = logHolder.getColumnMessageMap().get(dataField.getColumn().getColName());
-        if (null == message) {
-          message = CarbonDataProcessorUtil.prepareFailureReason(dataField.getColumn().getColName(),
-              dataField.getColumn().getDataType());
-          logHolder.getColumnMessageMap().put(dataField.getColumn().getColName(), message);
-        }
-        logHolder.setReason(message);
+        logHolder.setReason(getFailureReason(logHolder));
       }
       return null;
     } else if (literalValue.equals(nullFormat)) {
@@ -94,50 +111,33 @@ public class MeasureFieldConverterImpl implements FieldConverter {
     } else {
       try {
         // in case of no dictionary dimension
-        if (dataField.getColumn().isDimension()) {
-          String dateFormat = null;
-          if (dataField.getColumn().getDataType() == DataTypes.DATE) {
-            dateFormat = dataField.getDateFormat();
-          } else if (dataField.getColumn().getDataType() == DataTypes.TIMESTAMP) {
-            dateFormat = dataField.getTimestampFormat();
-          }
-          if (dataField.isUseActualData()) {
-            output = DataTypeUtil.getNoDictionaryValueBasedOnDataType(literalValue,
-                dataField.getColumn().getDataType(),
-                dataField.getColumn().getColumnSchema().getScale(),
-                dataField.getColumn().getColumnSchema().getPrecision(), true, dateFormat);
-          } else {
-            output = DataTypeUtil.getNoDictionaryValueBasedOnDataType(literalValue,
-                dataField.getColumn().getDataType(),
-                dataField.getColumn().getColumnSchema().getScale(),
-                dataField.getColumn().getColumnSchema().getPrecision(), false, dateFormat);
-          }
+        if (isDimension) {
+          output = DataTypeUtil.getNoDictionaryValueBasedOnDataType(literalValue, dataType,
+              scale, precision, isUseActualData, dateFormat);
         } else {
-          if (dataField.isUseActualData()) {
-            output = DataTypeUtil
-                .getMeasureValueBasedOnDataType(literalValue, dataField.getColumn().getDataType(),
-                    dataField.getColumn().getColumnSchema().getScale(),
-                    dataField.getColumn().getColumnSchema().getPrecision(), true);
-          } else {
-            output = DataTypeUtil
-                .getMeasureValueBasedOnDataType(literalValue, dataField.getColumn().getDataType(),
-                    dataField.getColumn().getColumnSchema().getScale(),
-                    dataField.getColumn().getColumnSchema().getPrecision());
-          }
+          output = DataTypeUtil.getMeasureValueBasedOnDataType(literalValue, dataType, scale,
+              precision, isUseActualData);
         }
         return output;
       } catch (NumberFormatException e) {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Cannot convert value to Numeric type value. Value considered as null.");
         }
-        logHolder.setReason(CarbonDataProcessorUtil
-            .prepareFailureReason(dataField.getColumn().getColName(),
-                dataField.getColumn().getDataType()));
+        logHolder.setReason(CarbonDataProcessorUtil.prepareFailureReason(columnName, dataType));
         return null;
       }
     }
   }
 
+  private String getFailureReason(BadRecordLogHolder logHolder) {
+    String message = logHolder.getColumnMessageMap().get(columnName);
+    if (null == message) {
+      message = CarbonDataProcessorUtil.prepareFailureReason(columnName, dataType);
+      logHolder.getColumnMessageMap().put(columnName, message);
+    }
+    return message;
+  }
+
   @Override
   public DataField getDataField() {
     return dataField;
@@ -43,6 +43,10 @@ public class NonDictionaryFieldConverterImpl implements FieldConverter {
 
   private DataField dataField;
 
+  private String dateFormat;
+
+  private boolean isUseActualData;
+
   public NonDictionaryFieldConverterImpl(DataField dataField, String nullFormat, int index,
       boolean isEmptyBadRecord) {
     this.dataField = dataField;
@@ -51,6 +55,12 @@ public class NonDictionaryFieldConverterImpl implements FieldConverter {
     this.index = index;
     this.nullFormat = nullFormat;
     this.isEmptyBadRecord = isEmptyBadRecord;
+    if (dataType == DataTypes.DATE) {
+      this.dateFormat = dataField.getDateFormat();
+    } else if (dataType == DataTypes.TIMESTAMP) {
+      this.dateFormat = dataField.getTimestampFormat();
+    }
+    this.isUseActualData = dataField.isUseActualData();
   }
 
   @Override
@@ -63,21 +73,15 @@ public class NonDictionaryFieldConverterImpl implements FieldConverter {
   public Object convert(Object value, BadRecordLogHolder logHolder)
       throws RuntimeException {
     String dimensionValue = (String) value;
-    if (null == dimensionValue && column.getDataType() != DataTypes.STRING) {
+    if (null == dimensionValue && dataType != DataTypes.STRING) {
       logHolder.setReason(
           CarbonDataProcessorUtil.prepareFailureReason(column.getColName(), column.getDataType()));
       return getNullValue();
     } else if (dimensionValue == null || dimensionValue.equals(nullFormat)) {
       return getNullValue();
     } else {
-      String dateFormat = null;
-      if (dataType == DataTypes.DATE) {
-        dateFormat = dataField.getDateFormat();
-      } else if (dataType == DataTypes.TIMESTAMP) {
-        dateFormat = dataField.getTimestampFormat();
-      }
       try {
-        if (!dataField.isUseActualData()) {
+        if (!isUseActualData) {
           byte[] parsedValue = DataTypeUtil
               .getBytesBasedOnDataTypeForNoDictionaryColumn(dimensionValue, dataType, dateFormat);
           if (dataType == DataTypes.STRING
@@ -123,7 +127,7 @@ public class NonDictionaryFieldConverterImpl implements FieldConverter {
   }
 
   private byte[] getNullValue() {
-    if (dataField.isUseActualData()) {
+    if (isUseActualData) {
       return null;
     } else if (dataType == DataTypes.STRING) {
       return CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
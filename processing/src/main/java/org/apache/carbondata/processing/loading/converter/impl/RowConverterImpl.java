@@ -35,6 +35,7 @@ import org.apache.carbondata.processing.loading.converter.FieldConverter;
 import org.apache.carbondata.processing.loading.converter.RowConverter;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 
 import org.apache.log4j.Logger;
 
@@ -59,6 +60,8 @@ public class RowConverterImpl implements RowConverter {
 
   private boolean isConvertToBinary;
 
+  private boolean[] isConversionSkipped;
+
   public RowConverterImpl(DataField[] fields, CarbonDataLoadConfiguration configuration,
       BadRecordsLogger badRecordLogger) {
     this.fields = fields;
@@ -130,23 +133,9 @@ public class RowConverterImpl implements RowConverter {
       }
       fieldConverters[i].convert(row, logHolder);
       if (!logHolder.isLogged() && logHolder.isBadRecordNotAdded()) {
-        String reason = logHolder.getReason();
-        if (reason.equalsIgnoreCase(CarbonCommonConstants.STRING_LENGTH_EXCEEDED_MESSAGE)) {
-          reason = String.format(reason, this.fields[i].getColumn().getColName());
-        }
-        if (!badRecordLogger.isCompFlow()) {
-          badRecordLogger.addBadRecordsToBuilder(row.getRawData(), reason);
-          if (badRecordLogger.isDataLoadFail()) {
-            String error = "Data load failed due to bad record: " + reason;
-            if (!badRecordLogger.isBadRecordLoggerEnable()) {
-              error += "Please enable bad record logger to know the detail reason.";
-            }
-            throw new BadRecordFoundException(error);
-          }
-        }
         logHolder.clear();
         logHolder.setLogged(true);
-        if (badRecordLogger.isBadRecordConvertNullDisable()) {
+        if (addBadRecord(row, logHolder.getReason(), i)) {
           return null;
         }
       }
@@ -156,6 +145,96 @@ public class RowConverterImpl implements RowConverter {
     return row;
   }
 
+  @Override
+  public CarbonRowBatch convertBatch(CarbonRowBatch rowBatch) throws CarbonDataLoadingException {
+    if (isConversionSkipped == null) {
+      isConversionSkipped = getSkippedFieldConverters();
+    }
+    // the first bad record reason of each row and the field which gave it, created only when
+    // a bad record is found in the batch
+    String[] reasons = null;
+    int[] reasonFields = null;
+    for (int i = 0; i < fieldConverters.length; i++) {
+      if (isConversionSkipped[i]) {
+        continue;
+      }
+      FieldConverter fieldConverter = fieldConverters[i];
+      logHolder.clear();
+      int rowIndex = 0;
+      while (rowBatch.hasNext()) {
+        fieldConverter.convert(rowBatch.next(), logHolder);
+        if (logHolder.isBadRecordNotAdded()) {
+          if (reasons == null) {
+            reasons = new String[rowBatch.getSize()];
+            reasonFields = new int[rowBatch.getSize()];
+          }
+          if (reasons[rowIndex] == null) {
+            reasons[rowIndex] = logHolder.getReason();
+            reasonFields[rowIndex] = i;
+          }
+          logHolder.clear();
+        }
+        rowIndex++;
+      }
+      rowBatch.rewind();
+    }
+    int rowIndex = 0;
+    while (rowBatch.hasNext()) {
+      CarbonRow row = rowBatch.next();
+      if (reasons != null && reasons[rowIndex] != null
+          && addBadRecord(row, reasons[rowIndex], reasonFields[rowIndex])) {
+        rowBatch.remove();
+      } else {
+        // rawData will not be required after this so reset the entry to null.
+        row.setRawData(null);
+      }
+      rowIndex++;
+    }
+    rowBatch.rewind();
+    return rowBatch;
+  }
+
+  /**
+   * Adds the row to bad records
+   *
+   * @param reason reason given by the field converter
+   * @param fieldIndex index of the field converter
+   * @return true if the row is not to be loaded
+   */
+  private boolean addBadRecord(CarbonRow row, String reason, int fieldIndex) {
+    if (reason.equalsIgnoreCase(CarbonCommonConstants.STRING_LENGTH_EXCEEDED_MESSAGE)) {
+      reason = String.format(reason, this.fields[fieldIndex].getColumn().getColName());
+    }
+    if (!badRecordLogger.isCompFlow()) {
+      badRecordLogger.addBadRecordsToBuilder(row.getRawData(), reason);
+      if (badRecordLogger.isDataLoadFail()) {
+        String error = "Data load failed due to bad record: " + reason;
+        if (!badRecordLogger.isBadRecordLoggerEnable()) {
+          error += "Please enable bad record logger to know the detail reason.";
+        }
+        throw new BadRecordFoundException(error);
+      }
+    }
+    return badRecordLogger.isBadRecordConvertNullDisable();
+  }
+
+  /**
+   * Returns the field converters whose conversion is skipped, schema columns are not converted
+   * if only the non-schema columns need conversion
+   */
+  private boolean[] getSkippedFieldConverters() {
+    boolean[] skipped = new boolean[fieldConverters.length];
+    if (configuration.isNonSchemaColumnsPresent()) {
+      String spatialProperty = configuration.getTableSpec().getCarbonTable().getTableInfo()
+          .getFactTable().getTableProperties().get(CarbonCommonConstants.SPATIAL_INDEX);
+      for (int i = 0; i < fieldConverters.length; i++) {
+        skipped[i] = spatialProperty == null || !fieldConverters[i].getDataField().getColumn()
+            .getColName().equalsIgnoreCase(spatialProperty.trim());
+      }
+    }
+    return skipped;
+  }
+
   @Override
   public void finish() {
     for (int i = 0; i < fieldConverters.length; i++) {
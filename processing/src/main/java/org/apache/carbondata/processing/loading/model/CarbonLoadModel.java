@@ -160,6 +160,12 @@ public class CarbonLoadModel implements Serializable {
    */
   private String sortColumnsBoundsStr;
 
+  /**
+   * whether the bounds of the sort column ranges are sampled from the input, for global sort
+   * loads which are not run by spark
+   */
+  private boolean sampleSortColumnBounds;
+
   /**
    * It directly writes data directly to nosort processor bypassing all other processors.
    * For this method there will be no data conversion step. It writes data which is directly
@@ -365,6 +371,14 @@ public class CarbonLoadModel implements Serializable {
     this.sortColumnsBoundsStr = sortColumnsBoundsStr;
   }
 
+  public boolean isSampleSortColumnBounds() {
+    return sampleSortColumnBounds;
+  }
+
+  public void setSampleSortColumnBounds(boolean sampleSortColumnBounds) {
+    this.sampleSortColumnBounds = sampleSortColumnBounds;
+  }
+
   public String getLoadMinSize() {
     return loadMinSize;
   }
@@ -424,6 +438,7 @@ public class CarbonLoadModel implements Serializable {
     copy.badRecordsLocation = badRecordsLocation;
     copy.isLoadWithoutConverterStep = isLoadWithoutConverterStep;
     copy.sortColumnsBoundsStr = sortColumnsBoundsStr;
+    copy.sampleSortColumnBounds = sampleSortColumnBounds;
     copy.loadMinSize = loadMinSize;
     copy.sdkWriterCores = sdkWriterCores;
     copy.columnCompressor = columnCompressor;
@@ -478,6 +493,7 @@ public class CarbonLoadModel implements Serializable {
     copyObj.badRecordsLocation = badRecordsLocation;
     copyObj.isAggLoadRequest = isAggLoadRequest;
     copyObj.sortColumnsBoundsStr = sortColumnsBoundsStr;
+    copyObj.sampleSortColumnBounds = sampleSortColumnBounds;
     copyObj.loadMinSize = loadMinSize;
     copyObj.sdkWriterCores = sdkWriterCores;
     copyObj.columnCompressor = columnCompressor;
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.partition.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.core.datastore.row.CarbonRow;
+import org.apache.carbondata.processing.loading.partition.Partitioner;
+import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
+
+/**
+ * Builds the range partitioner of the sort columns from the first rows of a load, when the
+ * bounds of the ranges are not specified. The bounds are the quantiles of the sampled rows.
+ * The rows of a load are read by several iterators, the first one reaching here samples the
+ * rows and the others wait for the partitioner.
+ */
+@InterfaceAudience.Internal
+public class SampledRangePartitionerBuilder {
+
+  private final Comparator<CarbonRow> comparator;
+
+  private final int numOfRanges;
+
+  private final int sampleRows;
+
+  private volatile Partitioner<CarbonRow> partitioner;
+
+  public SampledRangePartitionerBuilder(Comparator<CarbonRow> comparator, int numOfRanges,
+      int sampleRows) {
+    this.comparator = comparator;
+    this.numOfRanges = numOfRanges;
+    this.sampleRows = sampleRows;
+  }
+
+  /**
+   * @return the partitioner, or null if the rows are not sampled yet
+   */
+  public Partitioner<CarbonRow> getPartitioner() {
+    return partitioner;
+  }
+
+  /**
+   * Samples the first rows of the batches and builds the partitioner, if it is not built yet.
+   * The range id of the sampled rows is set by the partitioner.
+   *
+   * @param batches batches of converted rows to sample
+   * @param sampledBatches the sampled batches are added to it
+   * @return the partitioner
+   */
+  public synchronized Partitioner<CarbonRow> build(Iterator<CarbonRowBatch> batches,
+      Deque<CarbonRowBatch> sampledBatches) {
+    if (partitioner != null) {
+      return partitioner;
+    }
+    List<CarbonRow> sample = new ArrayList<>();
+    while (sample.size() < sampleRows && batches.hasNext()) {
+      CarbonRowBatch rowBatch = batches.next();
+      while (rowBatch.hasNext()) {
+        sample.add(rowBatch.next());
+      }
+      rowBatch.rewind();
+      sampledBatches.add(rowBatch);
+    }
+    CarbonRow[] sortedSample = sample.toArray(new CarbonRow[sample.size()]);
+    Arrays.sort(sortedSample, comparator);
+    int numOfBounds = Math.min(numOfRanges - 1, sortedSample.length);
+    CarbonRow[] rangeBounds = new CarbonRow[numOfBounds];
+    for (int i = 0; i < numOfBounds; i++) {
+      CarbonRow bound =
+          sortedSample[(int) ((long) (i + 1) * sortedSample.length / (numOfBounds + 1))];
+      rangeBounds[i] = new CarbonRow(bound.getData().clone());
+    }
+    Partitioner<CarbonRow> rangePartitioner = new RangePartitionerImpl(rangeBounds, comparator);
+    for (CarbonRowBatch rowBatch : sampledBatches) {
+      while (rowBatch.hasNext()) {
+        CarbonRow row = rowBatch.next();
+        row.setRangeId((short) rangePartitioner.getPartition(row));
+      }
+      rowBatch.rewind();
+    }
+    partitioner = rangePartitioner;
+    return partitioner;
+  }
+}
@@ -24,6 +24,7 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
@@ -192,6 +193,74 @@ public class SortStepRowHandler implements Serializable {
     return out;
   }
 
+  /**
+   * Convert raw row to intermediate sort temp row whose no-sort fields are packed to bytes.
+   * This method is used to write raw rows to sort temp file in column batches.
+   *
+   * @param row raw row
+   * @param reUsableByteArrayDataOutputStream DataOutputStream backend by ByteArrayOutputStream
+   * @return intermediate sort temp row
+   * @throws IOException if error occurs while packing the no-sort fields
+   */
+  public IntermediateSortTempRow convertRawRowToIntermediateSortTempRow(Object[] row,
+      ReUsableByteArrayDataOutputStream reUsableByteArrayDataOutputStream) throws IOException {
+    int[] dictSortDims = new int[this.dictSortDimCnt];
+    for (int idx = 0; idx < this.dictSortDimCnt; idx++) {
+      dictSortDims[idx] = (int) row[this.dictSortDimIdx[idx]];
+    }
+    Object[] noDictSortDims = new Object[this.noDictSortDimCnt];
+    for (int idx = 0; idx < this.noDictSortDimCnt; idx++) {
+      noDictSortDims[idx] = row[this.noDictSortDimIdx[idx]];
+    }
+    reUsableByteArrayDataOutputStream.reset();
+    packNoSortFieldsToBytes(row, reUsableByteArrayDataOutputStream);
+    byte[] noSortDimsAndMeasures = Arrays.copyOf(reUsableByteArrayDataOutputStream.getByteArray(),
+        reUsableByteArrayDataOutputStream.getSize());
+    return new IntermediateSortTempRow(dictSortDims, noDictSortDims, noSortDimsAndMeasures);
+  }
+
+  /**
+   * Create intermediate sort temp row from the sort fields and the packed no-sort fields.
+   * This method is used to read rows from the column batches of sort temp file.
+   *
+   * @param dictSortDims dict & sort dims
+   * @param noDictSortDims no-dict & sort dims
+   * @param noSortDimsAndMeasures packed no-sort dims & measures
+   * @param convertNoSortFields whether to unpack the no-sort fields
+   * @return intermediate sort temp row
+   */
+  public IntermediateSortTempRow createIntermediateSortTempRow(int[] dictSortDims,
+      Object[] noDictSortDims, byte[] noSortDimsAndMeasures, boolean convertNoSortFields) {
+    if (!convertNoSortFields) {
+      return new IntermediateSortTempRow(dictSortDims, noDictSortDims, noSortDimsAndMeasures);
+    }
+    int[] dictDims = Arrays.copyOf(dictSortDims, this.dictSortDimCnt + this.dictNoSortDimCnt);
+    Object[] noDictDims = Arrays.copyOf(noDictSortDims, this.noDictSortDimCnt
+        + this.noDictNoSortDimCnt + this.varcharDimCnt + this.complexDimCnt);
+    Object[] measure = new Object[this.measureCnt];
+    unpackNoSortFromBytes(noSortDimsAndMeasures, dictDims, noDictDims, measure);
+    return new IntermediateSortTempRow(dictDims, noDictDims, measure);
+  }
+
+  int getDictSortDimCnt() {
+    return dictSortDimCnt;
+  }
+
+  int getNoDictSortDimCnt() {
+    return noDictSortDimCnt;
+  }
+
+  /**
+   * Returns true if the no-dict & sort dim at the index keeps the original data
+   */
+  boolean isNoDictSortPrimitive(int idx) {
+    return noDictSortColMapping[idx];
+  }
+
+  DataType getNoDictSortDataType(int idx) {
+    return noDictSortDataTypes[idx];
+  }
+
   /**
    * Read intermediate sort temp row from InputStream.
    * This method is used during the intermediate merge sort phase to read row from sort temp file.
@@ -288,7 +357,7 @@ public class SortStepRowHandler implements Serializable {
    * @return
    * @throws IOException
    */
-  private Object readDataFromStream(DataInputStream inputStream, int idx) throws IOException {
+  Object readDataFromStream(DataInputStream inputStream, int idx) throws IOException {
     DataType dataType = noDictSortDataTypes[idx];
     Object data = null;
     if (!inputStream.readBoolean()) {
@@ -493,7 +562,7 @@ public class SortStepRowHandler implements Serializable {
    * @param idx
    * @throws IOException
    */
-  private void writeDataToStream(Object data, DataOutputStream outputStream, int idx)
+  void writeDataToStream(Object data, DataOutputStream outputStream, int idx)
       throws IOException {
     DataType dataType = noDictSortDataTypes[idx];
     if (null == data) {
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+
+/**
+ * Reads intermediate sort temp rows from the column batches written by
+ * {@link SortTempColumnarWriter}. A whole batch is read at once and decoded column by column
+ * into arrays which are reused for the following batches, the sort columns of a row are only
+ * gathered from them when the row is read.
+ */
+public class SortTempColumnarReader {
+
+  private final SortStepRowHandler sortStepRowHandler;
+
+  private final DataInputStream inputStream;
+
+  private byte[] batchBytes = new byte[0];
+
+  private long[] values = new long[0];
+
+  private boolean[] isNull = new boolean[0];
+
+  /**
+   * values of the batch for each dict sort column
+   */
+  private int[][] dictSortColumns = new int[0][];
+
+  /**
+   * values of the batch for each no-dict sort column
+   */
+  private Object[][] noDictSortColumns = new Object[0][];
+
+  private byte[][] noSortDimsAndMeasures = new byte[0][];
+
+  /**
+   * sort columns of the row which is read with no-sort fields converted, reused as the row is
+   * created with copies of them
+   */
+  private final int[] rowDictSortDims;
+
+  private final Object[] rowNoDictSortDims;
+
+  private int rowCount;
+
+  private int position;
+
+  /**
+   * @param sortStepRowHandler handler of the rows
+   * @param inputStream stream of the sort temp file, after the number of rows
+   */
+  public SortTempColumnarReader(SortStepRowHandler sortStepRowHandler,
+      DataInputStream inputStream) {
+    this.sortStepRowHandler = sortStepRowHandler;
+    this.inputStream = inputStream;
+    this.rowDictSortDims = new int[sortStepRowHandler.getDictSortDimCnt()];
+    this.rowNoDictSortDims = new Object[sortStepRowHandler.getNoDictSortDimCnt()];
+  }
+
+  /**
+   * Returns the next row, the caller must not read more rows than the file has
+   *
+   * @param convertNoSortFields whether to unpack the no-sort fields of the row
+   */
+  public IntermediateSortTempRow read(boolean convertNoSortFields) throws IOException {
+    if (position == rowCount) {
+      readBatch();
+    }
+    int[] dictSortDims =
+        convertNoSortFields ? rowDictSortDims : new int[rowDictSortDims.length];
+    Object[] noDictSortDims =
+        convertNoSortFields ? rowNoDictSortDims : new Object[rowNoDictSortDims.length];
+    for (int idx = 0; idx < dictSortDims.length; idx++) {
+      dictSortDims[idx] = dictSortColumns[idx][position];
+    }
+    for (int idx = 0; idx < noDictSortDims.length; idx++) {
+      noDictSortDims[idx] = noDictSortColumns[idx][position];
+    }
+    IntermediateSortTempRow row = sortStepRowHandler.createIntermediateSortTempRow(
+        dictSortDims, noDictSortDims, noSortDimsAndMeasures[position], convertNoSortFields);
+    noSortDimsAndMeasures[position] = null;
+    position++;
+    return row;
+  }
+
+  private void readBatch() throws IOException {
+    int length = inputStream.readInt();
+    if (batchBytes.length < length) {
+      batchBytes = new byte[length];
+    }
+    inputStream.readFully(batchBytes, 0, length);
+    DataInputStream batchStream =
+        new DataInputStream(new ByteArrayInputStream(batchBytes, 0, length));
+    rowCount = batchStream.readInt();
+    position = 0;
+    int dictSortDimCnt = rowDictSortDims.length;
+    int noDictSortDimCnt = rowNoDictSortDims.length;
+    if (values.length < rowCount) {
+      values = new long[rowCount];
+      isNull = new boolean[rowCount];
+      dictSortColumns = new int[dictSortDimCnt][rowCount];
+      noDictSortColumns = new Object[noDictSortDimCnt][rowCount];
+      noSortDimsAndMeasures = new byte[rowCount][];
+    }
+    for (int idx = 0; idx < dictSortDimCnt; idx++) {
+      readValues(batchStream, rowCount);
+      int[] column = dictSortColumns[idx];
+      for (int i = 0; i < rowCount; i++) {
+        column[i] = (int) values[i];
+      }
+    }
+    for (int idx = 0; idx < noDictSortDimCnt; idx++) {
+      DataType dataType = sortStepRowHandler.getNoDictSortDataType(idx);
+      if (!sortStepRowHandler.isNoDictSortPrimitive(idx)) {
+        readValues(batchStream, rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          byte[] bytes = new byte[(int) values[i]];
+          batchStream.readFully(bytes);
+          noDictSortColumns[idx][i] = bytes;
+        }
+      } else if (SortTempColumnarWriter.isIntegral(dataType)) {
+        readIntegralColumn(batchStream, idx, dataType);
+      } else {
+        for (int i = 0; i < rowCount; i++) {
+          noDictSortColumns[idx][i] = sortStepRowHandler.readDataFromStream(batchStream, idx);
+        }
+      }
+    }
+    readValues(batchStream, rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      noSortDimsAndMeasures[i] = new byte[(int) values[i]];
+      batchStream.readFully(noSortDimsAndMeasures[i]);
+    }
+  }
+
+  private void readIntegralColumn(DataInputStream batchStream, int idx, DataType dataType)
+      throws IOException {
+    int count = 0;
+    for (int i = 0; i < rowCount; i += 8) {
+      int nullBits = batchStream.readUnsignedByte();
+      for (int j = i; j < Math.min(i + 8, rowCount); j++) {
+        isNull[j] = (nullBits & (1 << (j & 7))) != 0;
+        if (!isNull[j]) {
+          count++;
+        }
+      }
+    }
+    readValues(batchStream, count);
+    Object[] column = noDictSortColumns[idx];
+    int valueIndex = 0;
+    for (int i = 0; i < rowCount; i++) {
+      if (isNull[i]) {
+        column[i] = null;
+        continue;
+      }
+      long value = values[valueIndex++];
+      if (dataType == DataTypes.BYTE) {
+        column[i] = (byte) value;
+      } else if (dataType == DataTypes.SHORT) {
+        column[i] = (short) value;
+      } else if (dataType == DataTypes.INT) {
+        column[i] = (int) value;
+      } else {
+        column[i] = value;
+      }
+    }
+  }
+
+  private void readValues(DataInputStream batchStream, int count) throws IOException {
+    if (count == 0) {
+      return;
+    }
+    long min = batchStream.readLong();
+    int width = batchStream.readByte();
+    for (int i = 0; i < count; i++) {
+      switch (width) {
+        case 0:
+          values[i] = min;
+          break;
+        case 1:
+          values[i] = min + batchStream.readUnsignedByte();
+          break;
+        case 2:
+          values[i] = min + batchStream.readUnsignedShort();
+          break;
+        case 4:
+          values[i] = min + (batchStream.readInt() & 0xFFFFFFFFL);
+          break;
+        default:
+          values[i] = min + batchStream.readLong();
+      }
+    }
+  }
+}
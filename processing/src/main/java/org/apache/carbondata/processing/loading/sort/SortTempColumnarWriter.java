@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+
+/**
+ * Writes intermediate sort temp rows to sort temp file in column batches.
+ *
+ * Rows are collected to a batch, which is written as its length in bytes followed by its
+ * number of rows and its columns: the dict & sort dims, the no-dict & sort dims and the packed
+ * no-sort fields. Integral values and the lengths of byte values are stored as the difference
+ * from the smallest value of the column in the batch, using the least number of bytes which
+ * holds all the differences. Byte values of a column are stored one after another. Read by
+ * {@link SortTempColumnarReader}.
+ */
+public class SortTempColumnarWriter {
+
+  private final SortStepRowHandler sortStepRowHandler;
+
+  private final DataOutputStream outputStream;
+
+  private final IntermediateSortTempRow[] batch;
+
+  private int rowCount;
+
+  private final long[] values;
+
+  private final ReUsableByteArrayDataOutputStream batchStream =
+      new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+
+  /**
+   * @param sortStepRowHandler handler of the rows
+   * @param outputStream stream of the sort temp file
+   * @param batchSize number of rows in a batch
+   */
+  public SortTempColumnarWriter(SortStepRowHandler sortStepRowHandler,
+      DataOutputStream outputStream, int batchSize) {
+    this.sortStepRowHandler = sortStepRowHandler;
+    this.outputStream = outputStream;
+    this.batch = new IntermediateSortTempRow[batchSize];
+    this.values = new long[batchSize];
+  }
+
+  /**
+   * Adds the row to the current batch, the batch is written when it is full
+   *
+   * @param row intermediate sort temp row whose no-sort fields are packed
+   */
+  public void write(IntermediateSortTempRow row) throws IOException {
+    batch[rowCount++] = row;
+    if (rowCount == batch.length) {
+      writeBatch();
+    }
+  }
+
+  /**
+   * Writes the rows of the last batch, the stream is not closed
+   */
+  public void finish() throws IOException {
+    if (rowCount > 0) {
+      writeBatch();
+    }
+  }
+
+  private void writeBatch() throws IOException {
+    batchStream.reset();
+    batchStream.writeInt(rowCount);
+    for (int idx = 0; idx < sortStepRowHandler.getDictSortDimCnt(); idx++) {
+      for (int i = 0; i < rowCount; i++) {
+        values[i] = batch[i].getDictSortDims()[idx];
+      }
+      writeValues(rowCount);
+    }
+    for (int idx = 0; idx < sortStepRowHandler.getNoDictSortDimCnt(); idx++) {
+      if (!sortStepRowHandler.isNoDictSortPrimitive(idx)) {
+        for (int i = 0; i < rowCount; i++) {
+          values[i] = ((byte[]) batch[i].getNoDictSortDims()[idx]).length;
+        }
+        writeValues(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+          batchStream.write((byte[]) batch[i].getNoDictSortDims()[idx]);
+        }
+      } else if (isIntegral(sortStepRowHandler.getNoDictSortDataType(idx))) {
+        writeIntegralColumn(idx);
+      } else {
+        for (int i = 0; i < rowCount; i++) {
+          sortStepRowHandler.writeDataToStream(batch[i].getNoDictSortDims()[idx], batchStream,
+              idx);
+        }
+      }
+    }
+    for (int i = 0; i < rowCount; i++) {
+      values[i] = batch[i].getNoSortDimsAndMeasures().length;
+    }
+    writeValues(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      batchStream.write(batch[i].getNoSortDimsAndMeasures());
+    }
+    outputStream.writeInt(batchStream.getSize());
+    outputStream.write(batchStream.getByteArray(), 0, batchStream.getSize());
+    Arrays.fill(batch, 0, rowCount, null);
+    rowCount = 0;
+  }
+
+  static boolean isIntegral(DataType dataType) {
+    return dataType == DataTypes.BYTE || dataType == DataTypes.SHORT
+        || dataType == DataTypes.INT || dataType == DataTypes.LONG
+        || dataType == DataTypes.TIMESTAMP;
+  }
+
+  /**
+   * Writes a bit for each row which is set if the value is null, then the values which are
+   * not null
+   */
+  private void writeIntegralColumn(int idx) throws IOException {
+    int count = 0;
+    int nullBits = 0;
+    for (int i = 0; i < rowCount; i++) {
+      Object value = batch[i].getNoDictSortDims()[idx];
+      if (value == null) {
+        nullBits |= 1 << (i & 7);
+      } else {
+        values[count++] = ((Number) value).longValue();
+      }
+      if ((i & 7) == 7 || i == rowCount - 1) {
+        batchStream.writeByte(nullBits);
+        nullBits = 0;
+      }
+    }
+    writeValues(count);
+  }
+
+  /**
+   * Writes the first count values as the smallest value and the differences from it
+   */
+  private void writeValues(int count) throws IOException {
+    if (count == 0) {
+      return;
+    }
+    long min = values[0];
+    long max = values[0];
+    for (int i = 1; i < count; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+    }
+    long range = max - min;
+    int width;
+    if (range == 0) {
+      width = 0;
+    } else if (range > 0 && range < 1L << 8) {
+      width = 1;
+    } else if (range > 0 && range < 1L << 16) {
+      width = 2;
+    } else if (range > 0 && range < 1L << 32) {
+      width = 4;
+    } else {
+      // range overflows when the values span more than half of long
+      width = 8;
+    }
+    batchStream.writeLong(min);
+    batchStream.writeByte(width);
+    for (int i = 0; i < count; i++) {
+      long difference = values[i] - min;
+      switch (width) {
+        case 0:
+          break;
+        case 1:
+          batchStream.writeByte((int) difference);
+          break;
+        case 2:
+          batchStream.writeShort((int) difference);
+          break;
+        case 4:
+          batchStream.writeInt((int) difference);
+          break;
+        default:
+          batchStream.writeLong(difference);
+      }
+    }
+  }
+}
@@ -53,12 +53,10 @@ public class UnsafeCarbonRowPage {
 
   private SortTempRowUpdater sortTempRowUpdater;
 
-  private boolean isSaveToDisk;
-
   private int[] changedDataFieldOrder;
 
   public UnsafeCarbonRowPage(TableFieldStat tableFieldStat, MemoryBlock memoryBlock,
-      String taskId, boolean isSaveToDisk) {
+      String taskId) {
     this.tableFieldStat = tableFieldStat;
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
     this.taskId = taskId;
@@ -68,7 +66,6 @@ public class UnsafeCarbonRowPage {
     sizeToBeUsed = dataBlock.size() - (dataBlock.size() * 5) / 100;
     this.managerType = MemoryManagerType.UNSAFE_MEMORY_MANAGER;
     this.sortTempRowUpdater = tableFieldStat.getSortTempRowUpdater();
-    this.isSaveToDisk = isSaveToDisk;
     this.changedDataFieldOrder = tableFieldStat.getChangedDataFieldOrder();
   }
 
@@ -183,8 +180,4 @@ public class UnsafeCarbonRowPage {
   public void makeCanAddFail() {
     this.lastSize = (int) sizeToBeUsed;
   }
-
-  public boolean isSaveToDisk() {
-    return this.isSaveToDisk;
-  }
 }
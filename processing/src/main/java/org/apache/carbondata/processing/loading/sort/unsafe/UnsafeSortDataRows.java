@@ -21,26 +21,27 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Random;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.IntPointerBuffer;
 import org.apache.carbondata.core.memory.MemoryBlock;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
-import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarWriter;
 import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
 import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparatorForNormalDims;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
-import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
-import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeSortSpillController;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixSorter;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
@@ -55,6 +56,7 @@ public class UnsafeSortDataRows {
   private TableFieldStat tableFieldStat;
   private ThreadLocal<ReUsableByteArrayDataOutputStream> reUsableByteArrayDataOutputStream;
   private UnsafeIntermediateMerger unsafeInMemoryIntermediateFileMerger;
+  private UnsafeSortSpillController spillController;
 
   private UnsafeCarbonRowPage rowPage;
 
@@ -76,6 +78,7 @@ public class UnsafeSortDataRows {
       }
     };
     this.unsafeInMemoryIntermediateFileMerger = unsafeInMemoryIntermediateFileMerger;
+    this.spillController = unsafeInMemoryIntermediateFileMerger.getSpillController();
 
     // observer of writing file in thread
     this.threadStatusObserver = new ThreadStatusObserver();
@@ -90,21 +93,18 @@ public class UnsafeSortDataRows {
   public void initialize() {
     MemoryBlock baseBlock =
         UnsafeMemoryManager.allocateMemoryWithRetry(this.taskId, inMemoryChunkSize);
-    boolean isMemoryAvailable =
-        UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(baseBlock.size());
-    this.rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, isMemoryAvailable);
+    this.rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId);
   }
 
   private UnsafeCarbonRowPage createUnsafeRowPage() {
     MemoryBlock baseBlock =
         UnsafeMemoryManager.allocateMemoryWithRetry(this.taskId, inMemoryChunkSize);
-    boolean isSaveToDisk =
-        UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(baseBlock.size());
-    if (!isSaveToDisk) {
-      // merge and spill in-memory pages to disk if memory is not enough
+    if (spillController.isMemoryPressure()) {
+      // merge and spill in-memory pages to disk, so that sort memory has room when this
+      // page is full
       unsafeInMemoryIntermediateFileMerger.tryTriggerInMemoryMerging(true);
     }
-    return new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, true);
+    return new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId);
   }
 
   public void addRowBatch(Object[][] rowBatch, int size) throws CarbonSortKeyAndGroupByException {
@@ -179,21 +179,26 @@ public class UnsafeSortDataRows {
   public void startSorting() {
     LOGGER.info("Unsafe based sorting will be used");
     if (this.rowPage.getUsedSize() > 0) {
-      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
-          new UnsafeIntSortDataFormat(rowPage));
-      if (parameters.getNumberOfNoDictSortColumns() > 0) {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-            new UnsafeRowComparator(rowPage));
-      } else {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-            new UnsafeRowComparatorForNormalDims(rowPage));
-      }
+      sortRowPage();
       unsafeInMemoryIntermediateFileMerger.addDataChunkToMerge(rowPage);
     } else {
       rowPage.freeMemory();
     }
   }
 
+  /**
+   * Sorts the rows of the current page by sort_columns
+   */
+  private void sortRowPage() {
+    Comparator<UnsafeCarbonRow> comparator;
+    if (parameters.getNumberOfNoDictSortColumns() > 0) {
+      comparator = new UnsafeRowComparator(rowPage);
+    } else {
+      comparator = new UnsafeRowComparatorForNormalDims(rowPage);
+    }
+    UnsafeRowPrefixSorter.sort(rowPage, comparator);
+  }
+
   /**
    * write a page to sort temp file
    * @param rowPage page
@@ -210,9 +215,20 @@ public class UnsafeSortDataRows {
       int actualSize = rowPage.getBuffer().getActualSize();
       // write number of entries to the file
       stream.writeInt(actualSize);
-      for (int i = 0; i < actualSize; i++) {
-        rowPage.writeRow(
-            rowPage.getBuffer().get(i) + rowPage.getDataBlock().getBaseOffset(), stream);
+      if (parameters.getSortTempColumnarBatchSize() > 0) {
+        SortTempColumnarWriter writer = new SortTempColumnarWriter(
+            new SortStepRowHandler(tableFieldStat), stream,
+            parameters.getSortTempColumnarBatchSize());
+        for (int i = 0; i < actualSize; i++) {
+          writer.write(rowPage.getRow(
+              rowPage.getBuffer().get(i) + rowPage.getDataBlock().getBaseOffset()));
+        }
+        writer.finish();
+      } else {
+        for (int i = 0; i < actualSize; i++) {
+          rowPage.writeRow(
+              rowPage.getBuffer().get(i) + rowPage.getDataBlock().getBaseOffset(), stream);
+        }
       }
     } catch (IOException | MemoryException e) {
       throw new CarbonSortKeyAndGroupByException("Problem while writing the file", e);
@@ -249,25 +265,13 @@ public class UnsafeSortDataRows {
   private void handlePreviousPage() {
     try {
       long startTime = System.currentTimeMillis();
-      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
-              new UnsafeIntSortDataFormat(rowPage));
-      // if sort_columns is not none, sort by sort_columns
-      if (parameters.getNumberOfNoDictSortColumns() > 0) {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-                new UnsafeRowComparator(rowPage));
-      } else {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-                new UnsafeRowComparatorForNormalDims(rowPage));
-      }
-      // get sort storage memory block if memory is available in sort storage manager
+      sortRowPage();
+      // get sort storage memory block if memory is available in sort storage manager now,
       // if space is available then store it in memory, if memory is not available
       // then spill to disk
-      MemoryBlock sortStorageMemoryBlock = null;
-      if (!rowPage.isSaveToDisk()) {
-        sortStorageMemoryBlock =
-            UnsafeSortMemoryManager.INSTANCE.allocateMemory(taskId, rowPage.getDataBlock().size());
-      }
-      if (null == sortStorageMemoryBlock || rowPage.isSaveToDisk()) {
+      MemoryBlock sortStorageMemoryBlock =
+          spillController.allocateSortedPage(taskId, rowPage.getDataBlock().size());
+      if (null == sortStorageMemoryBlock) {
         // create a new file every time
         // create a new file and pick a temp directory randomly every time
         String tmpDir = parameters.getTempFileLocation()[
@@ -276,6 +280,7 @@ public class UnsafeSortDataRows {
                 + '_' + parameters.getRangeId() + '_' + instanceId + '_' + System.nanoTime()
                 + CarbonCommonConstants.SORT_TEMP_FILE_EXT);
         writeDataToFile(rowPage, sortTempFile);
+        spillController.addSpilledFile(sortTempFile);
         LOGGER.info("Time taken to sort row page with size" + rowPage.getBuffer().getActualSize()
                 + " and write is: " + (System.currentTimeMillis() - startTime) + ": location:"
                 + sortTempFile + ", sort temp file size in MB is "
@@ -34,6 +34,7 @@ import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarReader;
 import org.apache.carbondata.processing.sort.SortTempRowUpdater;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.FileMergeSortComparator;
@@ -102,6 +103,10 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
   private boolean convertNoSortFields;
 
   private SortTempRowUpdater sortTempRowUpdater;
+
+  private int columnarBatchSize;
+
+  private SortTempColumnarReader columnarReader;
   /**
    * Constructor to initialize
    */
@@ -111,6 +116,7 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
     this.tempFile = tempFile;
     this.readBufferSize = parameters.getBufferSize();
     this.compressorName = parameters.getSortTempCompressorName();
+    this.columnarBatchSize = parameters.getSortTempColumnarBatchSize();
     this.tableFieldStat = tableFieldStat;
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
     this.executorService = Executors.newFixedThreadPool(1);
@@ -148,6 +154,9 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
       stream = FileFactory.getDataInputStream(tempFile.getPath(),
           readBufferSize, compressorName);
       this.entryCount = stream.readInt();
+      if (columnarBatchSize > 0) {
+        this.columnarReader = new SortTempColumnarReader(sortStepRowHandler, stream);
+      }
       LOGGER.info("Processing unsafe mode file rows with size : " + entryCount);
       if (prefetch) {
         new DataFetcher(false).call();
@@ -179,15 +188,7 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
       fillDataForPrefetch();
     } else {
       try {
-        if (convertNoSortFields) {
-          IntermediateSortTempRow intermediateSortTempRow =
-              sortStepRowHandler.readWithNoSortFieldConvert(stream);
-          sortTempRowUpdater
-              .updateSortTempRow(intermediateSortTempRow);
-          this.returnRow = intermediateSortTempRow;
-        } else {
-          this.returnRow = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-        }
+        this.returnRow = readRowFromStream();
         this.numberOfObjectRead++;
       } catch (IOException e) {
         throw new CarbonSortKeyAndGroupByException("Problems while reading row", e);
@@ -235,20 +236,27 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
       throws IOException {
     IntermediateSortTempRow[] holders = new IntermediateSortTempRow[expected];
     for (int i = 0; i < expected; i++) {
-      if (convertNoSortFields) {
-        IntermediateSortTempRow intermediateSortTempRow =
-            sortStepRowHandler.readWithNoSortFieldConvert(stream);
-        sortTempRowUpdater
-            .updateSortTempRow(intermediateSortTempRow);
-        holders[i] = intermediateSortTempRow;
-      } else {
-        holders[i] = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-      }
+      holders[i] = readRowFromStream();
     }
     this.numberOfObjectRead += expected;
     return holders;
   }
 
+  private IntermediateSortTempRow readRowFromStream() throws IOException {
+    IntermediateSortTempRow intermediateSortTempRow;
+    if (columnarReader != null) {
+      intermediateSortTempRow = columnarReader.read(convertNoSortFields);
+    } else if (convertNoSortFields) {
+      intermediateSortTempRow = sortStepRowHandler.readWithNoSortFieldConvert(stream);
+    } else {
+      return sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
+    }
+    if (convertNoSortFields) {
+      sortTempRowUpdater.updateSortTempRow(intermediateSortTempRow);
+    }
+    return intermediateSortTempRow;
+  }
+
   /**
    * below method will be used to get the row
    *
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.util.List;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+
+/**
+ * Tree of losers for the k-way merge of sorted holders.
+ *
+ * Each inner node keeps the holder which lost the comparison at that node, the overall winner
+ * is kept separately. After the row of the winner is taken only the path from its leaf to the
+ * root is replayed, which is one comparison per level where a binary heap needs up to two.
+ * Holders having equal rows are taken in the order of their position in the list.
+ */
+class SortTempChunkHolderLoserTree {
+
+  /**
+   * holders at the leaves, null once all the rows of the holder are taken
+   */
+  private final SortTempChunkHolder[] holders;
+
+  /**
+   * index 0 is the winner, index 1 to k - 1 are the inner nodes. Leaf of holder i is k + i.
+   */
+  private final int[] tree;
+
+  private int remainingHolders;
+
+  /**
+   * @param holders holders whose first row is already read
+   */
+  SortTempChunkHolderLoserTree(List<? extends SortTempChunkHolder> holders) {
+    this.holders = holders.toArray(new SortTempChunkHolder[holders.size()]);
+    this.tree = new int[Math.max(1, this.holders.length)];
+    this.remainingHolders = this.holders.length;
+    if (remainingHolders > 0) {
+      tree[0] = build(1);
+    }
+  }
+
+  /**
+   * Fills the losers of the subtree of the given node and returns its winner
+   */
+  private int build(int node) {
+    if (node >= holders.length) {
+      return node - holders.length;
+    }
+    int left = build(node << 1);
+    int right = build((node << 1) + 1);
+    if (isLess(right, left)) {
+      tree[node] = left;
+      return right;
+    }
+    tree[node] = right;
+    return left;
+  }
+
+  /**
+   * Returns true if holder a has to be taken before holder b, finished holders are the last
+   */
+  private boolean isLess(int a, int b) {
+    if (holders[a] == null) {
+      return false;
+    }
+    if (holders[b] == null) {
+      return true;
+    }
+    int diff = holders[a].compareTo(holders[b]);
+    return diff < 0 || (diff == 0 && a < b);
+  }
+
+  boolean hasNext() {
+    return remainingHolders > 0;
+  }
+
+  /**
+   * Returns the smallest row of all the holders and reads the next row of its holder
+   */
+  IntermediateSortTempRow next() throws CarbonSortKeyAndGroupByException {
+    int winner = tree[0];
+    SortTempChunkHolder holder = holders[winner];
+    IntermediateSortTempRow row = holder.getRow();
+    if (holder.hasNext()) {
+      holder.readRow();
+    } else {
+      holder.close();
+      holders[winner] = null;
+      remainingHolders--;
+    }
+    for (int node = (winner + holders.length) >> 1; node > 0; node >>= 1) {
+      if (isLess(tree[node], winner)) {
+        int loser = winner;
+        winner = tree[node];
+        tree[node] = loser;
+      }
+    }
+    tree[0] = winner;
+    return row;
+  }
+
+  /**
+   * Closes the holders whose rows are not all taken
+   */
+  void close() {
+    for (int i = 0; i < holders.length; i++) {
+      if (holders[i] != null) {
+        holders[i].close();
+        holders[i] = null;
+      }
+    }
+    remainingHolders = 0;
+  }
+}
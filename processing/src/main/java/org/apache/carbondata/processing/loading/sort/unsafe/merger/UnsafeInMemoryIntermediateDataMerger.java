@@ -31,6 +31,7 @@ import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.CarbonPriorityQueue;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarWriter;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRowForMerge;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryMergeHolder;
@@ -71,12 +72,15 @@ public class UnsafeInMemoryIntermediateDataMerger implements Callable<Void> {
   private boolean spillDisk;
   private File outputFile;
   private DataOutputStream outputStream;
+  private SortTempColumnarWriter columnarWriter;
+  private UnsafeSortSpillController spillController;
 
   /**
    * IntermediateFileMerger Constructor
    */
   public UnsafeInMemoryIntermediateDataMerger(UnsafeCarbonRowPage[] unsafeCarbonRowPages,
-      int totalSize, SortParameters sortParameters, boolean spillDisk) {
+      int totalSize, SortParameters sortParameters, boolean spillDisk,
+      UnsafeSortSpillController spillController) {
     this.holderCounter = unsafeCarbonRowPages.length;
     this.unsafeCarbonRowPages = unsafeCarbonRowPages;
     this.mergedAddresses = new long[totalSize];
@@ -86,6 +90,7 @@ public class UnsafeInMemoryIntermediateDataMerger implements Callable<Void> {
     this.sortParameters = sortParameters;
     this.sortStepRowHandler = new SortStepRowHandler(sortParameters);
     this.spillDisk = spillDisk;
+    this.spillController = spillController;
   }
 
   @Override
@@ -99,6 +104,12 @@ public class UnsafeInMemoryIntermediateDataMerger implements Callable<Void> {
         while (hasNext()) {
           writeDataToFile(next());
         }
+        if (columnarWriter != null) {
+          columnarWriter.finish();
+        }
+        CarbonUtil.closeStreams(outputStream);
+        outputStream = null;
+        spillController.addSpilledFile(outputFile);
       } else {
         while (hasNext()) {
           writeDataToMemory(next());
@@ -252,11 +263,19 @@ public class UnsafeInMemoryIntermediateDataMerger implements Callable<Void> {
     outputStream = FileFactory.getDataOutputStream(outputFile.getPath(),
         sortParameters.getFileWriteBufferSize(), sortParameters.getSortTempCompressorName());
     outputStream.writeInt(totalSize);
+    if (sortParameters.getSortTempColumnarBatchSize() > 0) {
+      columnarWriter = new SortTempColumnarWriter(sortStepRowHandler, outputStream,
+          sortParameters.getSortTempColumnarBatchSize());
+    }
   }
 
   private void writeDataToFile(UnsafeCarbonRowForMerge row) throws IOException {
     IntermediateSortTempRow sortTempRow = unsafeCarbonRowPages[row.index].getRow(row.address);
-    sortStepRowHandler.writeIntermediateSortTempRowToOutputStream(sortTempRow, outputStream);
+    if (columnarWriter != null) {
+      columnarWriter.write(sortTempRow);
+    } else {
+      sortStepRowHandler.writeIntermediateSortTempRowToOutputStream(sortTempRow, outputStream);
+    }
   }
 
   public int getEntryCount() {
@@ -30,6 +30,7 @@ import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.CarbonPriorityQueue;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarWriter;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
@@ -73,6 +74,7 @@ public class UnsafeIntermediateFileMerger implements Callable<Void> {
   private int writeBufferSize;
   private String compressorName;
   private SortStepRowHandler sortStepRowHandler;
+  private SortTempColumnarWriter columnarWriter;
 
   private Throwable throwable;
 
@@ -101,6 +103,9 @@ public class UnsafeIntermediateFileMerger implements Callable<Void> {
       while (hasNext()) {
         writeDataToFile(next());
       }
+      if (columnarWriter != null) {
+        columnarWriter.finish();
+      }
       double intermediateMergeCostTime =
           (System.currentTimeMillis() - intermediateMergeStartTime) / 1000.0;
       LOGGER.info("Intermediate Merge of " + fileConterConst
@@ -140,6 +145,10 @@ public class UnsafeIntermediateFileMerger implements Callable<Void> {
       stream =
           FileFactory.getDataOutputStream(outPutFile.getPath(), writeBufferSize, compressorName);
       this.stream.writeInt(this.totalNumberOfRecords);
+      if (mergerParameters.getSortTempColumnarBatchSize() > 0) {
+        columnarWriter = new SortTempColumnarWriter(sortStepRowHandler, stream,
+            mergerParameters.getSortTempColumnarBatchSize());
+      }
     } catch (FileNotFoundException e) {
       throw new CarbonSortKeyAndGroupByException("Problem while getting the file", e);
     } catch (IOException e) {
@@ -266,7 +275,11 @@ public class UnsafeIntermediateFileMerger implements Callable<Void> {
    * @throws IOException problem while writing
    */
   private void writeDataToFile(IntermediateSortTempRow row) throws IOException {
-    sortStepRowHandler.writeIntermediateSortTempRowToOutputStream(row, stream);
+    if (columnarWriter != null) {
+      columnarWriter.write(row);
+    } else {
+      sortStepRowHandler.writeIntermediateSortTempRowToOutputStream(row, stream);
+    }
   }
 
   private void finish() throws CarbonSortKeyAndGroupByException {
@@ -63,6 +63,8 @@ public class UnsafeIntermediateMerger {
 
   private long spillSizeInSortMemory;
 
+  private UnsafeSortSpillController spillController;
+
   public UnsafeIntermediateMerger(SortParameters parameters) {
     this.parameters = parameters;
     // processed file list
@@ -84,6 +86,12 @@ public class UnsafeIntermediateMerger {
           " less than the page size " + inMemoryChunkSizeInMB * 1024 * 1024 +
           ",so no merge and spill in-memory pages to disk");
     }
+    this.spillController =
+        new UnsafeSortSpillController(parameters, inMemoryChunkSizeInMB * 1024 * 1024);
+  }
+
+  public UnsafeSortSpillController getSpillController() {
+    return spillController;
   }
 
   public void addDataChunkToMerge(UnsafeCarbonRowPage rowPage) {
@@ -92,7 +100,8 @@ public class UnsafeIntermediateMerger {
     synchronized (lockObject) {
       rowPages.add(rowPage);
       if (rowPages.size() >= parameters.getNumberOfIntermediateFileToBeMerged()) {
-        tryTriggerInMemoryMerging(false);
+        // merged pages stay in sort memory unless it can not take more pages
+        tryTriggerInMemoryMerging(spillController.isMemoryPressure());
       }
     }
   }
@@ -160,7 +169,8 @@ public class UnsafeIntermediateMerger {
   private void startIntermediateMerging(UnsafeCarbonRowPage[] rowPages, int totalRows,
       boolean spillDisk) {
     UnsafeInMemoryIntermediateDataMerger merger =
-        new UnsafeInMemoryIntermediateDataMerger(rowPages, totalRows, parameters, spillDisk);
+        new UnsafeInMemoryIntermediateDataMerger(rowPages, totalRows, parameters, spillDisk,
+            spillController);
     mergedPages.add(merger);
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Submitting request for intermediate merging of in-memory pages : "
@@ -177,6 +187,7 @@ public class UnsafeIntermediateMerger {
       throw new CarbonSortKeyAndGroupByException("Problem while shutdown the server ", e);
     }
     checkForFailure();
+    spillController.logStatistics(parameters.getTableName());
   }
 
   public void close() {
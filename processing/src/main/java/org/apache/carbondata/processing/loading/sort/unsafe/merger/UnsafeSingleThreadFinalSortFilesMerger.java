@@ -21,26 +21,45 @@ import java.io.File;
 import java.io.FileFilter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
-import org.apache.carbondata.processing.loading.sort.CarbonPriorityQueue;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeFinalMergePageHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.FileMergeSortComparator;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
 
 import org.apache.log4j.Logger;
 
+/**
+ * Final merge of the sorted pages and sort temp files of the sort step, which gives the rows
+ * to the data writer.
+ *
+ * When the number of pages and files reaches carbon.sort.parallel.final.merge.threshold, they
+ * are split into groups of about the same number of rows. Each group is merged by its own thread
+ * of the sort cores, and the merged groups are merged here. Otherwise all of them are merged
+ * here. Merges use {@link SortTempChunkHolderLoserTree}.
+ */
 public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
   /**
    * LOGGER
@@ -49,14 +68,19 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
       LogServiceFactory.getLogService(UnsafeSingleThreadFinalSortFilesMerger.class.getName());
 
   /**
-   * fileCounter
+   * number of merged groups queued for the final merge by each group merger
+   */
+  private static final int MERGED_BATCHES_IN_QUEUE = 2;
+
+  /**
+   * tree of the pages and files, or of the merged groups when the final merge is parallel
    */
-  private int fileCounter;
+  private SortTempChunkHolderLoserTree recordHolderTree;
 
   /**
-   * recordHolderHeap
+   * merges the groups of pages and files when the final merge is parallel
    */
-  private CarbonPriorityQueue<SortTempChunkHolder> recordHolderHeapLocal;
+  private ExecutorService groupMergerExecutorService;
 
   private SortParameters parameters;
   private SortStepRowHandler sortStepRowHandler;
@@ -98,25 +122,24 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   /**
    * Below method will be used to start storing process This method will get
    * all the temp files present in sort temp folder then it will create the
-   * record holder heap and then it will read first record from each file and
-   * initialize the heap
+   * record holder tree and then it will read first record from each file and
+   * initialize the tree
    *
    */
   private void startSorting(UnsafeCarbonRowPage[] rowPages,
       List<UnsafeInMemoryIntermediateDataMerger> merges) throws CarbonDataWriterException {
     try {
       List<File> filesToMergeSort = getFilesToMergeSort();
-      this.fileCounter = rowPages.length + filesToMergeSort.size() + merges.size();
+      int fileCounter = rowPages.length + filesToMergeSort.size() + merges.size();
       if (fileCounter == 0) {
         LOGGER.info("No files to merge sort");
         return;
       }
       LOGGER.info(String.format("Starting final merge of %d pages, including row pages: %d"
           + ", sort temp files: %d, intermediate merges: %d",
-          this.fileCounter, rowPages.length, filesToMergeSort.size(), merges.size()));
+          fileCounter, rowPages.length, filesToMergeSort.size(), merges.size()));
 
-      // create record holder heap
-      createRecordHolderQueue();
+      List<SortTempChunkHolder> recordHolders = new ArrayList<>(fileCounter);
       TableFieldStat tableFieldStat = new TableFieldStat(parameters);
       // iterate over file list and create chunk holder and add to heap
       LOGGER.info("Started adding first record from each page");
@@ -127,7 +150,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        recordHolders.add(sortTempFileChunkHolder);
       }
 
       for (final UnsafeInMemoryIntermediateDataMerger merger : merges) {
@@ -138,7 +161,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        recordHolders.add(sortTempFileChunkHolder);
       }
 
       for (final File file : filesToMergeSort) {
@@ -149,10 +172,16 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        recordHolders.add(sortTempFileChunkHolder);
       }
 
-      LOGGER.info("Heap Size: " + this.recordHolderHeapLocal.size());
+      int numberOfGroups = getNumberOfMergeGroups(recordHolders.size());
+      if (numberOfGroups > 1) {
+        LOGGER.info("Final merge is split into " + numberOfGroups + " groups merged in parallel");
+        recordHolders = startGroupMergers(recordHolders, numberOfGroups, tableFieldStat);
+      }
+      this.recordHolderTree = new SortTempChunkHolderLoserTree(recordHolders);
+      LOGGER.info("Tree Size: " + recordHolders.size());
     } catch (Exception e) {
       LOGGER.error(e.getMessage(), e);
       throw new CarbonDataWriterException(e);
@@ -182,12 +211,68 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   /**
-   * This method will be used to create the heap which will be used to hold
-   * the chunk of data
+   * Returns the number of groups to merge in parallel, 1 if the final merge is not parallel
    */
-  private void createRecordHolderQueue() {
-    // creating record holder heap
-    this.recordHolderHeapLocal = new CarbonPriorityQueue<>(fileCounter);
+  private int getNumberOfMergeGroups(int numberOfHolders) {
+    if (numberOfHolders < CarbonProperties.getSortParallelFinalMergeThreshold()) {
+      return 1;
+    }
+    // a group of one holder would only hand over its rows
+    return Math.min(parameters.getNumberOfCores(), numberOfHolders / 2);
+  }
+
+  /**
+   * Splits the holders into groups having about the same number of rows and starts a merger
+   * for each group. Returns the holders of the merged groups.
+   */
+  private List<SortTempChunkHolder> startGroupMergers(List<SortTempChunkHolder> recordHolders,
+      int numberOfGroups, TableFieldStat tableFieldStat) {
+    List<List<SortTempChunkHolder>> groups = new ArrayList<>(numberOfGroups);
+    long[] rowsInGroups = new long[numberOfGroups];
+    for (int i = 0; i < numberOfGroups; i++) {
+      groups.add(new ArrayList<SortTempChunkHolder>());
+    }
+    // biggest holder first, each to the group having least rows
+    Collections.sort(recordHolders, new Comparator<SortTempChunkHolder>() {
+      @Override
+      public int compare(SortTempChunkHolder o1, SortTempChunkHolder o2) {
+        return Integer.compare(o2.numberOfRows(), o1.numberOfRows());
+      }
+    });
+    for (SortTempChunkHolder recordHolder : recordHolders) {
+      int smallest = 0;
+      for (int i = 1; i < numberOfGroups; i++) {
+        if (rowsInGroups[i] < rowsInGroups[smallest]) {
+          smallest = i;
+        }
+      }
+      groups.get(smallest).add(recordHolder);
+      rowsInGroups[smallest] += recordHolder.numberOfRows();
+    }
+    Comparator<IntermediateSortTempRow> comparator =
+        new FileMergeSortComparator(tableFieldStat.getNoDictSchemaDataType(),
+            tableFieldStat.getNoDictSortColumnSchemaOrderMapping(),
+            tableFieldStat.getNoDictSortColIdxSchemaOrderMapping(),
+            tableFieldStat.getDictSortColIdxSchemaOrderMapping());
+    groupMergerExecutorService = Executors.newFixedThreadPool(numberOfGroups,
+        new CarbonThreadFactory("UnsafeFinalMergePool:" + tableName, true));
+    List<MergedGroupHolder> groupHolders = new ArrayList<>(numberOfGroups);
+    for (int i = 0; i < numberOfGroups; i++) {
+      MergedGroupHolder groupHolder = new MergedGroupHolder(comparator, rowsInGroups[i]);
+      SortTempChunkHolderLoserTree groupTree = new SortTempChunkHolderLoserTree(groups.get(i));
+      groupMergerExecutorService.execute(
+          new GroupMerger(groupTree, groupHolder, parameters.getBufferSize()));
+      groupHolders.add(groupHolder);
+    }
+    groupMergerExecutorService.shutdown();
+    List<SortTempChunkHolder> readHolders = new ArrayList<>(numberOfGroups);
+    for (MergedGroupHolder groupHolder : groupHolders) {
+      if (groupHolder.hasNext()) {
+        groupHolder.readRow();
+        readHolders.add(groupHolder);
+      }
+    }
+    return readHolders;
   }
 
   /**
@@ -210,43 +295,13 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
    * @return sorted record sorted record
    */
   private IntermediateSortTempRow getSortedRecordFromFile() throws CarbonDataWriterException {
-    IntermediateSortTempRow row = null;
-
-    // poll the top object from heap
-    // heap maintains binary tree which is based on heap condition that will
-    // be based on comparator we are passing the heap
-    // when will call poll it will always delete root of the tree and then
-    // it does trickel down operation complexity is log(n)
-    SortTempChunkHolder poll = this.recordHolderHeapLocal.peek();
-
-    // get the row from chunk
-    row = poll.getRow();
-
-    // check if there no entry present
-    if (!poll.hasNext()) {
-      // if chunk is empty then close the stream
-      poll.close();
-      recordHolderHeapLocal.poll();
-
-      // change the file counter
-      --this.fileCounter;
-
-      // return row
-      return row;
-    }
-
-    // read new row
+    // take the smallest row from the tree, it reads the next row of the holder of the row
+    // and replays the path of the holder, complexity is log(n)
     try {
-      poll.readRow();
-    } catch (Exception e) {
+      return recordHolderTree.next();
+    } catch (CarbonSortKeyAndGroupByException e) {
       throw new CarbonDataWriterException(e);
     }
-
-    // maintain heap
-    this.recordHolderHeapLocal.siftTopDown();
-
-    // return row
-    return row;
   }
 
   /**
@@ -256,15 +311,24 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
    * @return more element is present
    */
   public boolean hasNext() {
-    return this.fileCounter > 0;
+    return null != recordHolderTree && recordHolderTree.hasNext();
   }
 
   public void clear() {
-    if (null != recordHolderHeapLocal) {
-      for (SortTempChunkHolder pageHolder : recordHolderHeapLocal) {
-        pageHolder.close();
+    if (null != groupMergerExecutorService) {
+      // group mergers close their holders when they are interrupted
+      groupMergerExecutorService.shutdownNow();
+      try {
+        groupMergerExecutorService.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        LOGGER.warn("Interrupted while waiting for the group mergers to stop");
+        Thread.currentThread().interrupt();
       }
-      recordHolderHeapLocal = null;
+      groupMergerExecutorService = null;
+    }
+    if (null != recordHolderTree) {
+      recordHolderTree.close();
+      recordHolderTree = null;
     }
   }
 
@@ -275,4 +339,156 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   public void setStopProcess(boolean stopProcess) {
     isStopProcess = stopProcess;
   }
+
+  /**
+   * Merges a group of holders and hands over the merged rows in batches to its
+   * {@link MergedGroupHolder}
+   */
+  private static final class GroupMerger implements Runnable {
+
+    private final SortTempChunkHolderLoserTree recordHolderTree;
+
+    private final MergedGroupHolder groupHolder;
+
+    private final int batchSize;
+
+    GroupMerger(SortTempChunkHolderLoserTree recordHolderTree, MergedGroupHolder groupHolder,
+        int batchSize) {
+      this.recordHolderTree = recordHolderTree;
+      this.groupHolder = groupHolder;
+      this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (recordHolderTree.hasNext()) {
+          IntermediateSortTempRow[] rows = new IntermediateSortTempRow[batchSize];
+          int size = 0;
+          while (size < batchSize && recordHolderTree.hasNext()) {
+            rows[size++] = recordHolderTree.next();
+          }
+          groupHolder.put(size == batchSize ? rows : Arrays.copyOf(rows, size));
+        }
+        groupHolder.finish(null);
+      } catch (InterruptedException e) {
+        // final merge is cleared, nobody takes the rows anymore
+        LOGGER.info("Group merger is interrupted");
+      } catch (Throwable e) {
+        LOGGER.error(e.getMessage(), e);
+        try {
+          groupHolder.finish(e);
+        } catch (InterruptedException ie) {
+          LOGGER.info("Group merger is interrupted");
+        }
+      } finally {
+        recordHolderTree.close();
+      }
+    }
+  }
+
+  /**
+   * Holder of the rows merged by a {@link GroupMerger}, it takes the merged batches from a
+   * bounded queue so that the group merger runs ahead of the final merge by a few batches only
+   */
+  private static final class MergedGroupHolder implements SortTempChunkHolder {
+
+    private static final IntermediateSortTempRow[] END_OF_GROUP = new IntermediateSortTempRow[0];
+
+    private final BlockingQueue<IntermediateSortTempRow[]> batches =
+        new ArrayBlockingQueue<>(MERGED_BATCHES_IN_QUEUE);
+
+    private final Comparator<IntermediateSortTempRow> comparator;
+
+    private final long numberOfRows;
+
+    /**
+     * failure of the group merger, set before the end of group is queued
+     */
+    private volatile Throwable failure;
+
+    private IntermediateSortTempRow[] currentBatch = END_OF_GROUP;
+
+    private int rowIndex;
+
+    private boolean isFinished;
+
+    private IntermediateSortTempRow currentRow;
+
+    MergedGroupHolder(Comparator<IntermediateSortTempRow> comparator, long numberOfRows) {
+      this.comparator = comparator;
+      this.numberOfRows = numberOfRows;
+    }
+
+    void put(IntermediateSortTempRow[] batch) throws InterruptedException {
+      batches.put(batch);
+    }
+
+    void finish(Throwable failure) throws InterruptedException {
+      this.failure = failure;
+      batches.put(END_OF_GROUP);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (rowIndex < currentBatch.length) {
+        return true;
+      }
+      if (isFinished) {
+        return false;
+      }
+      try {
+        currentBatch = batches.take();
+      } catch (InterruptedException e) {
+        throw new CarbonDataWriterException(e);
+      }
+      rowIndex = 0;
+      if (currentBatch == END_OF_GROUP) {
+        isFinished = true;
+        if (null != failure) {
+          throw new CarbonDataWriterException("Problem while merging the sorted group", failure);
+        }
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public void readRow() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more rows in the merged group");
+      }
+      currentRow = currentBatch[rowIndex++];
+    }
+
+    @Override
+    public IntermediateSortTempRow getRow() {
+      return currentRow;
+    }
+
+    @Override
+    public int numberOfRows() {
+      return (int) Math.min(Integer.MAX_VALUE, numberOfRows);
+    }
+
+    @Override
+    public void close() {
+      // holders of the group are closed by its group merger
+    }
+
+    @Override
+    public int compareTo(SortTempChunkHolder other) {
+      return comparator.compare(currentRow, other.getRow());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return this == obj;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this);
+    }
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
+import org.apache.carbondata.core.util.DataLoadMetrics;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Decides where the sorted pages of a sort are kept, based on the sort memory in use.
+ *
+ * A sorted page is moved to sort memory whenever it has room at the time the page is full, so
+ * rows are written to sort temp files only when the sort memory is exhausted. When the sort
+ * memory can not take one more page the pages kept in it are merged to a sort temp file, so
+ * that the following pages can be kept in memory again. The bytes spilled to sort temp files
+ * are added to the metrics of the load.
+ */
+public class UnsafeSortSpillController {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(UnsafeSortSpillController.class.getName());
+
+  private final long pageSize;
+
+  private final DataLoadMetrics metrics;
+
+  private final AtomicInteger pagesInMemory = new AtomicInteger();
+
+  private final AtomicInteger spillFileCount = new AtomicInteger();
+
+  private final AtomicLong spillBytes = new AtomicLong();
+
+  /**
+   * @param parameters parameters of the sort
+   * @param pageSize size of the row pages of the sort in bytes
+   */
+  public UnsafeSortSpillController(SortParameters parameters, long pageSize) {
+    this.pageSize = pageSize;
+    this.metrics = parameters.getMetrics();
+  }
+
+  /**
+   * Returns true if the sort memory can not take one more page, the pages in sort memory
+   * should be merged and spilled to free it
+   */
+  public boolean isMemoryPressure() {
+    return !UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(pageSize);
+  }
+
+  /**
+   * Allocates sort memory for a sorted page of the given size
+   *
+   * @return null if the sort memory has no room and the page is to be spilled
+   */
+  public MemoryBlock allocateSortedPage(String taskId, long size) {
+    MemoryBlock memoryBlock = UnsafeSortMemoryManager.INSTANCE.allocateMemory(taskId, size);
+    if (memoryBlock != null) {
+      pagesInMemory.incrementAndGet();
+    }
+    return memoryBlock;
+  }
+
+  /**
+   * Records the sort temp file written with rows taken from memory
+   */
+  public void addSpilledFile(File file) {
+    long length = file.length();
+    spillFileCount.incrementAndGet();
+    spillBytes.addAndGet(length);
+    if (metrics != null) {
+      metrics.addSpilledFile(length);
+    }
+  }
+
+  public long getSpillBytes() {
+    return spillBytes.get();
+  }
+
+  public void logStatistics(String tableName) {
+    LOGGER.info("Sort of table " + tableName + " kept " + pagesInMemory.get()
+        + " pages in sort memory and spilled " + spillBytes.get() + " bytes to "
+        + spillFileCount.get() + " sort temp files");
+  }
+}
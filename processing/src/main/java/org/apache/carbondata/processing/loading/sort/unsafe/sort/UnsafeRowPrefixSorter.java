@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.util.Comparator;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+/**
+ * Sorts the row pointers of an {@link UnsafeCarbonRowPage} by a fixed width key prefix.
+ *
+ * A 8 byte prefix of the sort columns is built for each row, whose unsigned order is same as
+ * the order of the row comparator. Pointers are sorted along with the prefixes by LSD radix
+ * sort, which does not touch the row memory. Rows having the same prefix are then sorted by
+ * {@link TimSort} with the row comparator, this is skipped when the prefix holds all the sort
+ * columns. Both sorts are stable so the result is same as sorting the page by TimSort.
+ *
+ * Prefix is built from the first sort column, or the first two when both are dictionary
+ * columns. For string columns the bytes common to all the rows of the page are skipped.
+ * Pages whose first sort column is of other type are sorted by TimSort.
+ */
+public final class UnsafeRowPrefixSorter {
+
+  /**
+   * below this number of rows the histograms of radix sort cost more than they save
+   */
+  private static final int MIN_ROWS_FOR_RADIX_SORT = 256;
+
+  private static final int BYTES_IN_PREFIX = 8;
+
+  private enum PrefixType {
+    DICT, DICT_PAIR, SHORT, INT, LONG, FLOAT, DOUBLE, BYTES
+  }
+
+  private UnsafeRowPrefixSorter() {
+  }
+
+  /**
+   * Sorts all the rows of the page in the order of the given comparator
+   */
+  public static void sort(UnsafeCarbonRowPage rowPage, Comparator<UnsafeCarbonRow> comparator) {
+    IntPointerBuffer buffer = rowPage.getBuffer();
+    int size = buffer.getActualSize();
+    TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort =
+        new TimSort<>(new UnsafeIntSortDataFormat(rowPage));
+    PrefixType prefixType = getPrefixType(rowPage.getTableFieldStat());
+    if (prefixType == null || size < MIN_ROWS_FOR_RADIX_SORT
+        || buffer.getPointerBlock() == null) {
+      timSort.sort(buffer, 0, size, comparator);
+      return;
+    }
+    int[] pointers = buffer.getPointerBlock();
+    long[] prefixes = new long[size];
+    fillPrefixes(rowPage, prefixType, pointers, prefixes, size);
+    radixSort(prefixes, pointers, size);
+    if (isPrefixComplete(prefixType,
+        rowPage.getTableFieldStat().getIsSortColNoDictFlags().length)) {
+      return;
+    }
+    int start = 0;
+    for (int i = 1; i <= size; i++) {
+      if (i == size || prefixes[i] != prefixes[start]) {
+        if (i - start > 1) {
+          timSort.sort(buffer, start, i, comparator);
+        }
+        start = i;
+      }
+    }
+  }
+
+  /**
+   * Returns the type of prefix for the sort columns, null if prefix is not supported
+   */
+  private static PrefixType getPrefixType(TableFieldStat tableFieldStat) {
+    boolean[] isSortColNoDictFlags = tableFieldStat.getIsSortColNoDictFlags();
+    if (isSortColNoDictFlags.length == 0) {
+      return null;
+    }
+    if (!isSortColNoDictFlags[0]) {
+      return isSortColNoDictFlags.length > 1 && !isSortColNoDictFlags[1] ?
+          PrefixType.DICT_PAIR : PrefixType.DICT;
+    }
+    DataType dataType = tableFieldStat.getNoDictSortDataType()[0];
+    // row comparator reads the column by this type, prefix must not disagree with it
+    if (dataType != tableFieldStat.getNoDictDataType()[0]) {
+      return null;
+    }
+    if (!DataTypeUtil.isPrimitiveColumn(dataType)) {
+      return PrefixType.BYTES;
+    } else if (dataType == DataTypes.SHORT) {
+      return PrefixType.SHORT;
+    } else if (dataType == DataTypes.INT) {
+      return PrefixType.INT;
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      return PrefixType.LONG;
+    } else if (dataType == DataTypes.FLOAT) {
+      return PrefixType.FLOAT;
+    } else if (dataType == DataTypes.DOUBLE) {
+      return PrefixType.DOUBLE;
+    }
+    return null;
+  }
+
+  /**
+   * Returns true if rows having same prefix are equal as per the row comparator
+   */
+  private static boolean isPrefixComplete(PrefixType prefixType, int numberOfSortColumns) {
+    switch (prefixType) {
+      case DICT_PAIR:
+        return numberOfSortColumns == 2;
+      case DICT:
+      case SHORT:
+      case INT:
+      case FLOAT:
+      case DOUBLE:
+        return numberOfSortColumns == 1;
+      default:
+        // null long has same prefix as Long.MIN_VALUE and bytes are cut to the prefix
+        return false;
+    }
+  }
+
+  private static void fillPrefixes(UnsafeCarbonRowPage rowPage, PrefixType prefixType,
+      int[] pointers, long[] prefixes, int size) {
+    Object baseObject = rowPage.getDataBlock().getBaseObject();
+    long baseOffset = rowPage.getDataBlock().getBaseOffset();
+    if (prefixType == PrefixType.DICT || prefixType == PrefixType.DICT_PAIR) {
+      for (int i = 0; i < size; i++) {
+        long address = baseOffset + pointers[i];
+        long prefix =
+            (long) (CarbonUnsafe.getUnsafe().getInt(baseObject, address) ^ Integer.MIN_VALUE)
+                << 32;
+        if (prefixType == PrefixType.DICT_PAIR) {
+          prefix |= (CarbonUnsafe.getUnsafe().getInt(baseObject, address + 4)
+              ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+        prefixes[i] = prefix;
+      }
+      return;
+    }
+    // first no dictionary sort column is written after the dictionary sort columns,
+    // as its length in short followed by the data, length 0 is null
+    baseOffset += rowPage.getTableFieldStat().getDictSortDimCnt() * 4;
+    if (prefixType == PrefixType.BYTES) {
+      fillBytesPrefixes(baseObject, baseOffset, pointers, prefixes, size);
+      return;
+    }
+    for (int i = 0; i < size; i++) {
+      long address = baseOffset + pointers[i];
+      if (CarbonUnsafe.getUnsafe().getShort(baseObject, address) == 0) {
+        prefixes[i] = 0;
+        continue;
+      }
+      address += 2;
+      switch (prefixType) {
+        case SHORT:
+          prefixes[i] = CarbonUnsafe.getUnsafe().getShort(baseObject, address)
+              - (long) Short.MIN_VALUE + 1;
+          break;
+        case INT:
+          prefixes[i] = CarbonUnsafe.getUnsafe().getInt(baseObject, address)
+              - (long) Integer.MIN_VALUE + 1;
+          break;
+        case LONG:
+          prefixes[i] = CarbonUnsafe.getUnsafe().getLong(baseObject, address) ^ Long.MIN_VALUE;
+          break;
+        case FLOAT:
+          prefixes[i] = toPrefix(CarbonUnsafe.getUnsafe().getFloat(baseObject, address));
+          break;
+        default:
+          prefixes[i] = toPrefix(CarbonUnsafe.getUnsafe().getDouble(baseObject, address));
+      }
+    }
+  }
+
+  /**
+   * Maps the double to a prefix whose unsigned order is same as the order of Double.compare.
+   * It is never 0, so it does not tie with null. Float widened to double keeps its order.
+   */
+  private static long toPrefix(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+  }
+
+  /**
+   * Fills the prefix with the 8 bytes after the bytes which are common to all the rows,
+   * padded with 0 when the value is shorter
+   */
+  private static void fillBytesPrefixes(Object baseObject, long baseOffset, int[] pointers,
+      long[] prefixes, int size) {
+    long firstAddress = baseOffset + pointers[0] + 2;
+    int commonLength = CarbonUnsafe.getUnsafe().getShort(baseObject, firstAddress - 2);
+    for (int i = 1; i < size && commonLength > 0; i++) {
+      long address = baseOffset + pointers[i];
+      int limit = Math.min(commonLength, CarbonUnsafe.getUnsafe().getShort(baseObject, address));
+      address += 2;
+      int j = 0;
+      while (j < limit && CarbonUnsafe.getUnsafe().getByte(baseObject, address + j)
+          == CarbonUnsafe.getUnsafe().getByte(baseObject, firstAddress + j)) {
+        j++;
+      }
+      commonLength = j;
+    }
+    for (int i = 0; i < size; i++) {
+      long address = baseOffset + pointers[i];
+      int length = CarbonUnsafe.getUnsafe().getShort(baseObject, address);
+      address += 2;
+      long prefix = 0;
+      for (int j = commonLength; j < commonLength + BYTES_IN_PREFIX; j++) {
+        prefix <<= 8;
+        if (j < length) {
+          prefix |= CarbonUnsafe.getUnsafe().getByte(baseObject, address + j) & 0xFF;
+        }
+      }
+      prefixes[i] = prefix;
+    }
+  }
+
+  /**
+   * Stable LSD radix sort of the prefixes as unsigned long, pointers are moved along with
+   * their prefix. Byte positions having the same value in all the prefixes are skipped.
+   */
+  static void radixSort(long[] prefixes, int[] pointers, int size) {
+    int[] counts = new int[BYTES_IN_PREFIX << 8];
+    for (int i = 0; i < size; i++) {
+      long prefix = prefixes[i];
+      for (int b = 0; b < BYTES_IN_PREFIX; b++) {
+        counts[(b << 8) | (int) ((prefix >>> (b << 3)) & 0xFF)]++;
+      }
+    }
+    long[] sourcePrefixes = prefixes;
+    int[] sourcePointers = pointers;
+    long[] targetPrefixes = new long[size];
+    int[] targetPointers = new int[size];
+    for (int b = 0; b < BYTES_IN_PREFIX; b++) {
+      int shift = b << 3;
+      int countOffset = b << 8;
+      if (counts[countOffset | (int) ((prefixes[0] >>> shift) & 0xFF)] == size) {
+        continue;
+      }
+      int position = 0;
+      for (int j = countOffset; j < countOffset + 256; j++) {
+        int count = counts[j];
+        counts[j] = position;
+        position += count;
+      }
+      for (int i = 0; i < size; i++) {
+        long prefix = sourcePrefixes[i];
+        int target = counts[countOffset | (int) ((prefix >>> shift) & 0xFF)]++;
+        targetPrefixes[target] = prefix;
+        targetPointers[target] = sourcePointers[i];
+      }
+      long[] tempPrefixes = sourcePrefixes;
+      sourcePrefixes = targetPrefixes;
+      targetPrefixes = tempPrefixes;
+      int[] tempPointers = sourcePointers;
+      sourcePointers = targetPointers;
+      targetPointers = tempPointers;
+    }
+    if (sourcePrefixes != prefixes) {
+      System.arraycopy(sourcePrefixes, 0, prefixes, 0, size);
+      System.arraycopy(sourcePointers, 0, pointers, 0, size);
+    }
+  }
+}
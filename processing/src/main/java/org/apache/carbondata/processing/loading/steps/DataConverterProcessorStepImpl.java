@@ -18,8 +18,11 @@
 package org.apache.carbondata.processing.loading.steps;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 
@@ -29,6 +32,7 @@ import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.core.metadata.schema.BucketingInfo;
 import org.apache.carbondata.core.metadata.schema.SortColumnRangeInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.loading.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.loading.BadRecordsLogger;
 import org.apache.carbondata.processing.loading.BadRecordsLoggerProvider;
@@ -43,6 +47,7 @@ import org.apache.carbondata.processing.loading.partition.Partitioner;
 import org.apache.carbondata.processing.loading.partition.impl.HashPartitionerImpl;
 import org.apache.carbondata.processing.loading.partition.impl.RangePartitionerImpl;
 import org.apache.carbondata.processing.loading.partition.impl.RawRowComparator;
+import org.apache.carbondata.processing.loading.partition.impl.SampledRangePartitionerBuilder;
 import org.apache.carbondata.processing.loading.partition.impl.SparkHashExpressionPartitionerImpl;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonBadRecordUtil;
@@ -57,7 +62,8 @@ import org.apache.commons.lang3.StringUtils;
 public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
   private List<RowConverter> converters;
-  private Partitioner<CarbonRow> partitioner;
+  private volatile Partitioner<CarbonRow> partitioner;
+  private SampledRangePartitionerBuilder sampledRangePartitionerBuilder;
   private BadRecordsLogger badRecordLogger;
   private boolean isSortColumnRangeEnabled = false;
   private boolean isBucketColumnEnabled = false;
@@ -83,7 +89,15 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
       initializeBucketColumnPartitioner();
     } else if (null != configuration.getSortColumnRangeInfo()) {
       this.isSortColumnRangeEnabled = true;
-      initializeSortColumnRangesPartitioner();
+      // if the bounds are not specified, the partitioner is created from the first rows
+      if (null != configuration.getSortColumnRangeInfo().getUserSpecifiedRanges()) {
+        initializeSortColumnRangesPartitioner();
+      } else {
+        SortColumnRangeInfo sortColumnRangeInfo = configuration.getSortColumnRangeInfo();
+        sampledRangePartitionerBuilder = new SampledRangePartitionerBuilder(
+            createSortColumnComparator(sortColumnRangeInfo), sortColumnRangeInfo.getNumOfRanges(),
+            CarbonProperties.getInstance().getGlobalSortSampleRows());
+      }
     }
   }
 
@@ -149,16 +163,18 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
       convertedSortColumnRanges[i] = fakeCarbonRow;
     }
     // sort the range bounds (sort in carbon is a little different from what we think)
-    Arrays.sort(convertedSortColumnRanges,
-        new RawRowComparator(sortColumnRangeInfo.getSortColumnIndex(),
-            sortColumnRangeInfo.getIsSortColumnNoDict(), CarbonDataProcessorUtil
-            .getNoDictSortDataTypes(configuration.getTableSpec().getCarbonTable())));
+    Arrays.sort(convertedSortColumnRanges, createSortColumnComparator(sortColumnRangeInfo));
 
     // range partitioner to dispatch rows by sort columns
     this.partitioner = new RangePartitionerImpl(convertedSortColumnRanges,
-        new RawRowComparator(sortColumnRangeInfo.getSortColumnIndex(),
-            sortColumnRangeInfo.getIsSortColumnNoDict(), CarbonDataProcessorUtil
-            .getNoDictSortDataTypes(configuration.getTableSpec().getCarbonTable())));
+        createSortColumnComparator(sortColumnRangeInfo));
+  }
+
+  private Comparator<CarbonRow> createSortColumnComparator(
+      SortColumnRangeInfo sortColumnRangeInfo) {
+    return new RawRowComparator(sortColumnRangeInfo.getSortColumnIndex(),
+        sortColumnRangeInfo.getIsSortColumnNoDict(), CarbonDataProcessorUtil
+        .getNoDictSortDataTypes(configuration.getTableSpec().getCarbonTable()));
   }
 
   // only convert sort column fields
@@ -191,6 +207,7 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
     return new CarbonIterator<CarbonRowBatch>() {
       private boolean first = true;
       private RowConverter localConverter;
+      private Deque<CarbonRowBatch> sampledBatches = new ArrayDeque<>();
 
       @Override
       public boolean hasNext() {
@@ -201,11 +218,28 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
             converters.add(localConverter);
           }
         }
-        return childIter.hasNext();
+        return !sampledBatches.isEmpty() || childIter.hasNext();
       }
 
       @Override
       public CarbonRowBatch next() {
+        if (sampledBatches.isEmpty() && sampledRangePartitionerBuilder != null
+            && partitioner == null) {
+          partitioner = sampledRangePartitionerBuilder.build(new Iterator<CarbonRowBatch>() {
+            @Override
+            public boolean hasNext() {
+              return childIter.hasNext();
+            }
+
+            @Override
+            public CarbonRowBatch next() {
+              return processRowBatch(childIter.next(), localConverter);
+            }
+          }, sampledBatches);
+        }
+        if (!sampledBatches.isEmpty()) {
+          return sampledBatches.poll();
+        }
         return processRowBatch(childIter.next(), localConverter);
       }
     };
@@ -218,21 +252,17 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
-    while (rowBatch.hasNext()) {
-      CarbonRow convertRow = localConverter.convert(rowBatch.next());
-      if (convertRow == null) {
-        rowBatch.remove();
-      } else {
-        if (isSortColumnRangeEnabled || isBucketColumnEnabled) {
-          short rangeNumber = (short) partitioner.getPartition(convertRow);
-          convertRow.setRangeId(rangeNumber);
-        }
-        rowBatch.setPreviousRow(convertRow);
+    // the origin batch is reused
+    localConverter.convertBatch(rowBatch);
+    if (partitioner != null) {
+      while (rowBatch.hasNext()) {
+        CarbonRow convertRow = rowBatch.next();
+        short rangeNumber = (short) partitioner.getPartition(convertRow);
+        convertRow.setRangeId(rangeNumber);
       }
+      rowBatch.rewind();
     }
     rowCounter.getAndAdd(rowBatch.getSize());
-    // reuse the origin batch
-    rowBatch.rewind();
     return rowBatch;
   }
 
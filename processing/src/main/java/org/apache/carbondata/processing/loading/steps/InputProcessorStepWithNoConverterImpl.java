@@ -20,7 +20,9 @@ package org.apache.carbondata.processing.loading.steps;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +37,8 @@ import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionary
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.BucketingInfo;
+import org.apache.carbondata.core.metadata.schema.SortColumnRangeInfo;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
@@ -51,6 +55,8 @@ import org.apache.carbondata.processing.loading.exception.BadRecordFoundExceptio
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
 import org.apache.carbondata.processing.loading.partition.Partitioner;
 import org.apache.carbondata.processing.loading.partition.impl.HashPartitionerImpl;
+import org.apache.carbondata.processing.loading.partition.impl.RawRowComparator;
+import org.apache.carbondata.processing.loading.partition.impl.SampledRangePartitionerBuilder;
 import org.apache.carbondata.processing.loading.partition.impl.SparkHashExpressionPartitionerImpl;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
@@ -79,6 +85,10 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
   private boolean withoutReArrange;
   private boolean isBucketColumnEnabled = false;
   private Partitioner<CarbonRow> partitioner;
+  private SampledRangePartitionerBuilder sampledRangePartitionerBuilder;
+
+  // conversion of each data field, decided once for the load
+  private ColumnConversion[] columnConversions;
 
   public InputProcessorStepWithNoConverterImpl(CarbonDataLoadConfiguration configuration,
       CarbonIterator<Object[]>[] inputIterators, boolean withoutReArrange) {
@@ -118,9 +128,25 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
     if (!withoutReArrange) {
       orderOfData = arrangeData(configuration.getDataFields(), configuration.getHeader());
     }
+    CarbonTable carbonTable = configuration.getTableSpec().getCarbonTable();
+    columnConversions = getColumnConversions(configuration.getDataFields(), dataTypes,
+        noDictionaryMapping, withoutReArrange,
+        carbonTable.getTableInfo().getFactTable().getTableProperties()
+            .get(CarbonCommonConstants.SPATIAL_INDEX),
+        carbonTable.isHivePartitionTable());
     if (null != configuration.getBucketingInfo()) {
       this.isBucketColumnEnabled = true;
       initializeBucketColumnPartitioner();
+    } else if (null != configuration.getSortColumnRangeInfo()
+        && null == configuration.getSortColumnRangeInfo().getUserSpecifiedRanges()) {
+      // the rows of the global sort are partitioned in ranges sampled from the first rows
+      SortColumnRangeInfo sortColumnRangeInfo = configuration.getSortColumnRangeInfo();
+      sampledRangePartitionerBuilder = new SampledRangePartitionerBuilder(
+          new RawRowComparator(sortColumnRangeInfo.getSortColumnIndex(),
+              sortColumnRangeInfo.getIsSortColumnNoDict(), CarbonDataProcessorUtil
+              .getNoDictSortDataTypes(configuration.getTableSpec().getCarbonTable())),
+          sortColumnRangeInfo.getNumOfRanges(),
+          CarbonProperties.getInstance().getGlobalSortSampleRows());
     }
   }
 
@@ -200,9 +226,9 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
     for (int i = 0; i < outIterators.length; i++) {
       outIterators[i] =
           new InputProcessorIterator(readerIterators[i], batchSize,
-              rowCounter, orderOfData, noDictionaryMapping, dataTypes, configuration,
+              rowCounter, orderOfData, columnConversions, dataTypes, configuration,
               dataFieldsWithComplexDataType, rowConverter, withoutReArrange, isBucketColumnEnabled,
-                  partitioner);
+                  partitioner, sampledRangePartitionerBuilder);
     }
     return outIterators;
   }
@@ -222,6 +248,131 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
     return "Input Processor";
   }
 
+  /**
+   * Conversion of the input value of a data field to the value passed to the next step
+   */
+  enum ColumnConversion {
+    // value is not converted
+    AS_IS,
+    // value is converted to the bytes of no dictionary column
+    NO_DICTIONARY_BYTES,
+    // value is converted to the bytes of complex column
+    COMPLEX,
+    // long value is converted to the date surrogate key, others are not converted
+    DATE_OR_AS_IS,
+    // long value is converted to the date surrogate key, others to no dictionary bytes
+    DATE_OR_BYTES,
+    // long value is converted to the timestamp surrogate key, others are not converted
+    TIMESTAMP_OR_AS_IS,
+    // field is not filled from the input, like the spatial index column
+    SKIP
+  }
+
+  /**
+   * Returns the conversion of each data field, so that the checks which depend only on the
+   * field are done once for the load instead of for each value
+   *
+   * @param dataFields data fields of the load
+   * @param dataTypes data types of the data fields, with int for date
+   * @param noDictionaryMapping whether each dimension is no dictionary, null without rearrange
+   * @param withoutReArrange whether the input is in the order of the data fields
+   * @param spatialIndexColumn spatial index column of the table, null if there is none
+   * @param isHivePartitionTable whether the table is a hive partition table
+   */
+  static ColumnConversion[] getColumnConversions(DataField[] dataFields, DataType[] dataTypes,
+      boolean[] noDictionaryMapping, boolean withoutReArrange, String spatialIndexColumn,
+      boolean isHivePartitionTable) {
+    ColumnConversion[] conversions = new ColumnConversion[dataFields.length];
+    if (withoutReArrange) {
+      // now dictionary is removed, no need of no dictionary mapping
+      for (int i = 0; i < dataFields.length; i++) {
+        if (DataTypeUtil.isPrimitiveColumn(dataTypes[i])) {
+          // keep the no dictionary measure column as original data
+          conversions[i] = ColumnConversion.AS_IS;
+        } else if (dataTypes[i].isComplexType()) {
+          conversions[i] = ColumnConversion.COMPLEX;
+        } else if (dataTypes[i] == DataTypes.DATE) {
+          conversions[i] = ColumnConversion.DATE_OR_BYTES;
+        } else {
+          conversions[i] = ColumnConversion.NO_DICTIONARY_BYTES;
+        }
+      }
+      return conversions;
+    }
+    for (int i = 0; i < dataFields.length; i++) {
+      DataType dataType = dataFields[i].getColumn().getDataType();
+      if (spatialIndexColumn != null && dataFields[i].getColumn().getColName()
+          .equalsIgnoreCase(spatialIndexColumn.trim())) {
+        conversions[i] = ColumnConversion.SKIP;
+      } else if (i < noDictionaryMapping.length && noDictionaryMapping[i]) {
+        if (DataTypeUtil.isPrimitiveColumn(dataTypes[i])) {
+          // keep the no dictionary measure column as original data
+          conversions[i] = ColumnConversion.AS_IS;
+        } else {
+          conversions[i] = ColumnConversion.NO_DICTIONARY_BYTES;
+        }
+      } else if (dataTypes[i].isComplexType()) {
+        // if this is a complex column then recursively convert the data into Byte Array.
+        conversions[i] = isHivePartitionTable ? ColumnConversion.AS_IS : ColumnConversion.COMPLEX;
+      } else if (dataType == DataTypes.DATE) {
+        conversions[i] = ColumnConversion.DATE_OR_AS_IS;
+      } else if (dataType == DataTypes.TIMESTAMP) {
+        conversions[i] = ColumnConversion.TIMESTAMP_OR_AS_IS;
+      } else {
+        conversions[i] = ColumnConversion.AS_IS;
+      }
+    }
+    return conversions;
+  }
+
+  /**
+   * Returns the generator of the surrogate keys of a data field converted to date or
+   * timestamp keys, null for the other conversions
+   */
+  static DirectDictionaryGenerator getDirectDictionaryGenerator(ColumnConversion conversion,
+      DataField dataField) {
+    switch (conversion) {
+      case DATE_OR_AS_IS:
+      case DATE_OR_BYTES:
+        return DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(DataTypes.DATE, dataField.getDateFormat());
+      case TIMESTAMP_OR_AS_IS:
+        return DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(DataTypes.TIMESTAMP, dataField.getTimestampFormat());
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Converts the input value of a data field which is not complex
+   *
+   * @param conversion conversion of the data field
+   * @param value input value
+   * @param dataType data type of the data field, with int for date
+   * @param generator generator of the date or timestamp keys of the data field
+   * @return the value passed to the next step
+   */
+  static Object convertValue(ColumnConversion conversion, Object value, DataType dataType,
+      DirectDictionaryGenerator generator) {
+    switch (conversion) {
+      case SKIP:
+        return null;
+      case AS_IS:
+        return value;
+      case NO_DICTIONARY_BYTES:
+        return DataTypeUtil.getBytesDataDataTypeForNoDictionaryColumn(value, dataType);
+      case DATE_OR_AS_IS:
+      case TIMESTAMP_OR_AS_IS:
+        return value instanceof Long ? generator.generateKey((long) value) : value;
+      case DATE_OR_BYTES:
+        return value instanceof Long ? generator.generateKey((long) value) :
+            DataTypeUtil.getBytesDataDataTypeForNoDictionaryColumn(value, dataType);
+      default:
+        throw new CarbonDataLoadingException("unsupported conversion: " + conversion);
+    }
+  }
+
   /**
    * This iterator wraps the list of iterators and it starts iterating the each
    * iterator of the list one by one. It also parse the data while iterating it.
@@ -242,8 +393,6 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
 
     private AtomicLong rowCounter;
 
-    private boolean[] noDictionaryMapping;
-
     private DataType[] dataTypes;
 
     private DataField[] dataFields;
@@ -252,25 +401,30 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
 
     private Map<Integer, GenericDataType> dataFieldsWithComplexDataType;
 
-    private DirectDictionaryGenerator dateDictionaryGenerator;
-
-    private DirectDictionaryGenerator timestampDictionaryGenerator;
+    private DirectDictionaryGenerator[] directDictionaryGenerators;
 
     private BadRecordLogHolder logHolder = new BadRecordLogHolder();
 
-    private boolean isHivePartitionTable = false;
-
     RowConverter converter;
     CarbonDataLoadConfiguration configuration;
     private boolean isBucketColumnEnabled = false;
     private Partitioner<CarbonRow> partitioner;
     private boolean withoutReArrange;
 
+    private boolean isEmptyBadRecord;
+
+    private ColumnConversion[] columnConversions;
+
+    private SampledRangePartitionerBuilder sampledRangePartitionerBuilder;
+
+    private Deque<CarbonRowBatch> sampledBatches = new ArrayDeque<>();
+
     public InputProcessorIterator(List<CarbonIterator<Object[]>> inputIterators, int batchSize,
-        AtomicLong rowCounter, int[] orderOfData, boolean[] noDictionaryMapping,
+        AtomicLong rowCounter, int[] orderOfData, ColumnConversion[] columnConversions,
         DataType[] dataTypes, CarbonDataLoadConfiguration configuration,
         Map<Integer, GenericDataType> dataFieldsWithComplexDataType, RowConverter converter,
-        boolean withoutReArrange, boolean bucketColumnEnabled, Partitioner<CarbonRow> partitioner) {
+        boolean withoutReArrange, boolean bucketColumnEnabled, Partitioner<CarbonRow> partitioner,
+        SampledRangePartitionerBuilder sampledRangePartitionerBuilder) {
       this.inputIterators = inputIterators;
       this.batchSize = batchSize;
       this.counter = 0;
@@ -279,23 +433,26 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
       this.rowCounter = rowCounter;
       this.nextBatch = false;
       this.firstTime = true;
-      this.noDictionaryMapping = noDictionaryMapping;
+      this.columnConversions = columnConversions;
       this.dataTypes = dataTypes;
       this.dataFields = configuration.getDataFields();
+      this.directDictionaryGenerators = new DirectDictionaryGenerator[dataFields.length];
       this.orderOfData = orderOfData;
       this.dataFieldsWithComplexDataType = dataFieldsWithComplexDataType;
-      this.isHivePartitionTable =
-          configuration.getTableSpec().getCarbonTable().isHivePartitionTable();
       this.configuration = configuration;
       this.converter = converter;
       this.withoutReArrange = withoutReArrange;
       this.isBucketColumnEnabled = bucketColumnEnabled;
       this.partitioner = partitioner;
+      this.sampledRangePartitionerBuilder = sampledRangePartitionerBuilder;
+      this.isEmptyBadRecord = Boolean.parseBoolean(
+          configuration.getDataLoadProperty(DataLoadProcessorConstants.IS_EMPTY_DATA_BAD_RECORD)
+              .toString());
     }
 
     @Override
     public boolean hasNext() {
-      return nextBatch || internalHasNext();
+      return nextBatch || !sampledBatches.isEmpty() || internalHasNext();
     }
 
     private boolean internalHasNext() {
@@ -321,6 +478,23 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
 
     @Override
     public CarbonRowBatch next() {
+      if (sampledBatches.isEmpty() && sampledRangePartitionerBuilder != null
+          && partitioner == null) {
+        partitioner = sampledRangePartitionerBuilder.build(new Iterator<CarbonRowBatch>() {
+          @Override
+          public boolean hasNext() {
+            return internalHasNext();
+          }
+
+          @Override
+          public CarbonRowBatch next() {
+            return getBatch();
+          }
+        }, sampledBatches);
+      }
+      if (!sampledBatches.isEmpty()) {
+        return sampledBatches.poll();
+      }
       return getBatch();
     }
 
@@ -328,128 +502,53 @@ public class InputProcessorStepWithNoConverterImpl extends AbstractDataLoadProce
       // Create batch and fill it.
       CarbonRowBatch carbonRowBatch = new CarbonRowBatch(batchSize);
       int count = 0;
-      if (!withoutReArrange) {
-        while (internalHasNext() && count < batchSize) {
-          CarbonRow carbonRow =
-              new CarbonRow(convertToNoDictionaryToBytes(currentIterator.next(), dataFields));
-          if (configuration.isNonSchemaColumnsPresent()) {
-            carbonRow = converter.convert(carbonRow);
-          }
-          if (isBucketColumnEnabled) {
-            short rangeNumber = (short) partitioner.getPartition(carbonRow);
-            carbonRow.setRangeId(rangeNumber);
-          }
-          carbonRowBatch.addRow(carbonRow);
-          count++;
+      while (internalHasNext() && count < batchSize) {
+        CarbonRow carbonRow = new CarbonRow(convertRow(currentIterator.next()));
+        if (configuration.isNonSchemaColumnsPresent()) {
+          carbonRow = converter.convert(carbonRow);
         }
-      } else {
-        while (internalHasNext() && count < batchSize) {
-          CarbonRow carbonRow = new CarbonRow(
-              convertToNoDictionaryToBytesWithoutReArrange(currentIterator.next(), dataFields));
-          if (configuration.isNonSchemaColumnsPresent()) {
-            carbonRow = converter.convert(carbonRow);
-          }
-          if (isBucketColumnEnabled) {
-            short rangeNumber = (short) partitioner.getPartition(carbonRow);
-            carbonRow.setRangeId(rangeNumber);
-          }
-          carbonRowBatch.addRow(carbonRow);
-          count++;
+        if (partitioner != null) {
+          short rangeNumber = (short) partitioner.getPartition(carbonRow);
+          carbonRow.setRangeId(rangeNumber);
         }
+        carbonRowBatch.addRow(carbonRow);
+        count++;
       }
       rowCounter.getAndAdd(carbonRowBatch.getSize());
-
-
       return carbonRowBatch;
-
     }
 
-    private Object[] convertToNoDictionaryToBytes(Object[] data, DataField[] dataFields) {
+    private Object[] convertRow(Object[] data) {
       Object[] newData = new Object[dataFields.length];
-      Map<String, String> properties =
-          configuration.getTableSpec().getCarbonTable().getTableInfo().getFactTable()
-              .getTableProperties();
-      String spatialProperty = properties.get(CarbonCommonConstants.SPATIAL_INDEX);
       for (int i = 0; i < dataFields.length; i++) {
-        if (spatialProperty != null && dataFields[i].getColumn().getColName()
-            .equalsIgnoreCase(spatialProperty.trim())) {
-          continue;
-        }
-        if (i < noDictionaryMapping.length && noDictionaryMapping[i]) {
-          if (DataTypeUtil.isPrimitiveColumn(dataTypes[i])) {
-            // keep the no dictionary measure column as original data
-            newData[i] = data[orderOfData[i]];
-          } else {
-            newData[i] = DataTypeUtil
-                .getBytesDataDataTypeForNoDictionaryColumn(data[orderOfData[i]], dataTypes[i]);
-          }
+        Object value = data[withoutReArrange ? i : orderOfData[i]];
+        if (columnConversions[i] == ColumnConversion.COMPLEX) {
+          newData[i] = getComplexTypeByteArray(value, dataFields[i], withoutReArrange);
         } else {
-          // if this is a complex column then recursively comver the data into Byte Array.
-          if (dataTypes[i].isComplexType() && isHivePartitionTable) {
-            newData[i] = data[orderOfData[i]];
-          } else if (dataTypes[i].isComplexType()) {
-            getComplexTypeByteArray(newData, i, data, dataFields[i], orderOfData[i], false);
-          } else {
-            DataType dataType = dataFields[i].getColumn().getDataType();
-            if (dataType == DataTypes.DATE && data[orderOfData[i]] instanceof Long) {
-              if (dateDictionaryGenerator == null) {
-                dateDictionaryGenerator = DirectDictionaryKeyGeneratorFactory
-                    .getDirectDictionaryGenerator(dataType, dataFields[i].getDateFormat());
-              }
-              newData[i] = dateDictionaryGenerator.generateKey((long) data[orderOfData[i]]);
-            } else if (dataType == DataTypes.TIMESTAMP && data[orderOfData[i]] instanceof Long) {
-              if (timestampDictionaryGenerator == null) {
-                timestampDictionaryGenerator = DirectDictionaryKeyGeneratorFactory
-                    .getDirectDictionaryGenerator(dataType, dataFields[i].getTimestampFormat());
-              }
-              newData[i] = timestampDictionaryGenerator.generateKey((long) data[orderOfData[i]]);
-            } else {
-              newData[i] = data[orderOfData[i]];
-            }
+          // generator is created only when a long value is found, as the format of a field
+          // loaded with other values can be null
+          if (value instanceof Long && directDictionaryGenerators[i] == null) {
+            directDictionaryGenerators[i] =
+                getDirectDictionaryGenerator(columnConversions[i], dataFields[i]);
           }
+          newData[i] = convertValue(columnConversions[i], value, dataTypes[i],
+              directDictionaryGenerators[i]);
         }
       }
       return newData;
     }
 
-    private Object[] convertToNoDictionaryToBytesWithoutReArrange(Object[] data,
-        DataField[] dataFields) {
-      Object[] newData = new Object[dataFields.length];
-      // now dictionary is removed, no need of no dictionary mapping
-      for (int i = 0; i < dataFields.length; i++) {
-        if (DataTypeUtil.isPrimitiveColumn(dataTypes[i])) {
-          // keep the no dictionary measure column as original data
-          newData[i] = data[i];
-        } else if (dataTypes[i].isComplexType()) {
-          getComplexTypeByteArray(newData, i, data, dataFields[i], i, true);
-        } else if (dataTypes[i] == DataTypes.DATE && data[i] instanceof Long) {
-          if (dateDictionaryGenerator == null) {
-            dateDictionaryGenerator = DirectDictionaryKeyGeneratorFactory
-                .getDirectDictionaryGenerator(dataTypes[i], dataFields[i].getDateFormat());
-          }
-          newData[i] = dateDictionaryGenerator.generateKey((long) data[i]);
-        } else {
-          newData[i] =
-              DataTypeUtil.getBytesDataDataTypeForNoDictionaryColumn(data[i], dataTypes[i]);
-        }
-      }
-      return newData;
-    }
-
-    private void getComplexTypeByteArray(Object[] newData, int index, Object[] data,
-        DataField dataField, int orderedIndex, boolean isWithoutConverter) {
+    private byte[] getComplexTypeByteArray(Object data, DataField dataField,
+        boolean isWithoutConverter) {
       ByteArrayOutputStream byteArray = new ByteArrayOutputStream();
       DataOutputStream dataOutputStream = new DataOutputStream(byteArray);
       try {
         GenericDataType complexType =
             dataFieldsWithComplexDataType.get(dataField.getColumn().getOrdinal());
-        boolean isEmptyBadRecord = Boolean.parseBoolean(
-            configuration.getDataLoadProperty(DataLoadProcessorConstants.IS_EMPTY_DATA_BAD_RECORD)
-                .toString());
-        complexType.writeByteArray(data[orderedIndex], dataOutputStream, logHolder,
+        complexType.writeByteArray(data, dataOutputStream, logHolder,
             isWithoutConverter, isEmptyBadRecord);
         dataOutputStream.close();
-        newData[index] = byteArray.toByteArray();
+        return byteArray.toByteArray();
       } catch (BadRecordFoundException e) {
         throw new CarbonDataLoadingException("Loading Exception: " + e.getMessage(), e);
       } catch (Exception e) {
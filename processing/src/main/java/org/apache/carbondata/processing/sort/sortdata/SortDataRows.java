@@ -31,6 +31,7 @@ import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarWriter;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 
 import org.apache.log4j.Logger;
@@ -214,9 +215,19 @@ public class SortDataRows {
           parameters.getFileWriteBufferSize(), parameters.getSortTempCompressorName());
       // write number of entries to the file
       stream.writeInt(entryCountLocal);
-      for (int i = 0; i < entryCountLocal; i++) {
-        sortStepRowHandler.writeRawRowAsIntermediateSortTempRowToOutputStream(
-            recordHolderList[i], stream, reUsableByteArrayDataOutputStream.get());
+      if (parameters.getSortTempColumnarBatchSize() > 0) {
+        SortTempColumnarWriter writer = new SortTempColumnarWriter(sortStepRowHandler, stream,
+            parameters.getSortTempColumnarBatchSize());
+        for (int i = 0; i < entryCountLocal; i++) {
+          writer.write(sortStepRowHandler.convertRawRowToIntermediateSortTempRow(
+              recordHolderList[i], reUsableByteArrayDataOutputStream.get()));
+        }
+        writer.finish();
+      } else {
+        for (int i = 0; i < entryCountLocal; i++) {
+          sortStepRowHandler.writeRawRowAsIntermediateSortTempRowToOutputStream(
+              recordHolderList[i], stream, reUsableByteArrayDataOutputStream.get());
+        }
       }
     } catch (IOException e) {
       throw new CarbonSortKeyAndGroupByException("Problem while writing the file", e);
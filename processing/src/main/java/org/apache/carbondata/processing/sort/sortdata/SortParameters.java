@@ -28,6 +28,7 @@ import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.DataLoadMetrics;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.carbondata.processing.loading.CarbonDataLoadConfiguration;
 import org.apache.carbondata.processing.loading.DataField;
@@ -78,6 +79,10 @@ public class SortParameters implements Serializable {
    */
   private SortObserver observer;
   private String sortTempCompressorName;
+  /**
+   * rows in a column batch of sort temp files, 0 if the rows are written one by one
+   */
+  private int sortTempColumnarBatchSize;
   /**
    * prefetch
    */
@@ -177,6 +182,11 @@ public class SortParameters implements Serializable {
 
   private int[] changedOrderInDataField;
 
+  /**
+   * metrics of the load, null when the sort is not part of a data load
+   */
+  private DataLoadMetrics metrics;
+
   public SortParameters getCopy() {
     SortParameters parameters = new SortParameters();
     parameters.tempFileLocation = tempFileLocation;
@@ -189,6 +199,7 @@ public class SortParameters implements Serializable {
     parameters.fileWriteBufferSize = fileWriteBufferSize;
     parameters.observer = observer;
     parameters.sortTempCompressorName = sortTempCompressorName;
+    parameters.sortTempColumnarBatchSize = sortTempColumnarBatchSize;
     parameters.prefetch = prefetch;
     parameters.bufferSize = bufferSize;
     parameters.databaseName = databaseName;
@@ -221,6 +232,7 @@ public class SortParameters implements Serializable {
     parameters.noDictSortDimCnt = noDictSortDimCnt;
     parameters.dictSortDimCnt = dictSortDimCnt;
     parameters.changedOrderInDataField = changedOrderInDataField;
+    parameters.metrics = metrics;
     return parameters;
   }
 
@@ -296,6 +308,14 @@ public class SortParameters implements Serializable {
     this.sortTempCompressorName = sortTempCompressorName;
   }
 
+  public int getSortTempColumnarBatchSize() {
+    return sortTempColumnarBatchSize;
+  }
+
+  public void setSortTempColumnarBatchSize(int sortTempColumnarBatchSize) {
+    this.sortTempColumnarBatchSize = sortTempColumnarBatchSize;
+  }
+
   public boolean isPrefetch() {
     return prefetch;
   }
@@ -468,6 +488,14 @@ public class SortParameters implements Serializable {
     return changedOrderInDataField;
   }
 
+  public DataLoadMetrics getMetrics() {
+    return metrics;
+  }
+
+  public void setMetrics(DataLoadMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   public static SortParameters createSortParameters(CarbonDataLoadConfiguration configuration) {
     SortParameters parameters = new SortParameters();
     CarbonTableIdentifier tableIdentifier =
@@ -493,6 +521,7 @@ public class SortParameters implements Serializable {
     parameters.setNumberOfNoDictSortColumns(configuration.getNumberOfNoDictSortColumns());
     parameters.setSortColumn(configuration.getSortColumnMapping());
     parameters.setObserver(new SortObserver());
+    parameters.setMetrics(configuration.getMetrics());
     // get sort buffer size
     parameters.setSortBufferSize(Integer.parseInt(carbonProperties
         .getProperty(CarbonCommonConstants.SORT_SIZE,
@@ -528,6 +557,8 @@ public class SortParameters implements Serializable {
             CarbonCommonConstants.CARBON_SORT_FILE_WRITE_BUFFER_SIZE_DEFAULT_VALUE)));
 
     parameters.setSortTempCompressorName(CarbonProperties.getInstance().getSortTempCompressor());
+    parameters.setSortTempColumnarBatchSize(
+        CarbonProperties.getSortTempColumnarBatchSize());
     if (!parameters.sortTempCompressorName.isEmpty()) {
       LOGGER.info(" Compression " + parameters.sortTempCompressorName
           + " will be used for writing the sort temp File");
@@ -701,6 +732,8 @@ public class SortParameters implements Serializable {
             CarbonCommonConstants.CARBON_SORT_FILE_WRITE_BUFFER_SIZE_DEFAULT_VALUE)));
 
     parameters.setSortTempCompressorName(CarbonProperties.getInstance().getSortTempCompressor());
+    parameters.setSortTempColumnarBatchSize(
+        CarbonProperties.getSortTempColumnarBatchSize());
     if (!parameters.sortTempCompressorName.isEmpty()) {
       LOGGER.info(" Compression " + parameters.sortTempCompressorName
           + " will be used for writing the sort temp File");
@@ -35,6 +35,7 @@ import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.SortTempColumnarReader;
 import org.apache.carbondata.processing.sort.SortTempRowUpdater;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 
@@ -102,6 +103,8 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
   private SortStepRowHandler sortStepRowHandler;
   protected Comparator<IntermediateSortTempRow> comparator;
   private boolean convertToActualField;
+  private int columnarBatchSize;
+  private SortTempColumnarReader columnarReader;
 
   public SortTempFileChunkHolder(SortParameters sortParameters) {
     this.tableFieldStat = new TableFieldStat(sortParameters);
@@ -126,6 +129,7 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
     this.tempFile = tempFile;
     this.readBufferSize = sortParameters.getBufferSize();
     this.compressorName = sortParameters.getSortTempCompressorName();
+    this.columnarBatchSize = sortParameters.getSortTempColumnarBatchSize();
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
     this.executorService = Executors
         .newFixedThreadPool(1, new CarbonThreadFactory("SafeSortTempChunkHolderPool:" + tableName,
@@ -164,6 +168,9 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
       stream = FileFactory.getDataInputStream(tempFile.getPath(),
           readBufferSize, compressorName);
       this.entryCount = stream.readInt();
+      if (columnarBatchSize > 0) {
+        this.columnarReader = new SortTempColumnarReader(sortStepRowHandler, stream);
+      }
       if (prefetch) {
         new DataFetcher(false).call();
         totalRecordFetch += currentBuffer.length;
@@ -193,15 +200,7 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
       fillDataForPrefetch();
     } else {
       try {
-        if (convertToActualField) {
-          IntermediateSortTempRow intermediateSortTempRow =
-              sortStepRowHandler.readWithNoSortFieldConvert(stream);
-          this.sortTempRowUpdater
-              .updateSortTempRow(intermediateSortTempRow);
-          this.returnRow = intermediateSortTempRow;
-        } else {
-          this.returnRow = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-        }
+        this.returnRow = readRowFromStream();
         this.numberOfObjectRead++;
       } catch (IOException e) {
         throw new CarbonSortKeyAndGroupByException("Problem while reading rows", e);
@@ -247,20 +246,27 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
   private IntermediateSortTempRow[] readBatchedRowFromStream(int expected) throws IOException {
     IntermediateSortTempRow[] holders = new IntermediateSortTempRow[expected];
     for (int i = 0; i < expected; i++) {
-      if (convertToActualField) {
-        IntermediateSortTempRow intermediateSortTempRow =
-            sortStepRowHandler.readWithNoSortFieldConvert(stream);
-        this.sortTempRowUpdater
-            .updateSortTempRow(intermediateSortTempRow);
-        holders[i] = intermediateSortTempRow;
-      } else {
-        holders[i] = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-      }
+      holders[i] = readRowFromStream();
     }
     this.numberOfObjectRead += expected;
     return holders;
   }
 
+  private IntermediateSortTempRow readRowFromStream() throws IOException {
+    IntermediateSortTempRow intermediateSortTempRow;
+    if (columnarReader != null) {
+      intermediateSortTempRow = columnarReader.read(convertToActualField);
+    } else if (convertToActualField) {
+      intermediateSortTempRow = sortStepRowHandler.readWithNoSortFieldConvert(stream);
+    } else {
+      return sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
+    }
+    if (convertToActualField) {
+      this.sortTempRowUpdater.updateSortTempRow(intermediateSortTempRow);
+    }
+    return intermediateSortTempRow;
+  }
+
   /**
    * below method will be used to get the sort temp row
    *
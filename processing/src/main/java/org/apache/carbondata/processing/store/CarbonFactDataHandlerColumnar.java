@@ -38,6 +38,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
+import org.apache.carbondata.core.datastore.TableSpec;
 import org.apache.carbondata.core.datastore.compression.SnappyCompressor;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
@@ -88,6 +89,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private List<Future<Void>> producerExecutorServiceTaskList;
   private ExecutorService consumerExecutorService;
   private List<Future<Void>> consumerExecutorServiceTaskList;
+  /**
+   * executor which encodes the columns of a page in parallel, null when the columns of a page
+   * are encoded by its producer
+   */
+  private ExecutorService encodingExecutorService;
   private List<CarbonRow> dataRows;
   private int[] noDictColumnPageSize;
   /**
@@ -174,6 +180,13 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         String.format("ConsumerPool:%s, range: %d",
                 model.getTableName(), model.getBucketId()), true));
     consumerExecutorServiceTaskList = new ArrayList<>(1);
+    TableSpec tableSpec = model.getTableSpec();
+    if (numberOfCores > 1 && tableSpec.getNumDimensions() + tableSpec.getNumMeasures()
+        >= CarbonProperties.getLoadParallelPageEncodingThreshold()) {
+      encodingExecutorService = Executors.newFixedThreadPool(numberOfCores,
+          new CarbonThreadFactory(String.format("EncodingPool:%s, range: %d",
+              model.getTableName(), model.getBucketId()), true));
+    }
     semaphore = new Semaphore(numberOfCores);
     tablePageList = new TablePageList();
 
@@ -397,7 +410,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       tablePage.addRow(rowId++, row);
     }
 
-    tablePage.encode();
+    tablePage.encode(encodingExecutorService);
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Number Of records processed: " + dataRows.size());
@@ -437,6 +450,14 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     } catch (InterruptedException e) {
       LOGGER.error(e.getMessage(), e);
       throw new CarbonDataWriterException(e);
+    } finally {
+      shutdownEncodingExecutorService();
+    }
+  }
+
+  private void shutdownEncodingExecutorService() {
+    if (encodingExecutorService != null) {
+      encodingExecutorService.shutdownNow();
     }
   }
 
@@ -500,6 +521,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       this.dataWriter.closeWriter();
     }
     this.dataWriter = null;
+    shutdownEncodingExecutorService();
   }
 
   /**
@@ -644,6 +666,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       } catch (Throwable throwable) {
         LOGGER.error("Error in producer", throwable);
         consumerExecutorService.shutdownNow();
+        shutdownEncodingExecutorService();
         resetBlockletProcessingCount();
         throw new CarbonDataWriterException(throwable.getMessage(), throwable);
       }
@@ -680,6 +703,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         } catch (Throwable throwable) {
           if (!processingComplete || blockletProcessingCount.get() > 0) {
             producerExecutorService.shutdownNow();
+            shutdownEncodingExecutorService();
             resetBlockletProcessingCount();
             LOGGER.error("Problem while writing the carbon data file", throwable);
             throw new CarbonDataWriterException(throwable);
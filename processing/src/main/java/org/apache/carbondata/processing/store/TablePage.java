@@ -24,6 +24,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.datastore.ColumnType;
@@ -320,82 +324,155 @@ public class TablePage {
     return output;
   }
 
-  void encode() throws IOException {
-    // encode dimensions and measure
-    EncodedColumnPage[] dimensions = encodeAndCompressDimensions();
-    EncodedColumnPage[] measures = encodeAndCompressMeasures();
+  /**
+   * Encodes and compresses the columns of the page. When an executor is given each column is
+   * encoded as a separate task of the executor, the encoded pages are kept in the column order.
+   *
+   * @param executorService executor for the column tasks, null to encode in this thread
+   */
+  void encode(ExecutorService executorService) throws IOException {
+    List<Callable<EncodedColumnPage[]>> dimensionTasks = getDimensionEncodeTasks();
+    List<Callable<EncodedColumnPage[]>> measureTasks = getMeasureEncodeTasks();
+    EncodedColumnPage[] dimensions;
+    EncodedColumnPage[] measures;
+    if (executorService == null) {
+      dimensions = callInOrder(dimensionTasks);
+      measures = callInOrder(measureTasks);
+    } else {
+      List<Callable<EncodedColumnPage[]>> tasks = new ArrayList<>(dimensionTasks);
+      tasks.addAll(measureTasks);
+      List<Future<EncodedColumnPage[]>> futures;
+      try {
+        futures = executorService.invokeAll(tasks);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+      dimensions = getInOrder(futures.subList(0, dimensionTasks.size()));
+      measures = getInOrder(futures.subList(dimensionTasks.size(), futures.size()));
+    }
     this.encodedTablePage = EncodedTablePage.newInstance(pageSize, dimensions, measures);
   }
 
+  private static EncodedColumnPage[] callInOrder(List<Callable<EncodedColumnPage[]>> tasks)
+      throws IOException {
+    List<EncodedColumnPage> encodedPages = new ArrayList<>(tasks.size());
+    for (Callable<EncodedColumnPage[]> task : tasks) {
+      try {
+        encodedPages.addAll(Arrays.asList(task.call()));
+      } catch (IOException | RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException(e);
+      }
+    }
+    return encodedPages.toArray(new EncodedColumnPage[encodedPages.size()]);
+  }
+
+  private static EncodedColumnPage[] getInOrder(List<Future<EncodedColumnPage[]>> futures)
+      throws IOException {
+    List<EncodedColumnPage> encodedPages = new ArrayList<>(futures.size());
+    for (Future<EncodedColumnPage[]> future : futures) {
+      try {
+        encodedPages.addAll(Arrays.asList(future.get()));
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        } else if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new IOException(e.getCause());
+      }
+    }
+    return encodedPages.toArray(new EncodedColumnPage[encodedPages.size()]);
+  }
+
   public EncodedTablePage getEncodedTablePage() {
     return encodedTablePage;
   }
 
   // apply measure and set encodedData in `encodedData`
-  private EncodedColumnPage[] encodeAndCompressMeasures() throws IOException {
-    EncodedColumnPage[] encodedMeasures = new EncodedColumnPage[measurePages.length];
+  private List<Callable<EncodedColumnPage[]>> getMeasureEncodeTasks() {
+    List<Callable<EncodedColumnPage[]>> tasks = new ArrayList<>(measurePages.length);
     for (int i = 0; i < measurePages.length; i++) {
-      ColumnPageEncoder encoder = encodingFactory.createEncoder(
-          model.getTableSpec().getMeasureSpec(i), measurePages[i]);
-      encodedMeasures[i] = encoder.encode(measurePages[i]);
+      final TableSpec.MeasureSpec spec = model.getTableSpec().getMeasureSpec(i);
+      final ColumnPage measurePage = measurePages[i];
+      tasks.add(new Callable<EncodedColumnPage[]>() {
+        @Override
+        public EncodedColumnPage[] call() throws IOException {
+          ColumnPageEncoder encoder = encodingFactory.createEncoder(spec, measurePage);
+          return new EncodedColumnPage[] { encoder.encode(measurePage) };
+        }
+      });
     }
-    return encodedMeasures;
+    return tasks;
   }
 
-  // apply and compress each dimension, set encoded data in `encodedData`
-  private EncodedColumnPage[] encodeAndCompressDimensions() throws IOException {
-    List<EncodedColumnPage> encodedDimensions = new ArrayList<>();
-    List<EncodedColumnPage> encodedComplexDimensions = new ArrayList<>();
+  // apply and compress each dimension, complex dimensions are placed after the others
+  private List<Callable<EncodedColumnPage[]>> getDimensionEncodeTasks() {
+    List<Callable<EncodedColumnPage[]>> tasks = new ArrayList<>();
+    List<Callable<EncodedColumnPage[]>> complexTasks = new ArrayList<>();
     TableSpec tableSpec = model.getTableSpec();
     int dictIndex = 0;
     int noDictIndex = 0;
     int complexDimIndex = 0;
     int numDimensions = tableSpec.getNumDimensions();
     for (int i = 0; i < numDimensions; i++) {
-      ColumnPageEncoder columnPageEncoder;
-      EncodedColumnPage encodedPage;
-      TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i);
+      final TableSpec.DimensionSpec spec = tableSpec.getDimensionSpec(i);
       switch (spec.getColumnType()) {
         case DIRECT_DICTIONARY:
-          columnPageEncoder = encodingFactory.createEncoder(
-              spec,
-              dictDimensionPages[dictIndex]);
-          encodedPage = columnPageEncoder.encode(dictDimensionPages[dictIndex++]);
-          encodedDimensions.add(encodedPage);
+          final ColumnPage dictPage = dictDimensionPages[dictIndex++];
+          tasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws IOException {
+              ColumnPageEncoder columnPageEncoder = encodingFactory.createEncoder(spec, dictPage);
+              return new EncodedColumnPage[] { columnPageEncoder.encode(dictPage) };
+            }
+          });
           break;
         case PLAIN_VALUE:
-          columnPageEncoder = encodingFactory.createEncoder(
-              spec,
-              noDictDimensionPages[noDictIndex]);
-          encodedPage = columnPageEncoder.encode(noDictDimensionPages[noDictIndex]);
-          if (LOGGER.isDebugEnabled()) {
-            DataType targetDataType =
-                columnPageEncoder.getTargetDataType(noDictDimensionPages[noDictIndex]);
-            if (null != targetDataType) {
-              LOGGER.debug(
-                  "Encoder result ---> Source data type: " + noDictDimensionPages[noDictIndex]
-                      .getDataType().getName() + " Destination data type: " + targetDataType
-                      .getName() + " for the column: " + noDictDimensionPages[noDictIndex]
-                      .getColumnSpec().getFieldName() + " having encoding type: "
-                      + columnPageEncoder.getEncodingType());
+          final ColumnPage noDictPage = noDictDimensionPages[noDictIndex++];
+          tasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws IOException {
+              return new EncodedColumnPage[] { encodeNoDictionaryPage(spec, noDictPage) };
             }
-          }
-          noDictIndex++;
-          encodedDimensions.add(encodedPage);
+          });
           break;
         case COMPLEX:
-          EncodedColumnPage[] encodedPages = ColumnPageEncoder.encodeComplexColumn(
-              complexDimensionPages[complexDimIndex++]);
-          encodedComplexDimensions.addAll(Arrays.asList(encodedPages));
+          final ComplexColumnPage complexPage = complexDimensionPages[complexDimIndex++];
+          complexTasks.add(new Callable<EncodedColumnPage[]>() {
+            @Override
+            public EncodedColumnPage[] call() throws IOException {
+              return ColumnPageEncoder.encodeComplexColumn(complexPage);
+            }
+          });
           break;
         default:
           throw new IllegalArgumentException("unsupported dimension type:" + spec
               .getColumnType());
       }
     }
+    tasks.addAll(complexTasks);
+    return tasks;
+  }
 
-    encodedDimensions.addAll(encodedComplexDimensions);
-    return encodedDimensions.toArray(new EncodedColumnPage[encodedDimensions.size()]);
+  private EncodedColumnPage encodeNoDictionaryPage(TableSpec.DimensionSpec spec,
+      ColumnPage noDictPage) throws IOException {
+    ColumnPageEncoder columnPageEncoder = encodingFactory.createEncoder(spec, noDictPage);
+    EncodedColumnPage encodedPage = columnPageEncoder.encode(noDictPage);
+    if (LOGGER.isDebugEnabled()) {
+      DataType targetDataType = columnPageEncoder.getTargetDataType(noDictPage);
+      if (null != targetDataType) {
+        LOGGER.debug(
+            "Encoder result ---> Source data type: " + noDictPage.getDataType().getName()
+                + " Destination data type: " + targetDataType.getName() + " for the column: "
+                + noDictPage.getColumnSpec().getFieldName() + " having encoding type: "
+                + columnPageEncoder.getEncodingType());
+      }
+    }
+    return encodedPage;
   }
 
   /**
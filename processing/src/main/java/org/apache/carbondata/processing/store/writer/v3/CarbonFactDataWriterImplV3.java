@@ -19,11 +19,18 @@ package org.apache.carbondata.processing.store.writer.v3;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.constants.CarbonLoadOptionConstants;
 import org.apache.carbondata.core.constants.CarbonVersionConstants;
 import org.apache.carbondata.core.datastore.blocklet.BlockletEncodedColumnPage;
 import org.apache.carbondata.core.datastore.blocklet.EncodedBlocklet;
@@ -35,6 +42,7 @@ import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
 import org.apache.carbondata.core.metadata.index.BlockIndexInfo;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataFileFooterConverterV3;
 import org.apache.carbondata.format.BlockletInfo3;
@@ -67,6 +75,19 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
    */
   private BlockletDataHolder blockletDataHolder;
 
+  /**
+   * holder of the blocklet being written by blockletWriterService, the pages of the next
+   * blocklet are added to blockletDataHolder meanwhile
+   */
+  private BlockletDataHolder writingDataHolder;
+
+  /**
+   * writes the blocklets to file, null if the blocklets are written synchronously
+   */
+  private ExecutorService blockletWriterService;
+
+  private Future<Void> blockletWriteFuture;
+
   /**
    * Threshold of blocklet size in MB
    */
@@ -92,6 +113,14 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
       LOGGER.info("Blocklet size configure for table is: " + blockletSizeThreshold);
     }
     blockletDataHolder = new BlockletDataHolder(fallbackExecutorService, model);
+    boolean isAsyncBlockletWrite = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE,
+            CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE_DEFAULT));
+    if (isAsyncBlockletWrite) {
+      writingDataHolder = new BlockletDataHolder(fallbackExecutorService, model);
+      blockletWriterService = Executors.newFixedThreadPool(1,
+          new CarbonThreadFactory("BlockletWriterPool:" + model.getTableName(), true));
+    }
     if (model.getSortScope() != null) {
       isSorted = model.getSortScope() != NO_SORT;
     }
@@ -101,6 +130,7 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
   @Override
   protected void writeFooterToFile() throws CarbonDataWriterException {
     try {
+      waitForBlockletWrite();
       // get the current file position
       long footerOffset = currentOffsetInFile;
       // get thrift file footer instance
@@ -199,12 +229,12 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
    */
   private void writeBlockletToFile() {
     // get the list of all encoded table page
-    EncodedBlocklet encodedBlocklet = blockletDataHolder.getEncodedBlocklet();
+    final EncodedBlocklet encodedBlocklet = blockletDataHolder.getEncodedBlocklet();
     int numDimensions = encodedBlocklet.getNumberOfDimension();
     int numMeasures = encodedBlocklet.getNumberOfMeasure();
 
     // get data chunks for all the column
-    byte[][] dataChunkBytes = new byte[numDimensions + numMeasures][];
+    final byte[][] dataChunkBytes = new byte[numDimensions + numMeasures][];
     long metadataSize = fillDataChunk(encodedBlocklet, dataChunkBytes);
     // calculate the total size of data to be written
     long blockletSize = blockletDataHolder.getSize() + metadataSize;
@@ -212,12 +242,34 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     createNewFileIfReachThreshold(blockletSize);
 
     // write data to file
+    final BlockletDataHolder dataHolder = blockletDataHolder;
+    boolean isWrittenAsync = false;
     try {
       if (currentOffsetInFile == 0) {
         // write the header if file is empty
         writeHeaderToFile();
       }
-      writeBlockletToFile(dataChunkBytes);
+      addBlockletMetadata(encodedBlocklet, dataChunkBytes);
+      if (blockletWriterService != null) {
+        waitForBlockletWrite();
+        final WritableByteChannel channel = fileChannel;
+        blockletWriteFuture = blockletWriterService.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            try {
+              writeBlockletToFile(channel, encodedBlocklet, dataChunkBytes);
+            } finally {
+              dataHolder.clear();
+            }
+            return null;
+          }
+        });
+        isWrittenAsync = true;
+        blockletDataHolder = writingDataHolder;
+        writingDataHolder = dataHolder;
+      } else {
+        writeBlockletToFile(fileChannel, encodedBlocklet, dataChunkBytes);
+      }
       if (listener != null &&
           model.getDatabaseName().equalsIgnoreCase(listener.getTblIdentifier().getDatabaseName()) &&
           model.getTableName().equalsIgnoreCase(listener.getTblIdentifier().getTableName())) {
@@ -229,11 +281,29 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
       throw new CarbonDataWriterException("Problem while writing file", e);
     } finally {
       // clear the data holder
-      blockletDataHolder.clear();
+      if (!isWrittenAsync) {
+        dataHolder.clear();
+      }
     }
 
   }
 
+  /**
+   * Wait till the blocklet being written by blockletWriterService is written
+   */
+  private void waitForBlockletWrite() throws CarbonDataWriterException {
+    if (blockletWriteFuture != null) {
+      try {
+        blockletWriteFuture.get();
+      } catch (InterruptedException | ExecutionException e) {
+        LOGGER.error("Problem while writing file", e);
+        throw new CarbonDataWriterException("Problem while writing file", e);
+      } finally {
+        blockletWriteFuture = null;
+      }
+    }
+  }
+
   /**
    * Fill dataChunkBytes and return total size of page metadata
    */
@@ -269,62 +339,39 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
   }
 
   /**
-   * Write one blocklet data into file
-   * File format:
-   * <Column1 Data ChunkV3><Column1<Page1><Page2><Page3><Page4>>
-   * <Column2 Data ChunkV3><Column2<Page1><Page2><Page3><Page4>>
-   * <Column3 Data ChunkV3><Column3<Page1><Page2><Page3><Page4>>
-   * <Column4 Data ChunkV3><Column4<Page1><Page2><Page3><Page4>>
+   * Add the metadata of the blocklet which is written at the current offset of the file, and
+   * move the offset to the end of the blocklet
    */
-  private void writeBlockletToFile(byte[][] dataChunkBytes)
-      throws IOException {
+  private void addBlockletMetadata(EncodedBlocklet encodedBlocklet, byte[][] dataChunkBytes) {
     long offset = currentOffsetInFile;
     // to maintain the offset of each data chunk in blocklet
     List<Long> currentDataChunksOffset = new ArrayList<>();
     // to maintain the length of each data chunk in blocklet
     List<Integer> currentDataChunksLength = new ArrayList<>();
-    EncodedBlocklet encodedBlocklet = blockletDataHolder.getEncodedBlocklet();
     int numberOfDimension = encodedBlocklet.getNumberOfDimension();
     int numberOfMeasures = encodedBlocklet.getNumberOfMeasure();
-    ByteBuffer buffer = null;
-    long dimensionOffset = 0;
-    long measureOffset = 0;
     for (int i = 0; i < numberOfDimension; i++) {
       currentDataChunksOffset.add(offset);
       currentDataChunksLength.add(dataChunkBytes[i].length);
-      buffer = ByteBuffer.wrap(dataChunkBytes[i]);
-      currentOffsetInFile += fileChannel.write(buffer);
       offset += dataChunkBytes[i].length;
-      BlockletEncodedColumnPage blockletEncodedColumnPage =
-          encodedBlocklet.getEncodedDimensionColumnPages().get(i);
-      for (EncodedColumnPage dimensionPage : blockletEncodedColumnPage
-          .getEncodedColumnPageList()) {
-        buffer = dimensionPage.getEncodedData();
-        int bufferSize = buffer.limit();
-        currentOffsetInFile += fileChannel.write(buffer);
-        offset += bufferSize;
+      for (EncodedColumnPage dimensionPage : encodedBlocklet.getEncodedDimensionColumnPages()
+          .get(i).getEncodedColumnPageList()) {
+        offset += dimensionPage.getEncodedData().remaining();
       }
     }
-    dimensionOffset = offset;
-    int dataChunkStartIndex = encodedBlocklet.getNumberOfDimension();
+    long dimensionOffset = offset;
     for (int i = 0; i < numberOfMeasures; i++) {
+      int dataChunkIndex = numberOfDimension + i;
       currentDataChunksOffset.add(offset);
-      currentDataChunksLength.add(dataChunkBytes[dataChunkStartIndex].length);
-      buffer = ByteBuffer.wrap(dataChunkBytes[dataChunkStartIndex]);
-      currentOffsetInFile += fileChannel.write(buffer);
-      offset += dataChunkBytes[dataChunkStartIndex].length;
-      dataChunkStartIndex++;
-      BlockletEncodedColumnPage blockletEncodedColumnPage =
-          encodedBlocklet.getEncodedMeasureColumnPages().get(i);
-      for (EncodedColumnPage measurePage : blockletEncodedColumnPage
-          .getEncodedColumnPageList()) {
-        buffer = measurePage.getEncodedData();
-        int bufferSize = buffer.limit();
-        currentOffsetInFile += fileChannel.write(buffer);
-        offset += bufferSize;
+      currentDataChunksLength.add(dataChunkBytes[dataChunkIndex].length);
+      offset += dataChunkBytes[dataChunkIndex].length;
+      for (EncodedColumnPage measurePage : encodedBlocklet.getEncodedMeasureColumnPages()
+          .get(i).getEncodedColumnPageList()) {
+        offset += measurePage.getEncodedData().remaining();
       }
     }
-    measureOffset = offset;
+    long measureOffset = offset;
+    currentOffsetInFile = offset;
     blockletIndex.add(
         CarbonMetadataUtil.getBlockletIndex(
             encodedBlocklet, model.getSegmentProperties().getMeasures()));
@@ -342,6 +389,38 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
     blockletMetadata.add(blockletInfo3);
   }
 
+  /**
+   * Write one blocklet data into file
+   * File format:
+   * <Column1 Data ChunkV3><Column1<Page1><Page2><Page3><Page4>>
+   * <Column2 Data ChunkV3><Column2<Page1><Page2><Page3><Page4>>
+   * <Column3 Data ChunkV3><Column3<Page1><Page2><Page3><Page4>>
+   * <Column4 Data ChunkV3><Column4<Page1><Page2><Page3><Page4>>
+   */
+  private static void writeBlockletToFile(WritableByteChannel channel,
+      EncodedBlocklet encodedBlocklet, byte[][] dataChunkBytes) throws IOException {
+    int numberOfDimension = encodedBlocklet.getNumberOfDimension();
+    int numberOfMeasures = encodedBlocklet.getNumberOfMeasure();
+    for (int i = 0; i < numberOfDimension; i++) {
+      channel.write(ByteBuffer.wrap(dataChunkBytes[i]));
+      BlockletEncodedColumnPage blockletEncodedColumnPage =
+          encodedBlocklet.getEncodedDimensionColumnPages().get(i);
+      for (EncodedColumnPage dimensionPage : blockletEncodedColumnPage
+          .getEncodedColumnPageList()) {
+        channel.write(dimensionPage.getEncodedData());
+      }
+    }
+    for (int i = 0; i < numberOfMeasures; i++) {
+      channel.write(ByteBuffer.wrap(dataChunkBytes[numberOfDimension + i]));
+      BlockletEncodedColumnPage blockletEncodedColumnPage =
+          encodedBlocklet.getEncodedMeasureColumnPages().get(i);
+      for (EncodedColumnPage measurePage : blockletEncodedColumnPage
+          .getEncodedColumnPageList()) {
+        channel.write(measurePage.getEncodedData());
+      }
+    }
+  }
+
   /**
    * Below method will be used to fill the block info details
    *
@@ -384,12 +463,16 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
   public void closeWriter() throws CarbonDataWriterException {
     CarbonDataWriterException exception = null;
     try {
+      waitForBlockletWrite();
       commitCurrentFile(true);
       writeIndexFile();
     } catch (Exception e) {
       LOGGER.error("Problem while writing the index file", e);
       exception = new CarbonDataWriterException("Problem while writing the index file", e);
     } finally {
+      if (blockletWriterService != null) {
+        blockletWriterService.shutdownNow();
+      }
       try {
         closeExecutorService();
       } catch (CarbonDataWriterException e) {
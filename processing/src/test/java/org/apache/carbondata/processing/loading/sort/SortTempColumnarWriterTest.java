@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SortTempColumnarWriterTest {
+
+  private static final DataType[] SORT_COLUMN_TYPES = new DataType[] {
+      DataTypes.STRING, DataTypes.INT, DataTypes.LONG, DataTypes.DOUBLE, DataTypes.DATE };
+
+  private final Random random = new Random(3);
+
+  private static SortStepRowHandler createSortStepRowHandler() {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    boolean[] noDictionaryColMapping = new boolean[SORT_COLUMN_TYPES.length];
+    boolean[] sortColumnMapping = new boolean[SORT_COLUMN_TYPES.length];
+    int noDictionaryCount = 0;
+    for (int i = 0; i < SORT_COLUMN_TYPES.length; i++) {
+      sortColumns.add(builder.addColumn(
+          new StructField("c" + i, SORT_COLUMN_TYPES[i]), valIndex, true, false));
+      noDictionaryColMapping[i] = SORT_COLUMN_TYPES[i] != DataTypes.DATE;
+      sortColumnMapping[i] = true;
+      if (noDictionaryColMapping[i]) {
+        noDictionaryCount++;
+      }
+    }
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField("m", DataTypes.LONG), valIndex, false, false);
+    builder.tableName("t");
+    CarbonTable table = CarbonTable.builder().tableName("t").databaseName("default")
+        .tablePath(System.getProperty("java.io.tmpdir")).isTransactionalTable(false)
+        .tableSchema(builder.build()).build();
+    SortParameters parameters = SortParameters.createSortParameters(table, "default", "t",
+        SORT_COLUMN_TYPES.length, 0, 1, noDictionaryCount, "0", "0", noDictionaryColMapping,
+        sortColumnMapping, new boolean[SORT_COLUMN_TYPES.length], false, 1);
+    return new SortStepRowHandler(new TableFieldStat(parameters));
+  }
+
+  private Object nextOrNull(Object value) {
+    return random.nextInt(10) == 0 ? null : value;
+  }
+
+  private Object[][] nextRows(int count) {
+    Object[][] rows = new Object[count][];
+    for (int i = 0; i < count; i++) {
+      byte[] string = new byte[random.nextInt(20)];
+      random.nextBytes(string);
+      long longValue = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(1000);
+      rows[i] = new Object[] { string, nextOrNull(random.nextInt()), nextOrNull(longValue),
+          nextOrNull(random.nextDouble()), random.nextInt(100), (long) i };
+    }
+    return rows;
+  }
+
+  /**
+   * Writes the rows in row format and in column batches, and checks that both give the same
+   * rows when read back
+   */
+  private void assertSameAsRowFormat(Object[][] rows, int batchSize) throws Exception {
+    SortStepRowHandler handler = createSortStepRowHandler();
+    ReUsableByteArrayDataOutputStream packStream =
+        new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+    ByteArrayOutputStream columnarBytes = new ByteArrayOutputStream();
+    DataOutputStream rowStream = new DataOutputStream(rowBytes);
+    DataOutputStream columnarStream = new DataOutputStream(columnarBytes);
+    SortTempColumnarWriter writer =
+        new SortTempColumnarWriter(handler, columnarStream, batchSize);
+    for (Object[] row : rows) {
+      handler.writeRawRowAsIntermediateSortTempRowToOutputStream(row, rowStream, packStream);
+      writer.write(handler.convertRawRowToIntermediateSortTempRow(row, packStream));
+    }
+    writer.finish();
+
+    DataInputStream expectedStream =
+        new DataInputStream(new ByteArrayInputStream(rowBytes.toByteArray()));
+    SortTempColumnarReader reader = new SortTempColumnarReader(handler,
+        new DataInputStream(new ByteArrayInputStream(columnarBytes.toByteArray())));
+    IntermediateSortTempRow[] expectedRows = new IntermediateSortTempRow[rows.length];
+    IntermediateSortTempRow[] actualRows = new IntermediateSortTempRow[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      boolean convertNoSortFields = i % 2 == 0;
+      expectedRows[i] = convertNoSortFields ?
+          handler.readWithNoSortFieldConvert(expectedStream) :
+          handler.readWithoutNoSortFieldConvert(expectedStream);
+      actualRows[i] = reader.read(convertNoSortFields);
+    }
+    // rows are checked after all are read, as the reader reuses its arrays for the next rows
+    for (int i = 0; i < rows.length; i++) {
+      boolean convertNoSortFields = i % 2 == 0;
+      IntermediateSortTempRow expected = expectedRows[i];
+      IntermediateSortTempRow actual = actualRows[i];
+      assertArrayEquals(expected.getDictSortDims(), actual.getDictSortDims());
+      assertArrayEquals(expected.getNoDictSortDims(), actual.getNoDictSortDims());
+      assertArrayEquals(expected.getMeasures(), actual.getMeasures());
+      if (!convertNoSortFields) {
+        assertArrayEquals(expected.getNoSortDimsAndMeasures(), actual.getNoSortDimsAndMeasures());
+      }
+    }
+    assertEquals(0, expectedStream.available());
+  }
+
+  @Test public void testSameRowsAsRowFormat() throws Exception {
+    assertSameAsRowFormat(nextRows(1000), 64);
+    assertSameAsRowFormat(nextRows(100), 1000);
+  }
+
+  @Test public void testBatchOfSameValues() throws Exception {
+    Object[][] rows = new Object[20][];
+    for (int i = 0; i < rows.length; i++) {
+      rows[i] = new Object[] { new byte[] { 1, 2 }, null, 5L, 1.5d, 7, 9L };
+    }
+    assertSameAsRowFormat(rows, 8);
+  }
+}
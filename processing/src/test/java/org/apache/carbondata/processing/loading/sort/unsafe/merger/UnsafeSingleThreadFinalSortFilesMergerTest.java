@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixSorter;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class UnsafeSingleThreadFinalSortFilesMergerTest {
+
+  private final Random random = new Random(11);
+
+  @After
+  public void tearDown() {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD,
+        CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD_DEFAULT);
+  }
+
+  /**
+   * Holder of sorted int keys, the key is kept as the first dictionary sort column
+   */
+  private static final class IntHolder implements SortTempChunkHolder {
+
+    private final int[] keys;
+
+    private int index;
+
+    private IntermediateSortTempRow row;
+
+    private boolean closed;
+
+    IntHolder(int[] keys) {
+      this.keys = keys;
+    }
+
+    @Override public boolean hasNext() {
+      return index < keys.length;
+    }
+
+    @Override public void readRow() {
+      row = new IntermediateSortTempRow(new int[] { keys[index++] }, new Object[0], new Object[0]);
+    }
+
+    @Override public IntermediateSortTempRow getRow() {
+      return row;
+    }
+
+    @Override public int numberOfRows() {
+      return keys.length;
+    }
+
+    @Override public void close() {
+      closed = true;
+    }
+
+    @Override public int compareTo(SortTempChunkHolder other) {
+      return Integer.compare(row.getDictSortDims()[0], other.getRow().getDictSortDims()[0]);
+    }
+  }
+
+  @Test public void testLoserTreeMergesAllHolders() throws Exception {
+    for (int numberOfHolders = 1; numberOfHolders <= 9; numberOfHolders++) {
+      List<IntHolder> holders = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < numberOfHolders; i++) {
+        int[] keys = new int[1 + random.nextInt(50)];
+        for (int j = 0; j < keys.length; j++) {
+          keys[j] = random.nextInt(20);
+          expected.add(keys[j]);
+        }
+        Arrays.sort(keys);
+        IntHolder holder = new IntHolder(keys);
+        holder.readRow();
+        holders.add(holder);
+      }
+      Collections.sort(expected);
+      SortTempChunkHolderLoserTree tree = new SortTempChunkHolderLoserTree(holders);
+      List<Integer> actual = new ArrayList<>();
+      while (tree.hasNext()) {
+        actual.add(tree.next().getDictSortDims()[0]);
+      }
+      assertEquals(expected, actual);
+      for (IntHolder holder : holders) {
+        assertFalse(holder.hasNext());
+        assertEquals(true, holder.closed);
+      }
+    }
+  }
+
+  @Test public void testEmptyLoserTree() {
+    assertFalse(new SortTempChunkHolderLoserTree(new ArrayList<IntHolder>()).hasNext());
+  }
+
+  /**
+   * Returns the sort keys given by the final merge of sorted pages with an int sort column
+   */
+  private List<Integer> mergePages(int numberOfPages, int numberOfCores, List<Integer> expected)
+      throws Exception {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    sortColumns.add(
+        builder.addColumn(new StructField("id", DataTypes.INT), valIndex, true, false));
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField("value", DataTypes.LONG), valIndex, false, false);
+    builder.tableName("t");
+    CarbonTable table = CarbonTable.builder().tableName("t").databaseName("default")
+        .tablePath(System.getProperty("java.io.tmpdir")).isTransactionalTable(false)
+        .tableSchema(builder.build()).build();
+    SortParameters parameters = SortParameters.createSortParameters(table, "default", "t",
+        1, 0, 1, 1, "0", "0", new boolean[] { true }, new boolean[] { true },
+        new boolean[] { false }, false, numberOfCores);
+    TableFieldStat tableFieldStat = new TableFieldStat(parameters);
+    String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    ReUsableByteArrayDataOutputStream stream =
+        new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    UnsafeCarbonRowPage[] rowPages = new UnsafeCarbonRowPage[numberOfPages];
+    for (int i = 0; i < numberOfPages; i++) {
+      int rows = 1 + random.nextInt(300);
+      rowPages[i] = new UnsafeCarbonRowPage(tableFieldStat,
+          UnsafeMemoryManager.allocateMemoryWithRetry(taskId, rows * 64L), taskId);
+      for (int j = 0; j < rows; j++) {
+        int key = random.nextInt(1000);
+        rowPages[i].addRow(new Object[] { key, (long) j }, stream);
+        expected.add(key);
+      }
+      UnsafeRowPrefixSorter.sort(rowPages[i], new UnsafeRowComparator(rowPages[i]));
+    }
+    Collections.sort(expected);
+    UnsafeSingleThreadFinalSortFilesMerger merger =
+        new UnsafeSingleThreadFinalSortFilesMerger(parameters, new String[0]);
+    List<Integer> actual = new ArrayList<>();
+    try {
+      merger.startFinalMerge(rowPages, new ArrayList<UnsafeInMemoryIntermediateDataMerger>());
+      while (merger.hasNext()) {
+        actual.add((Integer) ((Object[]) merger.next()[1])[0]);
+      }
+    } finally {
+      merger.clear();
+    }
+    return actual;
+  }
+
+  @Test public void testSingleThreadFinalMerge() throws Exception {
+    List<Integer> expected = new ArrayList<>();
+    assertEquals(expected, mergePages(5, 4, expected));
+  }
+
+  @Test public void testParallelFinalMerge() throws Exception {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_SORT_PARALLEL_FINAL_MERGE_THRESHOLD, "4");
+    List<Integer> expected = new ArrayList<>();
+    assertEquals(expected, mergePages(23, 4, expected));
+  }
+}
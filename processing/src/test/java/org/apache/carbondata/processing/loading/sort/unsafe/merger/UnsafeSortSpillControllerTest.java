@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.merger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
+import org.apache.carbondata.core.util.DataLoadMetrics;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class UnsafeSortSpillControllerTest {
+
+  private static final String TASK_ID = "UnsafeSortSpillControllerTest";
+
+  @Test public void testSortedPageIsKeptInMemoryWhenItFits() {
+    UnsafeSortSpillController controller =
+        new UnsafeSortSpillController(new SortParameters(), 1024);
+    assertFalse(controller.isMemoryPressure());
+    MemoryBlock memoryBlock = controller.allocateSortedPage(TASK_ID, 1024);
+    assertNotNull(memoryBlock);
+    UnsafeSortMemoryManager.INSTANCE.freeMemory(TASK_ID, memoryBlock);
+  }
+
+  @Test public void testSortedPageIsSpilledWhenMemoryIsFull() {
+    long usableMemory = UnsafeSortMemoryManager.INSTANCE.getUsableMemory();
+    UnsafeSortSpillController controller =
+        new UnsafeSortSpillController(new SortParameters(), usableMemory);
+    assertTrue(controller.isMemoryPressure());
+    assertNull(controller.allocateSortedPage(TASK_ID, usableMemory + 1));
+  }
+
+  @Test public void testSpilledFilesAreAddedToMetrics() throws Exception {
+    SortParameters parameters = new SortParameters();
+    DataLoadMetrics metrics = new DataLoadMetrics();
+    parameters.setMetrics(metrics);
+    UnsafeSortSpillController controller = new UnsafeSortSpillController(parameters, 1024);
+    File file = File.createTempFile("spill", ".sorttemp");
+    try {
+      FileOutputStream stream = new FileOutputStream(file);
+      stream.write(new byte[100]);
+      stream.close();
+      controller.addSpilledFile(file);
+      controller.addSpilledFile(file);
+    } finally {
+      file.delete();
+    }
+    assertEquals(200, controller.getSpillBytes());
+    assertEquals(200, metrics.getSpillBytes());
+    assertEquals(2, metrics.getSpillFileCount());
+  }
+}
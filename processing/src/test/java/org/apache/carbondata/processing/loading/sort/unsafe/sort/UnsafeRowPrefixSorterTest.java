@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparatorForNormalDims;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class UnsafeRowPrefixSorterTest {
+
+  private static final int ROWS = 2000;
+
+  private final Random random = new Random(7);
+
+  /**
+   * Adds the rows to a page of a table having the given sort columns, and checks that the
+   * prefix sort gives the same order as TimSort with the row comparator
+   */
+  private static void assertSameAsTimSort(DataType[] sortColumnTypes, Object[][] rows)
+      throws Exception {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    boolean[] noDictionaryColMapping = new boolean[sortColumnTypes.length];
+    boolean[] sortColumnMapping = new boolean[sortColumnTypes.length];
+    int noDictionaryCount = 0;
+    for (int i = 0; i < sortColumnTypes.length; i++) {
+      sortColumns.add(builder.addColumn(
+          new StructField("c" + i, sortColumnTypes[i]), valIndex, true, false));
+      noDictionaryColMapping[i] = sortColumnTypes[i] != DataTypes.DATE;
+      sortColumnMapping[i] = true;
+      if (noDictionaryColMapping[i]) {
+        noDictionaryCount++;
+      }
+    }
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField("m", DataTypes.LONG), valIndex, false, false);
+    builder.tableName("t");
+    CarbonTable table = CarbonTable.builder().tableName("t").databaseName("default")
+        .tablePath(System.getProperty("java.io.tmpdir")).isTransactionalTable(false)
+        .tableSchema(builder.build()).build();
+    SortParameters parameters = SortParameters.createSortParameters(table, "default", "t",
+        sortColumnTypes.length, 0, 1, noDictionaryCount, "0", "0", noDictionaryColMapping,
+        sortColumnMapping, new boolean[sortColumnTypes.length], false, 1);
+    TableFieldStat tableFieldStat = new TableFieldStat(parameters);
+
+    String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    UnsafeCarbonRowPage rowPage = new UnsafeCarbonRowPage(tableFieldStat,
+        UnsafeMemoryManager.allocateMemoryWithRetry(taskId, rows.length * 128L), taskId);
+    try {
+      ReUsableByteArrayDataOutputStream stream =
+          new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+      for (Object[] row : rows) {
+        rowPage.addRow(row, stream);
+      }
+      Comparator<UnsafeCarbonRow> comparator = parameters.getNumberOfNoDictSortColumns() > 0 ?
+          new UnsafeRowComparator(rowPage) : new UnsafeRowComparatorForNormalDims(rowPage);
+      IntPointerBuffer buffer = rowPage.getBuffer();
+      int size = buffer.getActualSize();
+      int[] unsorted = Arrays.copyOf(buffer.getPointerBlock(), size);
+
+      new TimSort<>(new UnsafeIntSortDataFormat(rowPage)).sort(buffer, 0, size, comparator);
+      int[] expected = Arrays.copyOf(buffer.getPointerBlock(), size);
+      System.arraycopy(unsorted, 0, buffer.getPointerBlock(), 0, size);
+      UnsafeRowPrefixSorter.sort(rowPage, comparator);
+      assertArrayEquals(expected, Arrays.copyOf(buffer.getPointerBlock(), size));
+    } finally {
+      rowPage.freeMemory();
+    }
+  }
+
+  /**
+   * Returns strings sharing a long prefix, some are shorter than the prefix and some end
+   * with 0 bytes so that they tie with the shorter ones in the sort prefix
+   */
+  private byte[] nextBytes() {
+    byte[] value = new byte[10 + random.nextInt(8)];
+    Arrays.fill(value, (byte) 'a');
+    for (int i = 10; i < value.length; i++) {
+      value[i] = (byte) (random.nextInt(3) == 0 ? 0 : random.nextInt(256));
+    }
+    return random.nextInt(20) == 0 ? Arrays.copyOf(value, random.nextInt(10)) : value;
+  }
+
+  private Object nextOrNull(Object value) {
+    return random.nextInt(10) == 0 ? null : value;
+  }
+
+  @Test public void testStringAndIntSortColumns() throws Exception {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = new Object[] { nextBytes(), nextOrNull(random.nextInt(5)), (long) i };
+    }
+    assertSameAsTimSort(new DataType[] { DataTypes.STRING, DataTypes.INT }, rows);
+  }
+
+  @Test public void testIntSortColumn() throws Exception {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      int value = i % 3 == 0 ? random.nextInt() : random.nextInt(100) - 50;
+      rows[i] = new Object[] { nextOrNull(value), (long) i };
+    }
+    rows[0][0] = Integer.MIN_VALUE;
+    rows[1][0] = Integer.MAX_VALUE;
+    assertSameAsTimSort(new DataType[] { DataTypes.INT }, rows);
+  }
+
+  @Test public void testDoubleSortColumn() throws Exception {
+    double[] specials = { -0.0d, 0.0d, Double.NaN, Double.NEGATIVE_INFINITY,
+        Double.POSITIVE_INFINITY, Double.MIN_VALUE, -Double.MAX_VALUE };
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      double value = i % 5 == 0 ? specials[random.nextInt(specials.length)] :
+          random.nextInt(200) / 4.0d - 25;
+      rows[i] = new Object[] { nextOrNull(value), (long) i };
+    }
+    assertSameAsTimSort(new DataType[] { DataTypes.DOUBLE }, rows);
+  }
+
+  @Test public void testLongAndStringSortColumns() throws Exception {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      long value = i % 7 == 0 ? Long.MIN_VALUE : random.nextInt(50) - 25L;
+      rows[i] = new Object[] { nextOrNull(value), nextBytes(), (long) i };
+    }
+    assertSameAsTimSort(new DataType[] { DataTypes.LONG, DataTypes.STRING }, rows);
+  }
+
+  @Test public void testDictionarySortColumns() throws Exception {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = new Object[] { 1 + random.nextInt(30), 1 + random.nextInt(1 << 20), (long) i };
+    }
+    assertSameAsTimSort(new DataType[] { DataTypes.DATE, DataTypes.DATE }, rows);
+  }
+
+  @Test public void testDictionaryAndStringSortColumns() throws Exception {
+    Object[][] rows = new Object[ROWS][];
+    for (int i = 0; i < ROWS; i++) {
+      rows[i] = new Object[] { 1 + random.nextInt(30), nextBytes(), (long) i };
+    }
+    assertSameAsTimSort(new DataType[] { DataTypes.DATE, DataTypes.STRING }, rows);
+  }
+}
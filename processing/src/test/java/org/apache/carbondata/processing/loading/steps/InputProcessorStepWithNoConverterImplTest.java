@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.steps;
+
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.processing.loading.DataField;
+import org.apache.carbondata.processing.loading.steps.InputProcessorStepWithNoConverterImpl.ColumnConversion;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InputProcessorStepWithNoConverterImplTest {
+
+  private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+  private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+  private static DataField createDataField(String name, DataType dataType, boolean dimension,
+      int ordinal) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnUniqueId(name);
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(dimension);
+    DataField dataField = dimension ?
+        new DataField(new CarbonDimension(columnSchema, ordinal, ordinal)) :
+        new DataField(new CarbonMeasure(columnSchema, ordinal));
+    dataField.setDateFormat(DATE_FORMAT);
+    dataField.setTimestampFormat(TIMESTAMP_FORMAT);
+    return dataField;
+  }
+
+  /**
+   * dimensions first and measures last, as the data fields of a load
+   */
+  private static DataField[] createDataFields() {
+    return new DataField[] {
+        createDataField("name", DataTypes.STRING, true, 0),
+        createDataField("id", DataTypes.INT, true, 1),
+        createDataField("birthday", DataTypes.DATE, true, 2),
+        createDataField("geo", DataTypes.LONG, true, 3),
+        createDataField("tags", DataTypes.createArrayType(DataTypes.STRING), true, 4),
+        createDataField("updated", DataTypes.TIMESTAMP, true, 5),
+        createDataField("salary", DataTypes.DOUBLE, false, 0) };
+  }
+
+  /**
+   * data types of the data fields as set by the step, with int for date
+   */
+  private static DataType[] getDataTypes(DataField[] dataFields) {
+    DataType[] dataTypes = new DataType[dataFields.length];
+    for (int i = 0; i < dataFields.length; i++) {
+      DataType dataType = dataFields[i].getColumn().getDataType();
+      dataTypes[i] = dataType == DataTypes.DATE ? DataTypes.INT : dataType;
+    }
+    return dataTypes;
+  }
+
+  @Test
+  public void testColumnConversions() {
+    DataField[] dataFields = createDataFields();
+    ColumnConversion[] conversions = InputProcessorStepWithNoConverterImpl.getColumnConversions(
+        dataFields, getDataTypes(dataFields),
+        CarbonDataProcessorUtil.getNoDictionaryMapping(dataFields), false, " geo ", false);
+    assertArrayEquals(new ColumnConversion[] {
+        ColumnConversion.NO_DICTIONARY_BYTES,
+        ColumnConversion.AS_IS,
+        ColumnConversion.DATE_OR_AS_IS,
+        ColumnConversion.SKIP,
+        ColumnConversion.COMPLEX,
+        // the mapping of no dictionary columns stops at the complex column
+        ColumnConversion.TIMESTAMP_OR_AS_IS,
+        ColumnConversion.AS_IS }, conversions);
+  }
+
+  @Test
+  public void testColumnConversionsOfHivePartitionTable() {
+    DataField[] dataFields = createDataFields();
+    ColumnConversion[] conversions = InputProcessorStepWithNoConverterImpl.getColumnConversions(
+        dataFields, getDataTypes(dataFields),
+        CarbonDataProcessorUtil.getNoDictionaryMapping(dataFields), false, null, true);
+    assertArrayEquals(new ColumnConversion[] {
+        ColumnConversion.NO_DICTIONARY_BYTES,
+        ColumnConversion.AS_IS,
+        ColumnConversion.DATE_OR_AS_IS,
+        ColumnConversion.AS_IS,
+        ColumnConversion.AS_IS,
+        ColumnConversion.TIMESTAMP_OR_AS_IS,
+        ColumnConversion.AS_IS }, conversions);
+  }
+
+  @Test
+  public void testColumnConversionsWithoutReArrange() {
+    DataField[] dataFields = createDataFields();
+    ColumnConversion[] conversions = InputProcessorStepWithNoConverterImpl.getColumnConversions(
+        dataFields, getDataTypes(dataFields), null, true, "geo", false);
+    assertArrayEquals(new ColumnConversion[] {
+        ColumnConversion.NO_DICTIONARY_BYTES,
+        ColumnConversion.AS_IS,
+        ColumnConversion.AS_IS,
+        ColumnConversion.AS_IS,
+        ColumnConversion.COMPLEX,
+        ColumnConversion.AS_IS,
+        ColumnConversion.AS_IS }, conversions);
+    DataType[] dataTypes = new DataType[] { DataTypes.DATE, DataTypes.VARCHAR };
+    conversions = InputProcessorStepWithNoConverterImpl.getColumnConversions(
+        new DataField[] { dataFields[2], dataFields[0] }, dataTypes, null, true, null, false);
+    assertArrayEquals(new ColumnConversion[] {
+        ColumnConversion.DATE_OR_BYTES, ColumnConversion.NO_DICTIONARY_BYTES }, conversions);
+  }
+
+  @Test
+  public void testConvertValue() {
+    DataField[] dataFields = createDataFields();
+    Object value = 10;
+    assertSame(value, InputProcessorStepWithNoConverterImpl
+        .convertValue(ColumnConversion.AS_IS, value, DataTypes.INT, null));
+    assertNull(InputProcessorStepWithNoConverterImpl
+        .convertValue(ColumnConversion.SKIP, 10L, DataTypes.LONG, null));
+    assertArrayEquals(DataTypeUtil.getBytesDataDataTypeForNoDictionaryColumn("a", DataTypes.STRING),
+        (byte[]) InputProcessorStepWithNoConverterImpl
+            .convertValue(ColumnConversion.NO_DICTIONARY_BYTES, "a", DataTypes.STRING, null));
+
+    long time = 1577836800000L;
+    DirectDictionaryGenerator dateGenerator = InputProcessorStepWithNoConverterImpl
+        .getDirectDictionaryGenerator(ColumnConversion.DATE_OR_AS_IS, dataFields[2]);
+    int dateKey = DirectDictionaryKeyGeneratorFactory
+        .getDirectDictionaryGenerator(DataTypes.DATE, DATE_FORMAT).generateKey(time);
+    assertEquals(dateKey, InputProcessorStepWithNoConverterImpl
+        .convertValue(ColumnConversion.DATE_OR_AS_IS, time, DataTypes.INT, dateGenerator));
+    assertSame(value, InputProcessorStepWithNoConverterImpl
+        .convertValue(ColumnConversion.DATE_OR_AS_IS, value, DataTypes.INT, dateGenerator));
+    assertEquals(dateKey, InputProcessorStepWithNoConverterImpl
+        .convertValue(ColumnConversion.DATE_OR_BYTES, time, DataTypes.DATE, dateGenerator));
+    assertArrayEquals(DataTypeUtil.getBytesDataDataTypeForNoDictionaryColumn(value, DataTypes.INT),
+        (byte[]) InputProcessorStepWithNoConverterImpl
+            .convertValue(ColumnConversion.DATE_OR_BYTES, value, DataTypes.INT, dateGenerator));
+
+    DirectDictionaryGenerator timestampGenerator = InputProcessorStepWithNoConverterImpl
+        .getDirectDictionaryGenerator(ColumnConversion.TIMESTAMP_OR_AS_IS, dataFields[5]);
+    assertEquals(DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(DataTypes.TIMESTAMP, TIMESTAMP_FORMAT).generateKey(time),
+        InputProcessorStepWithNoConverterImpl.convertValue(
+            ColumnConversion.TIMESTAMP_OR_AS_IS, time, DataTypes.TIMESTAMP, timestampGenerator));
+    assertSame(value, InputProcessorStepWithNoConverterImpl.convertValue(
+        ColumnConversion.TIMESTAMP_OR_AS_IS, value, DataTypes.TIMESTAMP, timestampGenerator));
+  }
+
+  @Test
+  public void testDirectDictionaryGenerator() {
+    DataField[] dataFields = createDataFields();
+    assertNull(InputProcessorStepWithNoConverterImpl
+        .getDirectDictionaryGenerator(ColumnConversion.AS_IS, dataFields[1]));
+    assertEquals(DataTypes.INT, InputProcessorStepWithNoConverterImpl
+        .getDirectDictionaryGenerator(ColumnConversion.DATE_OR_BYTES, dataFields[2])
+        .getReturnType());
+    assertEquals(DataTypes.LONG, InputProcessorStepWithNoConverterImpl
+        .getDirectDictionaryGenerator(ColumnConversion.TIMESTAMP_OR_AS_IS, dataFields[5])
+        .getReturnType());
+  }
+}
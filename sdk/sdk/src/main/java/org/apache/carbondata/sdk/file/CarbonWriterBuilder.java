@@ -37,6 +37,7 @@ import org.apache.carbondata.common.constants.LoggerAction;
 import org.apache.carbondata.common.exceptions.sql.InvalidLoadOptionException;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.constants.SortScopeOptions;
 import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.datatype.DataType;
@@ -323,12 +324,16 @@ public class CarbonWriterBuilder {
    * d. local_dictionary_enable -- true / false. Default is false
    * e. sort_columns -- comma separated column. "c1,c2". Default all dimensions are sorted.
    *                    If empty string "" is passed. No columns are sorted
-   * j. sort_scope -- "local_sort", "no_sort". default value is "local_sort"
+   * j. sort_scope -- "local_sort", "no_sort", "global_sort". default value is "local_sort".
+   *                  "global_sort" splits the rows into ranges of the sort columns sampled from
+   *                  the input, and sorts and writes each range separately
    * k. long_string_columns -- comma separated string columns which are more than 32k length.
    *                           default value is null.
    * l. inverted_index -- comma separated string columns for which inverted index needs to be
    *                      generated
    * m. table_page_size_inmb -- [1-1755] MB.
+   * n. global_sort_partitions -- number of ranges in "global_sort", default value is the number
+   *                              of cores for loading
    *
    * @return updated CarbonWriterBuilder
    */
@@ -337,7 +342,7 @@ public class CarbonWriterBuilder {
     Set<String> supportedOptions = new HashSet<>(Arrays
         .asList("table_blocksize", "table_blocklet_size", "local_dictionary_threshold",
             "local_dictionary_enable", "sort_columns", "sort_scope", "long_string_columns",
-            "inverted_index", "table_page_size_inmb"));
+            "inverted_index", "table_page_size_inmb", "global_sort_partitions"));
 
     for (String key : options.keySet()) {
       if (!supportedOptions.contains(key.toLowerCase())) {
@@ -366,7 +371,8 @@ public class CarbonWriterBuilder {
         this.sortBy(sortColumns);
       } else if (entry.getKey().equalsIgnoreCase("sort_scope")) {
         this.withSortScope(entry);
-      } else if (entry.getKey().equalsIgnoreCase("long_string_columns")) {
+      } else if (entry.getKey().equalsIgnoreCase("long_string_columns")
+          || entry.getKey().equalsIgnoreCase("global_sort_partitions")) {
         updateToLoadOptions(entry);
       } else if (entry.getKey().equalsIgnoreCase("inverted_index")) {
         //inverted index columns
@@ -1159,6 +1165,9 @@ public class CarbonWriterBuilder {
     }
     CarbonLoadModelBuilder builder = new CarbonLoadModelBuilder(table);
     CarbonLoadModel model = builder.build(options, timestamp, taskNo);
+    // without spark, the rows of global sort are sorted in ranges sampled from the input
+    model.setSampleSortColumnBounds(SortScopeOptions.SortScope.GLOBAL_SORT
+        .equals(SortScopeOptions.getSortScope(model.getSortScope())));
     setCsvHeader(model);
     return model;
   }
@@ -1199,8 +1208,6 @@ public class CarbonWriterBuilder {
     if (sortScope != null) {
       if ((!CarbonUtil.isValidSortOption(sortScope))) {
         throw new IllegalArgumentException("Invalid Sort Scope Option: " + sortScope);
-      } else if (sortScope.equalsIgnoreCase("global_sort")) {
-        throw new IllegalArgumentException("global sort is not supported");
       }
     }
     // update it to load options
@@ -21,6 +21,8 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -729,4 +731,68 @@ public class AvroCarbonWriterTest {
       }
     }
   }
+
+  @Test
+  public void testGlobalSortWritesSortedNonOverlappingFiles() throws Exception {
+    String avroSchema =
+        "{" +
+            "   \"type\" : \"record\"," +
+            "   \"name\" : \"Acme\"," +
+            "   \"fields\" : ["
+            + "{ \"name\" : \"id\", \"type\" : \"int\" },"
+            + "{ \"name\" : \"name\", \"type\" : \"string\" }]" +
+            "}";
+    Schema schema = new Schema.Parser().parse(avroSchema);
+    Map<String, String> tableProperties = new HashMap<>();
+    tableProperties.put("sort_scope", "global_sort");
+    tableProperties.put("global_sort_partitions", "4");
+    int rows = 100000;
+    CarbonWriter writer = CarbonWriter.builder().outputPath(path).withAvroInput(schema)
+        .sortBy(new String[] { "id" }).withTableProperties(tableProperties)
+        .writtenBy("AvroCarbonWriterTest").build();
+    for (int row = 0; row < rows; row++) {
+      int id = (int) ((row * 7919L) % rows);
+      GenericData.Record record = new GenericData.Record(schema);
+      record.put("id", id);
+      record.put("name", "name_of_row_" + id);
+      writer.write(record);
+    }
+    writer.close();
+
+    File[] dataFiles = new File(path).listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File pathname) {
+        return pathname.getName().endsWith(CarbonCommonConstants.FACT_FILE_EXT);
+      }
+    });
+    Assert.assertNotNull(dataFiles);
+    Assert.assertEquals(4, dataFiles.length);
+    List<int[]> fileRanges = new ArrayList<>();
+    int count = 0;
+    for (File dataFile : dataFiles) {
+      CarbonReader reader = CarbonReader.builder().withFile(dataFile.getPath())
+          .projection(new String[] { "id" }).build();
+      int min = Integer.MAX_VALUE;
+      int previous = Integer.MIN_VALUE;
+      while (reader.hasNext()) {
+        int id = (int) ((Object[]) reader.readNextRow())[0];
+        Assert.assertTrue(id > previous);
+        min = Math.min(min, id);
+        previous = id;
+        count++;
+      }
+      reader.close();
+      fileRanges.add(new int[] { min, previous });
+    }
+    Assert.assertEquals(rows, count);
+    Collections.sort(fileRanges, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] range1, int[] range2) {
+        return Integer.compare(range1[0], range2[0]);
+      }
+    });
+    for (int i = 1; i < fileRanges.size(); i++) {
+      Assert.assertTrue(fileRanges.get(i - 1)[1] < fileRanges.get(i)[0]);
+    }
+  }
 }
@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.Objects;
 
 import org.apache.carbondata.common.exceptions.sql.InvalidLoadOptionException;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.constants.CarbonLoadOptionConstants;
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
@@ -45,6 +48,7 @@ import org.apache.carbondata.core.metadata.schema.SchemaReader;
 import org.apache.carbondata.core.metadata.schema.table.TableInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.carbondata.format.FileFooter3;
 
@@ -315,6 +319,47 @@ public class CSVCarbonWriterTest {
     FileUtils.deleteDirectory(new File(path));
   }
 
+  @Test
+  public void testAsyncBlockletWrite() throws Exception {
+    String path = "./testWriteFiles";
+    FileUtils.deleteDirectory(new File(path));
+    CarbonProperties.getInstance().addProperty(
+        CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE, "true");
+    try {
+      Field[] fields = new Field[2];
+      fields[0] = new Field("name", DataTypes.STRING);
+      fields[1] = new Field("age", DataTypes.INT);
+      int rows = 1000 * 1000;
+      TestUtil.writeFilesAndVerify(rows, new Schema(fields), path, null, 1, 2);
+      File[] dataFiles = new File(path).listFiles(new FileFilter() {
+        @Override
+        public boolean accept(File pathname) {
+          return pathname.getName().endsWith(CarbonCommonConstants.FACT_FILE_EXT);
+        }
+      });
+      Assert.assertNotNull(dataFiles);
+      Assert.assertEquals(2, dataFiles.length);
+
+      CarbonReader reader = CarbonReader.builder(path, "_temp")
+          .projection(new String[] { "age" }).build();
+      long count = 0;
+      long sum = 0;
+      while (reader.hasNext()) {
+        Object[] values = (Object[]) reader.readNextRow();
+        sum += (int) values[0];
+        count++;
+      }
+      reader.close();
+      Assert.assertEquals(rows, count);
+      Assert.assertEquals((long) rows * (rows - 1) / 2, sum);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE,
+          CarbonLoadOptionConstants.ENABLE_CARBON_LOAD_ASYNC_BLOCKLET_WRITE_DEFAULT);
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
   @Test
   public void testSortColumns() throws IOException {
     String path = "./testWriteFiles";
@@ -1018,4 +1063,221 @@ public class CSVCarbonWriterTest {
     assert (id == 30);
     reader.close();
   }
+
+  @Test
+  public void testParallelPageEncoding() throws Exception {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD, "2");
+    Field[] fields = new Field[30];
+    String[] projection = new String[fields.length];
+    for (int i = 0; i < fields.length; i += 3) {
+      fields[i] = new Field("s" + i, DataTypes.STRING);
+      fields[i + 1] = new Field("i" + i, DataTypes.INT);
+      fields[i + 2] = new Field("d" + i, DataTypes.DOUBLE);
+    }
+    for (int i = 0; i < fields.length; i++) {
+      projection[i] = fields[i].getFieldName();
+    }
+    try {
+      CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+          .withCsvInput(new Schema(fields)).writtenBy("CSVCarbonWriterTest").build();
+      for (int row = 0; row < 1000; row++) {
+        String[] values = new String[fields.length];
+        for (int i = 0; i < fields.length; i += 3) {
+          values[i] = "v" + (row * i % 17);
+          values[i + 1] = String.valueOf(row - i);
+          values[i + 2] = String.valueOf(row / 4.0 + i);
+        }
+        writer.write(values);
+      }
+      writer.close();
+      CarbonReader reader = CarbonReader.builder(path, "_temp").projection(projection).build();
+      int row = 0;
+      while (reader.hasNext()) {
+        Object[] values = (Object[]) reader.readNextRow();
+        for (int i = 0; i < fields.length; i += 3) {
+          Assert.assertEquals("v" + (row * i % 17), values[i]);
+          Assert.assertEquals(row - i, values[i + 1]);
+          Assert.assertEquals(row / 4.0 + i, values[i + 2]);
+        }
+        row++;
+      }
+      reader.close();
+      Assert.assertEquals(1000, row);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD,
+          CarbonCommonConstants.CARBON_LOAD_PARALLEL_PAGE_ENCODING_THRESHOLD_DEFAULT);
+    }
+  }
+
+  @Test
+  public void testSortOfManyRowPages() throws Exception {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB, "1");
+    try {
+      assertRowsSortedById(100000);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB,
+          CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB_DEFAULT);
+    }
+  }
+
+  @Test
+  public void testSortWithColumnarSortTempFiles() throws Exception {
+    CarbonProperties properties = CarbonProperties.getInstance();
+    properties.addProperty(CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE, "1000");
+    properties.addProperty(CarbonCommonConstants.SORT_SIZE, "5000");
+    properties.addProperty(CarbonCommonConstants.SORT_INTERMEDIATE_FILES_LIMIT, "4");
+    try {
+      properties.addProperty(CarbonCommonConstants.ENABLE_UNSAFE_SORT, "false");
+      assertRowsSortedById(50000);
+      FileUtils.deleteDirectory(new File(path));
+      properties.addProperty(CarbonCommonConstants.ENABLE_UNSAFE_SORT, "true");
+      properties.addProperty(CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB, "1");
+      assertRowsSortedById(50000);
+    } finally {
+      properties.addProperty(CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE,
+          CarbonCommonConstants.CARBON_SORT_TEMP_COLUMNAR_BATCH_SIZE_DEFAULT);
+      properties.addProperty(CarbonCommonConstants.SORT_SIZE,
+          CarbonCommonConstants.SORT_SIZE_DEFAULT_VAL);
+      properties.addProperty(CarbonCommonConstants.SORT_INTERMEDIATE_FILES_LIMIT,
+          CarbonCommonConstants.SORT_INTERMEDIATE_FILES_LIMIT_DEFAULT_VALUE);
+      properties.addProperty(CarbonCommonConstants.ENABLE_UNSAFE_SORT,
+          CarbonCommonConstants.ENABLE_UNSAFE_SORT_DEFAULT);
+      properties.addProperty(CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB,
+          CarbonCommonConstants.OFFHEAP_SORT_CHUNK_SIZE_IN_MB_DEFAULT);
+    }
+  }
+
+  /**
+   * Writes rows whose age is not a number for every third id, and returns the rows read back
+   */
+  private List<Object[]> writeRowsWithBadAge(String badRecordsAction, int rows)
+      throws Exception {
+    Field[] fields = new Field[] { new Field("id", DataTypes.INT),
+        new Field("age", DataTypes.INT), new Field("name", DataTypes.STRING) };
+    Map<String, String> loadOptions = new HashMap<>();
+    loadOptions.put("bad_records_action", badRecordsAction);
+    CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+        .withCsvInput(new Schema(fields)).withLoadOptions(loadOptions)
+        .writtenBy("CSVCarbonWriterTest").build();
+    for (int id = 0; id < rows; id++) {
+      String age = id % 3 == 0 ? "age_" + id : String.valueOf(id % 100);
+      writer.write(new String[] { String.valueOf(id), age, "name_" + id });
+    }
+    writer.close();
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[] { "id", "age", "name" }).build();
+    List<Object[]> result = new ArrayList<>();
+    while (reader.hasNext()) {
+      result.add((Object[]) reader.readNextRow());
+    }
+    reader.close();
+    return result;
+  }
+
+  @Test
+  public void testBadRecordsInRowBatch() throws Exception {
+    int rows = 10000;
+    List<Object[]> result = writeRowsWithBadAge("IGNORE", rows);
+    Assert.assertEquals(rows - (rows + 2) / 3, result.size());
+    for (Object[] row : result) {
+      int id = (int) row[0];
+      Assert.assertNotEquals(0, id % 3);
+      Assert.assertEquals(id % 100, row[1]);
+      Assert.assertEquals("name_" + id, row[2]);
+    }
+    FileUtils.deleteDirectory(new File(path));
+    result = writeRowsWithBadAge("FORCE", rows);
+    Assert.assertEquals(rows, result.size());
+    for (Object[] row : result) {
+      int id = (int) row[0];
+      Assert.assertEquals(id % 3 == 0 ? null : id % 100, row[1]);
+      Assert.assertEquals("name_" + id, row[2]);
+    }
+  }
+
+  @Test
+  public void testGlobalSortWritesNonOverlappingFiles() throws Exception {
+    Field[] fields = new Field[] {
+        new Field("id", DataTypes.INT), new Field("name", DataTypes.STRING) };
+    Map<String, String> tableProperties = new HashMap<>();
+    tableProperties.put("sort_scope", "global_sort");
+    tableProperties.put("global_sort_partitions", "4");
+    int rows = 100000;
+    CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+        .withCsvInput(new Schema(fields)).sortBy(new String[] { "id" })
+        .withTableProperties(tableProperties).writtenBy("CSVCarbonWriterTest").build();
+    for (int row = 0; row < rows; row++) {
+      int id = (int) ((row * 7919L) % rows);
+      writer.write(new String[] { String.valueOf(id), "name_of_row_" + id });
+    }
+    writer.close();
+
+    File[] dataFiles = new File(path).listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File pathname) {
+        return pathname.getName().endsWith(CarbonCommonConstants.FACT_FILE_EXT);
+      }
+    });
+    Assert.assertNotNull(dataFiles);
+    Assert.assertEquals(4, dataFiles.length);
+    List<int[]> fileRanges = new ArrayList<>();
+    int count = 0;
+    for (File dataFile : dataFiles) {
+      CarbonReader reader = CarbonReader.builder().withFile(dataFile.getPath())
+          .projection(new String[] { "id" }).build();
+      int min = Integer.MAX_VALUE;
+      int previous = Integer.MIN_VALUE;
+      while (reader.hasNext()) {
+        int id = (int) ((Object[]) reader.readNextRow())[0];
+        Assert.assertTrue(id > previous);
+        min = Math.min(min, id);
+        previous = id;
+        count++;
+      }
+      reader.close();
+      fileRanges.add(new int[] { min, previous });
+    }
+    Assert.assertEquals(rows, count);
+    Collections.sort(fileRanges, new Comparator<int[]>() {
+      @Override
+      public int compare(int[] range1, int[] range2) {
+        return Integer.compare(range1[0], range2[0]);
+      }
+    });
+    for (int i = 1; i < fileRanges.size(); i++) {
+      Assert.assertTrue(fileRanges.get(i - 1)[1] < fileRanges.get(i)[0]);
+    }
+  }
+
+  /**
+   * Writes the rows in shuffled order of id with sort by id, and checks they are read back
+   * in order
+   */
+  private void assertRowsSortedById(int rows) throws Exception {
+    Field[] fields = new Field[] {
+        new Field("id", DataTypes.INT), new Field("name", DataTypes.STRING) };
+    CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+        .withCsvInput(new Schema(fields)).sortBy(new String[] { "id" })
+        .writtenBy("CSVCarbonWriterTest").build();
+    for (int row = 0; row < rows; row++) {
+      int id = (int) ((row * 7919L) % rows);
+      writer.write(new String[] { String.valueOf(id), "name_of_row_" + id });
+    }
+    writer.close();
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[] { "id", "name" }).build();
+    int row = 0;
+    while (reader.hasNext()) {
+      Object[] values = (Object[]) reader.readNextRow();
+      Assert.assertEquals(row, values[0]);
+      Assert.assertEquals("name_of_row_" + row, values[1]);
+      row++;
+    }
+    reader.close();
+    Assert.assertEquals(rows, row);
+  }
 }
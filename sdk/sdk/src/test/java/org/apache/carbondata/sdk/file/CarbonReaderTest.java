@@ -24,6 +24,7 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.index.IndexStoreManager;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.indexstore.BlockletIndexSnapshot;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.datatype.Field;
@@ -32,14 +33,19 @@ import org.apache.carbondata.core.scan.expression.ColumnExpression;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.LiteralExpression;
 import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
 import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
 import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
 import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
 import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
 import org.apache.carbondata.core.scan.expression.conditional.NotInExpression;
+import org.apache.carbondata.core.scan.expression.conditional.StartsWithExpression;
 import org.apache.carbondata.core.scan.expression.logical.AndExpression;
 import org.apache.carbondata.core.scan.expression.logical.OrExpression;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.log4j.Logger;
@@ -2911,6 +2917,229 @@ public class CarbonReaderTest extends TestCase {
     FileUtils.deleteDirectory(new File(path));
   }
 
+  private int getSplitCount(String path, Expression filter, boolean isColumnarMinMax)
+      throws IOException {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED,
+        String.valueOf(isColumnarMinMax));
+    try {
+      return CarbonReader.builder(path).filter(filter).getSplits(false).length;
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED,
+          CarbonCommonConstants.CARBON_INDEX_COLUMNAR_MIN_MAX_ENABLED_DEFAULT);
+    }
+  }
+
+  @Test
+  public void testPruneWithColumnarMinMax() throws Exception {
+    String path = "./testWriteFiles/" + System.nanoTime();
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    // each file has names name_<file>_<row> and ages from file * 100
+    for (int file = 0; file < 8; file++) {
+      CarbonWriter writer = CarbonWriter.builder().outputPath(path)
+          .withCsvInput(new Schema(fields)).writtenBy("CarbonReaderTest").build();
+      for (int row = 0; row < 100; row++) {
+        writer.write(new String[] { "name_" + file + "_" + row, String.valueOf(file * 100 + row) });
+      }
+      writer.close();
+    }
+    ColumnExpression name = new ColumnExpression("name", DataTypes.STRING);
+    ColumnExpression age = new ColumnExpression("age", DataTypes.INT);
+    Expression[] filters = new Expression[] {
+        new EqualToExpression(name, new LiteralExpression("name_3_5", DataTypes.STRING)),
+        new GreaterThanExpression(name, new LiteralExpression("name_5", DataTypes.STRING)),
+        new LessThanEqualToExpression(name, new LiteralExpression("name_2_99", DataTypes.STRING)),
+        new OrExpression(
+            new EqualToExpression(name, new LiteralExpression("name_1_1", DataTypes.STRING)),
+            new EqualToExpression(name, new LiteralExpression("name_6_6", DataTypes.STRING))),
+        new AndExpression(
+            new GreaterThanEqualToExpression(name,
+                new LiteralExpression("name_4", DataTypes.STRING)),
+            new LessThanExpression(age, new LiteralExpression(450, DataTypes.INT))) };
+    int[] expectedSplits = new int[] { 1, 3, 3, 2, 1 };
+    for (int i = 0; i < filters.length; i++) {
+      Assert.assertEquals(expectedSplits[i], getSplitCount(path, filters[i], false));
+      Assert.assertEquals(expectedSplits[i], getSplitCount(path, filters[i], true));
+    }
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test
+  public void testLoadIndexFromSnapshot() throws Exception {
+    String path = "./testWriteFiles/" + System.nanoTime();
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    TestUtil.writeFilesAndVerify(200, new Schema(fields), path);
+    Expression filter = new EqualToExpression(new ColumnExpression("name", DataTypes.STRING),
+        new LiteralExpression("robot1", DataTypes.STRING));
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED, "true");
+    try {
+      Assert.assertEquals(1, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+      File[] snapshots = new File(path).listFiles(
+          (dir, name) -> name.endsWith(BlockletIndexSnapshot.SNAPSHOT_FILE_EXT));
+      Assert.assertEquals(1, snapshots.length);
+      // index is read from the snapshot, the index file is not read
+      File indexFile = new File(path).listFiles(
+          (dir, name) -> name.endsWith(CarbonTablePath.INDEX_FILE_EXT))[0];
+      byte[] indexFileContent = FileUtils.readFileToByteArray(indexFile);
+      long indexFileModifiedTime = indexFile.lastModified();
+      FileUtils.writeByteArrayToFile(indexFile, new byte[indexFileContent.length]);
+      Assert.assertTrue(indexFile.setLastModified(indexFileModifiedTime));
+      IndexStoreManager.getInstance().clearIndexCache(AbsoluteTableIdentifier.from(path), false);
+      Assert.assertEquals(1, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+      FileUtils.writeByteArrayToFile(indexFile, indexFileContent);
+      // snapshot is not used once the index file is changed
+      Assert.assertTrue(indexFile.setLastModified(indexFileModifiedTime + 10000));
+      long snapshotModifiedTime = snapshots[0].lastModified();
+      Assert.assertTrue(snapshots[0].setLastModified(snapshotModifiedTime - 10000));
+      IndexStoreManager.getInstance().clearIndexCache(AbsoluteTableIdentifier.from(path), false);
+      Assert.assertEquals(1, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+      Assert.assertTrue(snapshots[0].lastModified() > snapshotModifiedTime - 10000);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED,
+          CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED_DEFAULT);
+      IndexStoreManager.getInstance().clearIndexCache(AbsoluteTableIdentifier.from(path), false);
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  private int countRows(String path, Expression filter) throws Exception {
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"name", "age"}).filter(filter).build();
+    int count = 0;
+    while (reader.hasNext()) {
+      reader.readNextRow();
+      count++;
+    }
+    reader.close();
+    return count;
+  }
+
+  @Test
+  public void testFilterOnLocalDictionaryColumn() throws Exception {
+    String path = "./testWriteFiles/" + System.nanoTime();
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    ColumnExpression name = new ColumnExpression("name", DataTypes.STRING);
+    Expression[] filters = new Expression[] {
+        new InExpression(name, new ListExpression(Arrays.<Expression>asList(
+            new LiteralExpression("robot1", DataTypes.STRING),
+            new LiteralExpression("robot3", DataTypes.STRING)))),
+        new NotInExpression(name, new LiteralExpression("robot1", DataTypes.STRING)),
+        new GreaterThanExpression(name, new LiteralExpression("robot7", DataTypes.STRING)),
+        new StartsWithExpression(name, new LiteralExpression("robot2", DataTypes.STRING)),
+        new EqualToExpression(name, new LiteralExpression("robot10", DataTypes.STRING)) };
+    int[][] counts = new int[2][filters.length];
+    try {
+      for (int i = 0; i < 2; i++) {
+        String tablePath = path + "/" + i;
+        CarbonWriter writer = CarbonWriter.builder().outputPath(tablePath)
+            .enableLocalDictionary(i == 0).withCsvInput(new Schema(fields))
+            .writtenBy("CarbonReaderTest").build();
+        for (int row = 0; row < 200; row++) {
+          writer.write(new String[] {
+              row % 13 == 0 ? null : "robot" + (row % 10), String.valueOf(row) });
+        }
+        writer.close();
+        for (int j = 0; j < filters.length; j++) {
+          counts[i][j] = countRows(tablePath, filters[j]);
+        }
+      }
+      // same rows are selected with and without local dictionary
+      Assert.assertArrayEquals(counts[1], counts[0]);
+      Assert.assertTrue(counts[0][0] > 0);
+      Assert.assertTrue(counts[0][1] > 0);
+      Assert.assertTrue(counts[0][2] > 0);
+      Assert.assertTrue(counts[0][3] > 0);
+      Assert.assertEquals(0, counts[0][4]);
+    } finally {
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testSnapshotNotUsedAfterDataFileIsDeleted() throws Exception {
+    String path = "./testWriteFiles/" + System.nanoTime();
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    // each write adds an index file with one data file
+    TestUtil.writeFilesAndVerify(200, new Schema(fields), path);
+    TestUtil.writeFilesAndVerify(200, new Schema(fields), path);
+    Expression filter = new EqualToExpression(new ColumnExpression("name", DataTypes.STRING),
+        new LiteralExpression("robot1", DataTypes.STRING));
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED, "true");
+    try {
+      Assert.assertEquals(2, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+      File[] snapshots = new File(path).listFiles(
+          (dir, name) -> name.endsWith(BlockletIndexSnapshot.SNAPSHOT_FILE_EXT));
+      Assert.assertEquals(2, snapshots.length);
+      long snapshotModifiedTime = snapshots[0].lastModified() - 10000;
+      for (File snapshot : snapshots) {
+        Assert.assertTrue(snapshot.setLastModified(snapshotModifiedTime));
+      }
+      File dataFile = new File(path).listFiles(
+          (dir, name) -> name.endsWith(CarbonTablePath.CARBON_DATA_EXT))[0];
+      Assert.assertTrue(dataFile.delete());
+      IndexStoreManager.getInstance().clearIndexCache(AbsoluteTableIdentifier.from(path), false);
+      CarbonReader.builder(path).filter(filter).getSplits(false);
+      // only the snapshot of the deleted data file is not used, and saved again
+      int savedSnapshots = 0;
+      for (File snapshot : snapshots) {
+        if (snapshot.lastModified() > snapshotModifiedTime) {
+          savedSnapshots++;
+        }
+      }
+      Assert.assertEquals(1, savedSnapshots);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED,
+          CarbonCommonConstants.CARBON_INDEX_SNAPSHOT_ENABLED_DEFAULT);
+      IndexStoreManager.getInstance().clearIndexCache(AbsoluteTableIdentifier.from(path), false);
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testMultiThreadPruning() throws Exception {
+    String path = "./testWriteFiles/" + System.nanoTime();
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[2];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    // each write adds an index file with one block
+    for (int i = 0; i < 10; i++) {
+      TestUtil.writeFilesAndVerify(200, new Schema(fields), path);
+    }
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_DRIVER_PRUNING_MULTI_THREAD_ENABLE_FILES_COUNT, "1");
+    try {
+      Expression filter = new EqualToExpression(new ColumnExpression("age", DataTypes.INT),
+          new LiteralExpression("5", DataTypes.INT));
+      Assert.assertEquals(10, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+      filter = new EqualToExpression(new ColumnExpression("age", DataTypes.INT),
+          new LiteralExpression("500", DataTypes.INT));
+      Assert.assertEquals(0, CarbonReader.builder(path).filter(filter).getSplits(false).length);
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_DRIVER_PRUNING_MULTI_THREAD_ENABLE_FILES_COUNT,
+          CarbonCommonConstants.CARBON_DRIVER_PRUNING_MULTI_THREAD_ENABLE_FILES_COUNT_DEFAULT);
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
   @Test
   public void testGetSplits() throws IOException, InterruptedException {
     String path = "./testWriteFiles/" + System.nanoTime();
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.util.ByteUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for the byte array comparisons used by sort, filter and min max pruning.
+ * Every invocation compares all adjacent pairs of a page of values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteUtilBenchmark {
+
+  @Param({"32000"})
+  private int rows;
+
+  @Param({"8", "100000"})
+  private int cardinality;
+
+  @Param({"8", "64"})
+  private int length;
+
+  private byte[][] values;
+
+  @Setup
+  public void setup() {
+    Random random = SyntheticData.newRandom();
+    values = SyntheticData.bytes(rows, cardinality, length, random);
+  }
+
+  @Benchmark
+  public void unsafeCompareTo(Blackhole blackhole) {
+    for (int i = 1; i < rows; i++) {
+      blackhole.consume(ByteUtil.UnsafeComparer.INSTANCE.compareTo(values[i - 1], values[i]));
+    }
+  }
+
+  @Benchmark
+  public void unsafeEquals(Blackhole blackhole) {
+    for (int i = 1; i < rows; i++) {
+      blackhole.consume(ByteUtil.UnsafeComparer.INSTANCE.equals(values[i - 1], values[i]));
+    }
+  }
+
+  @Benchmark
+  public void compare(Blackhole blackhole) {
+    for (int i = 1; i < rows; i++) {
+      blackhole.consume(ByteUtil.compare(values[i - 1], values[i]));
+    }
+  }
+}
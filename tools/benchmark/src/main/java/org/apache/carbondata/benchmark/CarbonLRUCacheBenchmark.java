@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the lookups of {@link CarbonLRUCache} by 64 threads, as done by the queries of
+ * a driver on the index cache. The cache holds 1MB of entries of 1KB, the keys looked up are
+ * picked from twice as many keys, and a missed key is added to the cache evicting others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class CarbonLRUCacheBenchmark {
+
+  private static final int ENTRY_SIZE = 1024;
+
+  /**
+   * property which is not set, so that the cache size is taken from the default value
+   */
+  private static final String CACHE_SIZE_PROPERTY = "carbon.benchmark.lru.cache.size";
+
+  @Param({"2048"})
+  private int keyCount;
+
+  private CarbonLRUCache cache;
+
+  private String[] keys;
+
+  @Setup
+  public void setup() {
+    cache = new CarbonLRUCache(CACHE_SIZE_PROPERTY, "1");
+    keys = new String[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = "segment_" + i;
+    }
+    for (int i = 0; i < keyCount; i += 2) {
+      cache.put(keys[i], new Entry(), ENTRY_SIZE, 0L);
+    }
+  }
+
+  @Benchmark
+  public Cacheable get() {
+    return cache.get(keys[ThreadLocalRandom.current().nextInt(keyCount)]);
+  }
+
+  @Benchmark
+  public Cacheable getOrPut() {
+    String key = keys[ThreadLocalRandom.current().nextInt(keyCount)];
+    Cacheable entry = cache.get(key);
+    if (entry == null) {
+      entry = new Entry();
+      cache.put(key, entry, ENTRY_SIZE, 0L);
+    }
+    return entry;
+  }
+
+  private static final class Entry implements Cacheable {
+
+    @Override
+    public int getAccessCount() {
+      return 0;
+    }
+
+    @Override
+    public long getMemorySize() {
+      return ENTRY_SIZE;
+    }
+
+    @Override
+    public void invalidate() {
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.EncodingFactory;
+import org.apache.carbondata.format.DataChunk2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for codec selection, encoding and decoding of a long column page.
+ * With base 0 the values fit in a narrower type and adaptive integral codec is selected,
+ * with a large base the range is small compared to the values and adaptive delta integral
+ * codec is selected.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnPageCodecBenchmark {
+
+  @Param({"32000"})
+  private int rows;
+
+  @Param({"100", "30000"})
+  private int cardinality;
+
+  @Param({"0.0", "0.1"})
+  private double nullRatio;
+
+  @Param({"0", "1000000000000"})
+  private long base;
+
+  @Param({"snappy"})
+  private String compressorName;
+
+  private final EncodingFactory encodingFactory = DefaultEncodingFactory.getInstance();
+
+  private ColumnPage page;
+
+  private DataChunk2 pageMetadata;
+
+  private byte[] encodedData;
+
+  @Setup
+  public void setup() throws IOException {
+    Random random = SyntheticData.newRandom();
+    boolean[] nulls = SyntheticData.nulls(rows, nullRatio, random);
+    long[] values = SyntheticData.longs(rows, cardinality, base, random);
+    page = SyntheticData.newLongPage(SyntheticData.VALUE_COLUMN, values, nulls, compressorName);
+    EncodedColumnPage encodedPage = encode();
+    pageMetadata = encodedPage.getPageMetadata();
+    ByteBuffer buffer = encodedPage.getEncodedData();
+    encodedData = new byte[buffer.remaining()];
+    buffer.duplicate().get(encodedData);
+  }
+
+  @TearDown
+  public void tearDown() {
+    page.freeMemory();
+  }
+
+  @Benchmark
+  public ColumnPageEncoder selectEncoder() {
+    return encodingFactory.createEncoder(page.getColumnSpec(), page);
+  }
+
+  @Benchmark
+  public EncodedColumnPage encode() throws IOException {
+    return encodingFactory.createEncoder(page.getColumnSpec(), page).encode(page);
+  }
+
+  @Benchmark
+  public long decode() throws IOException {
+    ColumnPageDecoder decoder = encodingFactory.createDecoder(
+        pageMetadata.getEncoders(), pageMetadata.getEncoder_meta(), compressorName);
+    ColumnPage decodedPage = decoder.decode(encodedData, 0, encodedData.length);
+    long sum = 0;
+    for (int i = 0; i < rows; i++) {
+      sum += decodedPage.getLong(i);
+    }
+    decodedPage.freeMemory();
+    return sum;
+  }
+}
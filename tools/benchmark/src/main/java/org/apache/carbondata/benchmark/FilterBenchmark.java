@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
+import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.index.IndexFilter;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecutor;
+import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.util.BitSetGroup;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for applyFilter of the include and row level range filter executors on a
+ * blocklet of long measure pages. Executor is created from a filter expression in the same
+ * way as the query flow, the pages are already decoded so only the filter kernel is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+  @Param({"32000"})
+  private int rowsPerPage;
+
+  @Param({"10"})
+  private int pages;
+
+  @Param({"100", "30000"})
+  private int cardinality;
+
+  @Param({"0.0", "0.1"})
+  private double nullRatio;
+
+  @Param({"include", "greaterThan", "lessThan"})
+  private String filter;
+
+  private ColumnPage[] columnPages;
+
+  private FilterExecutor filterExecutor;
+
+  private RawBlockletColumnChunks rawBlockletColumnChunks;
+
+  @Setup
+  public void setup() {
+    Random random = SyntheticData.newRandom();
+    columnPages = new ColumnPage[pages];
+    int[] rowCount = new int[pages];
+    for (int i = 0; i < pages; i++) {
+      boolean[] nulls = SyntheticData.nulls(rowsPerPage, nullRatio, random);
+      long[] values = SyntheticData.longs(rowsPerPage, cardinality, 0, random);
+      columnPages[i] =
+          SyntheticData.newLongPage(SyntheticData.VALUE_COLUMN, values, nulls, "snappy");
+      rowCount[i] = rowsPerPage;
+    }
+    CarbonTable table = SyntheticData.newTable(System.getProperty("java.io.tmpdir"));
+    SegmentProperties segmentProperties =
+        new SegmentProperties(table.getTableInfo().getFactTable().getListOfColumns());
+    IndexFilter indexFilter = new IndexFilter(table, createExpression());
+    filterExecutor = FilterUtil.getFilterExecutorTree(
+        indexFilter.getResolver(), segmentProperties, null, false);
+
+    // measure chunk without min max, so that every page goes through the filter kernel
+    MeasureRawColumnChunk rawColumnChunk =
+        new MeasureRawColumnChunk(0, null, 0, 0, new DecodedPageReader(columnPages));
+    rawColumnChunk.setPagesCount(pages);
+    rawColumnChunk.setRowCount(rowCount);
+    rawBlockletColumnChunks = RawBlockletColumnChunks.newInstance(
+        segmentProperties.getDimensions().size(), segmentProperties.getMeasures().size(),
+        null, null);
+    rawBlockletColumnChunks.getMeasureRawColumnChunks()[0] = rawColumnChunk;
+  }
+
+  private Expression createExpression() {
+    ColumnExpression column = new ColumnExpression(SyntheticData.VALUE_COLUMN, DataTypes.LONG);
+    long middle = cardinality / 2;
+    switch (filter) {
+      case "include":
+        List<Expression> values = new ArrayList<>();
+        values.add(new LiteralExpression(middle - 1, DataTypes.LONG));
+        values.add(new LiteralExpression(middle, DataTypes.LONG));
+        values.add(new LiteralExpression(middle + 1, DataTypes.LONG));
+        return new InExpression(column, new ListExpression(values));
+      case "greaterThan":
+        return new GreaterThanExpression(column, new LiteralExpression(middle, DataTypes.LONG));
+      case "lessThan":
+        return new LessThanExpression(column, new LiteralExpression(middle, DataTypes.LONG));
+      default:
+        throw new IllegalArgumentException("Unsupported filter: " + filter);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (ColumnPage columnPage : columnPages) {
+      columnPage.freeMemory();
+    }
+  }
+
+  @Benchmark
+  public BitSetGroup applyFilter() throws FilterUnsupportedException, IOException {
+    return filterExecutor.applyFilter(rawBlockletColumnChunks, false);
+  }
+
+  /**
+   * Chunk reader which returns the pages generated by the benchmark instead of reading
+   * them from a file
+   */
+  private static class DecodedPageReader implements MeasureColumnChunkReader {
+
+    private final ColumnPage[] columnPages;
+
+    DecodedPageReader(ColumnPage[] columnPages) {
+      this.columnPages = columnPages;
+    }
+
+    @Override
+    public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+        int[][] columnIndexRange) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MeasureRawColumnChunk readRawMeasureChunk(FileReader fileReader, int columnIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ColumnPage decodeColumnPage(MeasureRawColumnChunk measureRawColumnChunk,
+        int pageNumber, ReusableDataBuffer reusableDataBuffer) {
+      return columnPages[pageNumber];
+    }
+
+    @Override
+    public void decodeColumnPageAndFillVector(MeasureRawColumnChunk measureRawColumnChunk,
+        int pageNumber, ColumnVectorInfo vectorInfo, ReusableDataBuffer reusableDataBuffer) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
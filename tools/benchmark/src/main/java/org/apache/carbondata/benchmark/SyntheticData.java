@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+
+/**
+ * Generates the synthetic input used by the benchmarks. All data is produced from a fixed
+ * seed so that numbers of two runs are comparable, cardinality and null ratio are controlled
+ * by the benchmark parameters.
+ */
+final class SyntheticData {
+
+  static final String TABLE_NAME = "bench";
+
+  /**
+   * sort column of type string, it is a no dictionary dimension
+   */
+  static final String NAME_COLUMN = "name";
+
+  /**
+   * sort column of type int, it is a no dictionary primitive dimension
+   */
+  static final String ID_COLUMN = "id";
+
+  /**
+   * non sort column of type long, it is a measure
+   */
+  static final String VALUE_COLUMN = "value";
+
+  private static final long SEED = 20200101L;
+
+  private SyntheticData() {
+  }
+
+  static Random newRandom() {
+    return new Random(SEED);
+  }
+
+  /**
+   * Returns the null flag of each row, around nullRatio of the rows are null
+   */
+  static boolean[] nulls(int rows, double nullRatio, Random random) {
+    boolean[] nulls = new boolean[rows];
+    for (int i = 0; i < rows; i++) {
+      nulls[i] = random.nextDouble() < nullRatio;
+    }
+    return nulls;
+  }
+
+  /**
+   * Returns long values with at most cardinality distinct values starting from base
+   */
+  static long[] longs(int rows, int cardinality, long base, Random random) {
+    long[] values = new long[rows];
+    for (int i = 0; i < rows; i++) {
+      values[i] = base + random.nextInt(cardinality);
+    }
+    return values;
+  }
+
+  /**
+   * Returns fixed length byte arrays with at most cardinality distinct values, all values
+   * share the same prefix so that comparisons have to look at the whole array
+   */
+  static byte[][] bytes(int rows, int cardinality, int length, Random random) {
+    byte[][] dictionary = new byte[cardinality][];
+    for (int i = 0; i < cardinality; i++) {
+      byte[] value = new byte[length];
+      int suffix = i;
+      for (int j = length - 1; j >= 0 && j >= length - 4; j--) {
+        value[j] = (byte) suffix;
+        suffix >>>= 8;
+      }
+      dictionary[i] = value;
+    }
+    byte[][] values = new byte[rows][];
+    for (int i = 0; i < rows; i++) {
+      values[i] = dictionary[random.nextInt(cardinality)];
+    }
+    return values;
+  }
+
+  /**
+   * Creates a long page filled with the given values, rows flagged in nulls are put as null.
+   * Statistics are collected so that the page can be given to the encoding factory.
+   */
+  static ColumnPage newLongPage(String columnName, long[] values, boolean[] nulls,
+      String compressorName) {
+    TableSpec.ColumnSpec columnSpec =
+        TableSpec.ColumnSpec.newInstance(columnName, DataTypes.LONG, ColumnType.PLAIN_VALUE);
+    ColumnPage page = ColumnPage.newPage(
+        new ColumnPageEncoderMeta(columnSpec, DataTypes.LONG, compressorName), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(DataTypes.LONG));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, nulls[i] ? null : values[i]);
+    }
+    return page;
+  }
+
+  /**
+   * Creates a non transactional table with the three columns used by the benchmarks
+   */
+  static CarbonTable newTable(String tablePath) {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    sortColumns.add(
+        builder.addColumn(new StructField(NAME_COLUMN, DataTypes.STRING), valIndex, true, false));
+    sortColumns.add(
+        builder.addColumn(new StructField(ID_COLUMN, DataTypes.INT), valIndex, true, false));
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField(VALUE_COLUMN, DataTypes.LONG), valIndex, false, false);
+    builder.tableName(TABLE_NAME);
+    return CarbonTable.builder()
+        .tableName(TABLE_NAME)
+        .databaseName("default")
+        .tablePath(tablePath)
+        .isTransactionalTable(false)
+        .tableSchema(builder.build())
+        .build();
+  }
+
+  /**
+   * Returns rows of the table as they are given to the sort step, string column as bytes,
+   * int sort column as its original value and long as measure, around nullRatio of the values
+   * in the int and long column are null
+   */
+  static Object[][] rawRows(int rows, int cardinality, double nullRatio, Random random) {
+    byte[][] names = bytes(rows, cardinality, 16, random);
+    long[] ids = longs(rows, cardinality, 0, random);
+    long[] values = longs(rows, cardinality, 0, random);
+    boolean[] nulls = nulls(rows, nullRatio, random);
+    Object[][] rawRows = new Object[rows][];
+    for (int i = 0; i < rows; i++) {
+      rawRows[i] = new Object[] {
+          names[i], nulls[i] ? null : (int) ids[i], nulls[i] ? null : values[i] };
+    }
+    return rawRows;
+  }
+
+  /**
+   * Creates the sort parameters of the table returned by {@link #newTable(String)}
+   */
+  static SortParameters newSortParameters(CarbonTable table) {
+    return SortParameters.createSortParameters(table, table.getDatabaseName(),
+        table.getTableName(), 2, 0, 1, 2, "0", "0", new boolean[] { true, true },
+        new boolean[] { true, true }, new boolean[] { false, false }, false, 1);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixSorter;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark for the in memory sort of the unsafe sort step: rows are serialized to an
+ * {@link UnsafeCarbonRowPage} by SortStepRowHandler and the row pointers are sorted by
+ * {@link TimSort} over {@link UnsafeIntSortDataFormat}, or by {@link UnsafeRowPrefixSorter} as
+ * done by the sort step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnsafeSortBenchmark {
+
+  @Param({"100000"})
+  private int rows;
+
+  @Param({"100", "100000"})
+  private int cardinality;
+
+  @Param({"0.0", "0.1"})
+  private double nullRatio;
+
+  private Object[][] rawRows;
+
+  private TableFieldStat tableFieldStat;
+
+  private String taskId;
+
+  private long pageSize;
+
+  private UnsafeCarbonRowPage rowPage;
+
+  /**
+   * row pointers in the order of insertion, restored before every sort
+   */
+  private int[] unsortedPointers;
+
+  private ReUsableByteArrayDataOutputStream reUsableStream;
+
+  @Setup
+  public void setup() throws Exception {
+    rawRows = SyntheticData.rawRows(rows, cardinality, nullRatio, SyntheticData.newRandom());
+    tableFieldStat = new TableFieldStat(SyntheticData.newSortParameters(
+        SyntheticData.newTable(System.getProperty("java.io.tmpdir"))));
+    taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    reUsableStream = new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    // leave room for the size reserved by the row page
+    pageSize = rows * 64L;
+    rowPage = newRowPage();
+    for (Object[] row : rawRows) {
+      rowPage.addRow(row, reUsableStream);
+    }
+    IntPointerBuffer buffer = rowPage.getBuffer();
+    unsortedPointers = new int[buffer.getActualSize()];
+    System.arraycopy(buffer.getPointerBlock(), 0, unsortedPointers, 0, unsortedPointers.length);
+  }
+
+  private UnsafeCarbonRowPage newRowPage() {
+    return new UnsafeCarbonRowPage(tableFieldStat,
+        UnsafeMemoryManager.allocateMemoryWithRetry(taskId, pageSize), taskId);
+  }
+
+  @Setup(Level.Invocation)
+  public void restorePointers() {
+    System.arraycopy(unsortedPointers, 0, rowPage.getBuffer().getPointerBlock(), 0,
+        unsortedPointers.length);
+  }
+
+  @TearDown
+  public void tearDown() {
+    rowPage.freeMemory();
+  }
+
+  @Benchmark
+  public void sort() {
+    TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort =
+        new TimSort<>(new UnsafeIntSortDataFormat(rowPage));
+    timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
+        new UnsafeRowComparator(rowPage));
+  }
+
+  @Benchmark
+  public void prefixSort() {
+    UnsafeRowPrefixSorter.sort(rowPage, new UnsafeRowComparator(rowPage));
+  }
+
+  @Benchmark
+  public int addRows() throws Exception {
+    UnsafeCarbonRowPage page = newRowPage();
+    try {
+      int size = 0;
+      for (Object[] row : rawRows) {
+        size += page.addRow(row, reUsableStream);
+      }
+      return size;
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  @Benchmark
+  public int writeRows() throws Exception {
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    DataOutputStream stream = new DataOutputStream(byteStream);
+    IntPointerBuffer buffer = rowPage.getBuffer();
+    long baseOffset = rowPage.getDataBlock().getBaseOffset();
+    for (int i = 0; i < buffer.getActualSize(); i++) {
+      rowPage.writeRow(baseOffset + buffer.get(i), stream);
+    }
+    stream.flush();
+    return byteStream.size();
+  }
+}